@@ -19,10 +19,15 @@
 package org.apache.axiom.locator;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import org.apache.axiom.locator.loader.OMImplementationProvider;
 import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMMetaFactoryLocator;
 import org.apache.commons.logging.Log;
@@ -73,7 +78,28 @@ public final class DefaultOMMetaFactoryLocator extends PriorityBasedOMMetaFactor
             }
         }
 
-        // Now discover the available implementations by looking for the axiom.xml descriptor.
+        // Now discover the available implementations, first using ServiceLoader, then by looking
+        // for the axiom.xml descriptor in JARs that don't register an OMImplementationProvider.
+        log.debug("Starting ServiceLoader based discovery");
+        Iterator<OMImplementationProvider> providers =
+                ServiceLoader.load(OMImplementationProvider.class, classLoader).iterator();
+        while (true) {
+            OMImplementationProvider provider;
+            try {
+                if (!providers.hasNext()) {
+                    break;
+                }
+                provider = providers.next();
+            } catch (ServiceConfigurationError ex) {
+                log.error("Failed to load " + OMImplementationProvider.class.getName(), ex);
+                continue;
+            }
+            Implementation implementation = ImplementationFactory.createImplementation(provider);
+            if (implementation != null) {
+                implementations.add(implementation);
+            }
+        }
+
         log.debug("Starting class path based discovery");
         Enumeration<URL> e;
         try {
@@ -84,10 +110,33 @@ public final class DefaultOMMetaFactoryLocator extends PriorityBasedOMMetaFactor
         }
         if (e != null) {
             while (e.hasMoreElements()) {
-                implementations.addAll(ImplementationFactory.parseDescriptor(loader, e.nextElement()));
+                URL url = e.nextElement();
+                if (hasProvider(url)) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Skipping " + url + "; already discovered using ServiceLoader");
+                    }
+                } else {
+                    implementations.addAll(ImplementationFactory.parseDescriptor(loader, url));
+                }
             }
         }
 
         loadImplementations(implementations);
     }
+
+    /**
+     * Determine whether the JAR (or directory) containing the given descriptor also registers an
+     * {@link OMImplementationProvider}, in which case the implementation has already been
+     * discovered by {@link ServiceLoader}.
+     */
+    private static boolean hasProvider(URL descriptorUrl) {
+        try {
+            URL servicesUrl = new URL(descriptorUrl, "services/" + OMImplementationProvider.class.getName());
+            InputStream in = servicesUrl.openStream();
+            in.close();
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
 }
@@ -26,6 +26,8 @@ import java.util.List;
 import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import org.apache.axiom.locator.loader.OMFeature;
+import org.apache.axiom.locator.loader.OMImplementationProvider;
 import org.apache.axiom.locator.loader.OMMetaFactoryLoader;
 import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMMetaFactory;
@@ -60,6 +62,23 @@ final class ImplementationFactory {
                 });
     }
 
+    static Implementation createImplementation(OMImplementationProvider provider) {
+        if (log.isDebugEnabled()) {
+            log.debug("Creating implementation from provider " + provider.getClass().getName());
+        }
+        OMMetaFactory metaFactory = provider.getLoader().load(null);
+        if (metaFactory == null) {
+            return null;
+        }
+        OMFeature[] providedFeatures = provider.getFeatures();
+        Feature[] features = new Feature[providedFeatures.length];
+        for (int i = 0; i < providedFeatures.length; i++) {
+            OMFeature feature = providedFeatures[i];
+            features[i] = new Feature(feature.getName(), feature.getPriority(), feature.getExtensionInterfaces());
+        }
+        return new Implementation(provider.getName(), metaFactory, features);
+    }
+
     private static Object load(Loader loader, String className) {
         Class<?> clazz;
         try {
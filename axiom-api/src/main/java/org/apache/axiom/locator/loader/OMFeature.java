@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.locator.loader;
+
+import org.apache.axiom.om.OMAbstractFactory;
+
+/**
+ * Describes a feature supported by an Axiom implementation. This is the equivalent of the {@code
+ * feature} element in {@code META-INF/axiom.xml}.
+ */
+public final class OMFeature {
+    private final String name;
+    private final int priority;
+    private final Class<?>[] extensionInterfaces;
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the feature, e.g. {@link OMAbstractFactory#FEATURE_DEFAULT}
+     * @param priority the priority of the implementation for this feature; when several
+     *     implementations support the same feature, the one with the highest priority is selected
+     * @param extensionInterfaces the extension interfaces implemented by the {@link
+     *     org.apache.axiom.om.OMMetaFactory} for this feature
+     */
+    public OMFeature(String name, int priority, Class<?>... extensionInterfaces) {
+        this.name = name;
+        this.priority = priority;
+        this.extensionInterfaces = extensionInterfaces.clone();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public Class<?>[] getExtensionInterfaces() {
+        return extensionInterfaces.clone();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.locator.loader;
+
+import java.util.ServiceLoader;
+
+/**
+ * Describes an Axiom implementation so that it can be discovered using {@link ServiceLoader}. An
+ * Axiom implementation should provide an implementation of this interface and register it in
+ * {@code META-INF/services/org.apache.axiom.locator.loader.OMImplementationProvider}.
+ *
+ * <p>In non OSGi environments, this is preferred over {@code META-INF/axiom.xml}: discovery then
+ * doesn't require parsing any XML, and the descriptor of a JAR that also registers a provider is
+ * ignored. The descriptor is still required in OSGi environments, and the information returned by
+ * the provider must match the content of the descriptor.
+ */
+public interface OMImplementationProvider {
+    /**
+     * Get the name of the implementation. This is the equivalent of the {@code name} attribute of
+     * the {@code implementation} element in {@code META-INF/axiom.xml}.
+     *
+     * @return the name of the implementation
+     */
+    String getName();
+
+    /**
+     * Get the loader for the {@link org.apache.axiom.om.OMMetaFactory} of the implementation.
+     *
+     * @return the loader
+     */
+    OMMetaFactoryLoader getLoader();
+
+    /**
+     * Get the features supported by the implementation.
+     *
+     * @return the features
+     */
+    OMFeature[] getFeatures();
+}
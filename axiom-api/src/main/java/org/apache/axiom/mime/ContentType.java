@@ -154,6 +154,28 @@ public final class ContentType {
         }
     }
 
+    /** The maximum number of entries in {@link #cache}. */
+    private static final int MAX_CACHE_SIZE = 64;
+
+    /** The maximum length of a header value that is eligible for {@link #cache}. */
+    private static final int MAX_CACHED_LENGTH = 256;
+
+    /**
+     * Parsed instances for the {@code Content-Type} header values most recently seen by {@link
+     * #parse(String)}. MIME messages typically use the same few values for all their parts. Since
+     * instances are immutable, they can be shared. Values that include a message specific parameter
+     * (such as {@code boundary}) change over time; the least recently used entry is evicted so that
+     * they don't prevent newer values from being cached. Access is synchronized on the map.
+     */
+    private static final Map<String, ContentType> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ContentType> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
     private final MediaType mediaType;
     private final String[] parameters;
 
@@ -184,7 +206,7 @@ public final class ContentType {
         String primaryType = tokenizer.requireToken();
         tokenizer.require('/');
         String subType = tokenizer.requireToken();
-        mediaType = new MediaType(primaryType, subType);
+        mediaType = MediaType.of(primaryType, subType);
         List<String> parameters = new ArrayList<>();
         while (tokenizer.expect(';')) {
             String name = tokenizer.expectToken();
@@ -200,6 +222,31 @@ public final class ContentType {
         this.parameters = parameters.toArray(new String[parameters.size()]);
     }
 
+    /**
+     * Parse a {@code Content-Type} header value, reusing a previously parsed instance for the same
+     * value if possible.
+     *
+     * @param type the value of the {@code Content-Type} header conforming to RFC 2045
+     * @return the parsed content type
+     * @throws ParseException if the value is invalid and could not be parsed
+     */
+    static ContentType parse(String type) throws ParseException {
+        if (type == null || type.length() > MAX_CACHED_LENGTH) {
+            return new ContentType(type);
+        }
+        ContentType contentType;
+        synchronized (cache) {
+            contentType = cache.get(type);
+        }
+        if (contentType == null) {
+            contentType = new ContentType(type);
+            synchronized (cache) {
+                cache.put(type, contentType);
+            }
+        }
+        return contentType;
+    }
+
     ContentType(MediaType mediaType, Map<String, String> parameters) {
         this.mediaType = mediaType;
         this.parameters = new String[parameters.size() * 2];
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axiom.mime;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/** Computes {@link PartDigests} incrementally. */
+final class DigestCalculator {
+    private final String[] algorithms;
+    private final MessageDigest[] digests;
+    private long size;
+
+    DigestCalculator(String[] algorithms) {
+        this.algorithms = algorithms;
+        digests = new MessageDigest[algorithms.length];
+        for (int i = 0; i < algorithms.length; i++) {
+            digests[i] = getMessageDigest(algorithms[i]);
+        }
+    }
+
+    private static MessageDigest getMessageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalArgumentException("Unsupported digest algorithm " + algorithm, ex);
+        }
+    }
+
+    /**
+     * Validate a set of digest algorithms.
+     *
+     * @param algorithms the algorithm names
+     * @return a copy of the array, or {@code null} if the array is {@code null} or empty
+     * @throws IllegalArgumentException if one of the algorithms is not supported
+     */
+    static String[] checkAlgorithms(String[] algorithms) {
+        if (algorithms == null || algorithms.length == 0) {
+            return null;
+        }
+        for (String algorithm : algorithms) {
+            getMessageDigest(algorithm);
+        }
+        return algorithms.clone();
+    }
+
+    void update(int b) {
+        for (MessageDigest digest : digests) {
+            digest.update((byte) b);
+        }
+        size++;
+    }
+
+    void update(byte[] b, int off, int len) {
+        for (MessageDigest digest : digests) {
+            digest.update(b, off, len);
+        }
+        size += len;
+    }
+
+    PartDigests complete() {
+        byte[][] result = new byte[digests.length][];
+        for (int i = 0; i < digests.length; i++) {
+            result[i] = digests[i].digest();
+        }
+        return new PartDigests(size, algorithms, result);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axiom.mime;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Computes digests of the data read from the underlying stream. The digests are passed to a
+ * callback when the end of the stream is reached.
+ */
+final class DigestInputStream extends FilterInputStream {
+    private DigestCalculator calculator;
+    private final Consumer<PartDigests> callback;
+
+    DigestInputStream(InputStream in, DigestCalculator calculator, Consumer<PartDigests> callback) {
+        super(in);
+        this.calculator = calculator;
+        this.callback = callback;
+    }
+
+    private void complete() {
+        if (calculator != null) {
+            callback.accept(calculator.complete());
+            calculator = null;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            complete();
+        } else if (calculator != null) {
+            calculator.update(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int c = in.read(b, off, len);
+        if (c == -1) {
+            complete();
+        } else if (calculator != null) {
+            calculator.update(b, off, c);
+        }
+        return c;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped data must be digested as well
+        byte[] buffer = new byte[(int) Math.min(n, 4096)];
+        long skipped = 0;
+        while (skipped < n) {
+            int c = read(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+            if (c == -1) {
+                break;
+            }
+            skipped += c;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axiom.mime;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Computes digests of the data written to the underlying stream. The digests are passed to a
+ * callback when the stream is closed.
+ */
+final class DigestOutputStream extends FilterOutputStream {
+    private DigestCalculator calculator;
+    private final Consumer<PartDigests> callback;
+
+    DigestOutputStream(OutputStream out, DigestCalculator calculator, Consumer<PartDigests> callback) {
+        super(out);
+        this.calculator = calculator;
+        this.callback = callback;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        calculator.update(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        calculator.update(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (calculator != null) {
+            callback.accept(calculator.complete());
+            calculator = null;
+        }
+        out.close();
+    }
+}
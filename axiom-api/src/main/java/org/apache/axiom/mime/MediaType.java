@@ -53,6 +53,11 @@ public final class MediaType {
     /** The media type for {@code text/plain}. */
     public static final MediaType TEXT_PLAIN = new MediaType("text", "plain");
 
+    /** Instances returned by {@link #of(String, String)} for commonly used media types. */
+    private static final MediaType[] SHARED_INSTANCES = {
+        APPLICATION_XOP_XML, APPLICATION_OCTET_STREAM, APPLICATION_SOAP_XML, TEXT_XML, APPLICATION_XML, TEXT_PLAIN
+    };
+
     private final String primaryType;
     private final String subType;
 
@@ -67,6 +72,23 @@ public final class MediaType {
         this.subType = subType;
     }
 
+    /**
+     * Get a media type with the given primary type and subtype. For commonly used media types,
+     * this returns a shared instance instead of creating a new one.
+     *
+     * @param primaryType the primary type
+     * @param subType the subtype
+     * @return the media type
+     */
+    static MediaType of(String primaryType, String subType) {
+        for (MediaType type : SHARED_INSTANCES) {
+            if (type.primaryType.equals(primaryType) && type.subType.equals(subType)) {
+                return type;
+            }
+        }
+        return new MediaType(primaryType, subType);
+    }
+
     /**
      * Constructor that parses a media type.
      *
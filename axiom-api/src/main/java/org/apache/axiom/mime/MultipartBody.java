@@ -26,6 +26,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import org.apache.axiom.blob.MemoryBlob;
 import org.apache.axiom.blob.WritableBlobFactory;
 import org.apache.commons.logging.Log;
@@ -59,6 +61,8 @@ public final class MultipartBody implements Iterable<Part> {
         private WritableBlobFactory<?> attachmentBlobFactory;
         private PartBlobFactory partBlobFactory;
         private PartCreationListener partCreationListener;
+        private Executor prefetchExecutor;
+        private String[] digestAlgorithms;
 
         Builder() {}
 
@@ -96,6 +100,42 @@ public final class MultipartBody implements Iterable<Part> {
             return this;
         }
 
+        /**
+         * Enable background prefetching of the parts. If an executor is set, a task submitted to
+         * that executor reads the message ahead of demand and buffers all parts (including the
+         * root part) using the configured blob factories. Methods that look up parts or access
+         * their content then only block until the requested part is available instead of reading
+         * all preceding parts on the calling thread. Streaming of part content (see {@link
+         * Part#getInputStream(boolean)}) is not possible in this mode.
+         *
+         * <p>The input stream is read by the prefetch task and must not be used or closed by the
+         * application before {@link MultipartBody#detach()} returns. The {@link
+         * PartCreationListener} (if any) is invoked by the prefetch task.
+         *
+         * @param prefetchExecutor the executor to run the prefetch task, or {@code null} to read
+         *     parts on demand (which is the default)
+         * @return this builder
+         */
+        public Builder setPrefetchExecutor(Executor prefetchExecutor) {
+            this.prefetchExecutor = prefetchExecutor;
+            return this;
+        }
+
+        /**
+         * Enable the computation of digests of the part content. The digests are computed while
+         * the content is read from the underlying stream, either when it is buffered or when it is
+         * streamed, and are then available through {@link Part#getDigests()}.
+         *
+         * @param digestAlgorithms the names of the {@link java.security.MessageDigest} algorithms
+         *     to use (e.g. {@code SHA-256}); no digests are computed if no algorithms are specified
+         * @return this builder
+         * @throws IllegalArgumentException if one of the algorithms is not supported
+         */
+        public Builder setDigestAlgorithms(String... digestAlgorithms) {
+            this.digestAlgorithms = DigestCalculator.checkAlgorithms(digestAlgorithms);
+            return this;
+        }
+
         public MultipartBody build() {
             if (inputStream == null) {
                 throw new IllegalArgumentException("inputStream is mandatory");
@@ -108,7 +148,9 @@ public final class MultipartBody implements Iterable<Part> {
                     contentType,
                     attachmentBlobFactory == null ? MemoryBlob.FACTORY : attachmentBlobFactory,
                     partBlobFactory == null ? PartBlobFactory.DEFAULT : partBlobFactory,
-                    partCreationListener);
+                    partCreationListener,
+                    prefetchExecutor,
+                    digestAlgorithms);
         }
     }
 
@@ -137,16 +179,30 @@ public final class MultipartBody implements Iterable<Part> {
     private final WritableBlobFactory<?> attachmentBlobFactory;
     private final PartBlobFactory partBlobFactory;
     private final PartCreationListener partCreationListener;
+    private final String[] digestAlgorithms;
+
+    /**
+     * Indicates whether parts are read by a prefetch task. In that case, the fields describing the
+     * parts are only accessed while holding the lock on this object, and the parser is only
+     * accessed by the prefetch task.
+     */
+    private final boolean prefetch;
+
+    private boolean prefetchCompleted;
+    private RuntimeException prefetchFailure;
 
     MultipartBody(
             InputStream inStream,
             ContentType contentType,
             WritableBlobFactory<?> attachmentBlobFactory,
             PartBlobFactory partBlobFactory,
-            PartCreationListener partCreationListener) {
+            PartCreationListener partCreationListener,
+            Executor prefetchExecutor,
+            String[] digestAlgorithms) {
         this.attachmentBlobFactory = attachmentBlobFactory;
         this.partBlobFactory = partBlobFactory;
         this.partCreationListener = partCreationListener;
+        this.digestAlgorithms = digestAlgorithms;
         this.contentType = contentType;
 
         String start = contentType.getParameter("start");
@@ -166,6 +222,11 @@ public final class MultipartBody implements Iterable<Part> {
                 throw new MIMEException(ex);
             }
         }
+
+        prefetch = prefetchExecutor != null;
+        if (prefetch) {
+            prefetchExecutor.execute(this::prefetch);
+        }
     }
 
     public static Builder builder() {
@@ -173,22 +234,35 @@ public final class MultipartBody implements Iterable<Part> {
     }
 
     private static String normalizeContentID(String contentID) {
-        contentID = contentID.trim();
-        if (contentID.length() >= 2 && contentID.charAt(0) == '<' && contentID.charAt(contentID.length() - 1) == '>') {
-            contentID = contentID.substring(1, contentID.length() - 1);
+        // Compute the bounds first so that at most one substring is created
+        int start = 0;
+        int end = contentID.length();
+        while (start < end && contentID.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && contentID.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start >= 2 && contentID.charAt(start) == '<' && contentID.charAt(end - 1) == '>') {
+            start++;
+            end--;
         }
         // There is some evidence that some broken MIME implementations add
         // a "cid:" prefix to the Content-ID; remove it if necessary.
-        if (contentID.length() > 4 && contentID.startsWith("cid:")) {
-            contentID = contentID.substring(4);
+        if (end - start > 4 && contentID.startsWith("cid:", start)) {
+            start += 4;
         }
-        return contentID;
+        return contentID.substring(start, end);
     }
 
     PartBlobFactory getPartBlobFactory() {
         return partBlobFactory;
     }
 
+    String[] getDigestAlgorithms() {
+        return digestAlgorithms;
+    }
+
     public ContentType getContentType() {
         return contentType;
     }
@@ -201,6 +275,9 @@ public final class MultipartBody implements Iterable<Part> {
      *     content ID
      */
     public Part getPart(String contentID) {
+        if (prefetch) {
+            return awaitPrefetch(() -> partMap.get(contentID));
+        }
         do {
             PartImpl part = partMap.get(contentID);
             if (part != null) {
@@ -217,10 +294,18 @@ public final class MultipartBody implements Iterable<Part> {
      */
     public int getPartCount() {
         detach();
+        if (prefetch) {
+            synchronized (this) {
+                return partCount;
+            }
+        }
         return partCount;
     }
 
     PartImpl getFirstPart() {
+        if (prefetch) {
+            return awaitPrefetch(() -> firstPart);
+        }
         if (firstPart == null) {
             getNextPart();
         }
@@ -228,6 +313,13 @@ public final class MultipartBody implements Iterable<Part> {
     }
 
     public Part getRootPart() {
+        if (prefetch) {
+            Part part = awaitPrefetch(() -> rootPart);
+            if (part == null) {
+                throw new MIMEException("Mandatory root MIME part is missing");
+            }
+            return part;
+        }
         do {
             if (rootPart != null) {
                 return rootPart;
@@ -240,67 +332,141 @@ public final class MultipartBody implements Iterable<Part> {
         if (currentPart != null) {
             currentPart.fetch();
         }
-        if (parser.getState() == EntityState.T_END_MULTIPART) {
-            currentPart = null;
-        } else {
-            String partContentID = null;
-            boolean isRootPart;
+        addPart(readNextPart());
+        return currentPart;
+    }
 
-            try {
-                checkParserState(parser.next(), EntityState.T_START_HEADER);
-
-                List<Header> headers = new ArrayList<>();
-                while (parser.next() == EntityState.T_FIELD) {
-                    Field field = parser.getField();
-                    String name = field.getName();
-                    String value = field.getBody();
-
-                    if (log.isDebugEnabled()) {
-                        log.debug("addHeader: (" + name + ") value=(" + value + ")");
-                    }
-                    headers.add(new Header(name, value));
-                    if (partContentID == null && name.equalsIgnoreCase("Content-ID")) {
-                        partContentID = normalizeContentID(value);
-                    }
+    /**
+     * Read the headers of the next part. The content of the current part must have been consumed.
+     *
+     * @return the next part, or {@code null} if the end of the message has been reached
+     */
+    private PartImpl readNextPart() {
+        if (parser.getState() == EntityState.T_END_MULTIPART) {
+            return null;
+        }
+        String partContentID = null;
+        try {
+            checkParserState(parser.next(), EntityState.T_START_HEADER);
+
+            List<Header> headers = new ArrayList<>();
+            while (parser.next() == EntityState.T_FIELD) {
+                Field field = parser.getField();
+                String name = field.getName();
+                String value = field.getBody();
+
+                if (log.isDebugEnabled()) {
+                    log.debug("addHeader: (" + name + ") value=(" + value + ")");
+                }
+                headers.add(new Header(name, value));
+                if (partContentID == null && name.equalsIgnoreCase(Header.CONTENT_ID)) {
+                    partContentID = normalizeContentID(value);
                 }
+            }
 
-                checkParserState(parser.next(), EntityState.T_BODY);
+            checkParserState(parser.next(), EntityState.T_BODY);
+
+            return new PartImpl(
+                    this,
+                    isRootPart(partContentID) ? MemoryBlob.FACTORY : attachmentBlobFactory,
+                    partContentID,
+                    headers,
+                    parser);
+        } catch (IOException ex) {
+            throw new MIMEException(ex);
+        } catch (MimeException ex) {
+            throw new MIMEException(ex);
+        }
+    }
 
-                if (rootPartContentID == null) {
-                    isRootPart = firstPart == null;
-                } else {
-                    isRootPart = rootPartContentID.equals(partContentID);
-                }
+    private boolean isRootPart(String partContentID) {
+        if (rootPartContentID == null) {
+            return firstPart == null;
+        } else {
+            return rootPartContentID.equals(partContentID);
+        }
+    }
 
-                PartImpl part = new PartImpl(
-                        this, isRootPart ? MemoryBlob.FACTORY : attachmentBlobFactory, partContentID, headers, parser);
-                if (currentPart == null) {
-                    firstPart = part;
-                } else {
-                    currentPart.setNextPart(part);
-                }
-                currentPart = part;
-            } catch (IOException ex) {
-                throw new MIMEException(ex);
-            } catch (MimeException ex) {
-                throw new MIMEException(ex);
+    private void addPart(PartImpl part) {
+        if (part == null) {
+            currentPart = null;
+            return;
+        }
+        String partContentID = part.getContentID();
+        boolean isRootPart = isRootPart(partContentID);
+        if (currentPart == null) {
+            firstPart = part;
+        } else {
+            currentPart.setNextPart(part);
+        }
+        currentPart = part;
+        partCount++;
+        if (partContentID != null) {
+            if (partMap.containsKey(partContentID)) {
+                throw new MIMEException("Two MIME parts with the same Content-ID not allowed.");
             }
+            partMap.put(partContentID, part);
+        }
+        if (isRootPart) {
+            rootPart = part;
+        }
+        if (partCreationListener != null) {
+            partCreationListener.partCreated(part);
+        }
+    }
 
-            partCount++;
-            if (partContentID != null) {
-                if (partMap.containsKey(partContentID)) {
-                    throw new MIMEException("Two MIME parts with the same Content-ID not allowed.");
+    /** Reads and buffers all parts; executed by the prefetch executor. */
+    private void prefetch() {
+        try {
+            PartImpl part;
+            while ((part = readNextPart()) != null) {
+                synchronized (this) {
+                    addPart(part);
+                    notifyAll();
+                }
+                part.internalFetch();
+                synchronized (this) {
+                    notifyAll();
                 }
-                partMap.put(partContentID, currentPart);
             }
-            if (isRootPart) {
-                rootPart = currentPart;
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                prefetchFailure = ex;
             }
-            if (partCreationListener != null) {
-                partCreationListener.partCreated(currentPart);
+        } finally {
+            synchronized (this) {
+                prefetchCompleted = true;
+                notifyAll();
             }
         }
-        return currentPart;
+    }
+
+    boolean isPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Wait until the prefetch task has made the requested information available or has completed.
+     *
+     * @param supplier evaluated while holding the lock on this object; returns the requested
+     *     information or {@code null} if it is not available yet
+     * @return the value returned by {@code supplier}, or {@code null} if the prefetch task has
+     *     completed without making it available
+     */
+    synchronized <T> T awaitPrefetch(Supplier<T> supplier) {
+        T result;
+        while ((result = supplier.get()) == null && !prefetchCompleted) {
+            try {
+                wait();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new MIMEException("Interrupted while waiting for MIME parts", ex);
+            }
+        }
+        if (result == null && prefetchFailure != null) {
+            throw new MIMEException("Failed to read the MIME message", prefetchFailure);
+        }
+        return result;
     }
 
     private static void checkParserState(EntityState state, EntityState expected) throws IllegalStateException {
@@ -316,6 +482,10 @@ public final class MultipartBody implements Iterable<Part> {
     }
 
     public void detach() {
+        if (prefetch) {
+            awaitPrefetch(() -> null);
+            return;
+        }
         while (getNextPart() != null) {
             // Just loop
         }
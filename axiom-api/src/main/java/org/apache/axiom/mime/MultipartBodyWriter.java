@@ -20,7 +20,9 @@ package org.apache.axiom.mime;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.axiom.blob.Blob;
 import org.apache.axiom.util.UIDGenerator;
 
@@ -77,6 +79,8 @@ public final class MultipartBodyWriter {
     private final OutputStream out;
     private final String boundary;
     private final byte[] buffer = new byte[256];
+    private final String[] digestAlgorithms;
+    private final Map<String, PartDigests> partDigests;
 
     /**
      * Constructor.
@@ -86,8 +90,27 @@ public final class MultipartBodyWriter {
      * @see UIDGenerator#generateMimeBoundary()
      */
     public MultipartBodyWriter(OutputStream out, String boundary) {
+        this(out, boundary, (String[]) null);
+    }
+
+    /**
+     * Constructor that enables the computation of digests of the parts that are written. The
+     * digests are computed over the unencoded content (i.e. before the content transfer encoding is
+     * applied) and can be retrieved using {@link #getPartDigests(String)} once a part has been
+     * completed.
+     *
+     * @param out the output stream to write the multipart body to
+     * @param boundary the MIME boundary
+     * @param digestAlgorithms the names of the {@link java.security.MessageDigest} algorithms to
+     *     use (e.g. {@code SHA-256}); no digests are computed if no algorithms are specified
+     * @throws IllegalArgumentException if one of the algorithms is not supported
+     * @see UIDGenerator#generateMimeBoundary()
+     */
+    public MultipartBodyWriter(OutputStream out, String boundary, String... digestAlgorithms) {
         this.out = out;
         this.boundary = boundary;
+        this.digestAlgorithms = DigestCalculator.checkAlgorithms(digestAlgorithms);
+        partDigests = this.digestAlgorithms == null ? null : new HashMap<>();
     }
 
     void writeAscii(String s) throws IOException {
@@ -152,7 +175,14 @@ public final class MultipartBodyWriter {
             }
         }
         writeAscii("\r\n\r\n");
-        return contentTransferEncoding.encode(new PartOutputStream(out));
+        OutputStream partOutputStream = contentTransferEncoding.encode(new PartOutputStream(out));
+        if (digestAlgorithms != null && contentID != null) {
+            partOutputStream = new DigestOutputStream(
+                    partOutputStream,
+                    new DigestCalculator(digestAlgorithms),
+                    digests -> partDigests.put(contentID, digests));
+        }
+        return partOutputStream;
     }
 
     /**
@@ -179,6 +209,17 @@ public final class MultipartBodyWriter {
         partOutputStream.close();
     }
 
+    /**
+     * Get the digests of a part that has been written.
+     *
+     * @param contentID the content ID of the part
+     * @return the digests of the part, or {@code null} if digest computation has not been enabled,
+     *     no part with the given content ID has been written or the part has not been completed yet
+     */
+    public PartDigests getPartDigests(String contentID) {
+        return partDigests == null ? null : partDigests.get(contentID);
+    }
+
     /**
      * Complete writing of the MIME multipart package. This method does <b>not</b> close the
      * underlying stream.
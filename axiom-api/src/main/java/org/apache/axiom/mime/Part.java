@@ -79,6 +79,22 @@ public interface Part {
      */
     InputStream getInputStream(boolean preserve);
 
+    /**
+     * Get the digests of the content of this part. If the content hasn't been read yet, it is
+     * fetched first.
+     *
+     * <p>The digest algorithms are configured on the {@link MultipartBody}, so that the digests can
+     * be computed while the content is read. The default implementation therefore has no way to
+     * compute them and always returns {@code null}, as if digest computation had not been enabled.
+     *
+     * @return the digests, or {@code null} if digest computation has not been enabled (see {@link
+     *     MultipartBody.Builder#setDigestAlgorithms(String...)}), if the content is being streamed
+     *     and has not been read completely yet, or if the content was discarded without being read
+     */
+    default PartDigests getDigests() {
+        return null;
+    }
+
     /** Make sure that this part has been fully read from the underlying stream. */
     void fetch();
 
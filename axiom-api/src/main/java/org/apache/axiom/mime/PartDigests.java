@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axiom.mime;
+
+/**
+ * The digests and the size of the content of a MIME part, computed while the content is read or
+ * written. The digests are computed over the decoded content, i.e. without the content transfer
+ * encoding.
+ *
+ * @see MultipartBody.Builder#setDigestAlgorithms(String...)
+ * @see MultipartBodyWriter#MultipartBodyWriter(java.io.OutputStream, String, String...)
+ */
+public final class PartDigests {
+    private final long size;
+    private final String[] algorithms;
+    private final byte[][] digests;
+
+    PartDigests(long size, String[] algorithms, byte[][] digests) {
+        this.size = size;
+        this.algorithms = algorithms;
+        this.digests = digests;
+    }
+
+    /**
+     * Get the size of the content.
+     *
+     * @return the number of bytes of the (decoded) content
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Get the digest computed with the given algorithm.
+     *
+     * @param algorithm the name of the digest algorithm, as specified when enabling digest
+     *     computation; the comparison is case insensitive
+     * @return the digest, or {@code null} if no digest has been computed with that algorithm
+     */
+    public byte[] getDigest(String algorithm) {
+        for (int i = 0; i < algorithms.length; i++) {
+            if (algorithms[i].equalsIgnoreCase(algorithm)) {
+                return digests[i].clone();
+            }
+        }
+        return null;
+    }
+}
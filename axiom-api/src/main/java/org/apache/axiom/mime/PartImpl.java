@@ -29,6 +29,8 @@ import org.apache.axiom.blob.OverflowableBlob;
 import org.apache.axiom.blob.WritableBlob;
 import org.apache.axiom.blob.WritableBlobFactory;
 import org.apache.axiom.ext.io.StreamCopyException;
+import org.apache.axiom.monitoring.Monitoring;
+import org.apache.axiom.monitoring.Operation;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.james.mime4j.MimeException;
@@ -65,9 +67,21 @@ final class PartImpl implements Part {
 
     private final String contentID;
     private final List<Header> headers;
+
+    /**
+     * Case insensitive hash codes of the header names (see {@link #hashHeaderName(String)}), in
+     * the same order as {@link #headers}. This allows {@link #getHeader(String)} to skip most
+     * string comparisons.
+     */
+    private final int[] headerNameHashes;
+
     private ContentType contentType;
 
-    private int state = STATE_UNREAD;
+    /**
+     * The state of this part. In prefetch mode (see {@link MultipartBody#isPrefetch()}) this field
+     * is updated by the prefetch task, and the content is always assigned before the state.
+     */
+    private volatile int state = STATE_UNREAD;
 
     /**
      * The MIME parser from which the content of this part is read. This is only set if the state is
@@ -84,6 +98,12 @@ final class PartImpl implements Part {
 
     private PartImpl nextPart;
 
+    /**
+     * The digests of the content, set once the content has been read completely if digest
+     * computation is enabled.
+     */
+    private volatile PartDigests digests;
+
     PartImpl(
             MultipartBody message,
             WritableBlobFactory<?> blobFactory,
@@ -94,13 +114,29 @@ final class PartImpl implements Part {
         this.blobFactory = blobFactory;
         this.contentID = contentID;
         this.headers = headers;
+        headerNameHashes = new int[headers.size()];
+        for (int i = 0; i < headerNameHashes.length; i++) {
+            headerNameHashes[i] = hashHeaderName(headers.get(i).getName());
+        }
         this.parser = parser;
     }
 
+    private static int hashHeaderName(String name) {
+        int hash = 0;
+        for (int i = 0, l = name.length(); i < l; i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return hash;
+    }
+
     @Override
     public String getHeader(String name) {
         String value = null;
-        for (int i = 0, l = headers.size(); i < l; i++) {
+        int hash = hashHeaderName(name);
+        for (int i = 0; i < headerNameHashes.length; i++) {
+            if (headerNameHashes[i] != hash) {
+                continue;
+            }
             Header header = headers.get(i);
             if (header.getName().equalsIgnoreCase(name)) {
                 value = header.getValue();
@@ -127,7 +163,7 @@ final class PartImpl implements Part {
     public ContentType getContentType() {
         if (contentType == null) {
             try {
-                contentType = new ContentType(getHeader("content-type"));
+                contentType = ContentType.parse(getHeader(Header.CONTENT_TYPE));
             } catch (ParseException ex) {
                 throw new MIMEException(ex);
             }
@@ -143,7 +179,18 @@ final class PartImpl implements Part {
         return blob;
     }
 
+    /**
+     * In prefetch mode, wait until the prefetch task has read the content of this part. Note that
+     * the prefetch task is the only one allowed to access the parser in that mode.
+     */
+    private void awaitContent() {
+        if (message.isPrefetch()) {
+            message.awaitPrefetch(() -> state == STATE_UNREAD ? null : Boolean.TRUE);
+        }
+    }
+
     private WritableBlob getContent() {
+        awaitContent();
         switch (state) {
             case STATE_UNREAD:
                 fetch();
@@ -176,6 +223,10 @@ final class PartImpl implements Part {
 
     private InputStream getDecodedInputStream() {
         InputStream in = parser.getDecodedInputStream();
+        String[] digestAlgorithms = message.getDigestAlgorithms();
+        if (digestAlgorithms != null) {
+            in = new DigestInputStream(in, new DigestCalculator(digestAlgorithms), digests -> this.digests = digests);
+        }
         if (log.isDebugEnabled()) {
             in = new DebugInputStream(in, log);
         }
@@ -184,6 +235,12 @@ final class PartImpl implements Part {
 
     @Override
     public void fetch() {
+        awaitContent();
+        internalFetch();
+    }
+
+    /** Read the content of this part into a buffer if it hasn't been read yet. */
+    void internalFetch() {
         switch (state) {
             case STATE_UNREAD -> {
                 checkParserState(parser.getState(), EntityState.T_BODY);
@@ -192,8 +249,10 @@ final class PartImpl implements Part {
                 if (log.isDebugEnabled()) {
                     log.debug("Using blob of type " + content.getClass().getName());
                 }
+                Operation operation = Monitoring.isEnabled() ? Monitoring.beginPartBuffering() : null;
+                long size;
                 try {
-                    content.readFrom(getDecodedInputStream());
+                    size = content.readFrom(getDecodedInputStream());
                 } catch (StreamCopyException ex) {
                     if (ex.getOperation() == StreamCopyException.READ) {
                         throw new MIMEException("Failed to fetch the MIME part content", ex.getCause());
@@ -202,6 +261,9 @@ final class PartImpl implements Part {
                                 "Failed to write the MIME part content to temporary storage", ex.getCause());
                     }
                 }
+                if (operation != null) {
+                    reportBuffered(content, size, operation);
+                }
                 moveToNextPart();
                 state = STATE_BUFFERED;
             }
@@ -219,6 +281,20 @@ final class PartImpl implements Part {
         }
     }
 
+    /**
+     * Report the buffering of part content to {@link Monitoring}.
+     *
+     * @param content the buffer
+     * @param size the number of bytes written to the buffer
+     * @param operation the operation returned by {@link Monitoring#beginPartBuffering()}
+     */
+    static void reportBuffered(WritableBlob content, long size, Operation operation) {
+        Monitoring.reportPartBuffered(size, operation);
+        if (content instanceof OverflowableBlob overflowableBlob && overflowableBlob.getOverflowBlob() != null) {
+            Monitoring.reportBlobOverflowed(size);
+        }
+    }
+
     private void moveToNextPart() {
         try {
             checkParserState(parser.next(), EntityState.T_END_BODYPART);
@@ -240,6 +316,7 @@ final class PartImpl implements Part {
 
     @Override
     public InputStream getInputStream(boolean preserve) {
+        awaitContent();
         if (!preserve && state == STATE_UNREAD) {
             checkParserState(parser.getState(), EntityState.T_BODY);
             state = STATE_STREAMING;
@@ -261,6 +338,7 @@ final class PartImpl implements Part {
 
     @Override
     public void discard() {
+        awaitContent();
         try {
             switch (state) {
                 case STATE_UNREAD -> {
@@ -279,7 +357,18 @@ final class PartImpl implements Part {
         }
     }
 
+    @Override
+    public PartDigests getDigests() {
+        if (state == STATE_UNREAD) {
+            fetch();
+        }
+        return digests;
+    }
+
     PartImpl getNextPart() {
+        if (message.isPrefetch()) {
+            return message.awaitPrefetch(() -> nextPart);
+        }
         if (nextPart == null) {
             message.getNextPart();
         }
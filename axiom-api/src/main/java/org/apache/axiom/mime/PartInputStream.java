@@ -23,6 +23,8 @@ import java.io.InputStream;
 import org.apache.axiom.blob.MemoryBlob;
 import org.apache.axiom.blob.WritableBlob;
 import org.apache.axiom.blob.WritableBlobFactory;
+import org.apache.axiom.monitoring.Monitoring;
+import org.apache.axiom.monitoring.Operation;
 
 final class PartInputStream extends InputStream {
     private WritableBlob content;
@@ -52,8 +54,12 @@ final class PartInputStream extends InputStream {
             throw new IllegalStateException();
         }
         if (in != null) {
+            Operation operation = Monitoring.isEnabled() ? Monitoring.beginPartBuffering() : null;
             WritableBlob content = blobFactory.createBlob();
-            content.readFrom(in);
+            long size = content.readFrom(in);
+            if (operation != null) {
+                PartImpl.reportBuffered(content, size, operation);
+            }
             this.content = content;
             in = getInputStream(content);
         }
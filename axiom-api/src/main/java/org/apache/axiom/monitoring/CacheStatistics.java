@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.monitoring;
+
+import org.apache.axiom.om.OMMetaFactory;
+
+/**
+ * Provides access to the usage statistics of a cache maintained by an Axiom implementation. The
+ * values are updated without locking and may therefore lag slightly behind concurrent lookups.
+ *
+ * @see OMMetaFactory#getQNameCacheStatistics()
+ */
+public interface CacheStatistics {
+    /**
+     * Get the maximum number of entries the cache can hold.
+     *
+     * @return the capacity
+     */
+    int getCapacity();
+
+    /**
+     * Get the number of lookups that were satisfied from the cache.
+     *
+     * @return the hit count
+     */
+    long getHitCount();
+
+    /**
+     * Get the number of lookups that required the creation of a new entry.
+     *
+     * @return the miss count
+     */
+    long getMissCount();
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emits the Java Flight Recorder events. This class must only be loaded if the {@code jdk.jfr}
+ * module is available.
+ *
+ * <p>Events for operations that take time are begun when the operation starts (see {@link
+ * Monitoring}), so that the duration of the operation is the built-in duration of the event.
+ */
+final class JfrEvents {
+    private static final String CATEGORY = "Apache Axiom";
+
+    @Name("axiom.ForceExpand")
+    @Label("Force Expand")
+    @Category(CATEGORY)
+    @Description("An OMSourcedElement has been expanded")
+    static final class ForceExpandEvent extends Event {
+        @Label("Element Name")
+        String elementName;
+
+        @Label("Data Source Class")
+        Class<?> dataSourceClass;
+    }
+
+    @Name("axiom.BuildComplete")
+    @Label("Build Complete")
+    @Category(CATEGORY)
+    @Description("A builder has reached the end of the document; the duration starts with the creation of the builder")
+    static final class BuildCompleteEvent extends Event {
+        @Label("Node Count")
+        long nodeCount;
+    }
+
+    @Name("axiom.PartBuffered")
+    @Label("Part Buffered")
+    @Category(CATEGORY)
+    @Description("The content of a MIME part has been buffered")
+    static final class PartBufferedEvent extends Event {
+        @Label("Size")
+        @DataAmount
+        long size;
+    }
+
+    @Name("axiom.BlobOverflow")
+    @Label("Blob Overflow")
+    @Category(CATEGORY)
+    @Description("Buffered content has been written to overflow storage")
+    static final class BlobOverflowEvent extends Event {
+        @Label("Size")
+        @DataAmount
+        long size;
+    }
+
+    @Name("axiom.SerializeComplete")
+    @Label("Serialize Complete")
+    @Category(CATEGORY)
+    @Description("A node has been serialized")
+    static final class SerializeCompleteEvent extends Event {
+        @Label("Cache")
+        @Description("Whether the object model was preserved")
+        boolean cache;
+    }
+
+    private static final EventType[] eventTypes = {
+        EventType.getEventType(ForceExpandEvent.class),
+        EventType.getEventType(BuildCompleteEvent.class),
+        EventType.getEventType(PartBufferedEvent.class),
+        EventType.getEventType(BlobOverflowEvent.class),
+        EventType.getEventType(SerializeCompleteEvent.class),
+    };
+
+    private JfrEvents() {}
+
+    /**
+     * Determine whether at least one of the events is enabled in a running recording.
+     *
+     * @return {@code true} if events need to be emitted
+     */
+    static boolean isEnabled() {
+        for (EventType eventType : eventTypes) {
+            if (eventType.isEnabled()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Event begin(Event event) {
+        if (event.isEnabled()) {
+            event.begin();
+            return event;
+        } else {
+            return null;
+        }
+    }
+
+    static Object beginSourcedElementExpansion() {
+        return begin(new ForceExpandEvent());
+    }
+
+    static void sourcedElementExpanded(Object event, String elementName, Class<?> dataSourceClass) {
+        ForceExpandEvent forceExpandEvent = (ForceExpandEvent) event;
+        forceExpandEvent.elementName = elementName;
+        forceExpandEvent.dataSourceClass = dataSourceClass;
+        forceExpandEvent.commit();
+    }
+
+    static Object beginBuild() {
+        return begin(new BuildCompleteEvent());
+    }
+
+    static void buildCompleted(Object event, long nodeCount) {
+        BuildCompleteEvent buildCompleteEvent = (BuildCompleteEvent) event;
+        buildCompleteEvent.nodeCount = nodeCount;
+        buildCompleteEvent.commit();
+    }
+
+    static Object beginPartBuffering() {
+        return begin(new PartBufferedEvent());
+    }
+
+    static void partBuffered(Object event, long size) {
+        PartBufferedEvent partBufferedEvent = (PartBufferedEvent) event;
+        partBufferedEvent.size = size;
+        partBufferedEvent.commit();
+    }
+
+    static void blobOverflowed(long size) {
+        BlobOverflowEvent event = new BlobOverflowEvent();
+        if (event.isEnabled()) {
+            event.size = size;
+            event.commit();
+        }
+    }
+
+    static Object beginSerialization() {
+        return begin(new SerializeCompleteEvent());
+    }
+
+    static void serializationCompleted(Object event, boolean cache) {
+        SerializeCompleteEvent serializeCompleteEvent = (SerializeCompleteEvent) event;
+        serializeCompleteEvent.cache = cache;
+        serializeCompleteEvent.commit();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MetricsListener} implementation that aggregates notifications into counters. The counters
+ * are updated without locking and are intended to be polled by monitoring systems (e.g. exposed as
+ * gauges or function counters).
+ */
+public final class MetricsCounters implements MetricsListener {
+    private final LongAdder expansions = new LongAdder();
+    private final LongAdder expansionNanos = new LongAdder();
+    private final LongAdder completedBuilds = new LongAdder();
+    private final LongAdder builtNodes = new LongAdder();
+    private final LongAdder bufferedParts = new LongAdder();
+    private final LongAdder bufferedBytes = new LongAdder();
+    private final LongAdder partBufferingNanos = new LongAdder();
+    private final LongAdder blobOverflows = new LongAdder();
+    private final LongAdder spilledBytes = new LongAdder();
+    private final LongAdder serializations = new LongAdder();
+    private final LongAdder serializationNanos = new LongAdder();
+
+    @Override
+    public void sourcedElementExpanded(String elementName, Class<?> dataSourceClass, long durationNanos) {
+        expansions.increment();
+        expansionNanos.add(durationNanos);
+    }
+
+    @Override
+    public void buildCompleted(long nodeCount, long durationNanos) {
+        completedBuilds.increment();
+        builtNodes.add(nodeCount);
+    }
+
+    @Override
+    public void partBuffered(long size, long durationNanos) {
+        bufferedParts.increment();
+        bufferedBytes.add(size);
+        partBufferingNanos.add(durationNanos);
+    }
+
+    @Override
+    public void blobOverflowed(long size) {
+        blobOverflows.increment();
+        spilledBytes.add(size);
+    }
+
+    @Override
+    public void serializationCompleted(boolean cache, long durationNanos) {
+        serializations.increment();
+        serializationNanos.add(durationNanos);
+    }
+
+    /**
+     * Get the number of {@code OMSourcedElement} expansions.
+     *
+     * @return the number of expansions
+     */
+    public long getExpansions() {
+        return expansions.sum();
+    }
+
+    /**
+     * Get the total time spent to expand {@code OMSourcedElement}s.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getExpansionNanos() {
+        return expansionNanos.sum();
+    }
+
+    /**
+     * Get the number of builders that have reached the end of their document.
+     *
+     * @return the number of complete builds
+     */
+    public long getCompletedBuilds() {
+        return completedBuilds.sum();
+    }
+
+    /**
+     * Get the number of nodes created by builders that have reached the end of their document.
+     *
+     * @return the number of nodes
+     */
+    public long getBuiltNodes() {
+        return builtNodes.sum();
+    }
+
+    /**
+     * Get the number of MIME parts that have been buffered.
+     *
+     * @return the number of buffered parts
+     */
+    public long getBufferedParts() {
+        return bufferedParts.sum();
+    }
+
+    /**
+     * Get the total size of the MIME parts that have been buffered.
+     *
+     * @return the number of bytes
+     */
+    public long getBufferedBytes() {
+        return bufferedBytes.sum();
+    }
+
+    /**
+     * Get the total time spent to buffer MIME parts.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getPartBufferingNanos() {
+        return partBufferingNanos.sum();
+    }
+
+    /**
+     * Get the number of buffers that have been written to overflow storage.
+     *
+     * @return the number of overflows
+     */
+    public long getBlobOverflows() {
+        return blobOverflows.sum();
+    }
+
+    /**
+     * Get the total number of bytes written to overflow storage.
+     *
+     * @return the number of bytes
+     */
+    public long getSpilledBytes() {
+        return spilledBytes.sum();
+    }
+
+    /**
+     * Get the number of serializations.
+     *
+     * @return the number of serializations
+     */
+    public long getSerializations() {
+        return serializations.sum();
+    }
+
+    /**
+     * Get the total time spent in serializations.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getSerializationNanos() {
+        return serializationNanos.sum();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.monitoring;
+
+/**
+ * Receives notifications about expensive operations performed by Axiom. Instances are registered
+ * using {@link Monitoring#addListener(MetricsListener)}.
+ *
+ * <p>Methods are invoked synchronously on the thread that performed the operation and must
+ * therefore return quickly; typically they only update counters or timers. They must not access
+ * the object model. All methods have an empty default implementation so that implementations only
+ * need to override the notifications they are interested in.
+ */
+public interface MetricsListener {
+    /**
+     * Notify the listener that an {@code OMSourcedElement} has been expanded.
+     *
+     * @param elementName the name of the element, in the form <code>{namespaceURI}localName</code>
+     *     or <code>localName</code>
+     * @param dataSourceClass the class of the data source backing the element
+     * @param durationNanos the time spent to expand the element, in nanoseconds; if the data source
+     *     is expanded incrementally, this only includes the time to build the element itself
+     */
+    default void sourcedElementExpanded(String elementName, Class<?> dataSourceClass, long durationNanos) {}
+
+    /**
+     * Notify the listener that a builder has reached the end of the document.
+     *
+     * @param nodeCount the number of nodes created by the builder, excluding character data nodes
+     *     (which are created lazily)
+     * @param durationNanos the time elapsed between the creation of the builder and the end of the
+     *     document, in nanoseconds
+     */
+    default void buildCompleted(long nodeCount, long durationNanos) {}
+
+    /**
+     * Notify the listener that the content of a MIME part has been buffered.
+     *
+     * @param size the size of the content in bytes
+     * @param durationNanos the time spent to read the content, in nanoseconds
+     */
+    default void partBuffered(long size, long durationNanos) {}
+
+    /**
+     * Notify the listener that buffered content exceeded the in-memory threshold and has been
+     * written to the overflow storage (typically a temporary file).
+     *
+     * @param size the number of bytes written to the overflow storage
+     */
+    default void blobOverflowed(long size) {}
+
+    /**
+     * Notify the listener that a node has been serialized.
+     *
+     * @param cache {@code true} if the object model was preserved, {@code false} if it was consumed
+     * @param durationNanos the time spent to serialize the node, in nanoseconds
+     */
+    default void serializationCompleted(boolean cache, long durationNanos) {}
+}
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.monitoring;
+
+import java.util.Arrays;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Dispatches monitoring notifications to Java Flight Recorder and to the registered {@link
+ * MetricsListener} instances.
+ *
+ * <p>The <code>begin*</code> and <code>report*</code> methods are intended to be called by Axiom
+ * implementations. Callers should check {@link #isEnabled()} before starting an {@link Operation}
+ * and collecting the information to be reported, so that the overhead is small if neither a
+ * listener nor a recording of the Axiom events is active.
+ */
+public final class Monitoring {
+    private static final Log log = LogFactory.getLog(Monitoring.class);
+
+    private static final boolean jfrAvailable = isJfrAvailable();
+
+    private static volatile MetricsListener[] listeners = new MetricsListener[0];
+
+    private Monitoring() {}
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return true;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            // The jdk.jfr module is not present in the runtime image, or the package is not
+            // imported (OSGi)
+            return false;
+        }
+    }
+
+    /**
+     * Register a listener.
+     *
+     * @param listener the listener
+     */
+    public static synchronized void addListener(MetricsListener listener) {
+        MetricsListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+    }
+
+    /**
+     * Unregister a listener previously registered with {@link #addListener(MetricsListener)}.
+     *
+     * @param listener the listener
+     */
+    public static synchronized void removeListener(MetricsListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                MetricsListener[] newListeners = new MetricsListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, newListeners.length - i);
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Determine whether notifications need to be reported, i.e. whether a listener is registered
+     * or one of the Axiom events is enabled in a running flight recording.
+     *
+     * @return {@code true} if notifications need to be reported
+     */
+    public static boolean isEnabled() {
+        return listeners.length != 0 || (jfrAvailable && JfrEvents.isEnabled());
+    }
+
+    private static void handleListenerFailure(MetricsListener listener, RuntimeException ex) {
+        log.warn("Metrics listener " + listener + " failed", ex);
+    }
+
+    /**
+     * Start the expansion of an {@code OMSourcedElement}.
+     *
+     * @return the operation to pass to {@link #reportSourcedElementExpanded(String, Class,
+     *     Operation)}
+     */
+    public static Operation beginSourcedElementExpansion() {
+        return new Operation(jfrAvailable ? JfrEvents.beginSourcedElementExpansion() : null);
+    }
+
+    /**
+     * Report the expansion of an {@code OMSourcedElement}.
+     *
+     * @param elementName the name of the element
+     * @param dataSourceClass the class of the data source backing the element
+     * @param operation the operation returned by {@link #beginSourcedElementExpansion()}
+     * @see MetricsListener#sourcedElementExpanded(String, Class, long)
+     */
+    public static void reportSourcedElementExpanded(String elementName, Class<?> dataSourceClass, Operation operation) {
+        long durationNanos = operation.getElapsedNanos();
+        if (operation.jfrEvent != null) {
+            JfrEvents.sourcedElementExpanded(operation.jfrEvent, elementName, dataSourceClass);
+        }
+        for (MetricsListener listener : listeners) {
+            try {
+                listener.sourcedElementExpanded(elementName, dataSourceClass, durationNanos);
+            } catch (RuntimeException ex) {
+                handleListenerFailure(listener, ex);
+            }
+        }
+    }
+
+    /**
+     * Start monitoring a builder. This should be called when the builder is created.
+     *
+     * @return the operation to pass to {@link #reportBuildCompleted(long, Operation)}
+     */
+    public static Operation beginBuild() {
+        return new Operation(jfrAvailable ? JfrEvents.beginBuild() : null);
+    }
+
+    /**
+     * Report that a builder has reached the end of the document.
+     *
+     * @param nodeCount the number of nodes created by the builder
+     * @param operation the operation returned by {@link #beginBuild()}
+     * @see MetricsListener#buildCompleted(long, long)
+     */
+    public static void reportBuildCompleted(long nodeCount, Operation operation) {
+        long durationNanos = operation.getElapsedNanos();
+        if (operation.jfrEvent != null) {
+            JfrEvents.buildCompleted(operation.jfrEvent, nodeCount);
+        }
+        for (MetricsListener listener : listeners) {
+            try {
+                listener.buildCompleted(nodeCount, durationNanos);
+            } catch (RuntimeException ex) {
+                handleListenerFailure(listener, ex);
+            }
+        }
+    }
+
+    /**
+     * Start buffering the content of a MIME part.
+     *
+     * @return the operation to pass to {@link #reportPartBuffered(long, Operation)}
+     */
+    public static Operation beginPartBuffering() {
+        return new Operation(jfrAvailable ? JfrEvents.beginPartBuffering() : null);
+    }
+
+    /**
+     * Report that the content of a MIME part has been buffered.
+     *
+     * @param size the size of the content in bytes
+     * @param operation the operation returned by {@link #beginPartBuffering()}
+     * @see MetricsListener#partBuffered(long, long)
+     */
+    public static void reportPartBuffered(long size, Operation operation) {
+        long durationNanos = operation.getElapsedNanos();
+        if (operation.jfrEvent != null) {
+            JfrEvents.partBuffered(operation.jfrEvent, size);
+        }
+        for (MetricsListener listener : listeners) {
+            try {
+                listener.partBuffered(size, durationNanos);
+            } catch (RuntimeException ex) {
+                handleListenerFailure(listener, ex);
+            }
+        }
+    }
+
+    /**
+     * Report that buffered content has been written to overflow storage.
+     *
+     * @param size the number of bytes written to overflow storage
+     * @see MetricsListener#blobOverflowed(long)
+     */
+    public static void reportBlobOverflowed(long size) {
+        if (jfrAvailable) {
+            JfrEvents.blobOverflowed(size);
+        }
+        for (MetricsListener listener : listeners) {
+            try {
+                listener.blobOverflowed(size);
+            } catch (RuntimeException ex) {
+                handleListenerFailure(listener, ex);
+            }
+        }
+    }
+
+    /**
+     * Start the serialization of a node.
+     *
+     * @return the operation to pass to {@link #reportSerializationCompleted(boolean, Operation)}
+     */
+    public static Operation beginSerialization() {
+        return new Operation(jfrAvailable ? JfrEvents.beginSerialization() : null);
+    }
+
+    /**
+     * Report that a node has been serialized.
+     *
+     * @param cache {@code true} if the object model was preserved
+     * @param operation the operation returned by {@link #beginSerialization()}
+     * @see MetricsListener#serializationCompleted(boolean, long)
+     */
+    public static void reportSerializationCompleted(boolean cache, Operation operation) {
+        long durationNanos = operation.getElapsedNanos();
+        if (operation.jfrEvent != null) {
+            JfrEvents.serializationCompleted(operation.jfrEvent, cache);
+        }
+        for (MetricsListener listener : listeners) {
+            try {
+                listener.serializationCompleted(cache, durationNanos);
+            } catch (RuntimeException ex) {
+                handleListenerFailure(listener, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.monitoring;
+
+/**
+ * An operation whose completion is reported to {@link Monitoring}. Instances are returned by the
+ * <code>begin*</code> methods of {@link Monitoring} and must be passed to the corresponding
+ * <code>report*</code> method. They record the start time of the operation and, if a flight
+ * recording is running, the Java Flight Recorder event that has been begun for the operation.
+ */
+public final class Operation {
+    private final long startNanos = System.nanoTime();
+
+    /** The JFR event, or {@code null}; declared as {@link Object} so that jdk.jfr is optional. */
+    final Object jfrEvent;
+
+    Operation(Object jfrEvent) {
+        this.jfrEvent = jfrEvent;
+    }
+
+    long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.xml.namespace.QName;
+
+/**
+ * Iterator returned by {@link OMXMLParserWrapper#iterateElements(QName)}. It relies on the fact
+ * that all nodes preceding the current one are discarded: the next node to visit is then always
+ * the first child of the current container.
+ */
+final class ElementWindowIterator implements Iterator<OMElement> {
+    private final String namespaceURI;
+    private final String localName;
+
+    /** The container the children of which are being visited, or <code>null</code> at the end. */
+    private OMContainer container;
+
+    /** The last element returned by {@link #next()}; it is discarded before moving on. */
+    private OMElement current;
+
+    private OMElement next;
+
+    ElementWindowIterator(OMContainer container, QName name) {
+        this.container = container;
+        namespaceURI = name.getNamespaceURI();
+        localName = name.getLocalPart();
+    }
+
+    private boolean matches(OMElement element) {
+        if (!element.getLocalName().equals(localName)) {
+            return false;
+        }
+        String elementNamespaceURI = element.getNamespaceURI();
+        return elementNamespaceURI == null ? namespaceURI.isEmpty() : elementNamespaceURI.equals(namespaceURI);
+    }
+
+    private OMElement advance() {
+        if (current != null) {
+            if (current.getParent() == container) {
+                current.discard();
+            }
+            current = null;
+        }
+        while (container != null) {
+            OMNode node = container.getFirstOMChild();
+            if (node == null) {
+                if (container instanceof OMElement element) {
+                    container = element.getParent();
+                    if (container != null) {
+                        element.discard();
+                    }
+                } else {
+                    container = null;
+                }
+            } else if (node instanceof OMElement element) {
+                if (matches(element)) {
+                    return element;
+                }
+                container = element;
+            } else {
+                node.discard();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public OMElement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        current = next;
+        next = null;
+        return current;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om;
+
+import org.apache.axiom.om.util.StAXParserConfiguration;
+
+/**
+ * Resource limits enforced by a builder while it parses the input document. Limits are checked
+ * inline as the parser events are received, and a {@link ResourceLimitExceededException} is
+ * thrown as soon as one of them is exceeded, i.e. before the offending content is added to the
+ * tree. This allows malicious or malformed input to be rejected early, without spending CPU time
+ * and memory on building a large or deeply nested tree.
+ *
+ * <p>Limits are specified using {@link StAXParserConfiguration#getBuilderLimits()}; see {@link
+ * StAXParserConfiguration#withBuilderLimits(StAXParserConfiguration, OMBuilderLimits)}. By default,
+ * all limits are disabled. The settings are read when the builder is created; modifying them
+ * afterwards has no effect on existing builders.
+ */
+public class OMBuilderLimits {
+    private int maxDepth = Integer.MAX_VALUE;
+    private int maxAttributesPerElement = Integer.MAX_VALUE;
+    private int maxNamespaceDeclarationsPerElement = Integer.MAX_VALUE;
+    private int maxTextLength = Integer.MAX_VALUE;
+    private long maxNodeCount = Long.MAX_VALUE;
+    private long maxCharacterCount = Long.MAX_VALUE;
+
+    private static void checkLimit(long limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limits must be positive");
+        }
+    }
+
+    /**
+     * Get the maximum element nesting depth.
+     *
+     * @return the current value of this limit
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Set the maximum element nesting depth. The document element has depth 1.
+     *
+     * @param maxDepth the value to set for this limit
+     */
+    public void setMaxDepth(int maxDepth) {
+        checkLimit(maxDepth);
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Get the maximum number of attributes per element.
+     *
+     * @return the current value of this limit
+     */
+    public int getMaxAttributesPerElement() {
+        return maxAttributesPerElement;
+    }
+
+    /**
+     * Set the maximum number of attributes per element. Namespace declarations are not counted as
+     * attributes; see {@link #setMaxNamespaceDeclarationsPerElement(int)}.
+     *
+     * @param maxAttributesPerElement the value to set for this limit
+     */
+    public void setMaxAttributesPerElement(int maxAttributesPerElement) {
+        checkLimit(maxAttributesPerElement);
+        this.maxAttributesPerElement = maxAttributesPerElement;
+    }
+
+    /**
+     * Get the maximum number of namespace declarations per element.
+     *
+     * @return the current value of this limit
+     */
+    public int getMaxNamespaceDeclarationsPerElement() {
+        return maxNamespaceDeclarationsPerElement;
+    }
+
+    /**
+     * Set the maximum number of namespace declarations per element.
+     *
+     * @param maxNamespaceDeclarationsPerElement the value to set for this limit
+     */
+    public void setMaxNamespaceDeclarationsPerElement(int maxNamespaceDeclarationsPerElement) {
+        checkLimit(maxNamespaceDeclarationsPerElement);
+        this.maxNamespaceDeclarationsPerElement = maxNamespaceDeclarationsPerElement;
+    }
+
+    /**
+     * Get the maximum length of a single text node.
+     *
+     * @return the current value of this limit
+     */
+    public int getMaxTextLength() {
+        return maxTextLength;
+    }
+
+    /**
+     * Set the maximum length (in characters) of a single text node, comment, processing
+     * instruction or CDATA section. Text reported by the parser in several chunks is counted as a
+     * single text node.
+     *
+     * @param maxTextLength the value to set for this limit
+     */
+    public void setMaxTextLength(int maxTextLength) {
+        checkLimit(maxTextLength);
+        this.maxTextLength = maxTextLength;
+    }
+
+    /**
+     * Get the maximum number of nodes in the document.
+     *
+     * @return the current value of this limit
+     */
+    public long getMaxNodeCount() {
+        return maxNodeCount;
+    }
+
+    /**
+     * Set the maximum number of nodes in the document. Elements, text nodes, comments, processing
+     * instructions, CDATA sections and entity references are counted, but attributes are not.
+     *
+     * @param maxNodeCount the value to set for this limit
+     */
+    public void setMaxNodeCount(long maxNodeCount) {
+        checkLimit(maxNodeCount);
+        this.maxNodeCount = maxNodeCount;
+    }
+
+    /**
+     * Get the maximum number of characters in the document.
+     *
+     * @return the current value of this limit
+     */
+    public long getMaxCharacterCount() {
+        return maxCharacterCount;
+    }
+
+    /**
+     * Set the maximum number of characters in the document, i.e. the total length of all
+     * character data (including comments and processing instructions) and attribute values.
+     *
+     * @param maxCharacterCount the value to set for this limit
+     */
+    public void setMaxCharacterCount(long maxCharacterCount) {
+        checkLimit(maxCharacterCount);
+        this.maxCharacterCount = maxCharacterCount;
+    }
+}
@@ -25,6 +25,7 @@ public class OMCloneOptions {
     private boolean fetchBlobs;
     private boolean copyOMDataSources;
     private boolean preserveModel;
+    private boolean lazy;
 
     /**
      * Determine whether {@link Blob} objects should be fetched when cloning {@link OMText} nodes.
@@ -110,4 +111,39 @@ public class OMCloneOptions {
     public void setPreserveModel(boolean preserveModel) {
         this.preserveModel = preserveModel;
     }
+
+    /**
+     * Determine whether elements should be cloned lazily. See {@link #setLazy(boolean)} for more
+     * information about this option.
+     *
+     * @return the current value of this option
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Specify whether elements should be cloned lazily. If this option is set to <code>true</code>,
+     * then cloning an {@link OMElement} only copies the element itself (including its attributes
+     * and namespace declarations). The descendants of the clone are created on demand from the
+     * descendants of the original element, in the same way as a tree built from a parser is built
+     * incrementally. This makes cloning cheap if the clone is rarely accessed, or if it is only
+     * serialized (in which case {@link OMElement#serializeAndConsume(java.io.OutputStream)} can
+     * stream the content from the original without creating any nodes).
+     *
+     * <p>The clone and the original remain independent: before the original element or one of its
+     * descendants is modified, the parts of the clone that have not been created yet are created
+     * from the unmodified original. Modifying the clone never affects the original.
+     *
+     * <p>This option has no effect if {@link #setPreserveModel(boolean) preserveModel}, {@link
+     * #setFetchBlobs(boolean) fetchBlobs} or {@link #setCopyOMDataSources(boolean)
+     * copyOMDataSources} is set, or if the element to be cloned is an {@link OMSourcedElement} that
+     * is not expanded. Note that the original element is built completely when a lazy clone is
+     * created.
+     *
+     * @param lazy the value to set for this option
+     */
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
 }
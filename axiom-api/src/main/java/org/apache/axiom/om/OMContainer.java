@@ -22,7 +22,12 @@ package org.apache.axiom.om;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
@@ -192,6 +197,99 @@ public interface OMContainer extends OMSerializable {
     //       (obviously the method can't produce XOP/MTOM and the charset encoding is ignored)
     void serialize(Writer writer, OMOutputFormat format, boolean cache) throws IOException;
 
+    /**
+     * Get a {@link Flow.Publisher} that serializes the node on demand. The returned publisher
+     * produces the same byte sequence as {@link #serialize(OutputStream, OMOutputFormat, boolean)},
+     * including XOP/MTOM encoded MIME messages if {@link OMOutputFormat#setDoOptimize(boolean)} is
+     * enabled, but split into a sequence of {@link ByteBuffer} instances.
+     *
+     * <p>Serialization is started on the given executor when the subscriber first requests data.
+     * The task stays at most one buffer ahead of the subscriber: once it has filled a buffer that
+     * the subscriber has not yet requested, it blocks until there is demand for it, so that
+     * deferred parsing of the underlying source is suspended as well. If the subscription is
+     * cancelled, serialization is aborted. Buffers passed to {@link
+     * Flow.Subscriber#onNext(Object)} are not reused by the publisher.
+     *
+     * <p>The publisher only supports a single subscription. In addition, as long as the
+     * subscription is active, the node must not be accessed or modified by other threads.
+     *
+     * @param format the output format to use
+     * @param cache indicates if caching should be enabled
+     * @param executor the executor used to run the serialization task; since the task blocks
+     *     while there is no demand, it should not be a thread pool with a small, fixed number of
+     *     threads shared with other tasks
+     * @return the publisher
+     * @throws UnsupportedOperationException if the implementation doesn't support this method; the
+     *     default implementation always throws this exception
+     */
+    default Flow.Publisher<ByteBuffer> getPublisher(OMOutputFormat format, boolean cache, Executor executor) {
+        throw new UnsupportedOperationException(
+                getClass().getName() + " doesn't support serialization to a Flow.Publisher");
+    }
+
+    /**
+     * Write the canonical form of the node. The supported canonicalization methods are <a
+     * href="https://www.w3.org/TR/xml-exc-c14n/">Exclusive XML Canonicalization 1.0</a> and <a
+     * href="https://www.w3.org/TR/xml-c14n11/">Canonical XML 1.1</a>, with or without comments.
+     *
+     * <p>The canonical form is produced in a single pass over the node, without building a
+     * canonicalized copy of the tree. If the node is an element, the namespace declarations in
+     * scope on its parent are taken into account as required by the canonicalization method.
+     *
+     * <p>For Canonical XML 1.1, an element that has a parent element is a document subset. In that
+     * case, the {@code xml:lang} and {@code xml:space} attributes inherited from its ancestors are
+     * added to the element (unless it specifies them itself). The xml:base fixup required by the
+     * specification is not supported: an {@link IllegalArgumentException} is thrown if one of the
+     * ancestors has an {@code xml:base} attribute.
+     *
+     * @param out the stream to write the canonical form (encoded as UTF-8) to
+     * @param canonicalizationMethod the algorithm URI of the canonicalization method, e.g. {@code
+     *     http://www.w3.org/2001/10/xml-exc-c14n#}
+     * @param inclusiveNamespaces the {@code PrefixList} of the {@code InclusiveNamespaces}
+     *     parameter of exclusive canonicalization, or {@code null}; ignored for Canonical XML 1.1
+     * @param cache indicates if caching should be enabled
+     * @throws IOException if the stream throws an {@link IOException}
+     * @throws IllegalArgumentException if the canonicalization method is not supported, or if it
+     *     is Canonical XML 1.1 and an ancestor of the node has an {@code xml:base} attribute
+     * @throws UnsupportedOperationException if the implementation doesn't support this method; the
+     *     default implementation always throws this exception
+     */
+    default void writeCanonicalForm(
+            OutputStream out, String canonicalizationMethod, String inclusiveNamespaces, boolean cache)
+            throws IOException {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't support canonicalization");
+    }
+
+    /**
+     * Update a message digest with the canonical form of the node. This is equivalent to {@link
+     * #writeCanonicalForm(OutputStream, String, String, boolean)} with a {@link DigestOutputStream},
+     * but is the preferred way to compute the digest value of a reference in an XML signature.
+     *
+     * <p>The default implementation does exactly that; implementations should override it with a
+     * more efficient one.
+     *
+     * @param digest the message digest to update
+     * @param canonicalizationMethod the algorithm URI of the canonicalization method
+     * @param inclusiveNamespaces the {@code PrefixList} of the {@code InclusiveNamespaces}
+     *     parameter of exclusive canonicalization, or {@code null}
+     * @param cache indicates if caching should be enabled
+     * @throws IllegalArgumentException if the canonicalization method is not supported, or if it
+     *     is Canonical XML 1.1 and an ancestor of the node has an {@code xml:base} attribute
+     */
+    default void updateDigest(
+            MessageDigest digest, String canonicalizationMethod, String inclusiveNamespaces, boolean cache) {
+        try {
+            writeCanonicalForm(
+                    new DigestOutputStream(OutputStream.nullOutputStream(), digest),
+                    canonicalizationMethod,
+                    inclusiveNamespaces,
+                    cache);
+        } catch (IOException ex) {
+            // The stream never throws IOException
+            throw new OMException(ex);
+        }
+    }
+
     /**
      * @deprecated Use {@link #serialize(OutputStream, boolean)} instead.
      */
@@ -19,7 +19,9 @@
 package org.apache.axiom.om;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import javax.xml.stream.XMLStreamException;
 
 /**
  * Interface to a backing object that can can be read and written as XML.
@@ -90,6 +92,35 @@ public interface OMDataSourceExt extends OMDataSource {
      */
     byte[] getXMLBytes(String encoding) throws UnsupportedEncodingException;
 
+    /**
+     * Write the element directly to a byte stream. This is an optional capability that allows data
+     * sources that have their content available in serialized form (or that can produce it
+     * efficiently) to bypass the generation and serialization of events when the {@link
+     * OMSourcedElement} is serialized to a byte stream.
+     *
+     * <p>The implementation must write a single element, without XML declaration, document type
+     * declaration or any other content before or after the element. Since the output is not
+     * processed any further, the element must be well formed and must declare all namespace
+     * prefixes it uses. The caller only uses this method at locations where the default namespace
+     * is not bound; the implementation therefore doesn't need to generate {@code xmlns=""}
+     * declarations for elements that have no namespace.
+     *
+     * <p>The same considerations with respect to destructive writes as for {@link
+     * OMDataSource#serialize(javax.xml.stream.XMLStreamWriter)} apply.
+     *
+     * @param out the stream to write to
+     * @param encoding the charset encoding to use
+     * @return {@code true} if the element has been written, {@code false} if the data source
+     *     doesn't support this operation (or doesn't support it for the given encoding); in the
+     *     latter case nothing must have been written to the stream and the caller falls back to
+     *     {@link OMDataSource#serialize(javax.xml.stream.XMLStreamWriter)} or {@link
+     *     OMDataSource#getReader()}
+     * @throws XMLStreamException if an error occurs while writing the element
+     */
+    default boolean writeTo(OutputStream out, String encoding) throws XMLStreamException {
+        return false;
+    }
+
     /** Close the DataSource and free its resources. */
     void close();
 
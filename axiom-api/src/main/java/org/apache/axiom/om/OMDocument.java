@@ -112,4 +112,25 @@ public interface OMDocument extends OMContainer {
     /** {@inheritDoc} */
     @Override
     Iterator<OMSerializable> getDescendants(boolean includeSelf);
+
+    /**
+     * Release the content of this document once the application no longer needs it. Any builder
+     * still attached to the document is closed and the document becomes empty; the document itself
+     * may still be used afterwards. The implementation may reuse the nodes that belonged to the
+     * document when building other documents on the same thread. Therefore the application must not
+     * use any of the former descendants of the document (or any reference obtained from them, such
+     * as iterators) after calling this method. The nodes kept for reuse are retained by the current
+     * thread until {@link OMMetaFactory#clearNodePools()} is called.
+     *
+     * <p>Calling this method is optional: documents that are not released are simply garbage
+     * collected. Setting the {@code org.apache.axiom.core.NodePool.debug} system property to
+     * {@code true} disables the reuse of nodes. The document is still emptied, but navigating from,
+     * reading the value of, or modifying a former descendant then throws an {@link
+     * IllegalStateException}, which helps locating code that keeps references to released nodes.
+     *
+     * <p>The default implementation simply calls {@link #removeChildren()}.
+     */
+    default void release() {
+        removeChildren();
+    }
 }
@@ -19,6 +19,7 @@
 
 package org.apache.axiom.om;
 
+import org.apache.axiom.monitoring.CacheStatistics;
 import org.apache.axiom.soap.SOAPFactory;
 
 /**
@@ -52,4 +53,30 @@ public interface OMMetaFactory {
      * @return the OM factory instance
      */
     SOAPFactory getSOAP12Factory();
+
+    /**
+     * Get the statistics of the cache used by this implementation to reuse {@link
+     * javax.xml.namespace.QName} instances returned by {@link OMNamedInformationItem#getQName()}
+     * and {@link OMElement#resolveQName(String)}. The capacity of that cache can be configured
+     * using the <code>org.apache.axiom.util.xml.QNameCache.capacity</code> system property. There is
+     * one cache per implementation: it is shared by all factories returned by this meta factory and
+     * by all applications that use the same implementation classes.
+     *
+     * @return the cache statistics, or {@code null} if the implementation doesn't use such a cache
+     */
+    default CacheStatistics getQNameCacheStatistics() {
+        return null;
+    }
+
+    /**
+     * Discard the nodes that have been released on the current thread using {@link
+     * OMDocument#release()} and that this implementation keeps for reuse by builders. Nodes are
+     * only kept after a call to {@link OMDocument#release()}, but they are then retained until the
+     * thread terminates. Applications that release documents on threads they don't own (e.g.
+     * request threads of a servlet container) should call this method before returning the thread,
+     * so that it no longer references the implementation.
+     *
+     * <p>The default implementation does nothing.
+     */
+    default void clearNodePools() {}
 }
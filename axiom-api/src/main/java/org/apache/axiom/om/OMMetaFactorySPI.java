@@ -134,6 +134,17 @@ public interface OMMetaFactorySPI extends OMMetaFactory {
      */
     SOAPModelBuilder createSOAPModelBuilder(InputSource is);
 
+    /**
+     * Create an object model builder for SOAP that reads a message from the provided input source
+     * with a given parser configuration. The implementation will select the appropriate {@link
+     * SOAPFactory} based on the namespace URI of the SOAP envelope.
+     *
+     * @param configuration the parser configuration to use
+     * @param is the source of the SOAP message
+     * @return the builder
+     */
+    SOAPModelBuilder createSOAPModelBuilder(StAXParserConfiguration configuration, InputSource is);
+
     /**
      * Create an object model builder for SOAP that reads a message from the provided {@link
      * Source}. The implementation will select the appropriate {@link SOAPFactory} based on the
@@ -70,6 +70,32 @@ public class OMOutputFormat {
 
     public static final String ACTION_PROPERTY = "action";
 
+    /**
+     * Property that enables batched event processing during serialization. If set to {@link
+     * Boolean#TRUE}, the events generated by the object model are accumulated into buffers and
+     * the serialization filters (including namespace repairing) process them block-wise instead of
+     * being invoked once per event. When serializing to a stream or writer, the serializer also
+     * consumes the events block-wise. This reduces the number of virtual calls per event, but
+     * delays the output by up to one batch of events. {@link #PARALLEL_SERIALIZATION_THRESHOLD} is
+     * ignored in this mode.
+     */
+    public static final String BATCH_EVENTS = "org.apache.axiom.om.OMOutputFormat.batchEvents";
+
+    /**
+     * Property that enables parallel serialization of wide elements. The value is an {@link
+     * Integer} specifying the minimum number of children an element must have for its content to
+     * be split into ranges that are serialized concurrently using the common {@link
+     * java.util.concurrent.ForkJoinPool}. The output is identical to the output of the serial
+     * path. The property is only taken into account by {@link
+     * OMContainer#serialize(java.io.OutputStream, OMOutputFormat, boolean)} for non optimized
+     * UTF-8 output, and only for elements the descendants of which are completely built and don't
+     * include non-expanded {@link OMSourcedElement} instances, so that serializing them on a worker
+     * thread has no side effects on the tree. The worker threads use the context class loader of
+     * the calling thread.
+     */
+    public static final String PARALLEL_SERIALIZATION_THRESHOLD =
+            "org.apache.axiom.om.OMOutputFormat.parallelSerializationThreshold";
+
     @SuppressWarnings("deprecation")
     private StAXWriterConfiguration writerConfiguration;
 
@@ -21,6 +21,7 @@ package org.apache.axiom.om;
 import java.io.InputStream;
 import java.io.Reader;
 import java.text.ParseException;
+import java.util.concurrent.Executor;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Source;
@@ -210,6 +211,66 @@ public class OMXMLBuilderFactory {
         return ((OMMetaFactorySPI) omFactory.getMetaFactory()).createOMBuilder(configuration, is);
     }
 
+    /**
+     * Create an object model builder that parses a record oriented XML document in parallel. The
+     * input is split into chunks of children of the document element by a byte level scanner, and
+     * the chunks are parsed concurrently on the given executor with the namespace context of the
+     * document element. The resulting nodes are then added to the document element in document
+     * order. The document is built completely the first time it is accessed.
+     *
+     * <p>At most <code>parallelism</code> chunks are submitted to the executor and not yet parsed at
+     * any given time; when that limit is reached, the scanner waits for the oldest chunk to be
+     * parsed. This bounds the amount of raw input held in memory if parsing is slower than
+     * scanning.
+     *
+     * <p>If the document can't be split safely (because it has a DTD, an empty document element or
+     * uses an encoding that is not ASCII compatible), the builder falls back to a regular
+     * (deferred) builder. That decision is made when the prolog and the start tag of the document
+     * element have been read, so that the children of the document element never need to be
+     * buffered for a replay. Character references and references to the predefined entities are
+     * supported.
+     *
+     * @param omFactory the object model factory to use
+     * @param in the input stream representing the XML document
+     * @param chunkSize the minimum size in bytes of the chunks that are parsed concurrently
+     * @param executor the executor used to parse the chunks, or <code>null</code> to use a
+     *     dedicated {@link java.util.concurrent.ForkJoinPool} with the given parallelism
+     * @param parallelism the maximum number of chunks that are waiting to be parsed; this should
+     *     normally match the parallelism of the executor
+     * @return the builder
+     */
+    public static OMXMLParserWrapper createParallelOMBuilder(
+            OMFactory omFactory, InputStream in, int chunkSize, Executor executor, int parallelism) {
+        return new ParallelOMBuilder(omFactory, in, chunkSize, executor, parallelism);
+    }
+
+    /**
+     * Create an object model builder that parses a record oriented XML document in parallel, using
+     * a dedicated {@link java.util.concurrent.ForkJoinPool} with one thread per available
+     * processor. See {@link #createParallelOMBuilder(OMFactory, InputStream, int, Executor, int)}.
+     *
+     * @param omFactory the object model factory to use
+     * @param in the input stream representing the XML document
+     * @param chunkSize the minimum size in bytes of the chunks that are parsed concurrently
+     * @return the builder
+     */
+    public static OMXMLParserWrapper createParallelOMBuilder(OMFactory omFactory, InputStream in, int chunkSize) {
+        return createParallelOMBuilder(omFactory, in, chunkSize, null, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create an object model builder that parses a record oriented XML document in parallel, using
+     * chunks of 1 MB. See {@link #createParallelOMBuilder(OMFactory, InputStream, int, Executor,
+     * int)}.
+     *
+     * @param omFactory the object model factory to use
+     * @param in the input stream representing the XML document
+     * @return the builder
+     */
+    public static OMXMLParserWrapper createParallelOMBuilder(OMFactory omFactory, InputStream in) {
+        return createParallelOMBuilder(omFactory, in, 1024 * 1024);
+    }
+
     /**
      * Create an object model builder that reads a plain XML document from the provided character
      * stream with the default parser configuration defined by {@link
@@ -489,6 +550,26 @@ public class OMXMLBuilderFactory {
         return ((OMMetaFactorySPI) metaFactory).createSOAPModelBuilder(is);
     }
 
+    /**
+     * Create an object model builder for SOAP that reads a message from the provided input stream,
+     * using a given parser configuration and charset encoding. The method will select the
+     * appropriate {@link SOAPFactory} based on the namespace URI of the SOAP envelope. The
+     * configuration should be based on {@link StAXParserConfiguration#SOAP}, e.g. {@link
+     * StAXParserConfiguration#SOAP_PRESERVE_SOURCE}.
+     *
+     * @param configuration the parser configuration to use
+     * @param in the input stream containing the SOAP message
+     * @param encoding the charset encoding of the SOAP message or <code>null</code> if the parser
+     *     should determine the charset encoding
+     * @return the builder
+     */
+    public static SOAPModelBuilder createSOAPModelBuilder(
+            StAXParserConfiguration configuration, InputStream in, String encoding) {
+        InputSource is = new InputSource(in);
+        is.setEncoding(encoding);
+        return ((OMMetaFactorySPI) OMAbstractFactory.getMetaFactory()).createSOAPModelBuilder(configuration, is);
+    }
+
     /**
      * Create an object model builder for SOAP that reads a message from the provided character
      * stream. The method will select the appropriate {@link SOAPFactory} based on the namespace URI
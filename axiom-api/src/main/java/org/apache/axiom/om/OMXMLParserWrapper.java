@@ -21,6 +21,8 @@ package org.apache.axiom.om;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.Iterator;
+import javax.xml.namespace.QName;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamSource;
@@ -122,4 +124,27 @@ public interface OMXMLParserWrapper {
      * </table>
      */
     void detach();
+
+    /**
+     * Iterate over the elements with a given name in document order, retaining only one of them at
+     * a time. This is intended to process documents that are too large to be kept in memory and
+     * that consist of a sequence of records.
+     *
+     * <p>The iterator builds the document incrementally. Elements that don't match the given name
+     * are searched for matching descendants; matching elements are not. Every node that has been
+     * passed is discarded, i.e. removed from the tree without being built if it is incomplete. This
+     * applies to the element returned by {@link Iterator#next()} as well: it is discarded by the
+     * next call to {@link Iterator#hasNext()} or {@link Iterator#next()}, unless the caller has
+     * detached it or moved it to another tree. Memory usage is therefore proportional to the size of
+     * a single record, regardless of the size of the document. Note that this means that the
+     * document is empty once the iteration is complete.
+     *
+     * @param name the name of the elements to return; the prefix is ignored
+     * @return an iterator over the matching elements; the iterator doesn't support {@link
+     *     Iterator#remove()}
+     * @throws UnsupportedOperationException if there is no document linked to this builder
+     */
+    default Iterator<OMElement> iterateElements(QName name) {
+        return new ElementWindowIterator(getDocument(), name);
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Builder that parses the children of the document element in parallel. See {@link
+ * OMXMLBuilderFactory#createParallelOMBuilder(OMFactory, InputStream, int, Executor, int)}.
+ */
+final class ParallelOMBuilder implements OMXMLParserWrapper {
+    private final OMFactory omFactory;
+    private final Executor executor;
+    private final int parallelism;
+
+    /**
+     * The scanner, or <code>null</code> once the document has been built (so that its buffer can
+     * be garbage collected).
+     */
+    private RecordBoundaryScanner scanner;
+
+    private OMXMLParserWrapper fallback;
+    private OMDocument document;
+
+    /**
+     * Constructor.
+     *
+     * @param omFactory the object model factory to use
+     * @param in the input stream representing the XML document
+     * @param chunkSize the minimum size in bytes of the chunks
+     * @param executor the executor used to parse the chunks, or <code>null</code> to use a
+     *     dedicated {@link ForkJoinPool} that is shut down once the document has been built
+     * @param parallelism the maximum number of chunks submitted to the executor and not yet parsed
+     */
+    ParallelOMBuilder(OMFactory omFactory, InputStream in, int chunkSize, Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.omFactory = omFactory;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        scanner = new RecordBoundaryScanner(in, chunkSize);
+    }
+
+    private static InputStream concat(InputStream... streams) {
+        List<InputStream> list = new ArrayList<>(streams.length);
+        for (InputStream stream : streams) {
+            if (stream != null) {
+                list.add(stream);
+            }
+        }
+        return new SequenceInputStream(Collections.enumeration(list));
+    }
+
+    private static InputStream stream(byte[] bytes) {
+        return bytes == null ? null : new ByteArrayInputStream(bytes);
+    }
+
+    private OMElement parseChunk(byte[] xmlDeclaration, byte[] rootStartTag, byte[] chunk, byte[] rootEndTag) {
+        OMXMLParserWrapper builder = OMXMLBuilderFactory.createOMBuilder(
+                omFactory, concat(stream(xmlDeclaration), stream(rootStartTag), stream(chunk), stream(rootEndTag)));
+        OMElement element = builder.getDocumentElement(true);
+        element.build();
+        builder.close();
+        return element;
+    }
+
+    private void build() {
+        if (document != null || fallback != null) {
+            return;
+        }
+        if (scanner == null) {
+            throw new OMException("A previous attempt to build the document failed");
+        }
+        ForkJoinPool dedicatedPool = null;
+        List<Future<OMElement>> chunks = new ArrayList<>();
+        try {
+            if (!scanner.scanProlog()) {
+                // The replay stream still references the scanner's buffer, but the fallback
+                // builder will consume it.
+                fallback = OMXMLBuilderFactory.createOMBuilder(omFactory, scanner.getReplayStream());
+                return;
+            }
+            Executor executor = this.executor;
+            if (executor == null) {
+                dedicatedPool = new ForkJoinPool(parallelism);
+                executor = dedicatedPool;
+            }
+            byte[] xmlDeclaration = scanner.getXmlDeclaration();
+            byte[] rootStartTag = scanner.getRootStartTag();
+            byte[] rootEndTag = scanner.getRootEndTag();
+            byte[] chunk;
+            while ((chunk = scanner.nextChunk()) != null) {
+                // Limit the number of chunks that are held in memory before being parsed
+                if (chunks.size() >= parallelism) {
+                    chunks.get(chunks.size() - parallelism).get();
+                }
+                byte[] c = chunk;
+                FutureTask<OMElement> task =
+                        new FutureTask<>(() -> parseChunk(xmlDeclaration, rootStartTag, c, rootEndTag));
+                chunks.add(task);
+                executor.execute(task);
+            }
+            if (scanner.isUnsupported()) {
+                // After the prolog, the scanner only stops on constructs that make the document
+                // ill-formed. Let the parser report the error.
+                OMXMLParserWrapper builder = OMXMLBuilderFactory.createOMBuilder(
+                        omFactory, concat(stream(xmlDeclaration), stream(rootStartTag), scanner.getRemainingStream()));
+                try {
+                    builder.getDocumentElement().build();
+                } finally {
+                    builder.close();
+                }
+                throw new OMException("The document is not well-formed");
+            }
+            // Parse the document without the children of the document element
+            OMXMLParserWrapper builder = OMXMLBuilderFactory.createOMBuilder(
+                    omFactory,
+                    concat(
+                            stream(scanner.getProlog()),
+                            stream(rootStartTag),
+                            stream(rootEndTag),
+                            stream(scanner.getEpilog())));
+            OMDocument head = builder.getDocument();
+            head.build();
+            builder.close();
+            OMElement documentElement = head.getOMDocumentElement();
+            for (Future<OMElement> future : chunks) {
+                OMElement chunkElement = future.get();
+                OMNode child;
+                while ((child = chunkElement.getFirstOMChild()) != null) {
+                    documentElement.addChild(child);
+                }
+            }
+            document = head;
+        } catch (IOException ex) {
+            throw new OMException(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new OMException(ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else {
+                throw new OMException(cause);
+            }
+        } finally {
+            if (document == null) {
+                for (Future<OMElement> future : chunks) {
+                    future.cancel(false);
+                }
+            }
+            if (dedicatedPool != null) {
+                dedicatedPool.shutdown();
+            }
+            scanner = null;
+        }
+    }
+    @Override
+    public boolean isCompleted() {
+        return fallback != null ? fallback.isCompleted() : document != null;
+    }
+
+    @Override
+    public OMDocument getDocument() {
+        build();
+        return fallback != null ? fallback.getDocument() : document;
+    }
+
+    @Override
+    public OMElement getDocumentElement() {
+        return getDocumentElement(false);
+    }
+
+    @Override
+    public OMElement getDocumentElement(boolean discardDocument) {
+        build();
+        if (fallback != null) {
+            return fallback.getDocumentElement(discardDocument);
+        }
+        OMElement element = document.getOMDocumentElement();
+        if (discardDocument) {
+            element.detach();
+        }
+        return element;
+    }
+
+    @Override
+    public void close() {
+        if (fallback != null) {
+            fallback.close();
+        }
+    }
+
+    @Override
+    public void detach() {
+        build();
+        if (fallback != null) {
+            fallback.detach();
+        }
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a byte stream containing an XML document into chunks of children of the document element,
+ * without parsing it. The scanner recognizes tags, attribute values, comments, CDATA sections and
+ * processing instructions, so that the chunk boundaries are always located between two children
+ * of the document element.
+ *
+ * <p>Whether the chunks can be parsed independently is decided by {@link #scanProlog()}: documents
+ * with a DTD, with an empty document element or with an encoding that is not ASCII compatible are
+ * reported as unsupported. Character references and references to the predefined entities are
+ * self-contained and are therefore allowed in chunks. Without a DTD, any other construct that
+ * stops the scanner after the start tag of the document element (a reference to an undeclared
+ * entity, a markup declaration in element content or a premature end of input) makes the document
+ * ill-formed. The scanner therefore never needs to replay the children of the document element,
+ * and it only retains the bytes of the current chunk.
+ */
+final class RecordBoundaryScanner {
+    private static final int TEXT = 0;
+    private static final int LT = 1;
+    private static final int START_TAG = 2;
+    private static final int ATTRIBUTE_VALUE = 3;
+    private static final int END_TAG = 4;
+    private static final int MARKUP_DECLARATION = 5;
+    private static final int COMMENT = 6;
+    private static final int CDATA_SECTION = 7;
+    private static final int PROCESSING_INSTRUCTION = 8;
+    private static final int ENTITY_REFERENCE = 9;
+
+    private static final byte[] CDATA_START = "[CDATA[".getBytes(StandardCharsets.US_ASCII);
+
+    private static final Pattern ENCODING_PATTERN = Pattern.compile("encoding\\s*=\\s*[\"']([^\"']*)[\"']");
+
+    private final InputStream in;
+    private final int chunkSize;
+
+    private byte[] buffer = new byte[65536];
+
+    /** The start of the current chunk in {@link #buffer}. */
+    private int start;
+
+    private int position;
+    private int limit;
+    private boolean eof;
+    private boolean unsupported;
+    private boolean rootElementCompleted;
+
+    private int state = TEXT;
+    private int depth;
+
+    /** The state to return to after an entity reference. */
+    private int entityReturnState;
+
+    /**
+     * State specific data: the quote character of an attribute value, the number of matched
+     * characters of a delimiter or whether the previous character in a start tag is a slash.
+     */
+    private int stateData;
+
+    /** The position of the <code>&lt;</code> character that started the current markup. */
+    private int markupStart;
+
+    private int entityStart;
+
+    private byte[] xmlDeclaration;
+    private byte[] prolog;
+    private byte[] rootStartTag;
+    private byte[] rootEndTag;
+    private byte[] epilog;
+
+    RecordBoundaryScanner(InputStream in, int chunkSize) {
+        this.in = in;
+        this.chunkSize = chunkSize;
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (limit == buffer.length) {
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, limit - start);
+                position -= start;
+                markupStart -= start;
+                entityStart -= start;
+                limit -= start;
+                start = 0;
+            } else {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        int c = in.read(buffer, limit, buffer.length - limit);
+        if (c == -1) {
+            eof = true;
+            return false;
+        }
+        limit += c;
+        return true;
+    }
+
+    /**
+     * Scan the prolog and the start tag of the document element.
+     *
+     * @return <code>true</code> if the document is supported, <code>false</code> if it needs to
+     *     be parsed using a regular builder
+     * @throws IOException if an I/O error occurs while reading the input stream
+     */
+    boolean scanProlog() throws IOException {
+        while (limit < 4 && fill()) {
+            // Just loop
+        }
+        int offset = 0;
+        if (limit >= 3 && (buffer[0] & 0xFF) == 0xEF && (buffer[1] & 0xFF) == 0xBB && (buffer[2] & 0xFF) == 0xBF) {
+            offset = 3;
+        }
+        // Only accept documents that start with ASCII characters, i.e. reject UTF-16, UTF-32 and
+        // EBCDIC encoded documents
+        if (limit <= offset || (buffer[offset] != '<' && !isWhitespace(buffer[offset]))) {
+            unsupported = true;
+            return false;
+        }
+        position = offset;
+        if (!scan(true) || rootStartTag == null) {
+            unsupported = true;
+            return false;
+        }
+        if (xmlDeclaration != null && !isSupportedEncoding(xmlDeclaration)) {
+            unsupported = true;
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static boolean isSupportedEncoding(byte[] xmlDeclaration) {
+        Matcher matcher = ENCODING_PATTERN.matcher(new String(xmlDeclaration, StandardCharsets.US_ASCII));
+        if (!matcher.find()) {
+            return true;
+        }
+        String encoding = matcher.group(1).toUpperCase(Locale.ROOT);
+        return encoding.equals("UTF-8")
+                || encoding.equals("UTF8")
+                || encoding.equals("US-ASCII")
+                || encoding.equals("ASCII")
+                || encoding.startsWith("ISO-8859-");
+    }
+
+    /**
+     * Get the next chunk of children of the document element. A chunk contains at least one child
+     * and ends after a child element once it reaches the chunk size.
+     *
+     * @return the chunk, or <code>null</code> if the end of the document element has been reached
+     *     or if an unsupported construct has been encountered
+     * @throws IOException if an I/O error occurs while reading the input stream
+     */
+    byte[] nextChunk() throws IOException {
+        if (unsupported || rootElementCompleted) {
+            return null;
+        }
+        int end;
+        if (scan(false)) {
+            end = position;
+        } else if (rootElementCompleted) {
+            // The last chunk ends before the end tag of the document element
+            end = markupStart;
+            byte[] rest = in.readAllBytes();
+            epilog = new byte[limit - position + rest.length];
+            System.arraycopy(buffer, position, epilog, 0, limit - position);
+            System.arraycopy(rest, 0, epilog, limit - position, rest.length);
+        } else {
+            // Unsupported construct or premature end of input; in the latter case the parser will
+            // report the error
+            unsupported = true;
+            return null;
+        }
+        byte[] chunk = Arrays.copyOfRange(buffer, start, end);
+        start = end;
+        return chunk.length == 0 ? null : chunk;
+    }
+
+    /**
+     * Advance the scanner.
+     *
+     * @param stopAfterRootStartTag <code>true</code> if the scanner should stop after the start
+     *     tag of the document element, <code>false</code> if it should stop after a chunk boundary
+     * @return <code>true</code> if the scanner has stopped at the requested location, <code>false
+     *     </code> if the end of the document element (or the end of the input) has been reached or
+     *     if an unsupported construct has been encountered
+     */
+    private boolean scan(boolean stopAfterRootStartTag) throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return false;
+            }
+            byte b = buffer[position++];
+            switch (state) {
+                case TEXT -> {
+                    if (b == '<') {
+                        markupStart = position - 1;
+                        state = LT;
+                    } else if (b == '&') {
+                        entityStart = position;
+                        entityReturnState = TEXT;
+                        state = ENTITY_REFERENCE;
+                    }
+                }
+                case LT -> {
+                    if (b == '/') {
+                        state = END_TAG;
+                    } else if (b == '!') {
+                        stateData = 0;
+                        state = MARKUP_DECLARATION;
+                    } else if (b == '?') {
+                        stateData = 0;
+                        state = PROCESSING_INSTRUCTION;
+                    } else {
+                        stateData = 0;
+                        state = START_TAG;
+                    }
+                }
+                case START_TAG -> {
+                    if (b == '"' || b == '\'') {
+                        stateData = b;
+                        state = ATTRIBUTE_VALUE;
+                    } else if (b == '>') {
+                        state = TEXT;
+                        if (stateData == '/') {
+                            if (depth == 0) {
+                                // Empty document element
+                                unsupported = true;
+                                return false;
+                            }
+                            if (depth == 1 && elementCompleted()) {
+                                return true;
+                            }
+                        } else if (depth++ == 0) {
+                            rootStartTag = Arrays.copyOfRange(buffer, markupStart, position);
+                            rootEndTag = createEndTag(rootStartTag);
+                            prolog = Arrays.copyOfRange(buffer, 0, markupStart);
+                            start = position;
+                            if (stopAfterRootStartTag) {
+                                return true;
+                            }
+                        }
+                    } else {
+                        stateData = b;
+                    }
+                }
+                case ATTRIBUTE_VALUE -> {
+                    if (b == stateData) {
+                        stateData = 0;
+                        state = START_TAG;
+                    } else if (b == '&') {
+                        entityStart = position;
+                        entityReturnState = ATTRIBUTE_VALUE;
+                        state = ENTITY_REFERENCE;
+                    }
+                }
+                case END_TAG -> {
+                    if (b == '>') {
+                        state = TEXT;
+                        if (--depth == 1) {
+                            if (elementCompleted()) {
+                                return true;
+                            }
+                        } else if (depth == 0) {
+                            rootElementCompleted = true;
+                            return false;
+                        }
+                    }
+                }
+                case MARKUP_DECLARATION -> {
+                    if (stateData == 0 && b == '-') {
+                        stateData = -1;
+                    } else if (stateData == -1) {
+                        if (b != '-') {
+                            unsupported = true;
+                            return false;
+                        }
+                        stateData = 0;
+                        state = COMMENT;
+                    } else if (stateData >= 0 && stateData < CDATA_START.length && b == CDATA_START[stateData]) {
+                        if (++stateData == CDATA_START.length) {
+                            stateData = 0;
+                            state = CDATA_SECTION;
+                        }
+                    } else {
+                        // Document type declaration or invalid markup
+                        unsupported = true;
+                        return false;
+                    }
+                }
+                case COMMENT -> {
+                    if (b == '-') {
+                        stateData++;
+                    } else if (b == '>' && stateData >= 2) {
+                        state = TEXT;
+                    } else {
+                        stateData = 0;
+                    }
+                }
+                case CDATA_SECTION -> {
+                    if (b == ']') {
+                        stateData++;
+                    } else if (b == '>' && stateData >= 2) {
+                        state = TEXT;
+                    } else {
+                        stateData = 0;
+                    }
+                }
+                case PROCESSING_INSTRUCTION -> {
+                    if (b == '>' && stateData == '?') {
+                        state = TEXT;
+                        if (depth == 0 && isXmlDeclaration(markupStart, position)) {
+                            xmlDeclaration = Arrays.copyOfRange(buffer, markupStart, position);
+                        }
+                    } else {
+                        stateData = b;
+                    }
+                }
+                case ENTITY_REFERENCE -> {
+                    if (b == ';') {
+                        if (!isPredefinedEntityReference(entityStart, position - 1)) {
+                            unsupported = true;
+                            return false;
+                        }
+                        state = entityReturnState;
+                    } else if (b == '<' || b == '&' || (b == stateData && entityReturnState == ATTRIBUTE_VALUE)) {
+                        // Ill-formed; let the parser report the error
+                        unsupported = true;
+                        return false;
+                    }
+                }
+                default -> throw new IllegalStateException();
+            }
+        }
+    }
+
+    /**
+     * Called when a child element of the document element has been completed.
+     *
+     * @return <code>true</code> if the current chunk should end here
+     */
+    private boolean elementCompleted() {
+        return position - start >= chunkSize;
+    }
+
+    private boolean isXmlDeclaration(int from, int to) {
+        return to - from > 6
+                && buffer[from + 2] == 'x'
+                && buffer[from + 3] == 'm'
+                && buffer[from + 4] == 'l'
+                && isWhitespace(buffer[from + 5]);
+    }
+
+    /**
+     * Create the end tag matching a given start tag. The end tag is known as soon as the start tag
+     * of the document element has been scanned, so that it can be used to wrap chunks before the
+     * end of the document element has been reached.
+     */
+    private static byte[] createEndTag(byte[] startTag) {
+        int end = 1;
+        while (end < startTag.length
+                && !isWhitespace(startTag[end])
+                && startTag[end] != '>'
+                && startTag[end] != '/') {
+            end++;
+        }
+        byte[] endTag = new byte[end + 2];
+        endTag[0] = '<';
+        endTag[1] = '/';
+        System.arraycopy(startTag, 1, endTag, 2, end - 1);
+        endTag[end + 1] = '>';
+        return endTag;
+    }
+
+    /**
+     * Check whether an entity reference can be resolved without a DTD, i.e. whether it is a
+     * character reference or a reference to one of the predefined entities.
+     */
+    private boolean isPredefinedEntityReference(int from, int to) {
+        if (from < to && buffer[from] == '#') {
+            return true;
+        }
+        String name = new String(buffer, from, to - from, StandardCharsets.US_ASCII);
+        return switch (name) {
+            case "lt", "gt", "amp", "apos", "quot" -> true;
+            default -> false;
+        };
+    }
+
+    boolean isUnsupported() {
+        return unsupported;
+    }
+
+    byte[] getXmlDeclaration() {
+        return xmlDeclaration;
+    }
+
+    byte[] getProlog() {
+        return prolog;
+    }
+
+    byte[] getRootStartTag() {
+        return rootStartTag;
+    }
+
+    byte[] getRootEndTag() {
+        return rootEndTag;
+    }
+
+    byte[] getEpilog() {
+        return epilog;
+    }
+
+    /**
+     * Get a stream that returns the entire input, including the bytes that have already been read
+     * by the scanner. This method may only be used if {@link #scanProlog()} returned <code>false
+     * </code>; the buffer is never compacted before that point, so it still contains the bytes
+     * read so far.
+     *
+     * @return the stream
+     */
+    InputStream getReplayStream() {
+        return new SequenceInputStream(new ByteArrayInputStream(buffer, 0, limit), in);
+    }
+
+    /**
+     * Get a stream that returns the remaining input, starting with the current chunk. This is used
+     * to let a parser report the error if {@link #nextChunk()} encountered an unsupported (and
+     * therefore ill-formed) construct.
+     *
+     * @return the stream
+     */
+    InputStream getRemainingStream() {
+        return new SequenceInputStream(new ByteArrayInputStream(buffer, start, limit - start), in);
+    }
+}
@@ -37,11 +37,32 @@ import org.apache.axiom.om.util.StAXUtils;
  * <p>{@link OMSourcedElement} will handle {@link OMDataSource} implementations extending this class
  * differently when it comes to expansion: instead of using {@link OMDataSource#getReader()} to
  * expand the element, it will use {@link OMDataSource#serialize(XMLStreamWriter)} (with a special
- * {@link XMLStreamWriter} that builds the descendants of the {@link OMSourcedElement}). This means
- * that such an {@link OMSourcedElement} will be expanded instantly, and that deferred building of
- * the descendants is not applicable.
+ * {@link XMLStreamWriter} that builds the descendants of the {@link OMSourcedElement}). By default
+ * this means that such an {@link OMSourcedElement} will be expanded instantly, and that deferred
+ * building of the descendants is not applicable. Deferred building can be enabled by setting the
+ * {@link #EXPANSION_EXECUTOR} property.
  */
 public abstract class AbstractPushOMDataSource extends AbstractOMDataSource {
+    /**
+     * Name of the property enabling incremental expansion. The value is an {@link
+     * java.util.concurrent.Executor} that will be used to run {@link #serialize(XMLStreamWriter)}
+     * when the {@link OMSourcedElement} is expanded. The task is suspended after each node it
+     * produces and only resumed when the application navigates further into the element, so that
+     * the descendants are built on demand, as for pull based data sources. The task and the
+     * application never access the tree concurrently.
+     *
+     * <p>The task occupies a thread of the executor until the element has been built completely or
+     * until it is closed using {@link org.apache.axiom.om.OMContainer#close(boolean)}. Executors
+     * that create virtual threads are therefore a good fit. The task runs with the context class
+     * loader of the thread that triggered the expansion.
+     *
+     * <p>The executor must run the task on a different thread for the expansion to be incremental.
+     * If it runs the task on the calling thread (as a same-thread executor, or a thread pool with a
+     * caller-runs rejection policy when it is saturated, would do), the element is expanded
+     * completely in one go, as if the property wasn't set.
+     */
+    public static final String EXPANSION_EXECUTOR = "org.apache.axiom.om.ds.AbstractPushOMDataSource.expansionExecutor";
+
     @Override
     public final boolean isDestructiveRead() {
         return isDestructiveWrite();
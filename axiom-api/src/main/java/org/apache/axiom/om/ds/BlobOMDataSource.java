@@ -19,6 +19,8 @@
 package org.apache.axiom.om.ds;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import org.apache.axiom.blob.Blob;
@@ -26,7 +28,14 @@ import org.apache.axiom.blob.Blobs;
 import org.apache.axiom.om.OMDataSource;
 import org.apache.axiom.om.util.StAXUtils;
 
-/** {@link OMDataSource} implementation backed by a {@link Blob}. */
+/**
+ * {@link OMDataSource} implementation backed by a {@link Blob}.
+ *
+ * <p>When the element is serialized to a byte stream in the encoding of the blob, the document
+ * element is copied from the blob without parsing it (see {@link #writeTo(OutputStream, String)}).
+ * The blob must therefore contain a well formed XML document. The content is streamed; only the
+ * prolog and the end of the document are buffered.
+ */
 public final class BlobOMDataSource extends AbstractPullOMDataSource {
     public static final class Data {
         private final Blob blob;
@@ -83,6 +92,22 @@ public final class BlobOMDataSource extends AbstractPullOMDataSource {
         }
     }
 
+    @Override
+    public boolean writeTo(OutputStream out, String encoding) throws XMLStreamException {
+        if (data.getEncoding() == null) {
+            return false;
+        }
+        Charset charset = Charset.forName(data.getEncoding());
+        if (!charset.equals(Charset.forName(encoding)) || !DocumentElementWriter.isSupportedEncoding(charset)) {
+            return false;
+        }
+        try {
+            return DocumentElementWriter.write(data.getBlob(), out);
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        }
+    }
+
     @Override
     public void close() {
         data = null;
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.ds;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.axiom.om.OMDataSource;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMSourcedElement;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.om.QNameAwareOMDataSource;
+import org.w3c.dom.Element;
+
+/**
+ * {@link OMDataSource} implementation backed by a DOM {@link Element}. It allows to use an existing
+ * DOM tree through the Axiom API without copying it upfront: an {@link OMSourcedElement} created
+ * with {@link OMFactory#createOMElement(OMDataSource)} knows its name without reading the DOM, and
+ * it is serialized and read using {@link OMSourcedElement#getXMLStreamReader(boolean)} (with
+ * caching disabled) directly from the DOM. The DOM content is only copied into an Axiom tree when
+ * the element is expanded, i.e. when the application accesses its attributes or children or
+ * modifies it. Expansion is incremental, so that accessing the first children of a large element
+ * only copies these children.
+ *
+ * <p>The DOM tree is never modified by Axiom. It must not be modified by the application as long
+ * as the data source is in use. Namespace declarations on ancestors of the element are not taken
+ * into account, except for the namespaces used in element and attribute names.
+ */
+public final class DOMOMDataSource extends AbstractPullOMDataSource implements QNameAwareOMDataSource {
+    private final Element element;
+    private final boolean expandEntityReferences;
+
+    /**
+     * Constructor.
+     *
+     * @param element the DOM element; it must be namespace aware
+     * @param expandEntityReferences determines how entity references are handled; see {@link
+     *     OMXMLBuilderFactory#createOMBuilder(org.w3c.dom.Node, boolean)}
+     */
+    public DOMOMDataSource(Element element, boolean expandEntityReferences) {
+        if (element.getLocalName() == null) {
+            throw new IllegalArgumentException("The element must be namespace aware");
+        }
+        this.element = element;
+        this.expandEntityReferences = expandEntityReferences;
+    }
+
+    /**
+     * Constructor for DOM trees that have been created with entity reference expansion enabled
+     * (which is the default for {@link javax.xml.parsers.DocumentBuilderFactory}).
+     *
+     * @param element the DOM element; it must be namespace aware
+     */
+    public DOMOMDataSource(Element element) {
+        this(element, true);
+    }
+
+    @Override
+    public Element getObject() {
+        return element;
+    }
+
+    @Override
+    public DOMOMDataSource copy() {
+        return new DOMOMDataSource(element, expandEntityReferences);
+    }
+
+    @Override
+    public boolean isDestructiveRead() {
+        return false;
+    }
+
+    @Override
+    public XMLStreamReader getReader() throws XMLStreamException {
+        // Without caching, the events are pulled from the DOM and no Axiom nodes are created
+        return OMXMLBuilderFactory.createOMBuilder(element, expandEntityReferences)
+                .getDocument()
+                .getXMLStreamReader(false);
+    }
+
+    @Override
+    public String getLocalName() {
+        return element.getLocalName();
+    }
+
+    @Override
+    public String getNamespaceURI() {
+        String namespaceURI = element.getNamespaceURI();
+        return namespaceURI == null ? "" : namespaceURI;
+    }
+
+    @Override
+    public String getPrefix() {
+        String prefix = element.getPrefix();
+        return prefix == null ? "" : prefix;
+    }
+}
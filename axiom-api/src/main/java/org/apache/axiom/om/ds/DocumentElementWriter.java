@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.ds;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.axiom.blob.Blob;
+
+/**
+ * Copies the document element of a serialized XML document to a byte stream, skipping the prolog
+ * and trailing whitespace. Used by data sources that implement {@link
+ * org.apache.axiom.om.OMDataSourceExt#writeTo(OutputStream, String)}. The document is not parsed;
+ * it is the responsibility of the data source to ensure that it is well formed.
+ */
+final class DocumentElementWriter {
+    /**
+     * Return value of {@link #findDocumentElement(byte[], int, int)} indicating that the prolog
+     * can't be processed.
+     */
+    private static final int UNSUPPORTED = -1;
+
+    /**
+     * Return value of {@link #findDocumentElement(byte[], int, int)} indicating that more data is
+     * needed to locate the document element.
+     */
+    private static final int INCOMPLETE = -2;
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    /**
+     * The maximum number of bytes buffered to locate the document element in a blob. Documents with
+     * a larger prolog are serialized from events.
+     */
+    private static final int MAX_PROLOG_SIZE = 65536;
+
+    /**
+     * The number of bytes at the end of a blob that are examined to check that the document ends
+     * with the document element. Documents with more trailing whitespace are serialized from events.
+     */
+    private static final int TAIL_SIZE = 4096;
+
+    /**
+     * Output stream that holds back whitespace until it is followed by other content, so that
+     * trailing whitespace is never written.
+     */
+    private static final class WhitespaceTrimmingOutputStream extends FilterOutputStream {
+        private byte[] pending = new byte[64];
+        private int pendingLength;
+
+        WhitespaceTrimmingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int end = off + len;
+            int last = end;
+            while (last > off && isWhitespace(b[last - 1])) {
+                last--;
+            }
+            if (last > off) {
+                out.write(pending, 0, pendingLength);
+                pendingLength = 0;
+                out.write(b, off, last - off);
+            }
+            int count = end - last;
+            if (pendingLength + count > pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + count));
+            }
+            System.arraycopy(b, last, pending, pendingLength, count);
+            pendingLength += count;
+        }
+    }
+
+    private DocumentElementWriter() {}
+
+    /**
+     * Determine whether documents in the given encoding can be processed. Only encodings in which
+     * ASCII characters are represented as single bytes and that don't use multibyte sequences
+     * containing ASCII bytes are supported.
+     *
+     * @param charset the charset
+     * @return {@code true} if the encoding is supported
+     */
+    static boolean isSupportedEncoding(Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8)
+                || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static int indexOf(byte[] b, int pos, int limit, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.US_ASCII);
+        outer:
+        for (int i = pos, last = limit - bytes.length; i <= last; i++) {
+            for (int j = 0; j < bytes.length; j++) {
+                if (b[i + j] != bytes[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Find the start of the document element.
+     *
+     * @return the offset of the {@code <} character of the start tag, {@link #UNSUPPORTED} if the
+     *     prolog contains a document type declaration or can't be processed for another reason, or
+     *     {@link #INCOMPLETE} if the document element wasn't found in the given range
+     */
+    private static int findDocumentElement(byte[] b, int pos, int limit) {
+        // Skip the byte order mark
+        if (limit - pos >= 3 && b[pos] == (byte) 0xEF && b[pos + 1] == (byte) 0xBB && b[pos + 2] == (byte) 0xBF) {
+            pos += 3;
+        }
+        while (pos < limit) {
+            byte c = b[pos];
+            if (isWhitespace(c)) {
+                pos++;
+            } else if (c != '<') {
+                return UNSUPPORTED;
+            } else if (pos + 1 == limit) {
+                return INCOMPLETE;
+            } else if (b[pos + 1] == '?') {
+                int end = indexOf(b, pos + 2, limit, "?>");
+                if (end == -1) {
+                    return INCOMPLETE;
+                }
+                pos = end + 2;
+            } else if (b[pos + 1] == '!') {
+                if (limit - pos < 4) {
+                    return INCOMPLETE;
+                }
+                if (indexOf(b, pos, pos + 4, "<!--") != pos) {
+                    // Document type declarations may declare entities; we can't handle that
+                    return UNSUPPORTED;
+                }
+                int end = indexOf(b, pos + 4, limit, "-->");
+                if (end == -1) {
+                    return INCOMPLETE;
+                }
+                pos = end + 3;
+            } else {
+                return pos;
+            }
+        }
+        return INCOMPLETE;
+    }
+
+    /**
+     * Check that the given range ends with a tag. Comments and processing instructions after the
+     * document element are not supported.
+     */
+    private static boolean endsWithTag(byte[] b, int start, int end) {
+        return end - start >= 3 && b[end - 1] == '>' && b[end - 2] != '?' && (b[end - 2] != '-' || b[end - 3] != '-');
+    }
+
+    /**
+     * Write the document element.
+     *
+     * @param b the serialized document
+     * @param off the start offset of the document
+     * @param len the length of the document
+     * @param out the stream to write to
+     * @return {@code true} if the document element has been written, {@code false} if the
+     *     document can't be processed (in which case nothing has been written)
+     * @throws IOException if an error occurs while writing to the stream
+     */
+    static boolean write(byte[] b, int off, int len, OutputStream out) throws IOException {
+        int start = findDocumentElement(b, off, off + len);
+        if (start < 0) {
+            return false;
+        }
+        int end = off + len;
+        while (end > start && isWhitespace(b[end - 1])) {
+            end--;
+        }
+        if (!endsWithTag(b, start, end)) {
+            return false;
+        }
+        out.write(b, start, end - start);
+        return true;
+    }
+
+    /**
+     * Write the document element of the document stored in a blob. In contrast to {@link
+     * #write(byte[], int, int, OutputStream)}, the document is not loaded into memory: only the
+     * prolog and the last {@value #TAIL_SIZE} bytes are buffered, and the rest is copied using a
+     * fixed size buffer.
+     *
+     * @param blob the blob containing the serialized document
+     * @param out the stream to write to
+     * @return {@code true} if the document element has been written, {@code false} if the
+     *     document can't be processed (in which case nothing has been written)
+     * @throws IOException if an error occurs while reading from the blob or writing to the stream
+     */
+    static boolean write(Blob blob, OutputStream out) throws IOException {
+        // Check the end of the document first, so that nothing is written if it can't be processed
+        if (!endsWithTag(blob)) {
+            return false;
+        }
+        try (InputStream in = blob.getInputStream()) {
+            byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+            int len = 0;
+            int start;
+            while (true) {
+                len += in.readNBytes(buffer, len, buffer.length - len);
+                start = findDocumentElement(buffer, 0, len);
+                if (start >= 0) {
+                    break;
+                }
+                // readNBytes only returns less than requested at the end of the stream
+                if (start == UNSUPPORTED || len < buffer.length || buffer.length == MAX_PROLOG_SIZE) {
+                    return false;
+                }
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            OutputStream trimmingOut = new WhitespaceTrimmingOutputStream(out);
+            trimmingOut.write(buffer, start, len - start);
+            in.transferTo(trimmingOut);
+        }
+        return true;
+    }
+
+    /**
+     * Check that the document stored in a blob ends with a tag, ignoring trailing whitespace.
+     * Returns {@code false} if the size of the blob is unknown, because the blob would need to be
+     * read twice to determine its end.
+     */
+    private static boolean endsWithTag(Blob blob) throws IOException {
+        long size = blob.getSize();
+        if (size == -1) {
+            return false;
+        }
+        byte[] tail = new byte[2 * TAIL_SIZE];
+        int len = 0;
+        try (InputStream in = blob.getInputStream()) {
+            // The size may be an estimation; read until the end of the stream anyway
+            long remaining = size - TAIL_SIZE;
+            while (remaining > 0) {
+                long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    break;
+                }
+                remaining -= skipped;
+            }
+            int c;
+            while ((c = in.read(tail, len, tail.length - len)) != -1) {
+                len += c;
+                if (len == tail.length) {
+                    System.arraycopy(tail, TAIL_SIZE, tail, 0, TAIL_SIZE);
+                    len = TAIL_SIZE;
+                }
+            }
+        }
+        while (len > 0 && isWhitespace(tail[len - 1])) {
+            len--;
+        }
+        return endsWithTag(tail, 0, len);
+    }
+}
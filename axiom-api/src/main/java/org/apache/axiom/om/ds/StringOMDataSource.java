@@ -18,13 +18,25 @@
  */
 package org.apache.axiom.om.ds;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import org.apache.axiom.om.OMDataSource;
 import org.apache.axiom.om.util.StAXUtils;
 
-/** {@link OMDataSource} implementation backed by a {@link String}. */
+/**
+ * {@link OMDataSource} implementation backed by a {@link String}.
+ *
+ * <p>When the element is serialized to a byte stream, the document element is copied from the
+ * string without parsing it (see {@link #writeTo(OutputStream, String)}). The string must
+ * therefore contain a well formed XML document.
+ */
 public final class StringOMDataSource extends AbstractPullOMDataSource {
     private String data;
 
@@ -52,6 +64,27 @@ public final class StringOMDataSource extends AbstractPullOMDataSource {
         return StAXUtils.createXMLStreamReader(new StringReader(data));
     }
 
+    @Override
+    public boolean writeTo(OutputStream out, String encoding) throws XMLStreamException {
+        Charset charset = Charset.forName(encoding);
+        if (!DocumentElementWriter.isSupportedEncoding(charset)) {
+            return false;
+        }
+        ByteBuffer bytes;
+        try {
+            bytes = charset.newEncoder().encode(CharBuffer.wrap(data));
+        } catch (CharacterCodingException ex) {
+            // Let the serializer deal with characters that can't be encoded
+            return false;
+        }
+        try {
+            return DocumentElementWriter.write(
+                    bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(), out);
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        }
+    }
+
     @Override
     public void close() {
         data = null;
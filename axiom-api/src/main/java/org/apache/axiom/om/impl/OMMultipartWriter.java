@@ -29,6 +29,7 @@ import org.apache.axiom.mime.Header;
 import org.apache.axiom.mime.MediaType;
 import org.apache.axiom.mime.MultipartBodyWriter;
 import org.apache.axiom.mime.PartBlob;
+import org.apache.axiom.mime.PartDigests;
 import org.apache.axiom.om.OMOutputFormat;
 import org.apache.axiom.om.format.xop.CombinedContentTransferEncodingPolicy;
 import org.apache.axiom.om.format.xop.ContentTransferEncodingPolicy;
@@ -49,9 +50,23 @@ public class OMMultipartWriter {
     private final ContentType rootPartContentType;
 
     public OMMultipartWriter(OutputStream out, OMOutputFormat format) {
+        this(out, format, (String[]) null);
+    }
+
+    /**
+     * Constructor that enables the computation of digests of the parts that are written.
+     *
+     * @param out the output stream to write the MIME package to
+     * @param format the output format
+     * @param digestAlgorithms the names of the {@link java.security.MessageDigest} algorithms to
+     *     use; no digests are computed if no algorithms are specified
+     * @throws IllegalArgumentException if one of the algorithms is not supported
+     * @see #getPartDigests(String)
+     */
+    public OMMultipartWriter(OutputStream out, OMOutputFormat format, String... digestAlgorithms) {
         this.format = format;
 
-        writer = new MultipartBodyWriter(out, format.getMimeBoundary());
+        writer = new MultipartBodyWriter(out, format.getMimeBoundary(), digestAlgorithms);
 
         ContentTransferEncodingPolicy contentTransferEncodingPolicy = format.getContentTransferEncodingPolicy();
         if (format != null
@@ -200,6 +215,17 @@ public class OMMultipartWriter {
         part.close();
     }
 
+    /**
+     * Get the digests of a part that has been written. This method delegates to {@link
+     * MultipartBodyWriter#getPartDigests(String)}.
+     *
+     * @param contentID the content ID of the part
+     * @return the digests of the part, or {@code null} if they are not available
+     */
+    public PartDigests getPartDigests(String contentID) {
+        return writer.getPartDigests(contentID);
+    }
+
     /**
      * Complete writing of the MIME multipart package. This method delegates to {@link
      * MultipartBodyWriter#complete()}.
@@ -23,6 +23,7 @@ import java.io.ByteArrayInputStream;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLResolver;
 import javax.xml.stream.XMLStreamException;
+import org.apache.axiom.om.OMBuilderLimits;
 import org.apache.axiom.util.stax.dialect.StAXDialect;
 import org.apache.axiom.util.stax.dialect.StAXDialectDetector;
 
@@ -144,6 +145,80 @@ public interface StAXParserConfiguration {
         }
     };
 
+    /**
+     * Configuration that sets up the parser as {@link #DEFAULT} and that instructs the builder to
+     * keep the original input document so that the content of elements that are not modified can
+     * be copied verbatim when the tree is serialized. This avoids reencoding content that is
+     * passed through unchanged, but the output preserves the formatting of the input document as
+     * well as redundant namespace declarations. The original input document is kept in memory as
+     * long as the tree is referenced. This is only supported when the input is a UTF-8 encoded
+     * byte stream and is ignored otherwise.
+     */
+    StAXParserConfiguration PRESERVE_SOURCE = new StAXParserConfiguration() {
+        @Override
+        public XMLInputFactory configure(XMLInputFactory factory, StAXDialect dialect) {
+            return DEFAULT.configure(factory, dialect);
+        }
+
+        @Override
+        public boolean isPreserveSource() {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "PRESERVE_SOURCE";
+        }
+    };
+
+    /**
+     * Combination of {@link #SOAP} and {@link #PRESERVE_SOURCE}. This is useful for intermediaries
+     * that only change a small part of the messages they forward.
+     */
+    StAXParserConfiguration SOAP_PRESERVE_SOURCE = new StAXParserConfiguration() {
+        @Override
+        public XMLInputFactory configure(XMLInputFactory factory, StAXDialect dialect) {
+            return SOAP.configure(factory, dialect);
+        }
+
+        @Override
+        public boolean isPreserveSource() {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "SOAP_PRESERVE_SOURCE";
+        }
+    };
+
+    /**
+     * Configuration that sets up the parser as {@link #DEFAULT} and that instructs the builder to
+     * store text nodes and attribute values as UTF-8 encoded byte arrays instead of {@link String}
+     * objects. Text content is encoded directly from the parser's character buffer (no {@link
+     * String} is created) and, when the tree is serialized to a UTF-8 encoded stream, text content
+     * that doesn't need escaping is copied to the output without being decoded again. This reduces
+     * the memory footprint of large documents that are kept in memory, in particular if they
+     * contain non Latin-1 text. Attribute values are still received from the parser as {@link
+     * String} objects and are decoded again when they are serialized.
+     */
+    StAXParserConfiguration COMPACT_CHARACTER_DATA = new StAXParserConfiguration() {
+        @Override
+        public XMLInputFactory configure(XMLInputFactory factory, StAXDialect dialect) {
+            return DEFAULT.configure(factory, dialect);
+        }
+
+        @Override
+        public boolean isCompactCharacterData() {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "COMPACT_CHARACTER_DATA";
+        }
+    };
+
     /**
      * Apply the configuration to the given factory. The method MAY optionally wrap the factory,
      * e.g. to modify the behavior of the {@link javax.xml.stream.XMLStreamReader} instances created
@@ -157,4 +232,72 @@ public interface StAXParserConfiguration {
      *     changes the factory properties), or a wrapper.
      */
     XMLInputFactory configure(XMLInputFactory factory, StAXDialect dialect);
+
+    /**
+     * Determine whether the builder should keep the original input document. See {@link
+     * #PRESERVE_SOURCE} for more details.
+     *
+     * @return <code>true</code> if the original input document should be kept, <code>false</code>
+     *     otherwise
+     */
+    default boolean isPreserveSource() {
+        return false;
+    }
+
+    /**
+     * Determine whether the builder should store character data as UTF-8 encoded byte arrays. See
+     * {@link #COMPACT_CHARACTER_DATA} for more details.
+     *
+     * @return <code>true</code> if character data should be stored as UTF-8, <code>false</code>
+     *     otherwise
+     */
+    default boolean isCompactCharacterData() {
+        return false;
+    }
+
+    /**
+     * Get the resource limits the builder should enforce while parsing the input document.
+     *
+     * @return the limits, or <code>null</code> if no limits should be enforced
+     */
+    default OMBuilderLimits getBuilderLimits() {
+        return null;
+    }
+
+    /**
+     * Create a configuration that sets up the parser in the same way as a given configuration
+     * and that instructs the builder to enforce the given resource limits.
+     *
+     * @param parent the configuration to use for the parser
+     * @param limits the limits to enforce
+     * @return the new configuration
+     */
+    static StAXParserConfiguration withBuilderLimits(StAXParserConfiguration parent, OMBuilderLimits limits) {
+        return new StAXParserConfiguration() {
+            @Override
+            public XMLInputFactory configure(XMLInputFactory factory, StAXDialect dialect) {
+                return parent.configure(factory, dialect);
+            }
+
+            @Override
+            public boolean isPreserveSource() {
+                return parent.isPreserveSource();
+            }
+
+            @Override
+            public boolean isCompactCharacterData() {
+                return parent.isCompactCharacterData();
+            }
+
+            @Override
+            public OMBuilderLimits getBuilderLimits() {
+                return limits;
+            }
+
+            @Override
+            public String toString() {
+                return parent + "+LIMITS";
+            }
+        };
+    }
 }
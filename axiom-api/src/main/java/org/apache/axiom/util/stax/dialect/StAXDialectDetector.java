@@ -68,6 +68,16 @@ public class StAXDialectDetector {
      */
     private static final Map<URL, StAXDialect> dialectByUrl = Collections.synchronizedMap(new HashMap<>());
 
+    /**
+     * Dialects of well known StAX implementations, indexed by the name of their factory classes.
+     * For these implementations, the dialect is determined without locating the classpath entry and
+     * reading its manifest. This also works in environments where class files can't be located as
+     * resources, such as GraalVM native images.
+     */
+    private static final Map<String, StAXDialect> knownDialects = Map.of(
+            "com.ctc.wstx.stax.WstxInputFactory", Woodstox4Dialect.INSTANCE,
+            "com.ctc.wstx.stax.WstxOutputFactory", Woodstox4Dialect.INSTANCE);
+
     private StAXDialectDetector() {}
 
     /**
@@ -147,6 +157,10 @@ public class StAXDialectDetector {
      * @return the detected dialect
      */
     public static StAXDialect getDialect(Class<?> implementationClass) {
+        StAXDialect dialect = getKnownDialect(implementationClass);
+        if (dialect != null) {
+            return dialect;
+        }
         URL rootUrl = getRootUrlForClass(implementationClass);
         if (rootUrl == null) {
             log.warn("Unable to determine location of StAX implementation containing class "
@@ -183,6 +197,20 @@ public class StAXDialectDetector {
         return getDialect(factory.getClass());
     }
 
+    private static StAXDialect getKnownDialect(Class<?> implementationClass) {
+        StAXDialect dialect = knownDialects.get(implementationClass.getName());
+        if (dialect == Woodstox4Dialect.INSTANCE) {
+            // The package information is populated by the class loader from the manifest, so this
+            // doesn't require additional I/O. If it is not available, assume a recent version.
+            Package pkg = implementationClass.getPackage();
+            String versionString = pkg == null ? null : pkg.getImplementationVersion();
+            if (versionString != null && new Version(versionString).getComponent(0) < 4) {
+                return null;
+            }
+        }
+        return dialect;
+    }
+
     private static StAXDialect getDialect(ClassLoader classLoader, URL rootUrl) {
         StAXDialect dialect = dialectByUrl.get(rootUrl);
         if (dialect != null) {
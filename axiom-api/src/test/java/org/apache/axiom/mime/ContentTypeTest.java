@@ -136,4 +136,27 @@ public class ContentTypeTest extends TestCase {
         assertThat(isTextual("foo/bar; charset=UTF-8")).isTrue();
         assertThat(isTextual("image/gif")).isFalse();
     }
+
+    public void testParseSharesMediaType() throws Exception {
+        assertThat(new ContentType("application/octet-stream").getMediaType())
+                .isSameInstanceAs(MediaType.APPLICATION_OCTET_STREAM);
+        assertThat(new ContentType("application/xop+xml; charset=UTF-8").getMediaType())
+                .isSameInstanceAs(MediaType.APPLICATION_XOP_XML);
+    }
+
+    public void testParseReusesInstances() throws Exception {
+        String value = "application/xop+xml; charset=UTF-8; type=\"text/xml\"";
+        ContentType ct = ContentType.parse(value);
+        assertThat(ContentType.parse(value)).isSameInstanceAs(ct);
+        assertEquals("text/xml", ct.getParameter("type"));
+    }
+
+    public void testParseCachesNewValuesAfterManyDistinctValues() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            ContentType.parse("multipart/related; boundary=\"MIMEBoundary" + i + "\"");
+        }
+        String value = "multipart/related; boundary=\"MIMEBoundaryNew\"";
+        ContentType ct = ContentType.parse(value);
+        assertThat(ContentType.parse(value)).isSameInstanceAs(ct);
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.mime;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import junit.framework.TestCase;
+import org.apache.axiom.blob.Blobs;
+import org.apache.axiom.monitoring.MetricsCounters;
+import org.apache.axiom.monitoring.Monitoring;
+
+public class MultipartBodyTest extends TestCase {
+    private static final String BOUNDARY = "MIMEBoundary_test";
+
+    private static byte[] createMessage(int partCount) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MultipartBodyWriter mpw = new MultipartBodyWriter(baos, BOUNDARY);
+        for (int i = 0; i < partCount; i++) {
+            OutputStream out = mpw.writePart(
+                    new ContentType(MediaType.TEXT_PLAIN), ContentTransferEncoding.BINARY, "part" + i, null);
+            out.write(("content" + i).getBytes(StandardCharsets.UTF_8));
+            out.close();
+        }
+        mpw.complete();
+        return baos.toByteArray();
+    }
+
+    private static MultipartBody.Builder builder(byte[] message) {
+        return MultipartBody.builder()
+                .setInputStream(new ByteArrayInputStream(message))
+                .setContentType("multipart/related; boundary=" + BOUNDARY);
+    }
+
+    private static String getContent(Part part) throws Exception {
+        return new String(part.getInputStream(true).readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    public void testPrefetch() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            List<String> createdParts = Collections.synchronizedList(new ArrayList<>());
+            MultipartBody mb = builder(createMessage(5))
+                    .setPrefetchExecutor(executor)
+                    .setPartCreationListener(part -> createdParts.add(part.getContentID()))
+                    .build();
+            assertEquals("content3", getContent(mb.getPart("part3")));
+            assertEquals("content0", getContent(mb.getRootPart()));
+            assertEquals("content1", getContent(mb.getPart("part1")));
+            assertNull(mb.getPart("unknown"));
+            assertEquals(5, mb.getPartCount());
+            Iterator<Part> it = mb.iterator();
+            for (int i = 0; i < 5; i++) {
+                assertTrue(it.hasNext());
+                assertEquals("part" + i, it.next().getContentID());
+            }
+            assertFalse(it.hasNext());
+            assertEquals(List.of("part0", "part1", "part2", "part3", "part4"), createdParts);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testPrefetchTruncatedMessage() throws Exception {
+        byte[] message = createMessage(3);
+        byte[] truncated = new byte[message.length - 20];
+        System.arraycopy(message, 0, truncated, 0, truncated.length);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            MultipartBody mb = builder(truncated).setPrefetchExecutor(executor).build();
+            assertEquals("content0", getContent(mb.getRootPart()));
+            try {
+                mb.getPartCount();
+                fail("Expected MIMEException");
+            } catch (MIMEException ex) {
+                // Expected
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testDigests() throws Exception {
+        MultipartBody mb = builder(createMessage(3)).setDigestAlgorithms("SHA-256").build();
+        Part part = mb.getPart("part1");
+        byte[] content = part.getInputStream(false).readAllBytes();
+        PartDigests digests = part.getDigests();
+        assertEquals(content.length, digests.getSize());
+        assertTrue(Arrays.equals(MessageDigest.getInstance("SHA-256").digest(content), digests.getDigest("SHA-256")));
+        assertEquals(8, mb.getPart("part2").getDigests().getSize());
+    }
+
+    public void testMetrics() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MultipartBodyWriter mpw = new MultipartBodyWriter(baos, BOUNDARY);
+        for (int size : new int[] {10, 100, 10}) {
+            OutputStream out = mpw.writePart(
+                    new ContentType(MediaType.APPLICATION_OCTET_STREAM),
+                    ContentTransferEncoding.BINARY,
+                    "part" + size,
+                    null);
+            out.write(new byte[size]);
+            out.close();
+        }
+        mpw.complete();
+        MetricsCounters counters = new MetricsCounters();
+        Monitoring.addListener(counters);
+        try {
+            MultipartBody mb = builder(baos.toByteArray())
+                    .setAttachmentBlobFactory(() -> Blobs.createOverflowableBlob(64, Blobs::createMemoryBlob))
+                    .build();
+            // Iterating over the parts buffers all of them
+            for (Part part : mb) {
+                part.getContentID();
+            }
+        } finally {
+            Monitoring.removeListener(counters);
+        }
+        assertEquals(3, counters.getBufferedParts());
+        assertEquals(120, counters.getBufferedBytes());
+        assertEquals(1, counters.getBlobOverflows());
+        assertEquals(100, counters.getSpilledBytes());
+    }
+}
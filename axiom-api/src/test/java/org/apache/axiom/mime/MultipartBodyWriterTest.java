@@ -23,6 +23,7 @@ import jakarta.mail.internet.MimeMultipart;
 import jakarta.mail.util.ByteArrayDataSource;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.Random;
 import junit.framework.TestCase;
@@ -60,4 +61,21 @@ public class MultipartBodyWriterTest extends TestCase {
     public void testBase64() throws Exception {
         test(ContentTransferEncoding.BASE64);
     }
+
+    public void testDigests() throws Exception {
+        byte[] content = new byte[10000];
+        new Random().nextBytes(content);
+        MultipartBodyWriter mpw =
+                new MultipartBodyWriter(new ByteArrayOutputStream(), UIDGenerator.generateMimeBoundary(), "SHA-256");
+        OutputStream partOutputStream = mpw.writePart(
+                new ContentType(MediaType.APPLICATION_OCTET_STREAM), ContentTransferEncoding.BASE64, "part", null);
+        partOutputStream.write(content);
+        assertNull(mpw.getPartDigests("part"));
+        partOutputStream.close();
+        mpw.complete();
+        PartDigests digests = mpw.getPartDigests("part");
+        assertEquals(content.length, digests.getSize());
+        assertTrue(Arrays.equals(MessageDigest.getInstance("SHA-256").digest(content), digests.getDigest("sha-256")));
+        assertNull(digests.getDigest("MD5"));
+    }
 }
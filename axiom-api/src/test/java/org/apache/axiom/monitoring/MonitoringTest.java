@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+public class MonitoringTest {
+    /**
+     * Tests that {@link Monitoring#isEnabled()} only returns {@code true} while a recording with
+     * the Axiom events is running, and that the duration of the operation is the duration of the
+     * event.
+     */
+    @Test
+    public void testFlightRecording() throws Exception {
+        assertThat(Monitoring.isEnabled()).isFalse();
+        Path file = Files.createTempFile("axiom", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("axiom.ForceExpand");
+                recording.start();
+                assertThat(Monitoring.isEnabled()).isTrue();
+                Operation operation = Monitoring.beginSourcedElementExpansion();
+                Thread.sleep(10);
+                Monitoring.reportSourcedElementExpanded("test", String.class, operation);
+                recording.stop();
+                recording.dump(file);
+            }
+            assertThat(Monitoring.isEnabled()).isFalse();
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertThat(events).hasSize(1);
+            RecordedEvent event = events.get(0);
+            assertThat(event.getEventType().getName()).isEqualTo("axiom.ForceExpand");
+            assertThat(event.getString("elementName")).isEqualTo("test");
+            assertThat(event.getDuration().toMillis()).isGreaterThanOrEqualTo(10);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import junit.framework.TestCase;
+
+public class RecordBoundaryScannerTest extends TestCase {
+    private static RecordBoundaryScanner createScanner(String xml, int chunkSize) {
+        return new RecordBoundaryScanner(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), chunkSize);
+    }
+
+    private static List<String> getChunks(RecordBoundaryScanner scanner) throws Exception {
+        List<String> chunks = new ArrayList<>();
+        byte[] chunk;
+        while ((chunk = scanner.nextChunk()) != null) {
+            chunks.add(new String(chunk, StandardCharsets.UTF_8));
+        }
+        return chunks;
+    }
+
+    private static String replay(RecordBoundaryScanner scanner) throws Exception {
+        return new String(scanner.getReplayStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    public void testBoundaries() throws Exception {
+        RecordBoundaryScanner scanner = createScanner(
+                "<?xml version='1.0' encoding='UTF-8'?><!-- <root> --><root xmlns='urn:x' a='x>y'>"
+                        + "<r>1</r><r><![CDATA[</r><r>]]></r><!-- </r> --><?pi </r>?><r a=\"&lt;/r&gt;\"/>"
+                        + "</root><!-- end -->",
+                1);
+        assertTrue(scanner.scanProlog());
+        assertEquals(
+                "<?xml version='1.0' encoding='UTF-8'?>",
+                new String(scanner.getXmlDeclaration(), StandardCharsets.UTF_8));
+        assertEquals("<root xmlns='urn:x' a='x>y'>", new String(scanner.getRootStartTag(), StandardCharsets.UTF_8));
+        List<String> chunks = getChunks(scanner);
+        assertEquals(3, chunks.size());
+        assertEquals("<r>1</r>", chunks.get(0));
+        assertEquals("<r><![CDATA[</r><r>]]></r>", chunks.get(1));
+        assertEquals("<!-- </r> --><?pi </r>?><r a=\"&lt;/r&gt;\"/>", chunks.get(2));
+        assertFalse(scanner.isUnsupported());
+        assertEquals("</root>", new String(scanner.getRootEndTag(), StandardCharsets.UTF_8));
+        assertEquals("<!-- end -->", new String(scanner.getEpilog(), StandardCharsets.UTF_8));
+    }
+
+    public void testLargeInput() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            content.append("<record id='").append(i).append("'><value>").append(i).append("</value></record>\n");
+        }
+        RecordBoundaryScanner scanner = createScanner("<root>" + content + "</root>", 10000);
+        assertTrue(scanner.scanProlog());
+        List<String> chunks = getChunks(scanner);
+        assertTrue(chunks.size() > 1);
+        StringBuilder concatenated = new StringBuilder();
+        for (String chunk : chunks) {
+            assertTrue(chunk.startsWith("<record") || chunk.startsWith("\n<record"));
+            concatenated.append(chunk);
+        }
+        assertEquals(content.toString(), concatenated.toString());
+    }
+
+    public void testDTD() throws Exception {
+        String xml = "<!DOCTYPE root [<!ENTITY e 'x'>]><root><r>&e;</r></root>";
+        RecordBoundaryScanner scanner = createScanner(xml, 1);
+        assertFalse(scanner.scanProlog());
+        assertEquals(xml, replay(scanner));
+    }
+
+    public void testCharacterReference() throws Exception {
+        RecordBoundaryScanner scanner = createScanner("<root><r>&#65;</r><r a='&#x42;&lt;'/></root>", 1);
+        assertTrue(scanner.scanProlog());
+        assertEquals(2, getChunks(scanner).size());
+        assertFalse(scanner.isUnsupported());
+    }
+
+    public void testUndeclaredEntityReference() throws Exception {
+        RecordBoundaryScanner scanner = createScanner("<root><r>1</r><r>2</r><r>&e;</r><r>4</r></root>", 1);
+        assertTrue(scanner.scanProlog());
+        assertEquals(2, getChunks(scanner).size());
+        assertTrue(scanner.isUnsupported());
+        assertEquals(
+                "<r>&e;</r><r>4</r></root>",
+                new String(scanner.getRemainingStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    public void testUnsupportedEncoding() throws Exception {
+        String xml = "<?xml version='1.0' encoding='Shift_JIS'?><root><r/></root>";
+        RecordBoundaryScanner scanner = createScanner(xml, 1);
+        assertFalse(scanner.scanProlog());
+        assertEquals(xml, replay(scanner));
+    }
+
+    public void testRootEndTag() throws Exception {
+        RecordBoundaryScanner scanner = createScanner("<p:root\nxmlns:p='urn:p'><r/></p:root>", 1);
+        assertTrue(scanner.scanProlog());
+        assertEquals("</p:root>", new String(scanner.getRootEndTag(), StandardCharsets.UTF_8));
+    }
+
+    public void testUTF16() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write("<root><r/></root>".getBytes(StandardCharsets.UTF_16));
+        assertFalse(new RecordBoundaryScanner(new ByteArrayInputStream(out.toByteArray()), 1).scanProlog());
+    }
+}
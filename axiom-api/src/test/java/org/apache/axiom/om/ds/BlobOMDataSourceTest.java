@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.ds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.apache.axiom.blob.Blob;
+import org.apache.axiom.blob.Blobs;
+import org.apache.axiom.testutils.blob.TextBlob;
+import org.junit.jupiter.api.Test;
+
+public class BlobOMDataSourceTest {
+    private static String writeTo(Blob blob) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (new BlobOMDataSource(blob, "UTF-8").writeTo(out, "UTF-8")) {
+            return out.toString("UTF-8");
+        } else {
+            assertThat(out.size()).isEqualTo(0);
+            return null;
+        }
+    }
+
+    private static String writeTo(String data) throws Exception {
+        return writeTo(Blobs.createBlob(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testWriteToSkipsPrologAndTrailingWhitespace() throws Exception {
+        assertThat(writeTo("<?xml version='1.0'?>\n<!-- comment --><?pi data?>\n<a> x </a>\n"))
+                .isEqualTo("<a> x </a>");
+    }
+
+    @Test
+    public void testWriteToLargeDocument() throws Exception {
+        StringBuilder prolog = new StringBuilder("<!--");
+        while (prolog.length() < 10000) {
+            prolog.append(" comment");
+        }
+        prolog.append("-->\n");
+        StringBuilder element = new StringBuilder("<a>");
+        for (int i = 0; i < 20000; i++) {
+            element.append("<b>").append(i).append("</b>    \n");
+        }
+        element.append("</a>");
+        StringBuilder trailer = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            trailer.append(" \r\n");
+        }
+        assertThat(writeTo(prolog + element.toString() + trailer)).isEqualTo(element.toString());
+    }
+
+    @Test
+    public void testWriteToWithDocumentTypeDeclaration() throws Exception {
+        assertThat(writeTo("<!DOCTYPE a [<!ENTITY e 'x'>]><a>&e;</a>")).isNull();
+    }
+
+    @Test
+    public void testWriteToWithTrailingComment() throws Exception {
+        assertThat(writeTo("<a/><!-- comment -->")).isNull();
+    }
+
+    @Test
+    public void testWriteToWithUnknownSize() throws Exception {
+        assertThat(writeTo(new TextBlob("<a/>", StandardCharsets.UTF_8))).isNull();
+    }
+}
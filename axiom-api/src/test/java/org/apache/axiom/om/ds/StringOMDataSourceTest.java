@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.ds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class StringOMDataSourceTest {
+    private static String writeTo(String data, String encoding) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (new StringOMDataSource(data).writeTo(out, encoding)) {
+            return out.toString(encoding);
+        } else {
+            assertThat(out.size()).isEqualTo(0);
+            return null;
+        }
+    }
+
+    @Test
+    public void testWriteToSkipsPrologAndTrailingWhitespace() throws Exception {
+        assertThat(writeTo("<?xml version='1.0'?>\n<!-- comment --><?pi data?>\n<a>x</a>\n", "UTF-8"))
+                .isEqualTo("<a>x</a>");
+    }
+
+    @Test
+    public void testWriteToNonASCII() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(new StringOMDataSource("<a>\u00E9\u20AC</a>").writeTo(out, "utf-8")).isTrue();
+        assertThat(out.toByteArray()).isEqualTo("<a>\u00E9\u20AC</a>".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteToWithDocumentTypeDeclaration() throws Exception {
+        assertThat(writeTo("<!DOCTYPE a [<!ENTITY e 'x'>]><a>&e;</a>", "UTF-8")).isNull();
+    }
+
+    @Test
+    public void testWriteToWithTrailingComment() throws Exception {
+        assertThat(writeTo("<a/><!-- comment -->", "UTF-8")).isNull();
+    }
+
+    @Test
+    public void testWriteToWithUnmappableCharacter() throws Exception {
+        assertThat(writeTo("<a>\u20AC</a>", "ISO-8859-1")).isNull();
+    }
+
+    @Test
+    public void testWriteToWithUnsupportedEncoding() throws Exception {
+        assertThat(writeTo("<a/>", "UTF-16")).isNull();
+    }
+}
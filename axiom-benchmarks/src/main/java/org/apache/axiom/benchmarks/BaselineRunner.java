@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the benchmarks with a fixed configuration and writes the results (including the allocation
+ * rates reported by the GC profiler) in JMH's JSON format. The configuration is fixed so that
+ * results produced for different releases can be compared directly, e.g. with a JMH result
+ * visualizer.
+ *
+ * <p>Usage: {@code java -cp target/benchmarks.jar org.apache.axiom.benchmarks.BaselineRunner
+ * <result file> [<regexp>]}.
+ */
+public final class BaselineRunner {
+    private BaselineRunner() {}
+
+    public static void main(String[] args) throws RunnerException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: BaselineRunner <result file> [<regexp>]");
+            System.exit(1);
+        }
+        Options options = new OptionsBuilder()
+                .include(args.length == 2 ? args[1] : BaselineRunner.class.getPackage().getName() + ".*")
+                .forks(2)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .mode(Mode.AverageTime)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args[0])
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.benchmarks.jaxb;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import org.apache.axiom.benchmarks.BlackholeOutputStream;
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.ds.jaxb.JAXBOMDataSource;
+import org.apache.axiom.om.util.jaxb.JAXBPool;
+import org.apache.axiom.om.util.jaxb.JAXBUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the cost of serializing and unmarshalling small JAXB objects with and without a {@link
+ * JAXBPool}.
+ */
+@State(Scope.Benchmark)
+public class JAXBPoolBenchmark {
+    @Param({"false", "true"})
+    public boolean pooled;
+
+    private JAXBContext context;
+    private JAXBPool pool;
+    private OMFactory factory;
+    private Order order;
+
+    @Setup
+    public void setUp() throws JAXBException {
+        context = JAXBContext.newInstance(Order.class);
+        pool = new JAXBPool(context);
+        factory = OMAbstractFactory.getOMFactory();
+        order = new Order();
+        order.setId("A-12345");
+        order.setCustomer("ACME");
+        order.setAmount(4200);
+    }
+
+    private JAXBOMDataSource createDataSource() {
+        return pooled ? new JAXBOMDataSource(pool, order) : new JAXBOMDataSource(context, order);
+    }
+
+    @Benchmark
+    public void serialize(Blackhole blackhole) throws Exception {
+        OMElement element = factory.createOMElement(createDataSource());
+        element.serialize(new BlackholeOutputStream(blackhole));
+    }
+
+    @Benchmark
+    public Object unmarshal() throws JAXBException {
+        OMElement element = factory.createOMElement(createDataSource());
+        return pooled ? JAXBUtils.unmarshal(element, pool, false) : JAXBUtils.unmarshal(element, context, null, false);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.benchmarks.mime;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.apache.axiom.benchmarks.BlackholeOutputStream;
+import org.apache.axiom.benchmarks.OMImplementation;
+import org.apache.axiom.mime.MultipartBody;
+import org.apache.axiom.mime.Part;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMOutputFormat;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.om.OMXMLParserWrapper;
+import org.apache.axiom.om.util.StAXParserConfiguration;
+import org.apache.axiom.ts.xml.XOPSample;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Parsing and round tripping the MTOM message from {@link XOPSample#XOP_SPEC_SAMPLE}. */
+@State(Scope.Benchmark)
+public class MTOMBenchmark {
+    @Param({"LLOM", "DOOM"})
+    public OMImplementation implementation;
+
+    private OMFactory factory;
+    private byte[] content;
+    private String contentType;
+    private OMOutputFormat format;
+
+    @Setup
+    public void setUp() throws IOException {
+        factory = implementation.getMetaFactory().getOMFactory();
+        XOPSample sample = XOPSample.XOP_SPEC_SAMPLE;
+        try (InputStream in = sample.getInputStream()) {
+            content = in.readAllBytes();
+        }
+        contentType = sample.getContentType();
+        format = new OMOutputFormat();
+        format.setDoOptimize(true);
+        format.setMimeBoundary(sample.getBoundary());
+        format.setRootContentId(sample.getStart());
+    }
+
+    private MultipartBody createMultipartBody() {
+        return MultipartBody.builder()
+                .setInputStream(new ByteArrayInputStream(content))
+                .setContentType(contentType)
+                .build();
+    }
+
+    /** Baseline: read all MIME parts without building the root part. */
+    @Benchmark
+    public void parseParts(Blackhole blackhole) throws IOException {
+        for (Part part : createMultipartBody()) {
+            try (InputStream in = part.getInputStream(false)) {
+                blackhole.consume(in.readAllBytes());
+            }
+        }
+    }
+
+    /** Build the root part (resolving XOP includes) and serialize it back to MTOM. */
+    @Benchmark
+    public void roundTrip(Blackhole blackhole) throws IOException {
+        OMXMLParserWrapper builder =
+                OMXMLBuilderFactory.createOMBuilder(factory, StAXParserConfiguration.DEFAULT, createMultipartBody());
+        builder.getDocumentElement().serialize(new BlackholeOutputStream(blackhole), format, false);
+        builder.close();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.benchmarks.om;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.apache.axiom.benchmarks.BlackholeOutputStream;
+import org.apache.axiom.benchmarks.OMImplementation;
+import org.apache.axiom.om.OMDocument;
+import org.apache.axiom.om.OMOutputFormat;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.testing.multiton.Multiton;
+import org.apache.axiom.ts.xml.XMLSample;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Serializing completely built documents from {@link XMLSample} with and without {@link
+ * OMOutputFormat#BATCH_EVENTS}. Since the documents are built during setup, this only measures the
+ * serialization pipeline.
+ */
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    @Param({"LLOM", "DOOM"})
+    public OMImplementation implementation;
+
+    @Param({"simple.xml", "large.xml"})
+    public String sample;
+
+    @Param({"false", "true"})
+    public boolean batchEvents;
+
+    private OMDocument document;
+    private OMOutputFormat format;
+
+    @Setup
+    public void setUp() throws IOException {
+        for (XMLSample xmlSample : Multiton.getInstances(XMLSample.class)) {
+            if (xmlSample.getName().equals(sample)) {
+                try (InputStream in = xmlSample.getInputStream()) {
+                    document = OMXMLBuilderFactory.createOMBuilder(
+                                    implementation.getMetaFactory().getOMFactory(),
+                                    new ByteArrayInputStream(in.readAllBytes()))
+                            .getDocument();
+                }
+                break;
+            }
+        }
+        if (document == null) {
+            throw new IllegalArgumentException("Unknown sample " + sample);
+        }
+        document.build();
+        format = new OMOutputFormat();
+        if (batchEvents) {
+            format.setProperty(OMOutputFormat.BATCH_EVENTS, Boolean.TRUE);
+        }
+    }
+
+    @Benchmark
+    public void serialize(Blackhole blackhole) throws IOException {
+        document.serialize(new BlackholeOutputStream(blackhole), format, true);
+    }
+}
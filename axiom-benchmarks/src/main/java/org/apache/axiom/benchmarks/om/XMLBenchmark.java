@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.benchmarks.om;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.axiom.benchmarks.BlackholeOutputStream;
+import org.apache.axiom.benchmarks.OMImplementation;
+import org.apache.axiom.om.OMDocument;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMSerializable;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.om.OMXMLParserWrapper;
+import org.apache.axiom.om.util.StAXUtils;
+import org.apache.axiom.om.xpath.AXIOMXPath;
+import org.apache.axiom.testing.multiton.Multiton;
+import org.apache.axiom.ts.xml.XMLSample;
+import org.jaxen.JaxenException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing, building, navigating and serializing the documents from {@link XMLSample} with the LLOM
+ * and DOOM implementations.
+ */
+@State(Scope.Benchmark)
+public class XMLBenchmark {
+    @Param({"LLOM", "DOOM"})
+    public OMImplementation implementation;
+
+    @Param({"simple.xml", "large.xml"})
+    public String sample;
+
+    private OMFactory factory;
+    private byte[] content;
+    private AXIOMXPath xpath;
+
+    @Setup
+    public void setUp() throws IOException, JaxenException {
+        factory = implementation.getMetaFactory().getOMFactory();
+        for (XMLSample xmlSample : Multiton.getInstances(XMLSample.class)) {
+            if (xmlSample.getName().equals(sample)) {
+                try (InputStream in = xmlSample.getInputStream()) {
+                    content = in.readAllBytes();
+                }
+                break;
+            }
+        }
+        if (content == null) {
+            throw new IllegalArgumentException("Unknown sample " + sample);
+        }
+        xpath = new AXIOMXPath("count(//*)");
+    }
+
+    private OMXMLParserWrapper createBuilder() {
+        return OMXMLBuilderFactory.createOMBuilder(factory, new ByteArrayInputStream(content));
+    }
+
+    /** Baseline: pull all events from the parser without building anything. */
+    @Benchmark
+    public void parseOnly(Blackhole blackhole) throws XMLStreamException {
+        XMLStreamReader reader = StAXUtils.createXMLStreamReader(new ByteArrayInputStream(content));
+        while (reader.hasNext()) {
+            blackhole.consume(reader.next());
+        }
+        reader.close();
+    }
+
+    @Benchmark
+    public OMDocument fullBuild() {
+        OMXMLParserWrapper builder = createBuilder();
+        OMDocument document = builder.getDocument();
+        document.build();
+        builder.close();
+        return document;
+    }
+
+    /** Build only the document element and its first child element. */
+    @Benchmark
+    public OMElement partialBuild() {
+        OMXMLParserWrapper builder = createBuilder();
+        OMElement child = builder.getDocumentElement().getFirstElement();
+        builder.close();
+        return child;
+    }
+
+    @Benchmark
+    public void navigate(Blackhole blackhole) {
+        OMXMLParserWrapper builder = createBuilder();
+        for (Iterator<? extends OMSerializable> it = builder.getDocumentElement().getDescendants(false);
+                it.hasNext(); ) {
+            blackhole.consume(it.next());
+        }
+        builder.close();
+    }
+
+    @Benchmark
+    public void getXMLStreamReaderWithoutCaching(Blackhole blackhole) throws XMLStreamException {
+        OMXMLParserWrapper builder = createBuilder();
+        XMLStreamReader reader = builder.getDocumentElement().getXMLStreamReader(false);
+        while (reader.hasNext()) {
+            blackhole.consume(reader.next());
+        }
+        reader.close();
+        builder.close();
+    }
+
+    @Benchmark
+    public void serialize(Blackhole blackhole) throws IOException {
+        OMXMLParserWrapper builder = createBuilder();
+        builder.getDocument().serialize(new BlackholeOutputStream(blackhole), true);
+        builder.close();
+    }
+
+    @Benchmark
+    public void serializeAndConsume(Blackhole blackhole) throws IOException {
+        OMXMLParserWrapper builder = createBuilder();
+        builder.getDocument().serialize(new BlackholeOutputStream(blackhole), false);
+        builder.close();
+    }
+
+    @Benchmark
+    public Object xpath() throws JaxenException {
+        OMXMLParserWrapper builder = createBuilder();
+        Object result = xpath.evaluate(builder.getDocument());
+        builder.close();
+        return result;
+    }
+}
@@ -23,6 +23,8 @@ import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
+import java.io.IOException;
+import java.io.OutputStream;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
@@ -34,6 +36,7 @@ import org.apache.axiom.om.OMSourcedElement;
 import org.apache.axiom.om.QNameAwareOMDataSource;
 import org.apache.axiom.om.ds.AbstractPushOMDataSource;
 import org.apache.axiom.om.impl.MTOMXMLStreamWriter;
+import org.apache.axiom.om.util.jaxb.JAXBPool;
 
 /**
  * {@link OMDataSource} backed by a JAXB object. This class can be used both for plain JAXB objects
@@ -54,6 +57,7 @@ import org.apache.axiom.om.impl.MTOMXMLStreamWriter;
  */
 public class JAXBOMDataSource extends AbstractPushOMDataSource implements QNameAwareOMDataSource {
     private final JAXBContext context;
+    private final JAXBPool pool;
     private final Object object;
     private QName cachedQName;
 
@@ -64,7 +68,22 @@ public class JAXBOMDataSource extends AbstractPushOMDataSource implements QNameA
      * @param object the JAXB object; this may be a plain Java bean or a {@link JAXBElement}
      */
     public JAXBOMDataSource(JAXBContext context, Object object) {
+        this(context, null, object);
+    }
+
+    /**
+     * Constructor. Marshallers used by the data source will be obtained from the given pool.
+     *
+     * @param pool the pool for the JAXB context to which the object is known
+     * @param object the JAXB object; this may be a plain Java bean or a {@link JAXBElement}
+     */
+    public JAXBOMDataSource(JAXBPool pool, Object object) {
+        this(pool.getContext(), pool, object);
+    }
+
+    private JAXBOMDataSource(JAXBContext context, JAXBPool pool, Object object) {
         this.context = context;
+        this.pool = pool;
         this.object = object;
     }
 
@@ -76,23 +95,74 @@ public class JAXBOMDataSource extends AbstractPushOMDataSource implements QNameA
     @Override
     public void serialize(XMLStreamWriter writer) throws XMLStreamException {
         try {
-            Marshaller marshaller = context.createMarshaller();
+            Marshaller marshaller = pool == null ? context.createMarshaller() : pool.acquireMarshaller();
             marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
             if (writer instanceof MTOMXMLStreamWriter mtomWriter && mtomWriter.isOptimized()) {
                 marshaller.setAttachmentMarshaller(new AttachmentMarshallerImpl(mtomWriter));
             }
             marshaller.marshal(object, writer);
+            // Only reuse the marshaller if marshalling succeeded; after a failure its state is
+            // unknown
+            if (pool != null) {
+                pool.releaseMarshaller(marshaller);
+            }
         } catch (JAXBException ex) {
-            // Try to propagate the original exception if possible (to avoid unreadable stacktraces)
-            Throwable cause = ex.getCause();
-            while (cause != null) {
-                if (cause instanceof XMLStreamException xmlStreamException) {
-                    throw xmlStreamException;
+            throw translate(ex);
+        }
+    }
+
+    /**
+     * Write the object using {@link Marshaller#marshal(Object, OutputStream)}. The marshaller
+     * produces a self-contained fragment, so that the output can be copied as is. The properties
+     * changed on the marshaller are restored before it is returned to the pool.
+     */
+    @Override
+    public boolean writeTo(OutputStream out, String encoding) throws XMLStreamException {
+        try {
+            Marshaller marshaller = pool == null ? context.createMarshaller() : pool.acquireMarshaller();
+            boolean reusable = false;
+            try {
+                Object savedFragment = marshaller.getProperty(Marshaller.JAXB_FRAGMENT);
+                Object savedEncoding = marshaller.getProperty(Marshaller.JAXB_ENCODING);
+                try {
+                    marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+                    marshaller.setProperty(Marshaller.JAXB_ENCODING, encoding);
+                    marshaller.marshal(object, out);
+                } finally {
+                    marshaller.setProperty(Marshaller.JAXB_FRAGMENT, savedFragment);
+                    marshaller.setProperty(Marshaller.JAXB_ENCODING, savedEncoding);
+                    reusable = true;
+                }
+            } finally {
+                // Release the marshaller even if marshalling failed, unless its properties couldn't
+                // be restored
+                if (pool != null && reusable) {
+                    pool.releaseMarshaller(marshaller);
                 }
-                cause = cause.getCause();
             }
-            throw new OMException("Error marshalling JAXB object", ex);
+            return true;
+        } catch (JAXBException ex) {
+            throw translate(ex);
+        }
+    }
+
+    /**
+     * Translate an exception thrown by the marshaller. Returns the original {@link
+     * XMLStreamException} (or wraps the original {@link IOException}) if there is one, so that the
+     * caller can rethrow it; otherwise an {@link OMException} is thrown.
+     */
+    private static XMLStreamException translate(JAXBException ex) {
+        // Try to propagate the original exception if possible (to avoid unreadable stacktraces)
+        Throwable cause = ex.getCause();
+        while (cause != null) {
+            if (cause instanceof XMLStreamException xmlStreamException) {
+                return xmlStreamException;
+            } else if (cause instanceof IOException ioException) {
+                return new XMLStreamException(ioException);
+            }
+            cause = cause.getCause();
         }
+        throw new OMException("Error marshalling JAXB object", ex);
     }
 
     private QName getQName() {
@@ -133,6 +203,6 @@ public class JAXBOMDataSource extends AbstractPushOMDataSource implements QNameA
 
     @Override
     public OMDataSourceExt copy() {
-        return new JAXBOMDataSource(context, object);
+        return new JAXBOMDataSource(context, pool, object);
     }
 }
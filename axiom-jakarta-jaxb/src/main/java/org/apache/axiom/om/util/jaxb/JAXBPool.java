@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.util.jaxb;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of {@link Marshaller} and {@link Unmarshaller} instances for a given {@link
+ * JAXBContext}. Creating a marshaller or unmarshaller is relatively expensive compared to the cost
+ * of processing a small object, and instances can't be shared between threads. A pool can be
+ * passed to {@link org.apache.axiom.om.ds.jaxb.JAXBOMDataSource} and to the corresponding methods
+ * in {@link JAXBUtils} to reuse instances across calls.
+ *
+ * <p>The pool never blocks: if no idle instance is available, a new one is created, and if the pool
+ * is full when an instance is released, that instance is discarded. It doesn't rely on locks or
+ * thread locals, so it can be used from virtual threads. Instances are pooled in the state they
+ * were in when created by the context; the methods that use the pool reset the attachment
+ * (un)marshaller before releasing an instance. Callers that apply other settings must not release
+ * the instance afterwards.
+ *
+ * <p>The pool keeps a strong reference to the context. It should therefore have the same life
+ * cycle as the context, e.g. be stored next to it.
+ */
+public final class JAXBPool {
+    private static final int DEFAULT_MAX_IDLE = 32;
+
+    private final JAXBContext context;
+    private final AtomicReferenceArray<Marshaller> marshallers;
+    private final AtomicReferenceArray<Unmarshaller> unmarshallers;
+    private final LongAdder marshallerHits = new LongAdder();
+    private final LongAdder marshallerMisses = new LongAdder();
+    private final LongAdder unmarshallerHits = new LongAdder();
+    private final LongAdder unmarshallerMisses = new LongAdder();
+
+    /**
+     * Create a pool with a default capacity.
+     *
+     * @param context the JAXB context
+     */
+    public JAXBPool(JAXBContext context) {
+        this(context, DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * Create a pool with the given capacity.
+     *
+     * @param context the JAXB context
+     * @param maxIdle the maximum number of idle marshallers (resp. unmarshallers) kept by the pool
+     */
+    public JAXBPool(JAXBContext context, int maxIdle) {
+        if (maxIdle <= 0) {
+            throw new IllegalArgumentException("maxIdle must be positive");
+        }
+        this.context = context;
+        marshallers = new AtomicReferenceArray<>(maxIdle);
+        unmarshallers = new AtomicReferenceArray<>(maxIdle);
+    }
+
+    public JAXBContext getContext() {
+        return context;
+    }
+
+    private static <T> T poll(AtomicReferenceArray<T> slots) {
+        for (int i = 0, length = slots.length(); i < length; i++) {
+            if (slots.get(i) != null) {
+                T instance = slots.getAndSet(i, null);
+                if (instance != null) {
+                    return instance;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static <T> void offer(AtomicReferenceArray<T> slots, T instance) {
+        for (int i = 0, length = slots.length(); i < length; i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, instance)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get a marshaller from the pool, or create a new one if no idle marshaller is available.
+     *
+     * @return the marshaller
+     * @throws JAXBException if a new marshaller can't be created
+     */
+    public Marshaller acquireMarshaller() throws JAXBException {
+        Marshaller marshaller = poll(marshallers);
+        if (marshaller == null) {
+            marshallerMisses.increment();
+            marshaller = context.createMarshaller();
+        } else {
+            marshallerHits.increment();
+        }
+        return marshaller;
+    }
+
+    /**
+     * Return a marshaller to the pool. The caller must not use the marshaller after calling this
+     * method.
+     *
+     * @param marshaller a marshaller previously obtained from {@link #acquireMarshaller()}
+     */
+    public void releaseMarshaller(Marshaller marshaller) {
+        marshaller.setAttachmentMarshaller(null);
+        offer(marshallers, marshaller);
+    }
+
+    /**
+     * Get an unmarshaller from the pool, or create a new one if no idle unmarshaller is available.
+     *
+     * @return the unmarshaller
+     * @throws JAXBException if a new unmarshaller can't be created
+     */
+    public Unmarshaller acquireUnmarshaller() throws JAXBException {
+        Unmarshaller unmarshaller = poll(unmarshallers);
+        if (unmarshaller == null) {
+            unmarshallerMisses.increment();
+            unmarshaller = context.createUnmarshaller();
+        } else {
+            unmarshallerHits.increment();
+        }
+        return unmarshaller;
+    }
+
+    /**
+     * Return an unmarshaller to the pool. The caller must not use the unmarshaller after calling
+     * this method.
+     *
+     * @param unmarshaller an unmarshaller previously obtained from {@link #acquireUnmarshaller()}
+     */
+    public void releaseUnmarshaller(Unmarshaller unmarshaller) {
+        unmarshaller.setAttachmentUnmarshaller(null);
+        offer(unmarshallers, unmarshaller);
+    }
+
+    /**
+     * Get the number of calls to {@link #acquireMarshaller()} that reused an idle marshaller.
+     *
+     * @return the number of pool hits
+     */
+    public long getMarshallerHitCount() {
+        return marshallerHits.sum();
+    }
+
+    /**
+     * Get the number of calls to {@link #acquireMarshaller()} that created a new marshaller.
+     *
+     * @return the number of pool misses
+     */
+    public long getMarshallerMissCount() {
+        return marshallerMisses.sum();
+    }
+
+    /**
+     * Get the number of calls to {@link #acquireUnmarshaller()} that reused an idle unmarshaller.
+     *
+     * @return the number of pool hits
+     */
+    public long getUnmarshallerHitCount() {
+        return unmarshallerHits.sum();
+    }
+
+    /**
+     * Get the number of calls to {@link #acquireUnmarshaller()} that created a new unmarshaller.
+     *
+     * @return the number of pool misses
+     */
+    public long getUnmarshallerMissCount() {
+        return unmarshallerMisses.sum();
+    }
+
+    /**
+     * Get the ratio of pool hits to the total number of marshaller and unmarshaller requests.
+     *
+     * @return the hit rate, between 0 and 1; 0 if the pool has not been used yet
+     */
+    public double getHitRate() {
+        long hits = marshallerHits.sum() + unmarshallerHits.sum();
+        long total = hits + marshallerMisses.sum() + unmarshallerMisses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -89,4 +89,44 @@ public final class JAXBUtils {
                 new AttachmentUnmarshallerImpl(xopEncodedStream.getAttachmentAccessor()));
         return unmarshaller.unmarshal(xopEncodedStream.getRootPart(), declaredType);
     }
+
+    /**
+     * Unmarshall the information item using JAXB, with an unmarshaller obtained from the given pool.
+     *
+     * @param container the document or element to unmarshall
+     * @param pool the pool for the JAXB context
+     * @param preserve specifies whether the content of the information item should be preserved
+     * @return the unmarshalled object
+     * @throws JAXBException if an error occurred while unmarshalling
+     */
+    public static Object unmarshal(OMContainer container, JAXBPool pool, boolean preserve) throws JAXBException {
+        Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+        XOPEncoded<XMLStreamReader> xopEncodedStream = container.getXOPEncodedStreamReader(preserve);
+        unmarshaller.setAttachmentUnmarshaller(
+                new AttachmentUnmarshallerImpl(xopEncodedStream.getAttachmentAccessor()));
+        Object result = unmarshaller.unmarshal(xopEncodedStream.getRootPart());
+        pool.releaseUnmarshaller(unmarshaller);
+        return result;
+    }
+
+    /**
+     * Unmarshall the information item using JAXB, with an unmarshaller obtained from the given pool.
+     *
+     * @param container the document or element to unmarshall
+     * @param pool the pool for the JAXB context
+     * @param declaredType a JAXB mapped class to hold the XML data.
+     * @param preserve specifies whether the content of the information item should be preserved
+     * @return the unmarshalled object
+     * @throws JAXBException if an error occurred while unmarshalling
+     */
+    public static <T> JAXBElement<T> unmarshal(
+            OMContainer container, JAXBPool pool, Class<T> declaredType, boolean preserve) throws JAXBException {
+        Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+        XOPEncoded<XMLStreamReader> xopEncodedStream = container.getXOPEncodedStreamReader(preserve);
+        unmarshaller.setAttachmentUnmarshaller(
+                new AttachmentUnmarshallerImpl(xopEncodedStream.getAttachmentAccessor()));
+        JAXBElement<T> result = unmarshaller.unmarshal(xopEncodedStream.getRootPart(), declaredType);
+        pool.releaseUnmarshaller(unmarshaller);
+        return result;
+    }
 }
@@ -24,8 +24,10 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import jakarta.activation.DataHandler;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.Marshaller;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import javax.xml.namespace.QName;
@@ -43,6 +45,7 @@ import org.apache.axiom.om.OMOutputFormat;
 import org.apache.axiom.om.OMSourcedElement;
 import org.apache.axiom.om.OMText;
 import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.om.util.jaxb.JAXBPool;
 import org.apache.axiom.soap.SOAPEnvelope;
 import org.apache.axiom.soap.SOAPFactory;
 import org.apache.axiom.testutils.blob.TextBlob;
@@ -206,4 +209,47 @@ public class JAXBOMDataSourceTest {
         // provided by JAXBOMDataSource with the actual name of the element
         element.getFirstOMChild();
     }
+
+    /**
+     * Tests that {@link JAXBOMDataSource#writeTo(OutputStream, String)} restores the properties of
+     * a pooled marshaller before releasing it.
+     */
+    @Test
+    public void testWriteToRestoresMarshallerProperties() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(DocumentBean.class);
+        Marshaller defaultMarshaller = context.createMarshaller();
+        JAXBPool pool = new JAXBPool(context);
+        DocumentBean object = new DocumentBean();
+        object.setId("123456");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(new JAXBOMDataSource(pool, object).writeTo(out, "ISO-8859-1")).isTrue();
+        assertThat(out.toString("ISO-8859-1")).startsWith("<").doesNotContain("<?xml");
+        Marshaller marshaller = pool.acquireMarshaller();
+        assertThat(pool.getMarshallerHitCount()).isEqualTo(1);
+        assertThat(marshaller.getProperty(Marshaller.JAXB_FRAGMENT))
+                .isEqualTo(defaultMarshaller.getProperty(Marshaller.JAXB_FRAGMENT));
+        assertThat(marshaller.getProperty(Marshaller.JAXB_ENCODING))
+                .isEqualTo(defaultMarshaller.getProperty(Marshaller.JAXB_ENCODING));
+    }
+
+    /**
+     * Tests that {@link JAXBOMDataSource#writeTo(OutputStream, String)} returns the marshaller to
+     * the pool if marshalling fails.
+     */
+    @Test
+    public void testWriteToReleasesMarshallerOnFailure() throws Exception {
+        JAXBPool pool = new JAXBPool(JAXBContext.newInstance(DocumentBean.class));
+        DocumentBean object = new DocumentBean();
+        object.setId("123456");
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("TEST");
+            }
+        };
+        assertThatThrownBy(() -> new JAXBOMDataSource(pool, object).writeTo(out, "UTF-8"))
+                .isInstanceOf(XMLStreamException.class);
+        pool.acquireMarshaller();
+        assertThat(pool.getMarshallerHitCount()).isEqualTo(1);
+    }
 }
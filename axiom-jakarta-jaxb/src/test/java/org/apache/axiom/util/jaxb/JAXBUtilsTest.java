@@ -32,6 +32,7 @@ import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMFactory;
 import org.apache.axiom.om.OMNamespace;
 import org.apache.axiom.om.ds.jaxb.JAXBOMDataSource;
+import org.apache.axiom.om.util.jaxb.JAXBPool;
 import org.apache.axiom.om.util.jaxb.JAXBUtils;
 import org.apache.axiom.testutils.blob.TextBlob;
 import org.junit.jupiter.api.Test;
@@ -72,4 +73,24 @@ public class JAXBUtilsTest {
         assertThat(result.getName()).isEqualTo(new QName("foo"));
         assertThat(result.getValue()).isEqualTo("bar");
     }
+
+    @Test
+    public void testUnmarshalWithPool() throws Exception {
+        OMFactory factory = OMAbstractFactory.getOMFactory();
+        JAXBPool pool = new JAXBPool(JAXBContext.newInstance(DocumentBean.class));
+        for (int i = 0; i < 3; i++) {
+            DocumentBean orgBean = new DocumentBean();
+            orgBean.setId("AB2349" + i);
+            orgBean.setContent(new DataHandler("test content", "text/plain"));
+            OMElement element = factory.createOMElement(new JAXBOMDataSource(pool, orgBean));
+            DocumentBean bean = (DocumentBean) JAXBUtils.unmarshal(element, pool, true);
+            assertThat(bean.getId()).isEqualTo(orgBean.getId());
+            assertThat(bean.getContent()).isSameAs(orgBean.getContent());
+        }
+        assertThat(pool.getMarshallerMissCount()).isEqualTo(1);
+        assertThat(pool.getMarshallerHitCount()).isEqualTo(2);
+        assertThat(pool.getUnmarshallerMissCount()).isEqualTo(1);
+        assertThat(pool.getUnmarshallerHitCount()).isEqualTo(2);
+        assertThat(pool.getHitRate()).isEqualTo(2 / 3.0);
+    }
 }
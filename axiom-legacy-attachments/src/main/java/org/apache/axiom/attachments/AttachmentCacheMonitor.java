@@ -20,11 +20,7 @@
 package org.apache.axiom.attachments;
 
 import java.io.File;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import org.apache.axiom.attachments.lifecycle.impl.TimingWheel;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -33,8 +29,12 @@ import org.apache.commons.logging.LogFactory;
  * has expired.
  *
  * <p>The register method is invoked when the attachment file is created. The access method is
- * invoked whenever the attachment file is accessed. The checkForAgedFiles method is invoked
- * whenever the monitor should look for files to cleanup (delete).
+ * invoked whenever the attachment file is accessed. The checkForAgedFiles method may be invoked to
+ * force the monitor to look for files to cleanup (delete) immediately; otherwise this is done
+ * periodically by a background thread.
+ *
+ * <p>Registered files are tracked by a {@link TimingWheel}, so that registering and accessing a file
+ * don't require a scan of all registered files and don't contend on a global lock.
  */
 public final class AttachmentCacheMonitor {
 
@@ -43,19 +43,11 @@ public final class AttachmentCacheMonitor {
     // Setting this property puts a limit on the lifetime of a cache file
     // The default is "0", which is interpreted as forever
     // The suggested value is 300 seconds
-    private int attachmentTimeoutSeconds = 0; // Default is 0 (forever)
-    private int refreshSeconds = 0;
+    private volatile int attachmentTimeoutSeconds = 0; // Default is 0 (forever)
     public static final String ATTACHMENT_TIMEOUT_PROPERTY = "org.apache.axiom.attachments.tempfile.expiration";
 
-    // HashMap
-    // Key String = Absolute file name
-    // Value Long = Last Access Time
-    private Map<String, Long> files = new HashMap<>();
-
-    // Delete detection is batched
-    private Long priorDeleteMillis = getTime();
-
-    private Timer timer = null;
+    // Key = Absolute file name
+    private final TimingWheel<String> files = new TimingWheel<>(1000, this::deleteFile);
 
     private static AttachmentCacheMonitor _singleton = null;
 
@@ -91,28 +83,24 @@ public final class AttachmentCacheMonitor {
                         + " will be used instead.");
             }
         }
-        refreshSeconds = attachmentTimeoutSeconds / 2;
 
         if (log.isDebugEnabled()) {
             log.debug("Custom Property Key =  " + ATTACHMENT_TIMEOUT_PROPERTY);
             log.debug("              Value = " + attachmentTimeoutSeconds);
         }
-
-        if (refreshSeconds > 0) {
-            timer = new Timer(true);
-            timer.schedule(new CleanupFilesTask(), refreshSeconds * 1000, refreshSeconds * 1000);
-        }
     }
 
     /**
      * @return timeout value in seconds
      */
-    public synchronized int getTimeout() {
+    public int getTimeout() {
         return attachmentTimeoutSeconds;
     }
 
     /**
-     * This method should Set a new timeout value
+     * This method should Set a new timeout value. The new value applies to files registered or
+     * accessed after the call. If the timeout is set to 0, files that are currently registered will
+     * no longer be deleted.
      *
      * @param timeout new timeout value in seconds
      */
@@ -124,24 +112,12 @@ public final class AttachmentCacheMonitor {
 
         attachmentTimeoutSeconds = timeout;
 
-        // Reset the refresh
-        refreshSeconds = attachmentTimeoutSeconds / 2;
-
-        // Make sure to cancel the prior timer
-        if (timer != null) {
-            timer.cancel(); // Remove scheduled tasks from the prior timer
-            timer = null;
-        }
-
-        // Make a new timer if necessary
-        if (refreshSeconds > 0) {
-            timer = new Timer(true);
-            timer.schedule(new CleanupFilesTask(), refreshSeconds * 1000, refreshSeconds * 1000);
+        if (timeout <= 0) {
+            files.clear();
         }
 
         if (log.isDebugEnabled()) {
             log.debug("New timeout = " + attachmentTimeoutSeconds);
-            log.debug("New refresh = " + refreshSeconds);
         }
     }
 
@@ -152,9 +128,12 @@ public final class AttachmentCacheMonitor {
      * @param fileName
      */
     public void register(String fileName) {
-        if (attachmentTimeoutSeconds > 0) {
-            _register(fileName);
-            _checkForAgedFiles();
+        int timeout = attachmentTimeoutSeconds;
+        if (timeout > 0) {
+            if (log.isDebugEnabled()) {
+                log.debug("Register file " + fileName);
+            }
+            files.schedule(fileName, timeout * 1000L);
         }
     }
 
@@ -164,84 +143,53 @@ public final class AttachmentCacheMonitor {
      * @param fileName
      */
     public void access(String fileName) {
-        if (attachmentTimeoutSeconds > 0) {
-            _access(fileName);
-            _checkForAgedFiles();
+        int timeout = attachmentTimeoutSeconds;
+        if (timeout > 0) {
+            if (files.reschedule(fileName, timeout * 1000L)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Access file " + fileName);
+                }
+            } else {
+                if (log.isDebugEnabled()) {
+                    log.debug("The following file was already deleted and is no longer available: " + fileName);
+                    log.debug("The value of " + ATTACHMENT_TIMEOUT_PROPERTY + " is " + timeout);
+                }
+            }
         }
     }
 
     /** Check for aged files and remove the aged ones. */
     public void checkForAgedFiles() {
         if (attachmentTimeoutSeconds > 0) {
-            _checkForAgedFiles();
+            files.advance();
         }
     }
 
-    private synchronized void _register(String fileName) {
-        Long currentTime = getTime();
-        if (log.isDebugEnabled()) {
-            log.debug("Register file " + fileName);
-            log.debug("Time = " + currentTime);
-        }
-        files.put(fileName, currentTime);
+    /**
+     * Get the number of registered files that have not been deleted yet.
+     *
+     * @return the number of pending files
+     */
+    public int getPendingFileCount() {
+        return files.getPendingCount();
     }
 
-    private synchronized void _access(String fileName) {
-        Long currentTime = getTime();
-        Long priorTime = files.get(fileName);
-        if (priorTime != null) {
-            files.put(fileName, currentTime);
-            if (log.isDebugEnabled()) {
-                log.debug("Access file " + fileName);
-                log.debug("Old Time = " + priorTime);
-                log.debug("New Time = " + currentTime);
-            }
-        } else {
-            if (log.isDebugEnabled()) {
-                log.debug("The following file was already deleted and is no longer available: " + fileName);
-                log.debug("The value of " + ATTACHMENT_TIMEOUT_PROPERTY + " is " + attachmentTimeoutSeconds);
-            }
-        }
+    /**
+     * Get the number of files that have been deleted because they expired.
+     *
+     * @return the number of expired files
+     */
+    public long getExpiredFileCount() {
+        return files.getExpiredCount();
     }
 
-    private synchronized void _checkForAgedFiles() {
-        Long currentTime = getTime();
-        // Don't keep checking the map, only trigger
-        // the checking if it is plausible that
-        // files will need to be deleted.
-        // I chose a value of ATTACHMENTT_TIMEOUT_SECONDS/4
-        if (isExpired(priorDeleteMillis, currentTime, refreshSeconds)) {
-            Iterator<String> it = files.keySet().iterator();
-            while (it.hasNext()) {
-                String fileName = it.next();
-                Long lastAccess = files.get(fileName);
-                if (isExpired(lastAccess, currentTime, attachmentTimeoutSeconds)) {
-
-                    if (log.isDebugEnabled()) {
-                        log.debug("Expired file " + fileName);
-                        log.debug("Old Time = " + lastAccess);
-                        log.debug("New Time = " + currentTime);
-                        log.debug("Elapsed Time (ms) = " + (currentTime.longValue() - lastAccess.longValue()));
-                    }
-
-                    deleteFile(fileName);
-                    // Use the iterator to remove this
-                    // file from the map (this avoids
-                    // the dreaded ConcurrentModificationException
-                    it.remove();
-                }
-            }
-
-            // Reset the prior delete time
-            priorDeleteMillis = currentTime;
+    private void deleteFile(String fileName) {
+        if (log.isDebugEnabled()) {
+            log.debug("Expired file " + fileName);
         }
-    }
-
-    private boolean deleteFile(String fileName) {
-        boolean ret = false;
         File file = new File(fileName);
         if (file.exists()) {
-            ret = file.delete();
+            boolean ret = file.delete();
             if (log.isDebugEnabled()) {
                 log.debug("Deletion Successful ? " + ret);
             }
@@ -250,24 +198,5 @@ public final class AttachmentCacheMonitor {
                 log.debug("This file no longer exists = " + fileName);
             }
         }
-        return ret;
-    }
-
-    private Long getTime() {
-        return new Long(System.currentTimeMillis());
-    }
-
-    private boolean isExpired(Long oldTimeMillis, Long newTimeMillis, int thresholdSecs) {
-        long elapse = newTimeMillis.longValue() - oldTimeMillis.longValue();
-        return (elapse > (thresholdSecs * 1000));
-    }
-
-    private class CleanupFilesTask extends TimerTask {
-
-        /** Trigger a checkForAgedFiles event */
-        @Override
-        public void run() {
-            checkForAgedFiles();
-        }
     }
 }
@@ -32,6 +32,9 @@ public class LifecycleManagerImpl implements LifecycleManager {
 
     // Hashtable to store file accessors.
     private static Hashtable<String, FileAccessor> table = new Hashtable<>();
+    // Files scheduled for deletion by deleteOnTimeInterval
+    private static final TimingWheel<File> timedDeletions =
+            new TimingWheel<>(1000, LifecycleManagerImpl::deleteExpired);
     private VMShutdownHook hook = null;
 
     public LifecycleManagerImpl() {
@@ -86,6 +89,7 @@ public class LifecycleManagerImpl implements LifecycleManager {
 
         if (file != null && file.exists()) {
             table.remove(file.getName());
+            timedDeletions.cancel(file);
             if (log.isDebugEnabled()) {
                 log.debug("invoking file.delete()");
             }
@@ -148,14 +152,29 @@ public class LifecycleManagerImpl implements LifecycleManager {
             log.debug("Start deleteOnTimeInterval()");
         }
 
-        Thread t = new Thread(new LifecycleManagerImpl.FileDeletor(interval, file));
-        t.setDaemon(true);
-        t.start();
+        timedDeletions.schedule(file, interval * 1000L);
         if (log.isDebugEnabled()) {
             log.debug("End deleteOnTimeInterval()");
         }
     }
 
+    /**
+     * Get the number of files scheduled by {@link #deleteOnTimeInterval(int, File)} that have not
+     * been deleted yet.
+     *
+     * @return the number of pending files
+     */
+    public int getPendingTimedDeletionCount() {
+        return timedDeletions.getPendingCount();
+    }
+
+    private static void deleteExpired(File file) {
+        if (file.exists()) {
+            table.remove(file.getName());
+            file.delete();
+        }
+    }
+
     private VMShutdownHook RegisterVMShutdownHook() throws RuntimeException {
         if (log.isDebugEnabled()) {
             log.debug("Start RegisterVMShutdownHook()");
@@ -171,6 +190,11 @@ public class LifecycleManagerImpl implements LifecycleManager {
         return hook;
     }
 
+    /**
+     * @deprecated {@link #deleteOnTimeInterval(int, File)} no longer uses a dedicated thread per
+     *     file.
+     */
+    @Deprecated
     public class FileDeletor implements Runnable {
         int interval;
         File _file;
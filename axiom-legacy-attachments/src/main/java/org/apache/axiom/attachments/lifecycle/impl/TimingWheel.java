@@ -0,0 +1,338 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axiom.attachments.lifecycle.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Expires keys after a delay using a hierarchical timing wheel.
+ *
+ * <p>Scheduling, rescheduling and cancelling a key are O(1) operations that don't acquire any lock:
+ * the keys are stored in a concurrent map and new entries are handed over to the wheel through a
+ * lock-free queue. The wheel itself is only modified while it is advanced, which normally happens on
+ * a single daemon thread shared by all instances. Rescheduling a key to a later time only updates
+ * its deadline; the entry is moved to the right slot when its original slot is reached.
+ *
+ * @param <K> the key type
+ */
+public final class TimingWheel<K> {
+    private static final Log log = LogFactory.getLog(TimingWheel.class);
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 5;
+
+    private static final class Entry<K> {
+        final K key;
+        volatile long deadline;
+        volatile boolean cancelled;
+
+        // The following fields are only accessed while the wheel is locked
+        /** The level and slot of the entry, or -1 if it is not in the wheel. */
+        long position = -1;
+        Entry<K> prev;
+        Entry<K> next;
+
+        Entry(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+
+    private static ScheduledExecutorService scheduler;
+
+    private final long tickNanos;
+    private final Consumer<K> expirationHandler;
+    private final LongSupplier clock;
+    private final boolean useScheduler;
+    private final long origin;
+    private final ConcurrentMap<K, Entry<K>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<K>> newEntries = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    @SuppressWarnings("unchecked")
+    private final Entry<K>[][] wheels = new Entry[LEVELS][WHEEL_SIZE];
+
+    /** The last tick that has been processed. */
+    private long currentTick;
+
+    /**
+     * Constructor.
+     *
+     * @param tickMillis the resolution of the wheel in milliseconds; keys expire at most one tick
+     *     after their deadline
+     * @param expirationHandler the action to execute when a key expires; it is invoked on the
+     *     thread that advances the wheel
+     */
+    public TimingWheel(long tickMillis, Consumer<K> expirationHandler) {
+        this(tickMillis, expirationHandler, System::nanoTime, true);
+    }
+
+    TimingWheel(long tickMillis, Consumer<K> expirationHandler, LongSupplier clock, boolean useScheduler) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.expirationHandler = expirationHandler;
+        this.clock = clock;
+        this.useScheduler = useScheduler;
+        origin = clock.getAsLong();
+    }
+
+    private static synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "Axiom attachment expiration");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+
+    private void ensureStarted() {
+        if (useScheduler && !started.get() && started.compareAndSet(false, true)) {
+            getScheduler().scheduleWithFixedDelay(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Schedule the expiration of a key. If the key is already scheduled, its deadline is replaced.
+     *
+     * @param key the key
+     * @param delayMillis the delay in milliseconds after which the key expires
+     */
+    public void schedule(K key, long delayMillis) {
+        long deadline = clock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        Entry<K> entry = entries.get(key);
+        if (entry == null) {
+            Entry<K> newEntry = new Entry<>(key, deadline);
+            entry = entries.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                newEntries.add(newEntry);
+                ensureStarted();
+                return;
+            }
+        }
+        reschedule(entry, deadline);
+    }
+
+    /**
+     * Postpone the expiration of a key that is already scheduled.
+     *
+     * @param key the key
+     * @param delayMillis the new delay in milliseconds after which the key expires
+     * @return {@code true} if the key was scheduled, {@code false} if it is unknown or has already
+     *     expired
+     */
+    public boolean reschedule(K key, long delayMillis) {
+        Entry<K> entry = entries.get(key);
+        if (entry == null) {
+            return false;
+        }
+        reschedule(entry, clock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(delayMillis));
+        return true;
+    }
+
+    private void reschedule(Entry<K> entry, long deadline) {
+        long previousDeadline = entry.deadline;
+        entry.deadline = deadline;
+        // A later deadline is taken into account when the entry's current slot is reached. An
+        // earlier deadline requires the entry to be moved.
+        if (deadline - previousDeadline < 0) {
+            newEntries.add(entry);
+        }
+    }
+
+    /**
+     * Cancel the expiration of a key.
+     *
+     * @param key the key
+     * @return {@code true} if the key was scheduled, {@code false} if it is unknown or has already
+     *     expired
+     */
+    public boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.cancelled = true;
+        return true;
+    }
+
+    /** Cancel the expiration of all keys. */
+    public void clear() {
+        for (K key : entries.keySet()) {
+            cancel(key);
+        }
+    }
+
+    /**
+     * Get the number of keys that are scheduled and haven't expired yet.
+     *
+     * @return the number of pending keys
+     */
+    public int getPendingCount() {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of keys that have expired since this instance was created.
+     *
+     * @return the number of expired keys
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * Expire all keys whose deadline has been reached. This is normally done by the scheduler
+     * thread, but may be triggered explicitly.
+     */
+    public void advance() {
+        lock.lock();
+        try {
+            Entry<K> entry;
+            while ((entry = newEntries.poll()) != null) {
+                if (!entry.cancelled) {
+                    unlink(entry);
+                    place(entry, currentTick + 1);
+                }
+            }
+            long targetTick = toTick(clock.getAsLong(), false);
+            while (currentTick < targetTick) {
+                long tick = ++currentTick;
+                for (int level = LEVELS - 1; level > 0; level--) {
+                    if ((tick & ((1L << (level * WHEEL_BITS)) - 1)) == 0) {
+                        cascade(level, (int) (tick >>> (level * WHEEL_BITS)) & WHEEL_MASK, tick);
+                    }
+                }
+                expire((int) tick & WHEEL_MASK, tick);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long toTick(long time, boolean roundUp) {
+        long elapsed = time - origin;
+        if (elapsed <= 0) {
+            return 0;
+        }
+        return roundUp ? (elapsed + tickNanos - 1) / tickNanos : elapsed / tickNanos;
+    }
+
+    private void place(Entry<K> entry, long minTick) {
+        long tick = Math.max(toTick(entry.deadline, true), minTick);
+        // Entries beyond the range of the wheel are placed again when the end of its range is
+        // reached.
+        long distance = Math.min(tick - currentTick, (1L << (LEVELS * WHEEL_BITS)) - 1);
+        tick = currentTick + distance;
+        int level = 0;
+        while ((distance >>> ((level + 1) * WHEEL_BITS)) != 0) {
+            level++;
+        }
+        int slot = (int) (tick >>> (level * WHEEL_BITS)) & WHEEL_MASK;
+        Entry<K>[] wheel = wheels[level];
+        Entry<K> head = wheel[slot];
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        wheel[slot] = entry;
+        entry.position = ((long) level << 32) | slot;
+    }
+
+    private void unlink(Entry<K> entry) {
+        if (entry.position == -1) {
+            return;
+        }
+        int level = (int) (entry.position >>> 32);
+        int slot = (int) entry.position;
+        if (entry.prev == null) {
+            wheels[level][slot] = entry.next;
+        } else {
+            entry.prev.next = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.position = -1;
+    }
+
+    private Entry<K> detachSlot(int level, int slot) {
+        Entry<K> head = wheels[level][slot];
+        wheels[level][slot] = null;
+        return head;
+    }
+
+    private void cascade(int level, int slot, long tick) {
+        Entry<K> entry = detachSlot(level, slot);
+        while (entry != null) {
+            Entry<K> next = entry.next;
+            entry.position = -1;
+            if (!entry.cancelled) {
+                place(entry, tick);
+            }
+            entry = next;
+        }
+    }
+
+    private void expire(int slot, long tick) {
+        Entry<K> entry = detachSlot(0, slot);
+        while (entry != null) {
+            Entry<K> next = entry.next;
+            entry.position = -1;
+            entry.prev = null;
+            entry.next = null;
+            if (!entry.cancelled) {
+                if (toTick(entry.deadline, true) > tick) {
+                    place(entry, tick + 1);
+                } else if (entries.remove(entry.key, entry)) {
+                    expiredCount.incrementAndGet();
+                    try {
+                        expirationHandler.accept(entry.key);
+                    } catch (RuntimeException ex) {
+                        log.warn("Expiration handler failed for " + entry.key, ex);
+                    }
+                }
+            }
+            entry = next;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axiom.attachments.lifecycle.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class TimingWheelTest {
+    private long now;
+    private final List<String> expired = new ArrayList<>();
+    private final TimingWheel<String> wheel = new TimingWheel<>(10, expired::add, () -> now, false);
+
+    private void advanceTo(long millis) {
+        now = TimeUnit.MILLISECONDS.toNanos(millis);
+        wheel.advance();
+    }
+
+    @Test
+    public void testExpiration() {
+        wheel.schedule("a", 50);
+        wheel.schedule("b", 100);
+        assertThat(wheel.getPendingCount()).isEqualTo(2);
+        advanceTo(40);
+        assertThat(expired).isEmpty();
+        advanceTo(50);
+        assertThat(expired).containsExactly("a");
+        advanceTo(110);
+        assertThat(expired).containsExactly("a", "b");
+        assertThat(wheel.getPendingCount()).isEqualTo(0);
+        assertThat(wheel.getExpiredCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testReschedule() {
+        wheel.schedule("a", 50);
+        advanceTo(40);
+        assertThat(wheel.reschedule("a", 50)).isTrue();
+        advanceTo(80);
+        assertThat(expired).isEmpty();
+        advanceTo(90);
+        assertThat(expired).containsExactly("a");
+        assertThat(wheel.reschedule("a", 50)).isFalse();
+    }
+
+    @Test
+    public void testRescheduleToEarlierDeadline() {
+        wheel.schedule("a", 100_000);
+        advanceTo(10);
+        wheel.schedule("a", 20);
+        advanceTo(30);
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    public void testCancel() {
+        wheel.schedule("a", 50);
+        assertThat(wheel.cancel("a")).isTrue();
+        advanceTo(100);
+        assertThat(expired).isEmpty();
+        assertThat(wheel.cancel("a")).isFalse();
+    }
+
+    @Test
+    public void testLongDelays() {
+        // Delays that span several levels of the wheel
+        long[] delays = {630, 640, 41_000, 2_621_000, 167_772_000};
+        for (int i = 0; i < delays.length; i++) {
+            wheel.schedule("k" + i, delays[i]);
+        }
+        for (int i = 0; i < delays.length; i++) {
+            advanceTo(delays[i] - 10);
+            assertThat(expired).hasSize(i);
+            advanceTo(delays[i]);
+            assertThat(expired).hasSize(i + 1).endsWith("k" + i);
+        }
+    }
+}
@@ -56,6 +56,11 @@ public final class CharArrayCharacterData implements CharacterData {
         return new String(ch, start, length);
     }
 
+    @Override
+    public int length() {
+        return length;
+    }
+
     @Override
     public void writeTo(CharacterDataSink sink) throws IOException {
         sink.getWriter().write(ch, start, length);
@@ -31,6 +31,17 @@ public interface CharacterData {
     @Override
     String toString();
 
+    /**
+     * Get the length of the character data, i.e. the number of UTF-16 code units in the {@link
+     * String} returned by {@link #toString()}. Implementations should override this method if they
+     * can compute the length without converting the content to a {@link String}.
+     *
+     * @return the length of the character data
+     */
+    default int length() {
+        return toString().length();
+    }
+
     void writeTo(CharacterDataSink sink) throws IOException;
 
     void appendTo(StringBuilder buffer);
@@ -18,6 +18,7 @@
  */
 package org.apache.axiom.core.stream;
 
+import java.io.IOException;
 import java.io.Writer;
 import org.apache.axiom.util.base64.AbstractBase64EncodingOutputStream;
 
@@ -25,4 +26,21 @@ public interface CharacterDataSink {
     Writer getWriter();
 
     AbstractBase64EncodingOutputStream getBase64EncodingOutputStream();
+
+    /**
+     * Attempt to write character data provided as UTF-8 encoded bytes directly, without decoding
+     * them. The caller guarantees that the bytes are well-formed UTF-8 and that the characters they
+     * represent never need to be escaped in character content (see {@link UTF8CharacterData}).
+     *
+     * @param bytes the byte array
+     * @param off the start offset
+     * @param len the number of bytes
+     * @return {@code true} if the data has been written; {@code false} if the sink doesn't support
+     *     this operation in its current state, in which case the caller must use {@link
+     *     #getWriter()} instead
+     * @throws IOException if an I/O error occurs
+     */
+    default boolean writeUTF8(byte[] bytes, int off, int len) throws IOException {
+        return false;
+    }
 }
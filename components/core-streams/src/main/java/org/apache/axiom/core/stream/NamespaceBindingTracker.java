@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream;
+
+import javax.xml.XMLConstants;
+
+/**
+ * Tracks the namespace bindings in a stream of events and adds the namespace declarations required
+ * by elements and attributes. Shared by {@link NamespaceRepairingFilterHandler} and {@link
+ * NamespaceRepairingBatchFilter}. Namespace declarations are sent to the handler passed to the
+ * individual methods, so that the same logic can be used with handler chains and event buffers.
+ */
+final class NamespaceBindingTracker {
+    private final NamespaceContextProvider parentNamespaceContext;
+    private final boolean removeRedundantDeclarations;
+    private String[] namespaceStack = new String[32];
+    private int bindings;
+    private int[] scopeStack = new int[8];
+    private int scopes;
+
+    NamespaceBindingTracker(NamespaceContextProvider parentNamespaceContext, boolean removeRedundantDeclarations) {
+        this.parentNamespaceContext = parentNamespaceContext;
+        this.removeRedundantDeclarations = removeRedundantDeclarations;
+    }
+
+    private void setPrefix(String prefix, String namespaceURI) {
+        if (bindings * 2 == namespaceStack.length) {
+            int len = namespaceStack.length;
+            String[] newNamespaceStack = new String[len * 2];
+            System.arraycopy(namespaceStack, 0, newNamespaceStack, 0, len);
+            namespaceStack = newNamespaceStack;
+        }
+        namespaceStack[bindings * 2] = prefix;
+        namespaceStack[bindings * 2 + 1] = namespaceURI;
+        bindings++;
+    }
+
+    private void ensureNamespaceDeclared(String prefix, String namespaceURI, XmlHandler handler)
+            throws StreamException {
+        if (prefix.equals(XMLConstants.XML_NS_PREFIX) && namespaceURI.equals(XMLConstants.XML_NS_URI)) {
+            return;
+        }
+        boolean prefixFound = false;
+        for (int i = (bindings - 1) * 2; i >= 0; i -= 2) {
+            if (prefix.equals(namespaceStack[i])) {
+                if (namespaceURI.equals(namespaceStack[i + 1])) {
+                    return;
+                } else {
+                    prefixFound = true;
+                    break;
+                }
+            }
+        }
+        if (!prefixFound && parentNamespaceContext != null) {
+            if (!parentNamespaceContext.isBound(prefix, namespaceURI)) {
+                handler.processNamespaceDeclaration(prefix, namespaceURI);
+            }
+            // Always call setPrefix even if the namespace is bound, so that we cache the lookup
+            setPrefix(prefix, namespaceURI);
+        } else if (prefixFound || !prefix.isEmpty() || !namespaceURI.isEmpty()) {
+            handler.processNamespaceDeclaration(prefix, namespaceURI);
+            setPrefix(prefix, namespaceURI);
+        }
+    }
+
+    boolean isBound(String prefix, String namespaceURI) throws StreamException {
+        for (int i = (bindings - 1) * 2; i >= 0; i -= 2) {
+            if (prefix.equals(namespaceStack[i])) {
+                return namespaceURI.equals(namespaceStack[i + 1]);
+            }
+        }
+        if (parentNamespaceContext != null) {
+            return parentNamespaceContext.isBound(prefix, namespaceURI);
+        } else {
+            return prefix.isEmpty() && namespaceURI.isEmpty();
+        }
+    }
+
+    /**
+     * Check that the namespace bindings in scope match the given namespace context, as defined by
+     * {@link XmlHandler#processRawContent(byte[], int, int, String, String[])}.
+     */
+    boolean isNamespaceContextInScope(String[] namespaceContext) throws StreamException {
+        if (namespaceContext == null) {
+            return true;
+        }
+        boolean defaultNamespaceListed = false;
+        for (int i = 0; i < namespaceContext.length; i += 2) {
+            String prefix = namespaceContext[i];
+            if (!isBound(prefix, namespaceContext[i + 1])) {
+                return false;
+            }
+            if (prefix.isEmpty()) {
+                defaultNamespaceListed = true;
+            }
+        }
+        return defaultNamespaceListed || isBound("", "");
+    }
+
+    /**
+     * Open the scope of an element and add the namespace declaration for its name if necessary.
+     * Must be called after the start element event has been sent to the handler.
+     */
+    void startElement(String namespaceURI, String prefix, XmlHandler handler) throws StreamException {
+        if (scopes == scopeStack.length) {
+            int[] newScopeStack = new int[scopeStack.length * 2];
+            System.arraycopy(scopeStack, 0, newScopeStack, 0, scopeStack.length);
+            scopeStack = newScopeStack;
+        }
+        scopeStack[scopes++] = bindings;
+        ensureNamespaceDeclared(prefix, namespaceURI, handler);
+    }
+
+    void endElement() {
+        bindings = scopeStack[--scopes];
+    }
+
+    /**
+     * Add the namespace declaration for the name of an attribute if necessary. Must be called after
+     * the attribute event has been sent to the handler.
+     */
+    void attribute(String namespaceURI, String prefix, XmlHandler handler) throws StreamException {
+        if (!namespaceURI.isEmpty()) {
+            ensureNamespaceDeclared(prefix, namespaceURI, handler);
+        }
+    }
+
+    /** Process a namespace declaration, sending it to the handler unless it is redundant. */
+    void namespaceDeclaration(String prefix, String namespaceURI, XmlHandler handler) throws StreamException {
+        if (removeRedundantDeclarations) {
+            ensureNamespaceDeclared(prefix, namespaceURI, handler);
+        } else {
+            for (int i = scopeStack[scopes - 1]; i < bindings; i++) {
+                if (namespaceStack[i * 2].equals(prefix)) {
+                    if (namespaceStack[i * 2 + 1].equals(namespaceURI)) {
+                        return;
+                    } else {
+                        throw new ConflictingNamespaceDeclarationException(
+                                "The same prefix cannot be bound to two different namespaces");
+                    }
+                }
+            }
+            handler.processNamespaceDeclaration(prefix, namespaceURI);
+            setPrefix(prefix, namespaceURI);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream;
+
+import java.io.OutputStream;
+
+/**
+ * An element available in serialized form. Instances are passed to {@link
+ * XmlHandler#processRawElement(RawElement, String[])}.
+ */
+public interface RawElement {
+    /**
+     * Write the element to a byte stream. The output must consist of a single element, without XML
+     * declaration or any other content before or after the element.
+     *
+     * @param out the stream to write to
+     * @param encoding the charset encoding to use
+     * @return {@code true} if the element has been written, {@code false} if the element can't be
+     *     written in the given encoding; in the latter case nothing must have been written to the
+     *     stream
+     * @throws StreamException if an error occurs while writing the element
+     */
+    boolean writeTo(OutputStream out, String encoding) throws StreamException;
+}
@@ -16,10 +16,15 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package org.apache.axiom.util.xml;
+package org.apache.axiom.core.stream;
 
-import java.util.concurrent.atomic.AtomicReference;
-import javax.xml.namespace.QName;
+/**
+ * Signals that the input exceeds one of the limits enforced by a {@link ResourceLimitingFilter}.
+ */
+public class ResourceLimitExceededException extends StreamException {
+    private static final long serialVersionUID = 1L;
 
-@SuppressWarnings("serial")
-final class QNameCacheEntry extends AtomicReference<QName> {}
+    public ResourceLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream;
+
+/**
+ * Filter that rejects input exceeding given resource limits by throwing a {@link
+ * ResourceLimitExceededException}. The limits are checked as the events pass through the filter,
+ * i.e. before any node is created for the offending content. Each filter handler created by this
+ * filter keeps its own counters, so that the limits apply to a single document.
+ *
+ * <p>Use {@link Integer#MAX_VALUE} and {@link Long#MAX_VALUE} to disable individual limits.
+ */
+public final class ResourceLimitingFilter implements XmlFilter {
+    private final int maxDepth;
+    private final int maxAttributes;
+    private final int maxNamespaceDeclarations;
+    private final int maxTextLength;
+    private final long maxNodeCount;
+    private final long maxCharacterCount;
+
+    /**
+     * Constructor.
+     *
+     * @param maxDepth the maximum element nesting depth
+     * @param maxAttributes the maximum number of attributes per element
+     * @param maxNamespaceDeclarations the maximum number of namespace declarations per element
+     * @param maxTextLength the maximum length of a single text node, comment, processing
+     *     instruction or CDATA section, where adjacent character data events are counted as a
+     *     single text node
+     * @param maxNodeCount the maximum total number of elements, text nodes, comments, processing
+     *     instructions, CDATA sections and entity references
+     * @param maxCharacterCount the maximum total number of characters in character data and
+     *     attribute values
+     */
+    public ResourceLimitingFilter(
+            int maxDepth,
+            int maxAttributes,
+            int maxNamespaceDeclarations,
+            int maxTextLength,
+            long maxNodeCount,
+            long maxCharacterCount) {
+        this.maxDepth = maxDepth;
+        this.maxAttributes = maxAttributes;
+        this.maxNamespaceDeclarations = maxNamespaceDeclarations;
+        this.maxTextLength = maxTextLength;
+        this.maxNodeCount = maxNodeCount;
+        this.maxCharacterCount = maxCharacterCount;
+    }
+
+    @Override
+    public XmlHandler createFilterHandler(XmlHandler parent) {
+        return new ResourceLimitingFilterHandler(
+                parent,
+                maxDepth,
+                maxAttributes,
+                maxNamespaceDeclarations,
+                maxTextLength,
+                maxNodeCount,
+                maxCharacterCount);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream;
+
+import org.apache.axiom.checker.union.Union;
+
+final class ResourceLimitingFilterHandler extends XmlHandlerWrapper {
+    private final int maxDepth;
+    private final int maxAttributes;
+    private final int maxNamespaceDeclarations;
+    private final int maxTextLength;
+    private final long maxNodeCount;
+    private final long maxCharacterCount;
+
+    private int depth;
+    private int attributeCount;
+    private int namespaceDeclarationCount;
+    /**
+     * The length of the current text node (i.e. of the character data received since the last
+     * event of another type), comment, processing instruction or CDATA section.
+     */
+    private long textLength;
+    /** Indicates if character data belongs to a comment, processing instruction or CDATA section. */
+    private boolean inCharacterDataNode;
+
+    private long nodeCount;
+    private long characterCount;
+
+    ResourceLimitingFilterHandler(
+            XmlHandler parent,
+            int maxDepth,
+            int maxAttributes,
+            int maxNamespaceDeclarations,
+            int maxTextLength,
+            long maxNodeCount,
+            long maxCharacterCount) {
+        super(parent);
+        this.maxDepth = maxDepth;
+        this.maxAttributes = maxAttributes;
+        this.maxNamespaceDeclarations = maxNamespaceDeclarations;
+        this.maxTextLength = maxTextLength;
+        this.maxNodeCount = maxNodeCount;
+        this.maxCharacterCount = maxCharacterCount;
+    }
+
+    private static ResourceLimitExceededException limitExceeded(String limit, long value) {
+        return new ResourceLimitExceededException(limit + " exceeds the configured limit of " + value);
+    }
+
+    private void addNode() throws StreamException {
+        if (++nodeCount > maxNodeCount) {
+            throw limitExceeded("Number of nodes", maxNodeCount);
+        }
+        textLength = 0;
+    }
+
+    private void addCharacters(int length) throws StreamException {
+        if ((characterCount += length) > maxCharacterCount) {
+            throw limitExceeded("Number of characters", maxCharacterCount);
+        }
+    }
+
+    private void startCharacterDataNode() throws StreamException {
+        addNode();
+        inCharacterDataNode = true;
+    }
+
+    private void endCharacterDataNode() {
+        inCharacterDataNode = false;
+        textLength = 0;
+    }
+
+    @Override
+    public void startElement(String namespaceURI, String localName, String prefix) throws StreamException {
+        if (++depth > maxDepth) {
+            throw limitExceeded("Element depth", maxDepth);
+        }
+        addNode();
+        attributeCount = 0;
+        namespaceDeclarationCount = 0;
+        super.startElement(namespaceURI, localName, prefix);
+    }
+
+    @Override
+    public void endElement() throws StreamException {
+        depth--;
+        textLength = 0;
+        super.endElement();
+    }
+
+    @Override
+    public void processAttribute(
+            String namespaceURI, String localName, String prefix, String value, String type, boolean specified)
+            throws StreamException {
+        if (++attributeCount > maxAttributes) {
+            throw limitExceeded("Number of attributes", maxAttributes);
+        }
+        addCharacters(value.length());
+        super.processAttribute(namespaceURI, localName, prefix, value, type, specified);
+    }
+
+    @Override
+    public void processAttribute(String name, String value, String type, boolean specified) throws StreamException {
+        if (++attributeCount > maxAttributes) {
+            throw limitExceeded("Number of attributes", maxAttributes);
+        }
+        addCharacters(value.length());
+        super.processAttribute(name, value, type, specified);
+    }
+
+    @Override
+    public void processNamespaceDeclaration(String prefix, String namespaceURI) throws StreamException {
+        if (++namespaceDeclarationCount > maxNamespaceDeclarations) {
+            throw limitExceeded("Number of namespace declarations", maxNamespaceDeclarations);
+        }
+        super.processNamespaceDeclaration(prefix, namespaceURI);
+    }
+
+    @Override
+    public void processCharacterData(@Union(types = {String.class, CharacterData.class}) Object data, boolean ignorable)
+            throws StreamException {
+        int length = data instanceof String s ? s.length() : ((CharacterData) data).length();
+        if (textLength == 0 && length > 0 && !inCharacterDataNode) {
+            addNode();
+        }
+        if ((textLength += length) > maxTextLength) {
+            throw limitExceeded("Text length", maxTextLength);
+        }
+        addCharacters(length);
+        super.processCharacterData(data, ignorable);
+    }
+
+    @Override
+    public void startProcessingInstruction(String target) throws StreamException {
+        startCharacterDataNode();
+        super.startProcessingInstruction(target);
+    }
+
+    @Override
+    public void endProcessingInstruction() throws StreamException {
+        endCharacterDataNode();
+        super.endProcessingInstruction();
+    }
+
+    @Override
+    public void startComment() throws StreamException {
+        startCharacterDataNode();
+        super.startComment();
+    }
+
+    @Override
+    public void endComment() throws StreamException {
+        endCharacterDataNode();
+        super.endComment();
+    }
+
+    @Override
+    public void startCDATASection() throws StreamException {
+        startCharacterDataNode();
+        super.startCDATASection();
+    }
+
+    @Override
+    public void endCDATASection() throws StreamException {
+        endCharacterDataNode();
+        super.endCDATASection();
+    }
+
+    @Override
+    public void processEntityReference(String name, String replacementText) throws StreamException {
+        addNode();
+        if (replacementText != null) {
+            addCharacters(replacementText.length());
+        }
+        super.processEntityReference(name, replacementText);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream;
+
+import org.apache.axiom.core.stream.util.SymbolTable;
+
+/**
+ * Filter that canonicalizes local names, prefixes and namespace URIs using a {@link SymbolTable}.
+ * Each filter handler created by this filter gets its own symbol table, so that the table is
+ * scoped to a single builder and doesn't need to be thread safe.
+ */
+public final class SymbolInterningFilter implements XmlFilter {
+    /** Filter instance that uses {@link SymbolTable#COMMON} as the shared symbol table. */
+    public static final SymbolInterningFilter DEFAULT = new SymbolInterningFilter(SymbolTable.COMMON);
+
+    private final SymbolTable shared;
+
+    /**
+     * Constructor.
+     *
+     * @param shared the frozen symbol table shared by all filter handlers, or {@code null}
+     */
+    public SymbolInterningFilter(SymbolTable shared) {
+        this.shared = shared;
+    }
+
+    @Override
+    public XmlHandler createFilterHandler(XmlHandler parent) {
+        return new SymbolInterningFilterHandler(parent, new SymbolTable(shared));
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream;
+
+import org.apache.axiom.core.stream.util.SymbolTable;
+
+public final class SymbolInterningFilterHandler extends XmlHandlerWrapper {
+    private final SymbolTable symbolTable;
+
+    public SymbolInterningFilterHandler(XmlHandler parent, SymbolTable symbolTable) {
+        super(parent);
+        this.symbolTable = symbolTable;
+    }
+
+    @Override
+    public void startElement(String namespaceURI, String localName, String prefix) throws StreamException {
+        super.startElement(symbolTable.lookup(namespaceURI), symbolTable.lookup(localName), symbolTable.lookup(prefix));
+    }
+
+    @Override
+    public void processAttribute(
+            String namespaceURI, String localName, String prefix, String value, String type, boolean specified)
+            throws StreamException {
+        super.processAttribute(
+                symbolTable.lookup(namespaceURI),
+                symbolTable.lookup(localName),
+                symbolTable.lookup(prefix),
+                value,
+                type,
+                specified);
+    }
+
+    @Override
+    public void processAttribute(String name, String value, String type, boolean specified) throws StreamException {
+        super.processAttribute(symbolTable.lookup(name), value, type, specified);
+    }
+
+    @Override
+    public void processNamespaceDeclaration(String prefix, String namespaceURI) throws StreamException {
+        super.processNamespaceDeclaration(symbolTable.lookup(prefix), symbolTable.lookup(namespaceURI));
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.apache.axiom.checker.union.Union;
+
+/**
+ * Immutable {@link CharacterData} implementation that stores the content as UTF-8 encoded bytes.
+ * This is more compact than a {@link String} for content that is not entirely Latin-1, and the
+ * {@link String} is only constructed when the content is actually requested as characters. When
+ * written to a {@link CharacterDataSink} that supports {@link CharacterDataSink#writeUTF8(byte[],
+ * int, int)} (such as a {@link org.apache.axiom.core.stream.serializer.Serializer} producing UTF-8),
+ * the bytes are copied without decoding and re-encoding them, provided that the content doesn't
+ * contain any characters that would need to be escaped.
+ */
+public final class UTF8CharacterData implements CharacterData {
+    private final byte[] bytes;
+    private final boolean escapeFree;
+
+    private UTF8CharacterData(byte[] bytes) {
+        this.bytes = bytes;
+        escapeFree = isEscapeFree(bytes);
+    }
+
+    /**
+     * Create an instance from a slice of a byte array. The bytes are copied.
+     *
+     * @param bytes the byte array, which must contain well-formed UTF-8
+     * @param off the start offset
+     * @param len the number of bytes
+     * @return the instance
+     */
+    public static UTF8CharacterData create(byte[] bytes, int off, int len) {
+        byte[] copy = new byte[len];
+        System.arraycopy(bytes, off, copy, 0, len);
+        return new UTF8CharacterData(copy);
+    }
+
+    /**
+     * Create an instance from a slice of a character array. The characters are encoded directly
+     * into the byte array backing the instance, without creating an intermediate {@link String}.
+     * This allows to create instances from the buffer returned by {@link
+     * javax.xml.stream.XMLStreamReader#getTextCharacters()}.
+     *
+     * @param chars the character array
+     * @param off the start offset
+     * @param len the number of characters
+     * @return the instance
+     */
+    public static UTF8CharacterData create(char[] chars, int off, int len) {
+        int byteLength = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                byteLength++;
+            } else if (c < 0x800) {
+                byteLength += 2;
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < end
+                    && Character.isLowSurrogate(chars[i + 1])) {
+                byteLength += 4;
+                i++;
+            } else {
+                // Unpaired surrogates are encoded as '?', like String#getBytes does
+                byteLength += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        byte[] bytes = new byte[byteLength];
+        int pos = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                bytes[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[pos++] = (byte) (0xc0 | (c >> 6));
+                bytes[pos++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < end
+                    && Character.isLowSurrogate(chars[i + 1])) {
+                int cp = Character.toCodePoint(c, chars[++i]);
+                bytes[pos++] = (byte) (0xf0 | (cp >> 18));
+                bytes[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                bytes[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                bytes[pos++] = (byte) (0x80 | (cp & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                bytes[pos++] = '?';
+            } else {
+                bytes[pos++] = (byte) (0xe0 | (c >> 12));
+                bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                bytes[pos++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        return new UTF8CharacterData(bytes);
+    }
+
+    /**
+     * Create an instance from a string.
+     *
+     * @param s the string
+     * @return the instance
+     */
+    public static UTF8CharacterData create(String s) {
+        return new UTF8CharacterData(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Determine if the given UTF-8 sequence can be written to character content without escaping,
+     * i.e. if it doesn't contain any markup characters, carriage returns, control characters, the
+     * line separator (U+2028) or square brackets (which would require tracking of {@code ]]>}).
+     */
+    private static boolean isEscapeFree(byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xff;
+            if (b < 0x80) {
+                if ((b < 0x20 && b != '\t' && b != '\n')
+                        || b == '<'
+                        || b == '>'
+                        || b == '&'
+                        || b == ']'
+                        || b == 0x7f) {
+                    return false;
+                }
+            } else if (b == 0xc2) {
+                // U+0080 to U+009F
+                if (i + 1 < bytes.length && (bytes[i + 1] & 0xff) <= 0x9f) {
+                    return false;
+                }
+            } else if (b == 0xe2) {
+                // U+2028
+                if (i + 2 < bytes.length && (bytes[i + 1] & 0xff) == 0x80 && (bytes[i + 2] & 0xff) == 0xa8) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the length of the content in bytes.
+     *
+     * @return the number of bytes
+     */
+    public int getByteLength() {
+        return bytes.length;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int length() {
+        int length = 0;
+        for (byte b : bytes) {
+            if ((b & 0xc0) != 0x80) {
+                // Leading byte; four byte sequences encode a surrogate pair
+                length += (b & 0xf8) == 0xf0 ? 2 : 1;
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public void writeTo(CharacterDataSink sink) throws IOException {
+        if (!escapeFree || !sink.writeUTF8(bytes, 0, bytes.length)) {
+            sink.getWriter().write(toString());
+        }
+    }
+
+    @Override
+    public void appendTo(StringBuilder buffer) {
+        buffer.append(toString());
+    }
+
+    @Override
+    public @Union(types = {String.class, CharacterData.class}) Object retain() {
+        return this;
+    }
+}
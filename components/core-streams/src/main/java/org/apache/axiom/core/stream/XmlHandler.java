@@ -171,6 +171,62 @@ public interface XmlHandler {
 
     void processEntityReference(String name, String replacementText) throws StreamException;
 
+    /**
+     * Attempt to process the entire content of the current element (i.e. everything between the
+     * start tag and the end tag) in serialized form. This is used to copy unmodified content
+     * verbatim from the document the tree was built from. The method may only be called after
+     * {@link #attributesCompleted()} and before any other event for the content of the element; if
+     * it returns {@code true}, the next event is either {@link #endElement()} or another call to
+     * this method. The latter allows large content to be passed in several pieces; the additional
+     * pieces use the same encoding and namespace context, and the handler must accept them if it
+     * accepted the first one.
+     *
+     * <p>The serialized content is only valid in the namespace context it was parsed in. Handlers
+     * that track namespace bindings must check that {@code namespaceContext} matches the bindings
+     * in scope at this point of the output before accepting the content. A handler that can't do
+     * this check must not accept the content unless {@code namespaceContext} is {@code null}.
+     *
+     * @param data the array containing the serialized content
+     * @param off the start offset in {@code data}
+     * @param len the number of bytes
+     * @param encoding the charset encoding of {@code data}
+     * @param namespaceContext the namespace bindings in scope for the content, as an array of
+     *     alternating prefixes and namespace URIs; a prefix that is not listed (including the empty
+     *     prefix) is unbound; {@code null} if the caller has already checked the namespace context
+     * @return {@code true} if the content has been processed, {@code false} if the handler doesn't
+     *     support this operation (or doesn't support it for the given parameters), in which case
+     *     the caller must generate the events for the content
+     * @throws StreamException if an error occurs when processing the content
+     */
+    default boolean processRawContent(byte[] data, int off, int len, String encoding, String[] namespaceContext)
+            throws StreamException {
+        return false;
+    }
+
+    /**
+     * Attempt to process an entire element in serialized form. This is used to copy elements that
+     * are already available as bytes (e.g. the content of an {@code OMDataSource}) directly to the
+     * output. The method may be called at any location where {@link #startElement(String, String,
+     * String)} may be called; if it returns {@code true}, the element (including its end tag) has
+     * been processed.
+     *
+     * <p>The {@code namespaceContext} argument has the same meaning as in {@link
+     * #processRawContent(byte[], int, int, String, String[])}.
+     *
+     * @param element the serialized element
+     * @param namespaceContext the namespace bindings the serialized element relies on, as an array
+     *     of alternating prefixes and namespace URIs; a prefix that is not listed (including the
+     *     empty prefix) must be unbound; {@code null} if the caller has already checked the
+     *     namespace context
+     * @return {@code true} if the element has been processed, {@code false} if the handler doesn't
+     *     support this operation (or doesn't support it for the given element), in which case the
+     *     caller must generate the events for the element
+     * @throws StreamException if an error occurs when processing the element
+     */
+    default boolean processRawElement(RawElement element, String[] namespaceContext) throws StreamException {
+        return false;
+    }
+
     /**
      * Notify the handler that the document or fragment is complete.
      *
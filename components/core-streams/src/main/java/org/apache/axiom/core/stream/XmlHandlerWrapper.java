@@ -121,6 +121,17 @@ public class XmlHandlerWrapper implements XmlHandler {
         parent.processEntityReference(name, replacementText);
     }
 
+    @Override
+    public boolean processRawContent(byte[] data, int off, int len, String encoding, String[] namespaceContext)
+            throws StreamException {
+        return parent.processRawContent(data, off, len, encoding, namespaceContext);
+    }
+
+    @Override
+    public boolean processRawElement(RawElement element, String[] namespaceContext) throws StreamException {
+        return parent.processRawElement(element, namespaceContext);
+    }
+
     @Override
     public void completed() throws StreamException {
         parent.completed();
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.batch;
+
+import org.apache.axiom.checker.union.Union;
+import org.apache.axiom.core.stream.CharacterData;
+import org.apache.axiom.core.stream.RawElement;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.XmlHandlerWrapper;
+
+/**
+ * {@link XmlHandler} that accumulates events into an {@link XmlEventBuffer} and passes them
+ * through a sequence of {@link XmlEventBatchFilter}s block-wise before replaying them to the
+ * parent handler. Compared to a chain of {@link XmlHandlerWrapper} instances, this replaces one
+ * virtual call per event and filter by a loop over the opcodes, and filters are only invoked for
+ * the event types they have declared.
+ *
+ * <p>If the parent handler implements {@link XmlEventBatchHandler}, the filtered events are passed
+ * to it block-wise as well. Otherwise they are replayed to it one by one.
+ *
+ * <p>The buffer is flushed when it is full, when the document is completed and when the pipeline
+ * is drained. Raw content and raw elements are passed directly to the parent handler after
+ * flushing the buffer. The filters only get to check their namespace context (see {@link
+ * XmlEventBatchFilter#checkNamespaceContext(String[])}); as with {@link XmlHandlerWrapper} based
+ * filters, they don't see the content itself.
+ */
+public final class BatchingXmlHandler extends XmlHandlerWrapper {
+    private final XmlEventBatchFilter[] filters;
+    private final int batchSize;
+    private XmlEventBuffer buffer;
+    private XmlEventBuffer spare;
+
+    /**
+     * Constructor.
+     *
+     * @param parent the handler to replay the filtered events to
+     * @param batchSize the number of events to accumulate before processing them
+     * @param filters the filters, in the order in which they are applied
+     */
+    public BatchingXmlHandler(XmlHandler parent, int batchSize, XmlEventBatchFilter... filters) {
+        super(parent);
+        this.filters = filters.clone();
+        this.batchSize = batchSize;
+        buffer = new XmlEventBuffer(batchSize + 16);
+        spare = new XmlEventBuffer(batchSize + 16);
+    }
+
+    /**
+     * Process the events accumulated so far and send them to the parent handler.
+     *
+     * @throws StreamException if an error occurs when processing the events
+     */
+    public void flush() throws StreamException {
+        XmlEventBuffer in = buffer;
+        for (XmlEventBatchFilter filter : filters) {
+            int mask = filter.getEventMask();
+            XmlEventBuffer out = null;
+            int runStart = 0;
+            for (int i = 0, size = in.size(); i < size; i++) {
+                if ((mask & XmlEventBuffer.mask(in.getOpcode(i))) != 0) {
+                    if (out == null) {
+                        out = spare;
+                    }
+                    out.append(in, runStart, i);
+                    filter.processEvent(in, i, out);
+                    runStart = i + 1;
+                }
+            }
+            if (out != null) {
+                out.append(in, runStart, in.size());
+                in.clear();
+                spare = in;
+                in = out;
+            }
+        }
+        buffer = in;
+        try {
+            if (getParent() instanceof XmlEventBatchHandler batchHandler) {
+                batchHandler.processEvents(in);
+            } else {
+                in.replay(getParent());
+            }
+        } finally {
+            in.clear();
+        }
+    }
+
+    private String[] checkNamespaceContext(String[] namespaceContext) throws StreamException {
+        for (XmlEventBatchFilter filter : filters) {
+            if (namespaceContext == null) {
+                break;
+            }
+            namespaceContext = filter.checkNamespaceContext(namespaceContext);
+        }
+        return namespaceContext;
+    }
+
+    private void eventAdded() throws StreamException {
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void startDocument(String inputEncoding, String xmlVersion, String xmlEncoding, Boolean standalone)
+            throws StreamException {
+        buffer.startDocument(inputEncoding, xmlVersion, xmlEncoding, standalone);
+        eventAdded();
+    }
+
+    @Override
+    public void startFragment() throws StreamException {
+        buffer.startFragment();
+        eventAdded();
+    }
+
+    @Override
+    public void processDocumentTypeDeclaration(String rootName, String publicId, String systemId, String internalSubset)
+            throws StreamException {
+        buffer.processDocumentTypeDeclaration(rootName, publicId, systemId, internalSubset);
+        eventAdded();
+    }
+
+    @Override
+    public void startElement(String namespaceURI, String localName, String prefix) throws StreamException {
+        buffer.startElement(namespaceURI, localName, prefix);
+        eventAdded();
+    }
+
+    @Override
+    public void endElement() throws StreamException {
+        buffer.endElement();
+        eventAdded();
+    }
+
+    @Override
+    public void processAttribute(
+            String namespaceURI, String localName, String prefix, String value, String type, boolean specified)
+            throws StreamException {
+        buffer.processAttribute(namespaceURI, localName, prefix, value, type, specified);
+        eventAdded();
+    }
+
+    @Override
+    public void processAttribute(String name, String value, String type, boolean specified) throws StreamException {
+        buffer.processAttribute(name, value, type, specified);
+        eventAdded();
+    }
+
+    @Override
+    public void processNamespaceDeclaration(String prefix, String namespaceURI) throws StreamException {
+        buffer.processNamespaceDeclaration(prefix, namespaceURI);
+        eventAdded();
+    }
+
+    @Override
+    public void attributesCompleted() throws StreamException {
+        buffer.attributesCompleted();
+        eventAdded();
+    }
+
+    @Override
+    public void processCharacterData(@Union(types = {String.class, CharacterData.class}) Object data, boolean ignorable)
+            throws StreamException {
+        buffer.processCharacterData(data, ignorable);
+        eventAdded();
+    }
+
+    @Override
+    public void startProcessingInstruction(String target) throws StreamException {
+        buffer.startProcessingInstruction(target);
+        eventAdded();
+    }
+
+    @Override
+    public void endProcessingInstruction() throws StreamException {
+        buffer.endProcessingInstruction();
+        eventAdded();
+    }
+
+    @Override
+    public void startComment() throws StreamException {
+        buffer.startComment();
+        eventAdded();
+    }
+
+    @Override
+    public void endComment() throws StreamException {
+        buffer.endComment();
+        eventAdded();
+    }
+
+    @Override
+    public void startCDATASection() throws StreamException {
+        buffer.startCDATASection();
+        eventAdded();
+    }
+
+    @Override
+    public void endCDATASection() throws StreamException {
+        buffer.endCDATASection();
+        eventAdded();
+    }
+
+    @Override
+    public void processEntityReference(String name, String replacementText) throws StreamException {
+        buffer.processEntityReference(name, replacementText);
+        eventAdded();
+    }
+
+    @Override
+    public boolean processRawContent(byte[] data, int off, int len, String encoding, String[] namespaceContext)
+            throws StreamException {
+        flush();
+        return super.processRawContent(data, off, len, encoding, checkNamespaceContext(namespaceContext));
+    }
+
+    @Override
+    public boolean processRawElement(RawElement element, String[] namespaceContext) throws StreamException {
+        flush();
+        return super.processRawElement(element, checkNamespaceContext(namespaceContext));
+    }
+
+    @Override
+    public void completed() throws StreamException {
+        buffer.completed();
+        flush();
+    }
+
+    @Override
+    public boolean drain() throws StreamException {
+        if (buffer.size() != 0) {
+            flush();
+            return false;
+        }
+        return super.drain();
+    }
+}
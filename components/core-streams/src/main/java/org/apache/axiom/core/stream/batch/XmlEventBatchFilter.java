@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.batch;
+
+import org.apache.axiom.core.stream.StreamException;
+
+/**
+ * Filter that processes events block-wise, as part of a {@link BatchingXmlHandler}. The filter
+ * declares the event types it needs to see; all other events are copied in bulk to the next stage
+ * without invoking the filter.
+ */
+public interface XmlEventBatchFilter {
+    /**
+     * Get the event types this filter needs to process.
+     *
+     * @return a combination of masks returned by {@link XmlEventBuffer#mask(int)}
+     */
+    int getEventMask();
+
+    /**
+     * Process an event. The filter is responsible for appending the event (possibly modified) and
+     * any additional events to the output buffer. Events are always passed to the filter in
+     * document order.
+     *
+     * @param in the buffer containing the event
+     * @param index the index of the event in {@code in}
+     * @param out the buffer to write the resulting events to
+     * @throws StreamException if an error occurs when processing the event
+     */
+    void processEvent(XmlEventBuffer in, int index, XmlEventBuffer out) throws StreamException;
+
+    /**
+     * Check the namespace context of raw content or a raw element before it is passed to the next
+     * stage. This is called after all preceding events have been processed by the filter.
+     *
+     * @param namespaceContext the namespace context of the raw content, as defined by {@link
+     *     org.apache.axiom.core.stream.XmlHandler#processRawContent(byte[], int, int, String,
+     *     String[])}
+     * @return the namespace context the next stage needs to check; {@code null} if the filter has
+     *     verified that the bindings in the namespace context are in scope
+     * @throws StreamException if an error occurs
+     */
+    default String[] checkNamespaceContext(String[] namespaceContext) throws StreamException {
+        return namespaceContext;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.batch;
+
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+
+/**
+ * {@link XmlHandler} that can consume the content of an {@link XmlEventBuffer} in a single call.
+ * {@link BatchingXmlHandler} uses this instead of {@link XmlEventBuffer#replay(XmlHandler)} when
+ * its parent implements this interface, so that the events are dispatched by the handler itself
+ * instead of through an interface call per event.
+ */
+public interface XmlEventBatchHandler extends XmlHandler {
+    /**
+     * Process all events in a buffer. The buffer must not be modified and is cleared by the caller
+     * after this method returns.
+     *
+     * @param events the buffer containing the events
+     * @throws StreamException if an error occurs when processing the events
+     */
+    void processEvents(XmlEventBuffer events) throws StreamException;
+}
@@ -0,0 +1,418 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.batch;
+
+import java.util.Arrays;
+import org.apache.axiom.checker.union.Union;
+import org.apache.axiom.core.stream.CharacterData;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+
+/**
+ * Reusable buffer storing a sequence of {@link XmlHandler} events. Each event is encoded as an
+ * opcode (one of the constants defined by this class) and a fixed number of arguments (depending
+ * on the opcode) stored in a shared object table. Boolean arguments are stored as {@link Boolean}
+ * constants, so that recording an event doesn't allocate any objects once the buffer has reached
+ * its working size.
+ *
+ * <p>The buffer is itself an {@link XmlHandler} that records the events it receives, so that any
+ * {@link org.apache.axiom.core.stream.XmlReader} can fill it. {@link CharacterData} instances are
+ * retained when they are recorded. {@link #processRawContent(byte[], int, int, String, String[])}
+ * and {@link #processRawElement(org.apache.axiom.core.stream.RawElement, String[])} are not
+ * supported and always return {@code false}.
+ */
+public final class XmlEventBuffer implements XmlHandler {
+    /** Opcode for {@link XmlHandler#startDocument(String, String, String, Boolean)}. */
+    public static final int START_DOCUMENT = 0;
+
+    /** Opcode for {@link XmlHandler#startFragment()}. */
+    public static final int START_FRAGMENT = 1;
+
+    /**
+     * Opcode for {@link XmlHandler#processDocumentTypeDeclaration(String, String, String,
+     * String)}.
+     */
+    public static final int DOCUMENT_TYPE_DECLARATION = 2;
+
+    /** Opcode for {@link XmlHandler#startElement(String, String, String)}. */
+    public static final int START_ELEMENT = 3;
+
+    /** Opcode for {@link XmlHandler#endElement()}. */
+    public static final int END_ELEMENT = 4;
+
+    /**
+     * Opcode for {@link XmlHandler#processAttribute(String, String, String, String, String,
+     * boolean)}.
+     */
+    public static final int NS_AWARE_ATTRIBUTE = 5;
+
+    /** Opcode for {@link XmlHandler#processAttribute(String, String, String, boolean)}. */
+    public static final int NS_UNAWARE_ATTRIBUTE = 6;
+
+    /** Opcode for {@link XmlHandler#processNamespaceDeclaration(String, String)}. */
+    public static final int NAMESPACE_DECLARATION = 7;
+
+    /** Opcode for {@link XmlHandler#attributesCompleted()}. */
+    public static final int ATTRIBUTES_COMPLETED = 8;
+
+    /** Opcode for {@link XmlHandler#processCharacterData(Object, boolean)}. */
+    public static final int CHARACTER_DATA = 9;
+
+    /** Opcode for {@link XmlHandler#startProcessingInstruction(String)}. */
+    public static final int START_PROCESSING_INSTRUCTION = 10;
+
+    /** Opcode for {@link XmlHandler#endProcessingInstruction()}. */
+    public static final int END_PROCESSING_INSTRUCTION = 11;
+
+    /** Opcode for {@link XmlHandler#startComment()}. */
+    public static final int START_COMMENT = 12;
+
+    /** Opcode for {@link XmlHandler#endComment()}. */
+    public static final int END_COMMENT = 13;
+
+    /** Opcode for {@link XmlHandler#startCDATASection()}. */
+    public static final int START_CDATA_SECTION = 14;
+
+    /** Opcode for {@link XmlHandler#endCDATASection()}. */
+    public static final int END_CDATA_SECTION = 15;
+
+    /** Opcode for {@link XmlHandler#processEntityReference(String, String)}. */
+    public static final int ENTITY_REFERENCE = 16;
+
+    /** Opcode for {@link XmlHandler#completed()}. */
+    public static final int COMPLETED = 17;
+
+    private byte[] opcodes;
+    private int[] argumentOffsets;
+    private Object[] arguments;
+    private int size;
+    private int argumentCount;
+
+    /**
+     * Constructor.
+     *
+     * @param initialCapacity the initial number of events the buffer can store without growing
+     */
+    public XmlEventBuffer(int initialCapacity) {
+        opcodes = new byte[initialCapacity];
+        argumentOffsets = new int[initialCapacity];
+        arguments = new Object[initialCapacity * 2];
+    }
+
+    /**
+     * Get the bit mask for a given opcode. Masks for different opcodes can be combined using the
+     * {@code |} operator.
+     *
+     * @param opcode the opcode
+     * @return the mask
+     */
+    public static int mask(int opcode) {
+        return 1 << opcode;
+    }
+
+    /**
+     * Get the number of events in this buffer.
+     *
+     * @return the number of events
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the opcode of an event.
+     *
+     * @param index the index of the event
+     * @return the opcode
+     */
+    public int getOpcode(int index) {
+        return opcodes[index];
+    }
+
+    /**
+     * Get an argument of an event. The arguments are numbered in the order of the parameters of
+     * the corresponding {@link XmlHandler} method.
+     *
+     * @param index the index of the event
+     * @param argument the index of the argument
+     * @return the value of the argument
+     */
+    public Object getArgument(int index, int argument) {
+        return arguments[argumentOffsets[index] + argument];
+    }
+
+    /**
+     * Get a {@link String} argument of an event.
+     *
+     * @param index the index of the event
+     * @param argument the index of the argument
+     * @return the value of the argument
+     */
+    public String getStringArgument(int index, int argument) {
+        return (String) arguments[argumentOffsets[index] + argument];
+    }
+
+    /** Remove all events from this buffer. */
+    public void clear() {
+        // Release the references so that the buffer can be reused without leaking memory
+        Arrays.fill(arguments, 0, argumentCount, null);
+        size = 0;
+        argumentCount = 0;
+    }
+
+    private void ensureCapacity(int events, int args) {
+        if (size + events > opcodes.length) {
+            int newLength = Math.max(opcodes.length * 2, size + events);
+            opcodes = Arrays.copyOf(opcodes, newLength);
+            argumentOffsets = Arrays.copyOf(argumentOffsets, newLength);
+        }
+        if (argumentCount + args > arguments.length) {
+            arguments = Arrays.copyOf(arguments, Math.max(arguments.length * 2, argumentCount + args));
+        }
+    }
+
+    private int add(int opcode, int args) {
+        ensureCapacity(1, args);
+        opcodes[size] = (byte) opcode;
+        argumentOffsets[size++] = argumentCount;
+        int offset = argumentCount;
+        argumentCount += args;
+        return offset;
+    }
+
+    private void add(int opcode) {
+        add(opcode, 0);
+    }
+
+    private void add(int opcode, Object arg0) {
+        arguments[add(opcode, 1)] = arg0;
+    }
+
+    private void add(int opcode, Object arg0, Object arg1) {
+        int offset = add(opcode, 2);
+        arguments[offset] = arg0;
+        arguments[offset + 1] = arg1;
+    }
+
+    private void add(int opcode, Object arg0, Object arg1, Object arg2) {
+        int offset = add(opcode, 3);
+        arguments[offset] = arg0;
+        arguments[offset + 1] = arg1;
+        arguments[offset + 2] = arg2;
+    }
+
+    private void add(int opcode, Object arg0, Object arg1, Object arg2, Object arg3) {
+        int offset = add(opcode, 4);
+        arguments[offset] = arg0;
+        arguments[offset + 1] = arg1;
+        arguments[offset + 2] = arg2;
+        arguments[offset + 3] = arg3;
+    }
+
+    /**
+     * Append a range of events from another buffer. This copies the encoded events in bulk,
+     * without decoding them.
+     *
+     * @param source the buffer to copy the events from
+     * @param from the index of the first event to copy (inclusive)
+     * @param to the index of the last event to copy (exclusive)
+     */
+    public void append(XmlEventBuffer source, int from, int to) {
+        int events = to - from;
+        if (events <= 0) {
+            return;
+        }
+        int argsFrom = source.argumentOffsets[from];
+        int argsTo = to == source.size ? source.argumentCount : source.argumentOffsets[to];
+        int args = argsTo - argsFrom;
+        ensureCapacity(events, args);
+        System.arraycopy(source.opcodes, from, opcodes, size, events);
+        int delta = argumentCount - argsFrom;
+        for (int i = 0; i < events; i++) {
+            argumentOffsets[size + i] = source.argumentOffsets[from + i] + delta;
+        }
+        System.arraycopy(source.arguments, argsFrom, arguments, argumentCount, args);
+        size += events;
+        argumentCount += args;
+    }
+
+    /**
+     * Send the events in this buffer to a given handler.
+     *
+     * @param handler the handler
+     * @throws StreamException if the handler throws an exception
+     */
+    public void replay(XmlHandler handler) throws StreamException {
+        Object[] arguments = this.arguments;
+        for (int i = 0; i < size; i++) {
+            int offset = argumentOffsets[i];
+            switch (opcodes[i]) {
+                case START_DOCUMENT -> handler.startDocument(
+                        (String) arguments[offset],
+                        (String) arguments[offset + 1],
+                        (String) arguments[offset + 2],
+                        (Boolean) arguments[offset + 3]);
+                case START_FRAGMENT -> handler.startFragment();
+                case DOCUMENT_TYPE_DECLARATION -> handler.processDocumentTypeDeclaration(
+                        (String) arguments[offset],
+                        (String) arguments[offset + 1],
+                        (String) arguments[offset + 2],
+                        (String) arguments[offset + 3]);
+                case START_ELEMENT -> handler.startElement(
+                        (String) arguments[offset], (String) arguments[offset + 1], (String) arguments[offset + 2]);
+                case END_ELEMENT -> handler.endElement();
+                case NS_AWARE_ATTRIBUTE -> handler.processAttribute(
+                        (String) arguments[offset],
+                        (String) arguments[offset + 1],
+                        (String) arguments[offset + 2],
+                        (String) arguments[offset + 3],
+                        (String) arguments[offset + 4],
+                        (Boolean) arguments[offset + 5]);
+                case NS_UNAWARE_ATTRIBUTE -> handler.processAttribute(
+                        (String) arguments[offset],
+                        (String) arguments[offset + 1],
+                        (String) arguments[offset + 2],
+                        (Boolean) arguments[offset + 3]);
+                case NAMESPACE_DECLARATION -> handler.processNamespaceDeclaration(
+                        (String) arguments[offset], (String) arguments[offset + 1]);
+                case ATTRIBUTES_COMPLETED -> handler.attributesCompleted();
+                case CHARACTER_DATA -> handler.processCharacterData(
+                        (@Union(types = {String.class, CharacterData.class}) Object) arguments[offset],
+                        (Boolean) arguments[offset + 1]);
+                case START_PROCESSING_INSTRUCTION -> handler.startProcessingInstruction((String) arguments[offset]);
+                case END_PROCESSING_INSTRUCTION -> handler.endProcessingInstruction();
+                case START_COMMENT -> handler.startComment();
+                case END_COMMENT -> handler.endComment();
+                case START_CDATA_SECTION -> handler.startCDATASection();
+                case END_CDATA_SECTION -> handler.endCDATASection();
+                case ENTITY_REFERENCE -> handler.processEntityReference(
+                        (String) arguments[offset], (String) arguments[offset + 1]);
+                case COMPLETED -> handler.completed();
+                default -> throw new IllegalStateException();
+            }
+        }
+    }
+
+    @Override
+    public void startDocument(String inputEncoding, String xmlVersion, String xmlEncoding, Boolean standalone) {
+        add(START_DOCUMENT, inputEncoding, xmlVersion, xmlEncoding, standalone);
+    }
+
+    @Override
+    public void startFragment() {
+        add(START_FRAGMENT);
+    }
+
+    @Override
+    public void processDocumentTypeDeclaration(
+            String rootName, String publicId, String systemId, String internalSubset) {
+        add(DOCUMENT_TYPE_DECLARATION, rootName, publicId, systemId, internalSubset);
+    }
+
+    @Override
+    public void startElement(String namespaceURI, String localName, String prefix) {
+        add(START_ELEMENT, namespaceURI, localName, prefix);
+    }
+
+    @Override
+    public void endElement() {
+        add(END_ELEMENT);
+    }
+
+    @Override
+    public void processAttribute(
+            String namespaceURI, String localName, String prefix, String value, String type, boolean specified) {
+        int offset = add(NS_AWARE_ATTRIBUTE, 6);
+        arguments[offset] = namespaceURI;
+        arguments[offset + 1] = localName;
+        arguments[offset + 2] = prefix;
+        arguments[offset + 3] = value;
+        arguments[offset + 4] = type;
+        arguments[offset + 5] = Boolean.valueOf(specified);
+    }
+
+    @Override
+    public void processAttribute(String name, String value, String type, boolean specified) {
+        add(NS_UNAWARE_ATTRIBUTE, name, value, type, Boolean.valueOf(specified));
+    }
+
+    @Override
+    public void processNamespaceDeclaration(String prefix, String namespaceURI) {
+        add(NAMESPACE_DECLARATION, prefix, namespaceURI);
+    }
+
+    @Override
+    public void attributesCompleted() {
+        add(ATTRIBUTES_COMPLETED);
+    }
+
+    @Override
+    public void processCharacterData(
+            @Union(types = {String.class, CharacterData.class}) Object data, boolean ignorable) {
+        add(
+                CHARACTER_DATA,
+                data instanceof CharacterData characterData ? characterData.retain() : data,
+                Boolean.valueOf(ignorable));
+    }
+
+    @Override
+    public void startProcessingInstruction(String target) {
+        add(START_PROCESSING_INSTRUCTION, target);
+    }
+
+    @Override
+    public void endProcessingInstruction() {
+        add(END_PROCESSING_INSTRUCTION);
+    }
+
+    @Override
+    public void startComment() {
+        add(START_COMMENT);
+    }
+
+    @Override
+    public void endComment() {
+        add(END_COMMENT);
+    }
+
+    @Override
+    public void startCDATASection() {
+        add(START_CDATA_SECTION);
+    }
+
+    @Override
+    public void endCDATASection() {
+        add(END_CDATA_SECTION);
+    }
+
+    @Override
+    public void processEntityReference(String name, String replacementText) {
+        add(ENTITY_REFERENCE, name, replacementText);
+    }
+
+    @Override
+    public void completed() {
+        add(COMPLETED);
+    }
+
+    @Override
+    public boolean drain() {
+        return true;
+    }
+}
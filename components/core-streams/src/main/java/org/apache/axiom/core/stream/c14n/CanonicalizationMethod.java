@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.c14n;
+
+/** The canonicalization algorithms supported by {@link CanonicalizingXmlHandler}. */
+public enum CanonicalizationMethod {
+    /** Exclusive XML Canonicalization 1.0, omitting comments. */
+    EXCLUSIVE("http://www.w3.org/2001/10/xml-exc-c14n#", true, false),
+
+    /** Exclusive XML Canonicalization 1.0, including comments. */
+    EXCLUSIVE_WITH_COMMENTS("http://www.w3.org/2001/10/xml-exc-c14n#WithComments", true, true),
+
+    /** Canonical XML 1.1, omitting comments. */
+    C14N_11("http://www.w3.org/2006/12/xml-c14n11", false, false),
+
+    /** Canonical XML 1.1, including comments. */
+    C14N_11_WITH_COMMENTS("http://www.w3.org/2006/12/xml-c14n11#WithComments", false, true);
+
+    private final String uri;
+    private final boolean exclusive;
+    private final boolean withComments;
+
+    private CanonicalizationMethod(String uri, boolean exclusive, boolean withComments) {
+        this.uri = uri;
+        this.exclusive = exclusive;
+        this.withComments = withComments;
+    }
+
+    /**
+     * Get the algorithm URI identifying this canonicalization method.
+     *
+     * @return the algorithm URI
+     */
+    public String getURI() {
+        return uri;
+    }
+
+    /**
+     * Determine whether this is an exclusive canonicalization method, i.e. whether only visibly
+     * utilized namespace declarations are rendered.
+     *
+     * @return {@code true} for exclusive canonicalization, {@code false} for inclusive
+     *     canonicalization
+     */
+    public boolean isExclusive() {
+        return exclusive;
+    }
+
+    /**
+     * Determine whether comments are included in the canonical form.
+     *
+     * @return {@code true} if comments are included, {@code false} otherwise
+     */
+    public boolean isWithComments() {
+        return withComments;
+    }
+
+    /**
+     * Get the canonicalization method identified by a given algorithm URI.
+     *
+     * @param uri the algorithm URI
+     * @return the canonicalization method, or {@code null} if the URI doesn't identify a
+     *     supported method
+     */
+    public static CanonicalizationMethod fromURI(String uri) {
+        for (CanonicalizationMethod method : values()) {
+            if (method.uri.equals(uri)) {
+                return method;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,517 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.c14n;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.axiom.checker.union.Union;
+import org.apache.axiom.core.stream.CharacterData;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.serializer.writer.XmlWriter;
+
+/**
+ * {@link XmlHandler} implementation that writes the canonical form of the events it receives, as
+ * defined by <a href="https://www.w3.org/TR/xml-exc-c14n/">Exclusive XML Canonicalization 1.0</a>
+ * or <a href="https://www.w3.org/TR/xml-c14n11/">Canonical XML 1.1</a>, to an output stream or
+ * directly to a {@link MessageDigest}.
+ *
+ * <p>The canonical form is produced in a single pass: namespace declarations are tracked on the
+ * fly and only the attributes of the current element are buffered. This makes it possible to
+ * compute the digest of content that is not built in memory.
+ *
+ * <p>The handler doesn't need to be preceded by a namespace repairing filter: the namespace
+ * bindings implied by element and attribute names are taken into account even if there is no
+ * matching namespace declaration event. On the other hand, it expects entity references to be
+ * expanded, i.e. to have a replacement text. If the events represent a subtree, the namespace
+ * declarations in scope on the parent of the subtree must be added to its root element (e.g. by
+ * a filter upstream) if they are relevant for the canonical form. For Canonical XML 1.1, such a
+ * subtree is a document subset: the {@code xml:lang} and {@code xml:space} attributes inherited
+ * from the ancestors must be added to its root element upstream as well, and this handler doesn't
+ * perform the xml:base fixup defined by the specification.
+ */
+public final class CanonicalizingXmlHandler implements XmlHandler {
+    private static final String XML_PREFIX = "xml";
+
+    private final XmlWriter writer;
+    private final boolean exclusive;
+    private final boolean withComments;
+    private final String[] inclusivePrefixes;
+
+    private int depth;
+    private boolean afterDocumentElement;
+
+    /** The qualified names of the open elements. */
+    private String[] elementNames = new String[16];
+
+    /**
+     * The namespace bindings declared in the input (as prefix/namespace URI pairs), including the
+     * ones implied by element and attribute names.
+     */
+    private String[] bindings = new String[32];
+
+    private int bindingCount;
+
+    /** The value of {@link #bindingCount} at the start of each open element. */
+    private int[] bindingScopes = new int[16];
+
+    /** The namespace bindings that have been rendered in the output. */
+    private String[] renderedBindings = new String[32];
+
+    private int renderedBindingCount;
+
+    /** The value of {@link #renderedBindingCount} at the start of each open element. */
+    private int[] renderedBindingScopes = new int[16];
+
+    private String elementPrefix;
+    private String elementNamespaceURI;
+    private String elementLocalName;
+
+    /** The attributes of the current element, as namespace URI/local name/prefix/value tuples. */
+    private String[] attributes = new String[32];
+
+    private int attributeCount;
+
+    private String[] candidatePrefixes = new String[16];
+
+    private boolean inComment;
+    private String processingInstructionTarget;
+    private final StringBuilder processingInstructionData = new StringBuilder();
+
+    /**
+     * Constructor.
+     *
+     * @param out the output stream to write the canonical form (encoded as UTF-8) to
+     * @param method the canonicalization method
+     * @param inclusivePrefixes the InclusiveNamespaces prefix list, with the empty string
+     *     representing the default namespace ({@code #default}); only used for exclusive
+     *     canonicalization and may be {@code null}
+     */
+    public CanonicalizingXmlHandler(OutputStream out, CanonicalizationMethod method, Set<String> inclusivePrefixes) {
+        writer = XmlWriter.create(out, "UTF-8");
+        exclusive = method.isExclusive();
+        withComments = method.isWithComments();
+        this.inclusivePrefixes = exclusive && inclusivePrefixes != null
+                ? inclusivePrefixes.toArray(new String[inclusivePrefixes.size()])
+                : new String[0];
+    }
+
+    /**
+     * Constructor that feeds the canonical form to a message digest. The digest is complete when
+     * {@link #completed()} returns.
+     *
+     * @param digest the message digest to update
+     * @param method the canonicalization method
+     * @param inclusivePrefixes the InclusiveNamespaces prefix list; see {@link
+     *     #CanonicalizingXmlHandler(OutputStream, CanonicalizationMethod, Set)}
+     */
+    public CanonicalizingXmlHandler(
+            MessageDigest digest, CanonicalizationMethod method, Set<String> inclusivePrefixes) {
+        this(new DigestOutputStream(OutputStream.nullOutputStream(), digest), method, inclusivePrefixes);
+    }
+
+    /**
+     * Parse the value of the {@code PrefixList} attribute of an {@code InclusiveNamespaces}
+     * element.
+     *
+     * @param prefixList the whitespace separated list of prefixes, where {@code #default}
+     *     designates the default namespace; may be {@code null}
+     * @return the set of prefixes, with the default namespace represented by the empty string
+     */
+    public static Set<String> parseInclusivePrefixList(String prefixList) {
+        if (prefixList == null) {
+            return Collections.emptySet();
+        }
+        Set<String> prefixes = new HashSet<>();
+        for (String prefix : prefixList.trim().split("\\s+")) {
+            if (prefix.equals("#default")) {
+                prefixes.add("");
+            } else if (!prefix.isEmpty()) {
+                prefixes.add(prefix);
+            }
+        }
+        return prefixes;
+    }
+
+    private static String nonNull(String s) {
+        return s == null ? "" : s;
+    }
+
+    private static String lookup(String[] bindings, int count, String prefix) {
+        for (int i = count - 2; i >= 0; i -= 2) {
+            if (bindings[i].equals(prefix)) {
+                return bindings[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private void addBinding(String prefix, String namespaceURI) {
+        if (bindingCount == bindings.length) {
+            bindings = Arrays.copyOf(bindings, bindingCount * 2);
+        }
+        bindings[bindingCount++] = prefix;
+        bindings[bindingCount++] = namespaceURI;
+    }
+
+    private void addImpliedBinding(String prefix, String namespaceURI) {
+        if (prefix.equals(XML_PREFIX)) {
+            return;
+        }
+        String boundNamespaceURI = lookup(bindings, bindingCount, prefix);
+        if (!namespaceURI.equals(boundNamespaceURI == null ? "" : boundNamespaceURI)) {
+            addBinding(prefix, namespaceURI);
+        }
+    }
+
+    private int addCandidatePrefix(int count, String prefix) {
+        if (prefix.equals(XML_PREFIX)) {
+            return count;
+        }
+        for (int i = 0; i < count; i++) {
+            if (candidatePrefixes[i].equals(prefix)) {
+                return count;
+            }
+        }
+        if (count == candidatePrefixes.length) {
+            candidatePrefixes = Arrays.copyOf(candidatePrefixes, count * 2);
+        }
+        candidatePrefixes[count] = prefix;
+        return count + 1;
+    }
+
+    private void writeText(String s) throws IOException {
+        for (int i = 0, length = s.length(); i < length; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '\r' -> writer.write("&#xD;");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    private void writeAttributeValue(String s) throws IOException {
+        for (int i = 0, length = s.length(); i < length; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '"' -> writer.write("&quot;");
+                case '\t' -> writer.write("&#x9;");
+                case '\n' -> writer.write("&#xA;");
+                case '\r' -> writer.write("&#xD;");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    @Override
+    public void startDocument(String inputEncoding, String xmlVersion, String xmlEncoding, Boolean standalone) {}
+
+    @Override
+    public void startFragment() {}
+
+    @Override
+    public void processDocumentTypeDeclaration(
+            String rootName, String publicId, String systemId, String internalSubset) {
+        // The document type declaration is not part of the canonical form
+    }
+
+    @Override
+    public void startElement(String namespaceURI, String localName, String prefix) {
+        if (depth == elementNames.length) {
+            elementNames = Arrays.copyOf(elementNames, depth * 2);
+            bindingScopes = Arrays.copyOf(bindingScopes, depth * 2);
+            renderedBindingScopes = Arrays.copyOf(renderedBindingScopes, depth * 2);
+        }
+        bindingScopes[depth] = bindingCount;
+        renderedBindingScopes[depth] = renderedBindingCount;
+        depth++;
+        elementNamespaceURI = nonNull(namespaceURI);
+        elementLocalName = localName;
+        elementPrefix = nonNull(prefix);
+    }
+
+    @Override
+    public void processNamespaceDeclaration(String prefix, String namespaceURI) {
+        addBinding(nonNull(prefix), nonNull(namespaceURI));
+    }
+
+    @Override
+    public void processAttribute(
+            String namespaceURI, String localName, String prefix, String value, String type, boolean specified) {
+        if (attributeCount == attributes.length) {
+            attributes = Arrays.copyOf(attributes, attributeCount * 2);
+        }
+        attributes[attributeCount++] = nonNull(namespaceURI);
+        attributes[attributeCount++] = localName;
+        attributes[attributeCount++] = nonNull(prefix);
+        attributes[attributeCount++] = value;
+    }
+
+    @Override
+    public void processAttribute(String name, String value, String type, boolean specified) {
+        processAttribute("", name, "", value, type, specified);
+    }
+
+    private static int compareAttributes(String[] attributes, int i, int j) {
+        int result = attributes[i].compareTo(attributes[j]);
+        return result != 0 ? result : attributes[i + 1].compareTo(attributes[j + 1]);
+    }
+
+    private void sortAttributes() {
+        // Insertion sort; elements rarely have more than a handful of attributes
+        String[] attributes = this.attributes;
+        for (int i = 4; i < attributeCount; i += 4) {
+            for (int j = i; j > 0 && compareAttributes(attributes, j - 4, j) > 0; j -= 4) {
+                for (int k = 0; k < 4; k++) {
+                    String tmp = attributes[j + k];
+                    attributes[j + k] = attributes[j - 4 + k];
+                    attributes[j - 4 + k] = tmp;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void attributesCompleted() throws StreamException {
+        addImpliedBinding(elementPrefix, elementNamespaceURI);
+        for (int i = 0; i < attributeCount; i += 4) {
+            if (!attributes[i + 2].isEmpty()) {
+                addImpliedBinding(attributes[i + 2], attributes[i]);
+            }
+        }
+        // Determine the prefixes for which a namespace declaration may need to be rendered: the
+        // visibly utilized ones (and the InclusiveNamespaces prefix list) for exclusive
+        // canonicalization, all the ones in scope for inclusive canonicalization.
+        int count = 0;
+        if (exclusive) {
+            count = addCandidatePrefix(count, elementPrefix);
+            for (int i = 0; i < attributeCount; i += 4) {
+                String prefix = attributes[i + 2];
+                if (!prefix.isEmpty()) {
+                    count = addCandidatePrefix(count, prefix);
+                }
+            }
+            for (String prefix : inclusivePrefixes) {
+                count = addCandidatePrefix(count, prefix);
+            }
+        } else {
+            for (int i = 0; i < bindingCount; i += 2) {
+                count = addCandidatePrefix(count, bindings[i]);
+            }
+        }
+        Arrays.sort(candidatePrefixes, 0, count);
+        sortAttributes();
+        String name = elementPrefix.isEmpty() ? elementLocalName : elementPrefix + ":" + elementLocalName;
+        elementNames[depth - 1] = name;
+        try {
+            writer.write('<');
+            writer.write(name);
+            for (int i = 0; i < count; i++) {
+                String prefix = candidatePrefixes[i];
+                String namespaceURI = lookup(bindings, bindingCount, prefix);
+                String renderedNamespaceURI = lookup(renderedBindings, renderedBindingCount, prefix);
+                boolean render;
+                if (prefix.isEmpty()) {
+                    render = !nonNull(namespaceURI).equals(nonNull(renderedNamespaceURI));
+                } else {
+                    render = namespaceURI != null
+                            && !namespaceURI.isEmpty()
+                            && !namespaceURI.equals(renderedNamespaceURI);
+                }
+                if (render) {
+                    namespaceURI = nonNull(namespaceURI);
+                    if (renderedBindingCount == renderedBindings.length) {
+                        renderedBindings = Arrays.copyOf(renderedBindings, renderedBindingCount * 2);
+                    }
+                    renderedBindings[renderedBindingCount++] = prefix;
+                    renderedBindings[renderedBindingCount++] = namespaceURI;
+                    if (prefix.isEmpty()) {
+                        writer.write(" xmlns=\"");
+                    } else {
+                        writer.write(" xmlns:");
+                        writer.write(prefix);
+                        writer.write("=\"");
+                    }
+                    writeAttributeValue(namespaceURI);
+                    writer.write('"');
+                }
+            }
+            for (int i = 0; i < attributeCount; i += 4) {
+                writer.write(' ');
+                String prefix = attributes[i + 2];
+                if (!prefix.isEmpty()) {
+                    writer.write(prefix);
+                    writer.write(':');
+                }
+                writer.write(attributes[i + 1]);
+                writer.write("=\"");
+                writeAttributeValue(attributes[i + 3]);
+                writer.write('"');
+            }
+            writer.write('>');
+        } catch (IOException ex) {
+            throw new StreamException(ex);
+        }
+        Arrays.fill(candidatePrefixes, 0, count, null);
+        Arrays.fill(attributes, 0, attributeCount, null);
+        attributeCount = 0;
+    }
+
+    @Override
+    public void endElement() throws StreamException {
+        depth--;
+        try {
+            writer.write("</");
+            writer.write(elementNames[depth]);
+            writer.write('>');
+        } catch (IOException ex) {
+            throw new StreamException(ex);
+        }
+        elementNames[depth] = null;
+        Arrays.fill(bindings, bindingScopes[depth], bindingCount, null);
+        bindingCount = bindingScopes[depth];
+        Arrays.fill(renderedBindings, renderedBindingScopes[depth], renderedBindingCount, null);
+        renderedBindingCount = renderedBindingScopes[depth];
+        if (depth == 0) {
+            afterDocumentElement = true;
+        }
+    }
+
+    @Override
+    public void processCharacterData(@Union(types = {String.class, CharacterData.class}) Object data, boolean ignorable)
+            throws StreamException {
+        if (processingInstructionTarget != null) {
+            processingInstructionData.append(data.toString());
+        } else if (inComment) {
+            if (withComments) {
+                try {
+                    writer.write(data.toString());
+                } catch (IOException ex) {
+                    throw new StreamException(ex);
+                }
+            }
+        } else if (depth > 0) {
+            // Text outside of the document element is not part of the canonical form
+            try {
+                writeText(data.toString());
+            } catch (IOException ex) {
+                throw new StreamException(ex);
+            }
+        }
+    }
+
+    @Override
+    public void startProcessingInstruction(String target) {
+        processingInstructionTarget = target;
+    }
+
+    @Override
+    public void endProcessingInstruction() throws StreamException {
+        try {
+            if (depth == 0 && afterDocumentElement) {
+                writer.write('\n');
+            }
+            writer.write("<?");
+            writer.write(processingInstructionTarget);
+            if (processingInstructionData.length() > 0) {
+                writer.write(' ');
+                writer.write(processingInstructionData.toString());
+            }
+            writer.write("?>");
+            if (depth == 0 && !afterDocumentElement) {
+                writer.write('\n');
+            }
+        } catch (IOException ex) {
+            throw new StreamException(ex);
+        }
+        processingInstructionTarget = null;
+        processingInstructionData.setLength(0);
+    }
+
+    @Override
+    public void startComment() throws StreamException {
+        inComment = true;
+        if (withComments) {
+            try {
+                if (depth == 0 && afterDocumentElement) {
+                    writer.write('\n');
+                }
+                writer.write("<!--");
+            } catch (IOException ex) {
+                throw new StreamException(ex);
+            }
+        }
+    }
+
+    @Override
+    public void endComment() throws StreamException {
+        inComment = false;
+        if (withComments) {
+            try {
+                writer.write("-->");
+                if (depth == 0 && !afterDocumentElement) {
+                    writer.write('\n');
+                }
+            } catch (IOException ex) {
+                throw new StreamException(ex);
+            }
+        }
+    }
+
+    @Override
+    public void startCDATASection() {
+        // CDATA sections are replaced by their (escaped) content
+    }
+
+    @Override
+    public void endCDATASection() {}
+
+    @Override
+    public void processEntityReference(String name, String replacementText) throws StreamException {
+        if (replacementText == null) {
+            throw new StreamException("Unable to canonicalize unexpanded entity reference &" + name + ";");
+        }
+        processCharacterData(replacementText, false);
+    }
+
+    @Override
+    public void completed() throws StreamException {
+        try {
+            writer.flushBuffer();
+        } catch (IOException ex) {
+            throw new StreamException(ex);
+        }
+    }
+
+    @Override
+    public boolean drain() {
+        return true;
+    }
+}
@@ -59,6 +59,10 @@ public final class SAXReader implements XmlReader {
         } catch (IOException ex) {
             throw new StreamException(ex);
         } catch (SAXException ex) {
+            // Unwrap exceptions thrown by the XmlHandler so that callers can identify them
+            if (ex.getCause() instanceof StreamException streamException) {
+                throw streamException;
+            }
             throw new StreamException(ex);
         }
         return true;
@@ -27,7 +27,6 @@ import org.apache.axiom.core.stream.StreamException;
 import org.apache.axiom.core.stream.XmlHandler;
 import org.apache.axiom.core.stream.util.CharacterDataAccumulator;
 import org.apache.axiom.util.base64.AbstractBase64EncodingOutputStream;
-import org.apache.axiom.util.base64.Base64EncodingWriterOutputStream;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.ext.LexicalHandler;
@@ -55,6 +54,7 @@ public class ContentHandlerXmlHandler implements XmlHandler, CharacterDataSink {
     private CharacterDataMode characterDataMode = CharacterDataMode.PASS_THROUGH;
     private char[] buffer = new char[4096];
     private int bufferPos;
+    private Writer writer;
     private CharacterDataAccumulator accumulator;
     private String piTarget;
 
@@ -193,14 +193,135 @@ public class ContentHandlerXmlHandler implements XmlHandler, CharacterDataSink {
         bufferPos += dataLen;
     }
 
+    private void flushCharacters(boolean ignorable) throws SAXException {
+        if (bufferPos > 0) {
+            if (ignorable) {
+                contentHandler.ignorableWhitespace(buffer, 0, bufferPos);
+            } else {
+                contentHandler.characters(buffer, 0, bufferPos);
+            }
+            bufferPos = 0;
+        }
+    }
+
+    /**
+     * Send character data to the content handler, copying it through the buffer so that the
+     * handler receives chunks of bounded size.
+     */
+    private void writeCharacters(String data, int off, int len, boolean ignorable) throws SAXException {
+        while (len > 0) {
+            int chunk = Math.min(len, buffer.length - bufferPos);
+            data.getChars(off, off + chunk, buffer, bufferPos);
+            bufferPos += chunk;
+            off += chunk;
+            len -= chunk;
+            if (bufferPos == buffer.length) {
+                flushCharacters(ignorable);
+            }
+        }
+    }
+
+    /**
+     * {@link Writer} passed to {@link CharacterData#writeTo(CharacterDataSink)}. It accumulates
+     * small writes in the buffer and emits {@link ContentHandler#characters(char[], int, int)}
+     * events of bounded size.
+     */
+    private final class CharactersWriter extends Writer {
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            try {
+                if (len >= buffer.length) {
+                    // Large chunks don't need to be copied
+                    flushCharacters(false);
+                    contentHandler.characters(cbuf, off, len);
+                } else {
+                    while (len > 0) {
+                        int chunk = Math.min(len, buffer.length - bufferPos);
+                        System.arraycopy(cbuf, off, buffer, bufferPos, chunk);
+                        bufferPos += chunk;
+                        off += chunk;
+                        len -= chunk;
+                        if (bufferPos == buffer.length) {
+                            flushCharacters(false);
+                        }
+                    }
+                }
+            } catch (SAXException ex) {
+                throw new IOException(ex);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            try {
+                writeCharacters(str, off, len, false);
+            } catch (SAXException ex) {
+                throw new IOException(ex);
+            }
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            try {
+                if (bufferPos == buffer.length) {
+                    flushCharacters(false);
+                }
+                buffer[bufferPos++] = (char) c;
+            } catch (SAXException ex) {
+                throw new IOException(ex);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {}
+
+        @Override
+        public void close() throws IOException {}
+    }
+
+    /** Encodes binary data directly into the buffer. */
+    private final class Base64CharactersOutputStream extends AbstractBase64EncodingOutputStream {
+        Base64CharactersOutputStream() {
+            super(true);
+        }
+
+        @Override
+        protected void doWrite(byte[] b) throws IOException {
+            if (buffer.length - bufferPos < 4) {
+                flushBuffer();
+            }
+            for (int i = 0; i < 4; i++) {
+                buffer[bufferPos++] = (char) (b[i] & 0xFF);
+            }
+        }
+
+        @Override
+        protected void flushBuffer() throws IOException {
+            try {
+                flushCharacters(false);
+            } catch (SAXException ex) {
+                throw new IOException(ex);
+            }
+        }
+
+        @Override
+        protected void doFlush() throws IOException {}
+
+        @Override
+        protected void doClose() throws IOException {}
+    }
+
     @Override
     public Writer getWriter() {
-        return new ContentHandlerWriter(contentHandler);
+        if (writer == null) {
+            writer = new CharactersWriter();
+        }
+        return writer;
     }
 
     @Override
     public AbstractBase64EncodingOutputStream getBase64EncodingOutputStream() {
-        return new Base64EncodingWriterOutputStream(getWriter());
+        return new Base64CharactersOutputStream();
     }
 
     @Override
@@ -209,11 +330,7 @@ public class ContentHandlerXmlHandler implements XmlHandler, CharacterDataSink {
         try {
             switch (characterDataMode) {
                 case PASS_THROUGH -> {
-                    if (ignorable) {
-                        writeToBuffer(data.toString());
-                        contentHandler.ignorableWhitespace(buffer, 0, bufferPos);
-                        bufferPos = 0;
-                    } else if (data instanceof CharacterData characterData) {
+                    if (!ignorable && data instanceof CharacterData characterData) {
                         try {
                             characterData.writeTo(this);
                         } catch (IOException ex) {
@@ -227,10 +344,10 @@ public class ContentHandlerXmlHandler implements XmlHandler, CharacterDataSink {
                             throw new StreamException(saxException);
                         }
                     } else {
-                        writeToBuffer(data.toString());
-                        contentHandler.characters(buffer, 0, bufferPos);
-                        bufferPos = 0;
+                        String s = data.toString();
+                        writeCharacters(s, 0, s.length(), ignorable);
                     }
+                    flushCharacters(ignorable);
                 }
                 case BUFFER -> writeToBuffer(data.toString());
                 case ACCUMULATE -> accumulator.append(data);
@@ -23,10 +23,13 @@ package org.apache.axiom.core.stream.serializer;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.charset.Charset;
 import org.apache.axiom.core.stream.CharacterData;
 import org.apache.axiom.core.stream.CharacterDataSink;
+import org.apache.axiom.core.stream.RawElement;
 import org.apache.axiom.core.stream.StreamException;
-import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.batch.XmlEventBatchHandler;
+import org.apache.axiom.core.stream.batch.XmlEventBuffer;
 import org.apache.axiom.core.stream.serializer.writer.UnmappableCharacterHandler;
 import org.apache.axiom.core.stream.serializer.writer.WriterXmlWriter;
 import org.apache.axiom.core.stream.serializer.writer.XmlWriter;
@@ -38,7 +41,7 @@ import org.apache.axiom.util.base64.AbstractBase64EncodingOutputStream;
  *
  * @xsl.usage internal
  */
-public final class Serializer implements XmlHandler, CharacterDataSink {
+public final class Serializer implements XmlEventBatchHandler, CharacterDataSink {
     /**
      * The number of characters to process at once. Chosen small enough to leverage processor caches
      * and large enough to reduce method invocation overhead.
@@ -66,6 +69,12 @@ public final class Serializer implements XmlHandler, CharacterDataSink {
     private final XmlWriter writer;
     private final OutputStream outputStream;
 
+    /**
+     * The canonical name of the charset encoding used by {@link #outputStream}; {@code null} if
+     * this serializer is not writing to an output stream.
+     */
+    private final String encoding;
+
     /** Add space before '/>' for XHTML. */
     protected boolean spaceBeforeClose = false;
 
@@ -94,11 +103,13 @@ public final class Serializer implements XmlHandler, CharacterDataSink {
     public Serializer(Writer out) {
         writer = new WriterXmlWriter(out);
         outputStream = null;
+        encoding = null;
     }
 
     public Serializer(OutputStream out, String encoding) {
         writer = XmlWriter.create(out, encoding);
         outputStream = out;
+        this.encoding = Charset.forName(encoding).name();
     }
 
     private void switchContext(int context) throws StreamException {
@@ -478,6 +489,59 @@ public final class Serializer implements XmlHandler, CharacterDataSink {
         return writer.getBase64EncodingOutputStream();
     }
 
+    @Override
+    public boolean writeUTF8(byte[] bytes, int off, int len) throws IOException {
+        // Only character content is supported; the other contexts need to check for illegal
+        // character sequences.
+        if (context != MIXED_CONTENT || !writer.writeUTF8(bytes, off, len)) {
+            return false;
+        }
+        // The data doesn't contain square brackets
+        squareBrackets = 0;
+        return true;
+    }
+
+    @Override
+    public boolean processRawContent(byte[] data, int off, int len, String encoding, String[] namespaceContext)
+            throws StreamException {
+        // We don't track namespace bindings; this is done by NamespaceRepairingFilterHandler
+        if (namespaceContext != null || depth == 0 || !encoding.equals("UTF-8")) {
+            return false;
+        }
+        if (len == 0) {
+            return true;
+        }
+        closeStartTag();
+        try {
+            if (!writer.writeUTF8(data, off, len)) {
+                return false;
+            }
+        } catch (IOException ex) {
+            throw new StreamException(ex);
+        }
+        // The content is followed by an end tag
+        squareBrackets = 0;
+        return true;
+    }
+
+    @Override
+    public boolean processRawElement(RawElement element, String[] namespaceContext) throws StreamException {
+        // We don't track namespace bindings; this is done by NamespaceRepairingFilterHandler
+        if (namespaceContext != null || outputStream == null) {
+            return false;
+        }
+        closeStartTag();
+        if (context != MIXED_CONTENT) {
+            return false;
+        }
+        flushBuffer();
+        if (!element.writeTo(outputStream, encoding)) {
+            return false;
+        }
+        squareBrackets = 0;
+        return true;
+    }
+
     @Override
     @SuppressWarnings("instanceof.pattern.unsafe")
     public void processCharacterData(Object data, boolean ignorable) throws StreamException {
@@ -826,6 +890,58 @@ public final class Serializer implements XmlHandler, CharacterDataSink {
         flushBuffer();
     }
 
+    @Override
+    public void processEvents(XmlEventBuffer events) throws StreamException {
+        // Dispatching the events here (instead of using XmlEventBuffer#replay) means that the
+        // calls are bound statically and can be inlined.
+        for (int i = 0, size = events.size(); i < size; i++) {
+            switch (events.getOpcode(i)) {
+                case XmlEventBuffer.START_DOCUMENT -> startDocument(
+                        events.getStringArgument(i, 0),
+                        events.getStringArgument(i, 1),
+                        events.getStringArgument(i, 2),
+                        (Boolean) events.getArgument(i, 3));
+                case XmlEventBuffer.START_FRAGMENT -> startFragment();
+                case XmlEventBuffer.DOCUMENT_TYPE_DECLARATION -> processDocumentTypeDeclaration(
+                        events.getStringArgument(i, 0),
+                        events.getStringArgument(i, 1),
+                        events.getStringArgument(i, 2),
+                        events.getStringArgument(i, 3));
+                case XmlEventBuffer.START_ELEMENT -> startElement(
+                        events.getStringArgument(i, 0), events.getStringArgument(i, 1), events.getStringArgument(i, 2));
+                case XmlEventBuffer.END_ELEMENT -> endElement();
+                case XmlEventBuffer.NS_AWARE_ATTRIBUTE -> processAttribute(
+                        events.getStringArgument(i, 0),
+                        events.getStringArgument(i, 1),
+                        events.getStringArgument(i, 2),
+                        events.getStringArgument(i, 3),
+                        events.getStringArgument(i, 4),
+                        (Boolean) events.getArgument(i, 5));
+                case XmlEventBuffer.NS_UNAWARE_ATTRIBUTE -> processAttribute(
+                        events.getStringArgument(i, 0),
+                        events.getStringArgument(i, 1),
+                        events.getStringArgument(i, 2),
+                        (Boolean) events.getArgument(i, 3));
+                case XmlEventBuffer.NAMESPACE_DECLARATION -> processNamespaceDeclaration(
+                        events.getStringArgument(i, 0), events.getStringArgument(i, 1));
+                case XmlEventBuffer.ATTRIBUTES_COMPLETED -> attributesCompleted();
+                case XmlEventBuffer.CHARACTER_DATA -> processCharacterData(
+                        events.getArgument(i, 0), (Boolean) events.getArgument(i, 1));
+                case XmlEventBuffer.START_PROCESSING_INSTRUCTION -> startProcessingInstruction(
+                        events.getStringArgument(i, 0));
+                case XmlEventBuffer.END_PROCESSING_INSTRUCTION -> endProcessingInstruction();
+                case XmlEventBuffer.START_COMMENT -> startComment();
+                case XmlEventBuffer.END_COMMENT -> endComment();
+                case XmlEventBuffer.START_CDATA_SECTION -> startCDATASection();
+                case XmlEventBuffer.END_CDATA_SECTION -> endCDATASection();
+                case XmlEventBuffer.ENTITY_REFERENCE -> processEntityReference(
+                        events.getStringArgument(i, 0), events.getStringArgument(i, 1));
+                case XmlEventBuffer.COMPLETED -> completed();
+                default -> throw new IllegalStateException();
+            }
+        }
+    }
+
     @Override
     public boolean drain() throws StreamException {
         return true;
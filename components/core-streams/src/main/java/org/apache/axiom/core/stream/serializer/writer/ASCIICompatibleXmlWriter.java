@@ -41,6 +41,27 @@ abstract class ASCIICompatibleXmlWriter extends XmlWriter {
         buffer[bufferPosition++] = b;
     }
 
+    /**
+     * Write raw bytes to the output. This is only allowed if there is no pending high surrogate.
+     *
+     * @return {@code false} if there is a pending high surrogate and the bytes were not written
+     */
+    final boolean writeBytes(byte[] bytes, int off, int len) throws IOException {
+        if (highSurrogate != 0) {
+            return false;
+        }
+        if (len > buffer.length - bufferPosition) {
+            flushBuffer();
+            if (len > buffer.length) {
+                out.write(bytes, off, len);
+                return true;
+            }
+        }
+        System.arraycopy(bytes, off, buffer, bufferPosition, len);
+        bufferPosition += len;
+        return true;
+    }
+
     @Override
     public final void write(char c) throws IOException {
         if (c < 128 && highSurrogate == 0) {
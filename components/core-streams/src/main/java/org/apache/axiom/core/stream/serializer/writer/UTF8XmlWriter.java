@@ -31,6 +31,11 @@ final class UTF8XmlWriter extends ASCIICompatibleXmlWriter {
         // There are no unmappable characters in UTF-8
     }
 
+    @Override
+    public boolean writeUTF8(byte[] bytes, int off, int len) throws IOException {
+        return writeBytes(bytes, off, len);
+    }
+
     @Override
     protected void writeNonASCIICharacter(int codePoint) throws IOException {
         if (codePoint < 0x800) {
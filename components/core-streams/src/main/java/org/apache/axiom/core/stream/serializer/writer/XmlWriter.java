@@ -49,6 +49,20 @@ public abstract class XmlWriter {
 
     public abstract AbstractBase64EncodingOutputStream getBase64EncodingOutputStream();
 
+    /**
+     * Write a sequence of UTF-8 encoded bytes as is, if the writer uses UTF-8 as output encoding.
+     *
+     * @param bytes the byte array containing well-formed UTF-8
+     * @param off the start offset
+     * @param len the number of bytes
+     * @return {@code true} if the bytes have been written, {@code false} if the writer doesn't
+     *     support this operation (or doesn't support it in its current state)
+     * @throws IOException if an I/O error occurs
+     */
+    public boolean writeUTF8(byte[] bytes, int off, int len) throws IOException {
+        return false;
+    }
+
     /**
      * Write any pending data to the underlying stream, without flushing the stream itself.
      *
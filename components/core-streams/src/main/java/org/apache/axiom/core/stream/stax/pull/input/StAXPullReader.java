@@ -109,7 +109,14 @@ final class StAXPullReader implements XmlReader {
 
     private void processText(int textType) throws StreamException {
         if (textType == XMLStreamConstants.CHARACTERS) {
-            CharacterData data = helper.getCharacterData();
+            CharacterData data;
+            try {
+                data = helper.getCharacterData();
+            } catch (RuntimeException ex) {
+                // The helper may access the text of the current event; see below
+                parserException = ex;
+                throw ex;
+            }
             if (data != null) {
                 handler.processCharacterData(data, false);
                 return;
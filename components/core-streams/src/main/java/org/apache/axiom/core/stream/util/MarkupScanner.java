@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.util;
+
+/**
+ * Locates tags in an XML document encoded in UTF-8 (or any other ASCII compatible encoding without
+ * multibyte sequences that contain ASCII bytes). The scanner doesn't check well-formedness; it is
+ * meant to be used on input that is parsed (and therefore checked) by an XML parser as well.
+ */
+public final class MarkupScanner {
+    /** Returned by {@link #findTag(byte[], int, int)} if there is not enough data. */
+    public static final int NOT_FOUND = -1;
+
+    /**
+     * Returned by {@link #findTag(byte[], int, int)} if a markup declaration (e.g. a document type
+     * declaration) is encountered.
+     */
+    public static final int DECLARATION = -2;
+
+    private MarkupScanner() {}
+
+    private static int indexOf(byte[] b, int pos, int limit, byte c) {
+        for (int i = pos; i < limit; i++) {
+            if (b[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] b, int pos, int limit, String s) {
+        int len = s.length();
+        byte first = (byte) s.charAt(0);
+        outer:
+        for (int i = pos, last = limit - len; i <= last; i++) {
+            if (b[i] == first) {
+                for (int j = 1; j < len; j++) {
+                    if (b[i + j] != (byte) s.charAt(j)) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] b, int pos, int limit, String s) {
+        int len = s.length();
+        if (pos + len > limit) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (b[pos + i] != (byte) s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the next start tag or end tag, skipping character data, comments, CDATA sections and
+     * processing instructions (including the XML declaration).
+     *
+     * @param b the data
+     * @param pos the offset where the search starts; this must not be inside markup
+     * @param limit the end of the data
+     * @return the offset of the {@code <} character that starts the tag, {@link #NOT_FOUND} or
+     *     {@link #DECLARATION}
+     */
+    public static int findTag(byte[] b, int pos, int limit) {
+        while (true) {
+            pos = indexOf(b, pos, limit, (byte) '<');
+            if (pos == -1 || pos + 1 >= limit) {
+                return NOT_FOUND;
+            }
+            byte c = b[pos + 1];
+            int end;
+            if (c == '?') {
+                end = indexOf(b, pos + 2, limit, "?>");
+                if (end == -1) {
+                    return NOT_FOUND;
+                }
+                pos = end + 2;
+            } else if (c == '!') {
+                if (startsWith(b, pos, limit, "<!--")) {
+                    end = indexOf(b, pos + 4, limit, "-->");
+                    if (end == -1) {
+                        return NOT_FOUND;
+                    }
+                    pos = end + 3;
+                } else if (startsWith(b, pos, limit, "<![CDATA[")) {
+                    end = indexOf(b, pos + 9, limit, "]]>");
+                    if (end == -1) {
+                        return NOT_FOUND;
+                    }
+                    pos = end + 3;
+                } else if (pos + 9 > limit) {
+                    return NOT_FOUND;
+                } else {
+                    return DECLARATION;
+                }
+            } else {
+                return pos;
+            }
+        }
+    }
+
+    /**
+     * Find the end of a name.
+     *
+     * @param b the data
+     * @param pos the offset of the first character of the name
+     * @param limit the end of the data
+     * @return the offset of the first byte after the name, or {@link #NOT_FOUND}
+     */
+    public static int skipName(byte[] b, int pos, int limit) {
+        for (int i = pos; i < limit; i++) {
+            switch (b[i]) {
+                case ' ', '\t', '\r', '\n', '/', '>' -> {
+                    return i;
+                }
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Find the end of a start tag or end tag, taking into account quoted attribute values.
+     *
+     * @param b the data
+     * @param pos an offset inside the tag, but not inside an attribute value
+     * @param limit the end of the data
+     * @return the offset of the first byte after the {@code >} character that ends the tag, or
+     *     {@link #NOT_FOUND}
+     */
+    public static int findTagEnd(byte[] b, int pos, int limit) {
+        byte quote = 0;
+        for (int i = pos; i < limit; i++) {
+            byte c = b[i];
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i + 1;
+            }
+        }
+        return NOT_FOUND;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.util;
+
+/**
+ * Growable byte buffer containing the data read through a {@link RecordingInputStream}. Recorded
+ * bytes are never modified, so that ranges of the buffer can be referenced after the input has been
+ * consumed.
+ */
+public final class Recording {
+    private byte[] bytes = new byte[4096];
+    private int size;
+    private boolean stopped;
+
+    Recording() {}
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            byte[] newBytes = new byte[Math.max(capacity, bytes.length * 2)];
+            System.arraycopy(bytes, 0, newBytes, 0, size);
+            bytes = newBytes;
+        }
+    }
+
+    void append(int b) {
+        if (!stopped) {
+            ensureCapacity(size + 1);
+            bytes[size++] = (byte) b;
+        }
+    }
+
+    void append(byte[] b, int off, int len) {
+        if (!stopped) {
+            ensureCapacity(size + len);
+            System.arraycopy(b, off, bytes, size, len);
+            size += len;
+        }
+    }
+
+    /**
+     * Get the array containing the recorded bytes. Note that the returned array may be replaced by
+     * a larger one when more data is recorded.
+     *
+     * @return the array; only the first {@link #size()} bytes are meaningful
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get the number of bytes recorded so far.
+     *
+     * @return the number of bytes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Stop recording. Bytes that have already been recorded remain available.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+}
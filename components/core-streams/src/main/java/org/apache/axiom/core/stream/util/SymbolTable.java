@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.util;
+
+/**
+ * Canonicalizes strings such as element and attribute names, prefixes and namespace URIs, so that
+ * equal names share a single {@link String} instance. This is similar to {@link String#intern()},
+ * but uses a plain (non synchronized) hash table that is local to the owner of the symbol table
+ * (typically a builder) and that can optionally be backed by an immutable table shared between
+ * threads.
+ *
+ * <p>Instances that are not frozen are not thread safe.
+ */
+public final class SymbolTable {
+    /**
+     * Maximum number of symbols stored in a non frozen table. This prevents documents with a large
+     * number of distinct names (or malicious documents) from causing unbounded growth.
+     */
+    private static final int MAX_SIZE = 4096;
+
+    /**
+     * Shared table containing names commonly used in SOAP messages and WS-* headers. Since all
+     * symbols are string literals, they are also identical to the corresponding {@link
+     * String#intern() interned} strings.
+     */
+    public static final SymbolTable COMMON = new SymbolTable(
+            // Namespace URIs
+            "http://www.w3.org/XML/1998/namespace",
+            "http://www.w3.org/2000/xmlns/",
+            "http://www.w3.org/2001/XMLSchema",
+            "http://www.w3.org/2001/XMLSchema-instance",
+            "http://schemas.xmlsoap.org/soap/envelope/",
+            "http://www.w3.org/2003/05/soap-envelope",
+            "http://www.w3.org/2005/08/addressing",
+            "http://schemas.xmlsoap.org/ws/2004/08/addressing",
+            "http://www.w3.org/2004/08/xop/include",
+            "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-secext-1.0.xsd",
+            "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-utility-1.0.xsd",
+            "http://www.w3.org/2000/09/xmldsig#",
+            "http://www.w3.org/2001/04/xmlenc#",
+            // Prefixes
+            "xml",
+            "xmlns",
+            "xs",
+            "xsd",
+            "xsi",
+            "soap",
+            "soapenv",
+            "SOAP-ENV",
+            "env",
+            "wsa",
+            "xop",
+            "wsse",
+            "wsu",
+            "ds",
+            "xenc",
+            // SOAP
+            "Envelope",
+            "Header",
+            "Body",
+            "Fault",
+            "faultcode",
+            "faultstring",
+            "faultactor",
+            "detail",
+            "Code",
+            "Value",
+            "Subcode",
+            "Reason",
+            "Text",
+            "Node",
+            "Role",
+            "Detail",
+            "mustUnderstand",
+            "actor",
+            "role",
+            "relay",
+            "encodingStyle",
+            // XML Schema instance
+            "type",
+            "nil",
+            "schemaLocation",
+            "noNamespaceSchemaLocation",
+            // WS-Addressing
+            "To",
+            "From",
+            "ReplyTo",
+            "FaultTo",
+            "Action",
+            "MessageID",
+            "RelatesTo",
+            "RelationshipType",
+            "Address",
+            "ReferenceParameters",
+            "Metadata",
+            "IsReferenceParameter",
+            // XOP
+            "Include",
+            "href",
+            // WS-Security
+            "Security",
+            "UsernameToken",
+            "Username",
+            "Password",
+            "Nonce",
+            "Created",
+            "Expires",
+            "Timestamp",
+            "BinarySecurityToken",
+            "SecurityTokenReference",
+            "Reference",
+            "Id",
+            "Signature",
+            "SignedInfo",
+            "CanonicalizationMethod",
+            "SignatureMethod",
+            "Transforms",
+            "Transform",
+            "DigestMethod",
+            "DigestValue",
+            "SignatureValue",
+            "KeyInfo",
+            "Algorithm",
+            "URI",
+            "EncryptedData",
+            "EncryptedKey",
+            "EncryptionMethod",
+            "CipherData",
+            "CipherValue",
+            "ReferenceList",
+            "DataReference",
+            "ValueType",
+            "EncodingType");
+
+    private final SymbolTable shared;
+    private final boolean frozen;
+    private String[] table;
+    private int size;
+
+    /**
+     * Create a frozen symbol table with the given content.
+     *
+     * @param symbols the symbols
+     */
+    private SymbolTable(String... symbols) {
+        shared = null;
+        table = new String[tableSizeFor(symbols.length)];
+        for (String symbol : symbols) {
+            add(symbol);
+        }
+        frozen = true;
+    }
+
+    /**
+     * Create a new (empty) symbol table.
+     *
+     * @param shared a frozen symbol table to look up symbols in before adding them to this table,
+     *     or {@code null}
+     */
+    public SymbolTable(SymbolTable shared) {
+        if (shared != null && !shared.frozen) {
+            throw new IllegalArgumentException("Shared symbol table must be frozen");
+        }
+        this.shared = shared;
+        frozen = false;
+        table = new String[64];
+    }
+
+    /**
+     * Create a frozen symbol table that can be shared between threads.
+     *
+     * @param symbols the symbols to add to the table
+     * @return the symbol table
+     */
+    public static SymbolTable createShared(String... symbols) {
+        return new SymbolTable(symbols.clone());
+    }
+
+    private static int tableSizeFor(int count) {
+        // Keep the load factor below 0.5
+        return Integer.highestOneBit(Math.max(count, 8) * 4 - 1);
+    }
+
+    /**
+     * Get the canonical instance of the given string.
+     *
+     * @param s the string (may be {@code null})
+     * @return a string equal to {@code s}; for a given symbol table, this method always returns the
+     *     same instance for equal strings, unless the table is full
+     */
+    public String lookup(String s) {
+        if (s == null) {
+            return null;
+        }
+        if (s.isEmpty()) {
+            return "";
+        }
+        if (shared != null) {
+            String symbol = shared.find(s);
+            if (symbol != null) {
+                return symbol;
+            }
+        }
+        String symbol = find(s);
+        if (symbol != null) {
+            return symbol;
+        }
+        if (!frozen && size < MAX_SIZE) {
+            if (2 * (size + 1) > table.length) {
+                rehash();
+            }
+            add(s);
+        }
+        return s;
+    }
+
+    private String find(String s) {
+        String[] table = this.table;
+        int mask = table.length - 1;
+        int h = s.hashCode();
+        for (int i = (h ^ (h >>> 16)) & mask; ; i = (i + 1) & mask) {
+            String symbol = table[i];
+            if (symbol == null) {
+                return null;
+            }
+            if (symbol == s || symbol.equals(s)) {
+                return symbol;
+            }
+        }
+    }
+
+    private void add(String s) {
+        int mask = table.length - 1;
+        int h = s.hashCode();
+        int i = (h ^ (h >>> 16)) & mask;
+        while (table[i] != null) {
+            if (table[i].equals(s)) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = s;
+        size++;
+    }
+
+    private void rehash() {
+        String[] oldTable = table;
+        table = new String[oldTable.length * 2];
+        size = 0;
+        for (String symbol : oldTable) {
+            if (symbol != null) {
+                add(symbol);
+            }
+        }
+    }
+
+    /**
+     * Get the number of symbols stored in this table (excluding the shared table).
+     *
+     * @return the number of symbols
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -23,6 +23,7 @@ import java.net.URLDecoder;
 import javax.xml.namespace.QName;
 import org.apache.axiom.checker.union.Union;
 import org.apache.axiom.core.stream.CharacterData;
+import org.apache.axiom.core.stream.RawElement;
 import org.apache.axiom.core.stream.StreamException;
 import org.apache.axiom.core.stream.XmlHandler;
 import org.apache.axiom.core.stream.XmlHandlerWrapper;
@@ -130,6 +131,12 @@ public abstract class AbstractXOPDecodingFilterHandler extends XmlHandlerWrapper
         }
     }
 
+    @Override
+    public boolean processRawElement(RawElement element, String[] namespaceContext) {
+        // The element may contain xop:Include elements that need to be decoded
+        return false;
+    }
+
     @Override
     public void processCharacterData(@Union(types = {String.class, CharacterData.class}) Object data, boolean ignorable)
             throws StreamException {
@@ -20,6 +20,7 @@ package org.apache.axiom.core.stream.xop;
 
 import org.apache.axiom.checker.union.Union;
 import org.apache.axiom.core.stream.CharacterData;
+import org.apache.axiom.core.stream.RawElement;
 import org.apache.axiom.core.stream.StreamException;
 import org.apache.axiom.core.stream.XmlHandler;
 import org.apache.axiom.core.stream.XmlHandlerWrapper;
@@ -109,6 +110,12 @@ public abstract class AbstractXOPEncodingFilterHandler extends XmlHandlerWrapper
         super.processCharacterData(data, ignorable);
     }
 
+    @Override
+    public boolean processRawElement(RawElement element, String[] namespaceContext) {
+        // Binary content is only optimized if the element is processed as events
+        return false;
+    }
+
     @Override
     public void completed() throws StreamException {
         super.completed();
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import org.apache.axiom.core.stream.batch.BatchingXmlHandler;
+import org.apache.axiom.core.stream.serializer.Serializer;
+import org.junit.jupiter.api.Test;
+
+public class NamespaceRepairingBatchFilterTest {
+    private static void generateEvents(XmlHandler handler) throws StreamException {
+        handler.startFragment();
+        handler.startElement("urn:ns1", "root", "p");
+        handler.processNamespaceDeclaration("p", "urn:ns1");
+        handler.attributesCompleted();
+        for (int i = 0; i < 10; i++) {
+            handler.startElement("urn:ns1", "item", "p");
+            handler.processNamespaceDeclaration("p", "urn:ns1");
+            handler.processAttribute("urn:ns2", "id", "q", String.valueOf(i), "CDATA", true);
+            handler.attributesCompleted();
+            handler.startElement("urn:ns3", "child", "");
+            handler.attributesCompleted();
+            handler.processCharacterData("text" + i, false);
+            handler.endElement();
+            handler.endElement();
+        }
+        handler.endElement();
+        handler.completed();
+    }
+
+    @Test
+    public void testSameOutputAsHandler() throws StreamException {
+        StringWriter expected = new StringWriter();
+        generateEvents(new NamespaceRepairingFilterHandler(new Serializer(expected), null, true));
+        StringWriter actual = new StringWriter();
+        generateEvents(
+                new BatchingXmlHandler(new Serializer(actual), 7, new NamespaceRepairingBatchFilter(null, true)));
+        assertThat(actual.toString()).isEqualTo(expected.toString());
+        assertThat(actual.toString())
+                .startsWith("<p:root xmlns:p=\"urn:ns1\"><p:item q:id=\"0\" xmlns:q=\"urn:ns2\">"
+                        + "<child xmlns=\"urn:ns3\">text0</child></p:item>");
+    }
+
+    @Test
+    public void testRawContent() throws StreamException {
+        XmlHandler handler = new BatchingXmlHandler(
+                new XmlHandlerWrapper(NullXmlHandler.INSTANCE) {
+                    @Override
+                    public boolean processRawContent(
+                            byte[] data, int off, int len, String encoding, String[] namespaceContext) {
+                        return namespaceContext == null;
+                    }
+                },
+                16,
+                new NamespaceRepairingBatchFilter(null, false));
+        handler.startFragment();
+        handler.startElement("urn:ns1", "test", "p");
+        handler.processNamespaceDeclaration("p", "urn:ns1");
+        handler.attributesCompleted();
+        assertThat(handler.processRawContent(new byte[0], 0, 0, "UTF-8", new String[] {"p", "urn:ns1"}))
+                .isTrue();
+        assertThat(handler.processRawContent(new byte[0], 0, 0, "UTF-8", new String[] {"p", "urn:ns2"}))
+                .isFalse();
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.axiom.core.stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.jupiter.api.Test;
@@ -31,4 +32,65 @@ public class NamespaceRepairingFilterTest {
         assertThatThrownBy(() -> handler.processNamespaceDeclaration("p", "urn:ns2"))
                 .isInstanceOf(ConflictingNamespaceDeclarationException.class);
     }
+
+    private static XmlHandler createRawContentTestHandler() throws StreamException {
+        XmlHandler handler = new NamespaceRepairingFilter(null, false)
+                .createFilterHandler(new XmlHandlerWrapper(NullXmlHandler.INSTANCE) {
+                    @Override
+                    public boolean processRawContent(
+                            byte[] data, int off, int len, String encoding, String[] namespaceContext) {
+                        return namespaceContext == null;
+                    }
+
+                    @Override
+                    public boolean processRawElement(RawElement element, String[] namespaceContext) {
+                        return namespaceContext == null;
+                    }
+                });
+        handler.startFragment();
+        handler.startElement("urn:ns1", "test", "p");
+        handler.processNamespaceDeclaration("p", "urn:ns1");
+        handler.attributesCompleted();
+        return handler;
+    }
+
+    @Test
+    public void testRawContentWithMatchingNamespaceContext() throws StreamException {
+        XmlHandler handler = createRawContentTestHandler();
+        assertThat(handler.processRawContent(new byte[0], 0, 0, "UTF-8", new String[] {"p", "urn:ns1"}))
+                .isTrue();
+    }
+
+    @Test
+    public void testRawContentWithDifferentNamespaceContext() throws StreamException {
+        XmlHandler handler = createRawContentTestHandler();
+        assertThat(handler.processRawContent(new byte[0], 0, 0, "UTF-8", new String[] {"p", "urn:ns2"}))
+                .isFalse();
+    }
+
+    @Test
+    public void testRawContentWithUnboundDefaultNamespace() throws StreamException {
+        XmlHandler handler = createRawContentTestHandler();
+        handler.startElement("urn:ns2", "child", "");
+        handler.processNamespaceDeclaration("", "urn:ns2");
+        handler.attributesCompleted();
+        // The default namespace is not listed, i.e. it must be unbound
+        assertThat(handler.processRawContent(new byte[0], 0, 0, "UTF-8", new String[] {"p", "urn:ns1"}))
+                .isFalse();
+    }
+
+    @Test
+    public void testRawElement() throws StreamException {
+        XmlHandler handler = createRawContentTestHandler();
+        assertThat(handler.processRawElement((out, encoding) -> true, new String[0])).isTrue();
+    }
+
+    @Test
+    public void testRawElementWithBoundDefaultNamespace() throws StreamException {
+        XmlHandler handler = createRawContentTestHandler();
+        handler.startElement("urn:ns2", "child", "");
+        handler.processNamespaceDeclaration("", "urn:ns2");
+        handler.attributesCompleted();
+        assertThat(handler.processRawElement((out, encoding) -> true, new String[0])).isFalse();
+    }
 }
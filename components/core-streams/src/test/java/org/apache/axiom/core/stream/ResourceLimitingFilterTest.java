@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+public class ResourceLimitingFilterTest {
+    private static XmlHandler createHandler(
+            int maxDepth,
+            int maxAttributes,
+            int maxNamespaceDeclarations,
+            int maxTextLength,
+            long maxNodeCount,
+            long maxCharacterCount)
+            throws StreamException {
+        XmlHandler handler = new ResourceLimitingFilter(
+                        maxDepth,
+                        maxAttributes,
+                        maxNamespaceDeclarations,
+                        maxTextLength,
+                        maxNodeCount,
+                        maxCharacterCount)
+                .createFilterHandler(NullXmlHandler.INSTANCE);
+        handler.startFragment();
+        return handler;
+    }
+
+    @Test
+    public void testDepth() throws StreamException {
+        XmlHandler handler = createHandler(2, 10, 10, 100, 100, 1000);
+        handler.startElement("", "a", "");
+        handler.attributesCompleted();
+        handler.startElement("", "b", "");
+        handler.attributesCompleted();
+        handler.endElement();
+        handler.startElement("", "b", "");
+        handler.attributesCompleted();
+        assertThatThrownBy(() -> handler.startElement("", "c", ""))
+                .isInstanceOf(ResourceLimitExceededException.class);
+    }
+
+    @Test
+    public void testAttributesPerElement() throws StreamException {
+        XmlHandler handler = createHandler(10, 2, 10, 100, 100, 1000);
+        handler.startElement("", "a", "");
+        handler.processAttribute("", "x", "", "1", "CDATA", true);
+        handler.processAttribute("", "y", "", "2", "CDATA", true);
+        handler.attributesCompleted();
+        handler.startElement("", "b", "");
+        handler.processAttribute("", "x", "", "1", "CDATA", true);
+        handler.processAttribute("", "y", "", "2", "CDATA", true);
+        assertThatThrownBy(() -> handler.processAttribute("z", "3", "CDATA", true))
+                .isInstanceOf(ResourceLimitExceededException.class);
+    }
+
+    @Test
+    public void testNamespaceDeclarationsPerElement() throws StreamException {
+        XmlHandler handler = createHandler(10, 10, 1, 100, 100, 1000);
+        handler.startElement("urn:a", "a", "p");
+        handler.processNamespaceDeclaration("p", "urn:a");
+        assertThatThrownBy(() -> handler.processNamespaceDeclaration("q", "urn:b"))
+                .isInstanceOf(ResourceLimitExceededException.class);
+    }
+
+    @Test
+    public void testTextLengthOfAdjacentCharacterData() throws StreamException {
+        XmlHandler handler = createHandler(10, 10, 10, 5, 100, 1000);
+        handler.startElement("", "a", "");
+        handler.attributesCompleted();
+        handler.processCharacterData("abcd", false);
+        handler.startElement("", "b", "");
+        handler.attributesCompleted();
+        handler.endElement();
+        handler.processCharacterData("abc", false);
+        assertThatThrownBy(() -> handler.processCharacterData(UTF8CharacterData.create("d\u00E9\u00E9"), false))
+                .isInstanceOf(ResourceLimitExceededException.class);
+    }
+
+    @Test
+    public void testNodeCount() throws StreamException {
+        XmlHandler handler = createHandler(10, 10, 10, 100, 4, 1000);
+        handler.startElement("", "a", "");
+        handler.attributesCompleted();
+        handler.processCharacterData("text", false);
+        handler.processCharacterData("more text", false);
+        handler.startComment();
+        handler.processCharacterData("comment", false);
+        handler.endComment();
+        handler.startCDATASection();
+        handler.processCharacterData("cdata", false);
+        handler.endCDATASection();
+        assertThatThrownBy(() -> handler.processCharacterData("text", false))
+                .isInstanceOf(ResourceLimitExceededException.class);
+    }
+
+    @Test
+    public void testCharacterCount() throws StreamException {
+        XmlHandler handler = createHandler(10, 10, 10, 100, 100, 10);
+        handler.startElement("", "a", "");
+        handler.processAttribute("", "x", "", "12345", "CDATA", true);
+        handler.attributesCompleted();
+        handler.processCharacterData("12345", false);
+        handler.startElement("", "b", "");
+        handler.attributesCompleted();
+        handler.endElement();
+        assertThatThrownBy(() -> handler.processCharacterData("1", false))
+                .isInstanceOf(ResourceLimitExceededException.class);
+    }
+}
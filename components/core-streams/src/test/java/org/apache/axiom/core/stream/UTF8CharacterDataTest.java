@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class UTF8CharacterDataTest {
+    private static void testCreateFromCharArray(String s) {
+        char[] chars = ("xx" + s + "yy").toCharArray();
+        UTF8CharacterData data = UTF8CharacterData.create(chars, 2, s.length());
+        assertThat(data.getByteLength()).isEqualTo(s.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(data.toString()).isEqualTo(new String(s.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCreateFromCharArrayASCII() {
+        testCreateFromCharArray("test");
+    }
+
+    @Test
+    public void testCreateFromCharArrayNonASCII() {
+        testCreateFromCharArray("n\u00E9ant \u4E16\u754C \uD83D\uDE00");
+    }
+
+    @Test
+    public void testCreateFromCharArrayUnpairedSurrogate() {
+        testCreateFromCharArray("a\uD83Db\uDE00");
+    }
+
+    @Test
+    public void testLength() {
+        assertThat(UTF8CharacterData.create("n\u00E9ant \uD83D\uDE00").length()).isEqualTo(8);
+    }
+}
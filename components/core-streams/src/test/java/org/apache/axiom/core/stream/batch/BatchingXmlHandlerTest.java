@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.XmlHandlerWrapper;
+import org.apache.axiom.core.stream.serializer.Serializer;
+import org.junit.jupiter.api.Test;
+
+public class BatchingXmlHandlerTest {
+    private static void generateEvents(XmlHandler handler, int elements) throws StreamException {
+        handler.startFragment();
+        handler.startElement("", "root", "");
+        handler.attributesCompleted();
+        for (int i = 0; i < elements; i++) {
+            handler.startElement("", "item", "");
+            handler.processAttribute("", "id", "", String.valueOf(i), "CDATA", true);
+            handler.attributesCompleted();
+            handler.processCharacterData("text" + i, false);
+            handler.endElement();
+        }
+        handler.startComment();
+        handler.processCharacterData("comment", false);
+        handler.endComment();
+        handler.endElement();
+        handler.completed();
+    }
+
+    private static String serialize(int batchSize, XmlEventBatchFilter... filters) throws StreamException {
+        StringWriter sw = new StringWriter();
+        XmlHandler handler = new Serializer(sw);
+        if (batchSize > 0) {
+            handler = new BatchingXmlHandler(handler, batchSize, filters);
+        }
+        generateEvents(handler, 20);
+        return sw.toString();
+    }
+
+    @Test
+    public void testWithoutFilters() throws Exception {
+        String expected = serialize(0);
+        assertThat(serialize(1)).isEqualTo(expected);
+        assertThat(serialize(7)).isEqualTo(expected);
+        assertThat(serialize(1000)).isEqualTo(expected);
+    }
+
+    @Test
+    public void testFiltersOnlySeeSelectedEvents() throws Exception {
+        List<Integer> seen = new ArrayList<>();
+        XmlEventBatchFilter attributeAdder = new XmlEventBatchFilter() {
+            @Override
+            public int getEventMask() {
+                return XmlEventBuffer.mask(XmlEventBuffer.ATTRIBUTES_COMPLETED);
+            }
+
+            @Override
+            public void processEvent(XmlEventBuffer in, int index, XmlEventBuffer out) {
+                seen.add(in.getOpcode(index));
+                out.processAttribute("", "added", "", "yes", "CDATA", true);
+                out.append(in, index, index + 1);
+            }
+        };
+        XmlEventBatchFilter commentRemover = new XmlEventBatchFilter() {
+            private boolean inComment;
+
+            @Override
+            public int getEventMask() {
+                return XmlEventBuffer.mask(XmlEventBuffer.START_COMMENT)
+                        | XmlEventBuffer.mask(XmlEventBuffer.CHARACTER_DATA)
+                        | XmlEventBuffer.mask(XmlEventBuffer.END_COMMENT);
+            }
+
+            @Override
+            public void processEvent(XmlEventBuffer in, int index, XmlEventBuffer out) {
+                switch (in.getOpcode(index)) {
+                    case XmlEventBuffer.START_COMMENT -> inComment = true;
+                    case XmlEventBuffer.END_COMMENT -> inComment = false;
+                    default -> {
+                        if (!inComment) {
+                            out.append(in, index, index + 1);
+                        }
+                    }
+                }
+            }
+        };
+        String result = serialize(5, attributeAdder, commentRemover);
+        assertThat(seen).hasSize(21).containsOnly(XmlEventBuffer.ATTRIBUTES_COMPLETED);
+        assertThat(result).startsWith("<root added=\"yes\"><item id=\"0\" added=\"yes\">text0</item>");
+        assertThat(result).doesNotContain("comment");
+        assertThat(result).endsWith("</root>");
+    }
+
+    @Test
+    public void testAppend() {
+        XmlEventBuffer source = new XmlEventBuffer(2);
+        source.startElement("urn:test", "a", "p");
+        source.processNamespaceDeclaration("p", "urn:test");
+        source.attributesCompleted();
+        source.endElement();
+        XmlEventBuffer target = new XmlEventBuffer(1);
+        target.startFragment();
+        target.append(source, 1, 4);
+        assertThat(target.size()).isEqualTo(4);
+        assertThat(target.getOpcode(1)).isEqualTo(XmlEventBuffer.NAMESPACE_DECLARATION);
+        assertThat(target.getStringArgument(1, 1)).isEqualTo("urn:test");
+        assertThat(target.getOpcode(3)).isEqualTo(XmlEventBuffer.END_ELEMENT);
+        target.clear();
+        assertThat(target.size()).isZero();
+    }
+
+    private static final class RecordingBatchHandler extends XmlHandlerWrapper implements XmlEventBatchHandler {
+        private final Serializer serializer;
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        RecordingBatchHandler(Serializer serializer) {
+            super(serializer);
+            this.serializer = serializer;
+        }
+
+        @Override
+        public void processEvents(XmlEventBuffer events) throws StreamException {
+            batchSizes.add(events.size());
+            serializer.processEvents(events);
+        }
+    }
+
+    @Test
+    public void testBatchHandler() throws Exception {
+        StringWriter sw = new StringWriter();
+        RecordingBatchHandler batchHandler = new RecordingBatchHandler(new Serializer(sw));
+        generateEvents(new BatchingXmlHandler(batchHandler, 50), 20);
+        assertThat(sw.toString()).isEqualTo(serialize(0));
+        assertThat(batchHandler.batchSizes).containsExactly(50, 50, 8);
+    }
+}
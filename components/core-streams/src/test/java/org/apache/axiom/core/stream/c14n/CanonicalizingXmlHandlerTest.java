@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.c14n;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.XmlReader;
+import org.apache.axiom.core.stream.stax.pull.input.StAXPullInput;
+import org.apache.axiom.core.stream.stax.pull.input.XMLStreamReaderHelper;
+import org.junit.jupiter.api.Test;
+
+public class CanonicalizingXmlHandlerTest {
+    private static void parse(String xml, XmlHandler handler) throws Exception {
+        XmlReader reader = new StAXPullInput(
+                        XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml)),
+                        r -> new XMLStreamReaderHelper())
+                .createReader(handler);
+        while (!reader.proceed()) {
+            // Just loop
+        }
+    }
+
+    private static String canonicalize(String xml, CanonicalizationMethod method, Set<String> inclusivePrefixes)
+            throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        parse(xml, new CanonicalizingXmlHandler(baos, method, inclusivePrefixes));
+        return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String canonicalize(String xml, CanonicalizationMethod method) throws Exception {
+        return canonicalize(xml, method, null);
+    }
+
+    @Test
+    public void testEmptyElementsAndAttributeOrder() throws Exception {
+        assertThat(canonicalize(
+                        "<doc xmlns:b='urn:b' xmlns:a='urn:a' b:attr='2' a:attr='1' attr='0'><e/></doc>",
+                        CanonicalizationMethod.EXCLUSIVE))
+                .isEqualTo("<doc xmlns:a=\"urn:a\" xmlns:b=\"urn:b\" attr=\"0\" a:attr=\"1\" b:attr=\"2\">"
+                        + "<e></e></doc>");
+    }
+
+    @Test
+    public void testExclusiveOmitsUnusedNamespaces() throws Exception {
+        assertThat(canonicalize(
+                        "<a:root xmlns:a='urn:a' xmlns:b='urn:b'><a:child xmlns:c='urn:c'/></a:root>",
+                        CanonicalizationMethod.EXCLUSIVE))
+                .isEqualTo("<a:root xmlns:a=\"urn:a\"><a:child></a:child></a:root>");
+    }
+
+    @Test
+    public void testInclusivePrefixList() throws Exception {
+        assertThat(canonicalize(
+                        "<a:root xmlns:a='urn:a' xmlns:b='urn:b'><a:child/></a:root>",
+                        CanonicalizationMethod.EXCLUSIVE,
+                        CanonicalizingXmlHandler.parseInclusivePrefixList(" b  #default ")))
+                .isEqualTo("<a:root xmlns:a=\"urn:a\" xmlns:b=\"urn:b\"><a:child></a:child></a:root>");
+    }
+
+    @Test
+    public void testInclusiveRendersAllNamespacesInScope() throws Exception {
+        assertThat(canonicalize(
+                        "<a:root xmlns:a='urn:a' xmlns:b='urn:b'><a:child xmlns:b='urn:b' xmlns:c='urn:c'/></a:root>",
+                        CanonicalizationMethod.C14N_11))
+                .isEqualTo("<a:root xmlns:a=\"urn:a\" xmlns:b=\"urn:b\">"
+                        + "<a:child xmlns:c=\"urn:c\"></a:child></a:root>");
+    }
+
+    @Test
+    public void testDefaultNamespaceUndeclaration() throws Exception {
+        assertThat(canonicalize("<root xmlns='urn:x'><child xmlns=''/></root>", CanonicalizationMethod.EXCLUSIVE))
+                .isEqualTo("<root xmlns=\"urn:x\"><child xmlns=\"\"></child></root>");
+        assertThat(canonicalize("<root><child xmlns=''/></root>", CanonicalizationMethod.EXCLUSIVE))
+                .isEqualTo("<root><child></child></root>");
+    }
+
+    @Test
+    public void testEscaping() throws Exception {
+        assertThat(canonicalize(
+                        "<a attr='&quot;&#9;&#10;&#13;&lt;&gt;&amp;'>&lt;&gt;&amp;&#13;\"'<![CDATA[x<y]]></a>",
+                        CanonicalizationMethod.EXCLUSIVE))
+                .isEqualTo("<a attr=\"&quot;&#x9;&#xA;&#xD;&lt;>&amp;\">&lt;&gt;&amp;&#xD;\"'x&lt;y</a>");
+    }
+
+    @Test
+    public void testCommentsAndProcessingInstructions() throws Exception {
+        String xml = "<?xml version='1.0'?>\n<?pi data?>\n<!--c1-->\n<doc><!--c2--><?pi2?></doc>\n<!--c3-->";
+        assertThat(canonicalize(xml, CanonicalizationMethod.EXCLUSIVE_WITH_COMMENTS))
+                .isEqualTo("<?pi data?>\n<!--c1-->\n<doc><!--c2--><?pi2?></doc>\n<!--c3-->");
+        assertThat(canonicalize(xml, CanonicalizationMethod.EXCLUSIVE)).isEqualTo("<?pi data?>\n<doc><?pi2?></doc>");
+    }
+
+    @Test
+    public void testDigest() throws Exception {
+        String xml = "<p:root xmlns:p='urn:p' xmlns:q='urn:q'>été 😀</p:root>";
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        parse(xml, new CanonicalizingXmlHandler(digest, CanonicalizationMethod.EXCLUSIVE, Collections.emptySet()));
+        assertThat(digest.digest())
+                .isEqualTo(MessageDigest.getInstance("SHA-256")
+                        .digest(canonicalize(xml, CanonicalizationMethod.EXCLUSIVE)
+                                .getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testFromURI() {
+        for (CanonicalizationMethod method : CanonicalizationMethod.values()) {
+            assertThat(CanonicalizationMethod.fromURI(method.getURI())).isSameAs(method);
+        }
+        assertThat(CanonicalizationMethod.fromURI("http://www.w3.org/TR/2001/REC-xml-c14n-20010315"))
+                .isNull();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.sax.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import org.apache.axiom.core.stream.CharacterData;
+import org.apache.axiom.core.stream.CharacterDataSink;
+import org.apache.axiom.util.base64.AbstractBase64EncodingOutputStream;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.helpers.DefaultHandler;
+
+public class ContentHandlerXmlHandlerTest {
+    private static final class CharactersRecorder extends DefaultHandler {
+        final List<String> chunks = new ArrayList<>();
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            chunks.add(new String(ch, start, length));
+        }
+
+        String getText() {
+            return String.join("", chunks);
+        }
+    }
+
+    private static final class BinaryCharacterData implements CharacterData {
+        private final byte[] data;
+
+        BinaryCharacterData(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public String toString() {
+            return Base64.getEncoder().encodeToString(data);
+        }
+
+        @Override
+        public void writeTo(CharacterDataSink sink) throws IOException {
+            AbstractBase64EncodingOutputStream out = sink.getBase64EncodingOutputStream();
+            out.write(data);
+            out.complete();
+        }
+
+        @Override
+        public void appendTo(StringBuilder buffer) {
+            buffer.append(toString());
+        }
+
+        @Override
+        public Object retain() {
+            return this;
+        }
+    }
+
+    private static String createText(int length) {
+        StringBuilder buffer = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            buffer.append((char) ('a' + i % 26));
+        }
+        return buffer.toString();
+    }
+
+    @Test
+    public void testLargeStringIsChunked() throws Exception {
+        CharactersRecorder recorder = new CharactersRecorder();
+        ContentHandlerXmlHandler handler = new ContentHandlerXmlHandler(recorder, null);
+        String text = createText(10000);
+        handler.processCharacterData(text, false);
+        assertThat(recorder.getText()).isEqualTo(text);
+        assertThat(recorder.chunks).hasSize(3);
+        assertThat(recorder.chunks).allSatisfy(chunk -> assertThat(chunk.length()).isLessThanOrEqualTo(4096));
+    }
+
+    @Test
+    public void testBinaryCharacterData() throws Exception {
+        CharactersRecorder recorder = new CharactersRecorder();
+        ContentHandlerXmlHandler handler = new ContentHandlerXmlHandler(recorder, null);
+        byte[] data = new byte[10000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        handler.processCharacterData(new BinaryCharacterData(data), false);
+        assertThat(recorder.getText()).isEqualTo(Base64.getEncoder().encodeToString(data));
+        assertThat(recorder.chunks).allSatisfy(chunk -> assertThat(chunk.length()).isLessThanOrEqualTo(4096));
+    }
+
+    @Test
+    public void testSmallWritesAreCoalesced() throws Exception {
+        CharactersRecorder recorder = new CharactersRecorder();
+        ContentHandlerXmlHandler handler = new ContentHandlerXmlHandler(recorder, null);
+        handler.processCharacterData(
+                new CharacterData() {
+                    @Override
+                    public void writeTo(CharacterDataSink sink) throws IOException {
+                        for (int i = 0; i < 10; i++) {
+                            sink.getWriter().write("abc");
+                        }
+                    }
+
+                    @Override
+                    public void appendTo(StringBuilder buffer) {
+                        buffer.append(toString());
+                    }
+
+                    @Override
+                    public Object retain() {
+                        return toString();
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "abc".repeat(10);
+                    }
+                },
+                false);
+        assertThat(recorder.chunks).containsExactly("abc".repeat(10));
+    }
+}
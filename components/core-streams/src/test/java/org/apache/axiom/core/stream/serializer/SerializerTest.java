@@ -22,9 +22,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.UTF8CharacterData;
 import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.io.output.NullWriter;
 import org.junit.jupiter.api.Test;
@@ -60,6 +62,127 @@ public class SerializerTest {
         assertThat(sw.toString()).matches("<test ?/>R&amp;D");
     }
 
+    @Test
+    public void testUTF8CharacterData() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Serializer handler = new Serializer(baos, "UTF-8");
+        handler.startFragment();
+        handler.startElement("", "test", "");
+        handler.attributesCompleted();
+        handler.processCharacterData(UTF8CharacterData.create("n\u00E9ant \u4E16\u754C"), false);
+        handler.endElement();
+        handler.completed();
+        assertThat(new String(baos.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("<test>n\u00E9ant \u4E16\u754C</test>");
+    }
+
+    @Test
+    public void testUTF8CharacterDataRequiringEscaping() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Serializer handler = new Serializer(baos, "UTF-8");
+        handler.startFragment();
+        handler.startElement("", "test", "");
+        handler.attributesCompleted();
+        handler.processCharacterData(UTF8CharacterData.create("]]>R&D\u2028"), false);
+        handler.endElement();
+        handler.completed();
+        assertThat(new String(baos.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("<test>]]&gt;R&amp;D&#x2028;</test>");
+    }
+
+    @Test
+    public void testUTF8CharacterDataWithNonUTF8Encoding() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Serializer handler = new Serializer(baos, "iso-8859-1");
+        handler.startFragment();
+        handler.startElement("", "test", "");
+        handler.attributesCompleted();
+        handler.processCharacterData(UTF8CharacterData.create("n\u00E9ant \u4E16"), false);
+        handler.endElement();
+        handler.completed();
+        assertThat(new String(baos.toByteArray(), StandardCharsets.ISO_8859_1))
+                .isEqualTo("<test>n\u00E9ant &#x4e16;</test>");
+    }
+
+    @Test
+    public void testRawContent() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Serializer handler = new Serializer(baos, "UTF-8");
+        handler.startFragment();
+        handler.startElement("", "test", "");
+        handler.attributesCompleted();
+        byte[] content = "xx<a>n\u00E9ant</a><!-- ]]> -->xx".getBytes(StandardCharsets.UTF_8);
+        assertThat(handler.processRawContent(content, 2, content.length - 4, "UTF-8", null))
+                .isTrue();
+        handler.endElement();
+        handler.completed();
+        assertThat(new String(baos.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("<test><a>n\u00E9ant</a><!-- ]]> --></test>");
+    }
+
+    @Test
+    public void testRawContentInSeveralPieces() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Serializer handler = new Serializer(baos, "UTF-8");
+        handler.startFragment();
+        handler.startElement("", "test", "");
+        handler.attributesCompleted();
+        for (String piece : new String[] {"<a>1</a>]]", "<b>2</b>"}) {
+            byte[] content = piece.getBytes(StandardCharsets.UTF_8);
+            assertThat(handler.processRawContent(content, 0, content.length, "UTF-8", null))
+                    .isTrue();
+        }
+        handler.endElement();
+        handler.completed();
+        assertThat(new String(baos.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("<test><a>1</a>]]<b>2</b></test>");
+    }
+
+    @Test
+    public void testRawContentWithNamespaceContext() throws Exception {
+        Serializer handler = new Serializer(NullOutputStream.INSTANCE, "UTF-8");
+        handler.startFragment();
+        handler.startElement("", "test", "");
+        handler.attributesCompleted();
+        assertThat(handler.processRawContent(new byte[] {'x'}, 0, 1, "UTF-8", new String[0]))
+                .isFalse();
+    }
+
+    @Test
+    public void testRawElement() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Serializer handler = new Serializer(baos, "utf-8");
+        handler.startFragment();
+        handler.startElement("", "test", "");
+        handler.processAttribute("", "attr", "", "value", "CDATA", true);
+        handler.attributesCompleted();
+        handler.processCharacterData("]]", false);
+        assertThat(handler.processRawElement(
+                        (out, encoding) -> {
+                            assertThat(encoding).isEqualTo("UTF-8");
+                            try {
+                                out.write("<a>n\u00E9ant</a>".getBytes(StandardCharsets.UTF_8));
+                            } catch (IOException ex) {
+                                throw new StreamException(ex);
+                            }
+                            return true;
+                        },
+                        null))
+                .isTrue();
+        handler.processCharacterData(">", false);
+        handler.endElement();
+        handler.completed();
+        assertThat(new String(baos.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("<test attr=\"value\">]]<a>n\u00E9ant</a>></test>");
+    }
+
+    @Test
+    public void testRawElementWithWriter() throws Exception {
+        Serializer handler = new Serializer(new StringWriter());
+        handler.startFragment();
+        assertThat(handler.processRawElement((out, encoding) -> true, null)).isFalse();
+    }
+
     /**
      * Test that characters are converted to entities only when necessary.
      *
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class MarkupScannerTest {
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testFindTagSkipsMarkup() {
+        byte[] b = bytes("<?xml version='1.0'?><!-- <a> --><?pi <b>?>text<![CDATA[<c>]]><d/>");
+        assertThat(MarkupScanner.findTag(b, 0, b.length)).isEqualTo(b.length - 4);
+    }
+
+    @Test
+    public void testFindTagDeclaration() {
+        byte[] b = bytes("<!DOCTYPE root><root/>");
+        assertThat(MarkupScanner.findTag(b, 0, b.length)).isEqualTo(MarkupScanner.DECLARATION);
+    }
+
+    @Test
+    public void testFindTagIncomplete() {
+        byte[] b = bytes("<!-- <a> -");
+        assertThat(MarkupScanner.findTag(b, 0, b.length)).isEqualTo(MarkupScanner.NOT_FOUND);
+        assertThat(MarkupScanner.findTag(b, 0, 1)).isEqualTo(MarkupScanner.NOT_FOUND);
+    }
+
+    @Test
+    public void testSkipName() {
+        byte[] b = bytes("<p:a\tx='1'>");
+        assertThat(MarkupScanner.skipName(b, 1, b.length)).isEqualTo(4);
+        assertThat(MarkupScanner.skipName(b, 1, 3)).isEqualTo(MarkupScanner.NOT_FOUND);
+    }
+
+    @Test
+    public void testFindTagEndWithQuotedGreaterThan() {
+        byte[] b = bytes("<a x='>' y=\"'>\">text");
+        assertThat(MarkupScanner.findTagEnd(b, 2, b.length)).isEqualTo(b.length - 4);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.stream.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+public class SymbolTableTest {
+    @Test
+    public void testLookupReturnsCanonicalInstance() {
+        SymbolTable symbolTable = new SymbolTable((SymbolTable) null);
+        String s1 = new String("test");
+        String s2 = new String("test");
+        assertThat(symbolTable.lookup(s1)).isSameAs(s1);
+        assertThat(symbolTable.lookup(s2)).isSameAs(s1);
+        assertThat(symbolTable.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSharedTable() {
+        SymbolTable symbolTable = new SymbolTable(SymbolTable.COMMON);
+        assertThat(symbolTable.lookup(new String("Envelope"))).isSameAs("Envelope");
+        assertThat(symbolTable.lookup(new String("http://www.w3.org/2003/05/soap-envelope")))
+                .isSameAs("http://www.w3.org/2003/05/soap-envelope");
+        assertThat(symbolTable.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testGrowth() {
+        SymbolTable symbolTable = new SymbolTable((SymbolTable) null);
+        String[] symbols = new String[1000];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = symbolTable.lookup("name" + i);
+        }
+        for (int i = 0; i < symbols.length; i++) {
+            assertThat(symbolTable.lookup("name" + i)).isSameAs(symbols[i]);
+        }
+        assertThat(symbolTable.size()).isEqualTo(1000);
+    }
+
+    @Test
+    public void testNullAndEmpty() {
+        SymbolTable symbolTable = new SymbolTable(SymbolTable.COMMON);
+        assertThat(symbolTable.lookup(null)).isNull();
+        assertThat(symbolTable.lookup(new String())).isSameAs("");
+    }
+
+    @Test
+    public void testSharedTableMustBeFrozen() {
+        assertThatThrownBy(() -> new SymbolTable(new SymbolTable((SymbolTable) null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
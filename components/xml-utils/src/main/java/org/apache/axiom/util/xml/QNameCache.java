@@ -18,35 +18,170 @@
  */
 package org.apache.axiom.util.xml;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import javax.xml.namespace.QName;
 
+/**
+ * Cache for {@link QName} instances. The cache is organized as a set-associative cache: a given
+ * name can only be stored in one of a small number of slots (the ways of a set) selected by its
+ * hash code. When all ways of a set are occupied, entries are evicted in round-robin order. The
+ * implementation is lock-free; concurrent updates may occasionally result in a lost entry, but
+ * never in an incorrect result.
+ *
+ * <p>The static {@link #getQName(String, String, String)} methods use a shared, JVM-wide instance.
+ * Components that want to avoid interference with other users of that instance can create their
+ * own instances. The Axiom implementations each use one such instance, which is shared by all
+ * factories of the implementation (and by all applications that use the same implementation
+ * classes). The capacity of the shared instance (and of the instances created by the Axiom
+ * implementations) can be configured using the {@link #CAPACITY_PROPERTY} system property.
+ */
 public final class QNameCache {
-    private static final QNameCacheEntry[] cache;
+    /**
+     * The name of the system property that specifies the capacity of the shared instance and of the
+     * instances created by the Axiom implementations. If the property is not set, {@link
+     * #DEFAULT_CAPACITY} is used.
+     */
+    public static final String CAPACITY_PROPERTY = "org.apache.axiom.util.xml.QNameCache.capacity";
+
+    /** The capacity used if {@link #CAPACITY_PROPERTY} is not set. */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /** The number of ways of each set. */
+    private static final int WAYS = 4;
+
+    private static final QNameCache DEFAULT = new QNameCache(getConfiguredCapacity());
+
+    private final AtomicReferenceArray<QName> entries;
+    private final int[] nextVictim;
+    private final int setMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
-    static {
-        cache = new QNameCacheEntry[1024];
-        for (int i = 0; i < cache.length; i++) {
-            cache[i] = new QNameCacheEntry();
+    /**
+     * Constructor.
+     *
+     * @param capacity the maximum number of {@link QName} instances to keep in the cache; this
+     *     will be rounded up to the next power of two, with a minimum of 4
+     */
+    public QNameCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
         }
+        int sets = Integer.highestOneBit(Math.max((capacity - 1) / WAYS, 0) * 2 + 1);
+        entries = new AtomicReferenceArray<>(sets * WAYS);
+        nextVictim = new int[sets];
+        setMask = sets - 1;
     }
 
-    private QNameCache() {}
+    /**
+     * Get the capacity specified by the {@link #CAPACITY_PROPERTY} system property.
+     *
+     * @return the value of the system property, or {@link #DEFAULT_CAPACITY} if the property is not
+     *     set or is not a positive integer
+     */
+    public static int getConfiguredCapacity() {
+        Integer capacity = Integer.getInteger(CAPACITY_PROPERTY);
+        return capacity == null || capacity <= 0 ? DEFAULT_CAPACITY : capacity;
+    }
+
+    /**
+     * Get the shared cache instance used by {@link #getQName(String, String, String)} and {@link
+     * #getQName(String, String)}.
+     *
+     * @return the shared instance
+     */
+    public static QNameCache getDefault() {
+        return DEFAULT;
+    }
 
     public static QName getQName(String namespaceURI, String localPart, String prefix) {
-        int index = (namespaceURI.hashCode() ^ localPart.hashCode() ^ prefix.hashCode()) & (cache.length - 1);
-        QNameCacheEntry entry = cache[index];
-        QName qname = entry.get();
-        if (qname == null
-                || !qname.getNamespaceURI().equals(namespaceURI)
-                || !qname.getLocalPart().equals(localPart)
-                || !qname.getPrefix().equals(prefix)) {
-            qname = new QName(namespaceURI, localPart, prefix);
-            entry.set(qname);
+        return DEFAULT.get(namespaceURI, localPart, prefix);
+    }
+
+    public static QName getQName(String namespaceURI, String localPart) {
+        return DEFAULT.get(namespaceURI, localPart, "");
+    }
+
+    /**
+     * Get a {@link QName} with the given components, either from the cache or by creating a new
+     * instance (that will then be added to the cache).
+     *
+     * @param namespaceURI the namespace URI
+     * @param localPart the local part
+     * @param prefix the prefix
+     * @return the {@link QName}
+     */
+    public QName get(String namespaceURI, String localPart, String prefix) {
+        int hash = namespaceURI.hashCode() ^ localPart.hashCode() ^ prefix.hashCode();
+        int set = (hash ^ (hash >>> 16)) & setMask;
+        int base = set * WAYS;
+        for (int i = 0; i < WAYS; i++) {
+            QName qname = entries.getAcquire(base + i);
+            if (qname == null) {
+                // Ways are filled in order; an empty way means that the name is not in the cache.
+                misses.increment();
+                qname = new QName(namespaceURI, localPart, prefix);
+                if (!entries.compareAndSet(base + i, null, qname)) {
+                    replace(set, qname);
+                }
+                return qname;
+            }
+            if (qname.getLocalPart().equals(localPart)
+                    && qname.getNamespaceURI().equals(namespaceURI)
+                    && qname.getPrefix().equals(prefix)) {
+                hits.increment();
+                return qname;
+            }
         }
+        misses.increment();
+        QName qname = new QName(namespaceURI, localPart, prefix);
+        replace(set, qname);
         return qname;
     }
 
-    public static QName getQName(String namespaceURI, String localPart) {
-        return getQName(namespaceURI, localPart, "");
+    /**
+     * Get a {@link QName} with the given namespace URI and local part and an empty prefix.
+     *
+     * @param namespaceURI the namespace URI
+     * @param localPart the local part
+     * @return the {@link QName}
+     */
+    public QName get(String namespaceURI, String localPart) {
+        return get(namespaceURI, localPart, "");
+    }
+
+    private void replace(int set, QName qname) {
+        // Races on nextVictim are benign: at worst two threads evict the same way.
+        int victim = nextVictim[set];
+        nextVictim[set] = (victim + 1) & (WAYS - 1);
+        entries.setRelease(set * WAYS + victim, qname);
+    }
+
+    /**
+     * Get the total number of entries this cache can hold.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return entries.length();
+    }
+
+    /**
+     * Get the number of lookups that were satisfied from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of lookups that required the creation of a new {@link QName} instance.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
     }
 }
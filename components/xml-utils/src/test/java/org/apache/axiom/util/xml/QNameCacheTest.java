@@ -47,4 +47,56 @@ public class QNameCacheTest {
         QName qname2 = QNameCache.getQName("urn:ns2", "foo", "");
         assertThat(qname2).isNotSameAs(qname1);
     }
+
+    @Test
+    public void testCapacity() {
+        assertThat(new QNameCache(1).getCapacity()).isEqualTo(4);
+        assertThat(new QNameCache(4096).getCapacity()).isEqualTo(4096);
+        assertThat(new QNameCache(5000).getCapacity()).isEqualTo(8192);
+    }
+
+    @Test
+    public void testConfiguredCapacity() {
+        String oldValue = System.getProperty(QNameCache.CAPACITY_PROPERTY);
+        try {
+            System.clearProperty(QNameCache.CAPACITY_PROPERTY);
+            assertThat(QNameCache.getConfiguredCapacity()).isEqualTo(QNameCache.DEFAULT_CAPACITY);
+            System.setProperty(QNameCache.CAPACITY_PROPERTY, "16384");
+            assertThat(QNameCache.getConfiguredCapacity()).isEqualTo(16384);
+            System.setProperty(QNameCache.CAPACITY_PROPERTY, "-1");
+            assertThat(QNameCache.getConfiguredCapacity()).isEqualTo(QNameCache.DEFAULT_CAPACITY);
+        } finally {
+            if (oldValue == null) {
+                System.clearProperty(QNameCache.CAPACITY_PROPERTY);
+            } else {
+                System.setProperty(QNameCache.CAPACITY_PROPERTY, oldValue);
+            }
+        }
+    }
+
+    @Test
+    public void testHitAndMissCounts() {
+        QNameCache cache = new QNameCache(64);
+        QName qname = cache.get("urn:test", "a");
+        assertThat(cache.get("urn:test", "a")).isSameAs(qname);
+        assertThat(cache.get("urn:test", "a")).isSameAs(qname);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCollidingNamesAreRetained() {
+        // With a single set, all names collide; up to 4 of them can be retained
+        QNameCache cache = new QNameCache(4);
+        QName[] qnames = new QName[4];
+        for (int i = 0; i < qnames.length; i++) {
+            qnames[i] = cache.get("urn:test", "name" + i);
+        }
+        for (int i = 0; i < qnames.length; i++) {
+            assertThat(cache.get("urn:test", "name" + i)).isSameAs(qnames[i]);
+        }
+        QName evicting = cache.get("urn:test", "name4");
+        assertThat(cache.get("urn:test", "name4")).isSameAs(evicting);
+        assertThat(cache.getMissCount()).isEqualTo(5);
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.impl.dom.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ServiceLoader;
+import org.apache.axiom.locator.loader.OMFeature;
+import org.apache.axiom.locator.loader.OMImplementationProvider;
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.dom.DOMMetaFactory;
+import org.junit.jupiter.api.Test;
+
+public class DOOMImplementationProviderTest {
+    @Test
+    public void testServiceLoader() {
+        assertThat(ServiceLoader.load(OMImplementationProvider.class))
+                .anyMatch(provider -> provider instanceof DOOMImplementationProvider);
+    }
+
+    @Test
+    public void testFeatures() {
+        OMImplementationProvider provider = new DOOMImplementationProvider();
+        assertThat(provider.getLoader().load(null)).isInstanceOf(DOMMetaFactory.class);
+        OMFeature[] features = provider.getFeatures();
+        assertThat(features).extracting(OMFeature::getName)
+                .containsExactly(OMAbstractFactory.FEATURE_DOM, OMAbstractFactory.FEATURE_DEFAULT);
+        assertThat(features[0].getExtensionInterfaces()).containsExactly(DOMMetaFactory.class);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import org.apache.axiom.core.Builder;
+import org.apache.axiom.core.CoreParentNode;
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMCloneOptions;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.junit.jupiter.api.Test;
+
+public class LazyCloneInputTest {
+    /**
+     * Tests that the source element only keeps weak references to the builders of its lazy clones,
+     * and that references cleared by the garbage collector are purged both when another lazy clone
+     * is registered and when the source is modified. The garbage collection is simulated by
+     * clearing the references.
+     */
+    @Test
+    public void testClearedReferencesArePurged() throws Exception {
+        OMElement source = OMXMLBuilderFactory.createOMBuilder(new StringReader("<root><a><b/></a><c/></root>"))
+                .getDocumentElement();
+        source.build();
+        CoreParentNode coreSource = (CoreParentNode) source;
+        OMCloneOptions options = new OMCloneOptions();
+        options.setLazy(true);
+        source.clone(options);
+        OMElement clone2 = (OMElement) source.clone(options);
+        List<WeakReference<Builder>> lazyClones = LazyCloneInput.getLazyClones(coreSource);
+        assertThat(lazyClones).hasSize(2);
+        lazyClones.get(0).clear();
+        // Registering another lazy clone purges the cleared reference
+        OMElement clone3 = (OMElement) source.clone(options);
+        lazyClones = LazyCloneInput.getLazyClones(coreSource);
+        assertThat(lazyClones).hasSize(2);
+        assertThat(lazyClones.get(1).get()).isNotNull();
+        lazyClones.get(0).clear();
+        // Modifying the source completes the remaining clone and purges the cleared reference
+        source.addChild(OMAbstractFactory.getOMFactory().createOMElement("d", null));
+        assertThat(LazyCloneInput.getLazyClones(coreSource)).isEmpty();
+        assertThat(clone3.toString()).isEqualTo("<root><a><b/></a><c/></root>");
+        // Clone 2 must not be garbage collected before its reference is cleared explicitly
+        Reference.reachabilityFence(clone2);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringReader;
+import javax.xml.namespace.QName;
+import org.apache.axiom.om.OMAttribute;
+import org.apache.axiom.om.OMDocument;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMText;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Tests the debug mode of {@link NodePool}. This test is executed in a separate test run with the
+ * {@value NodePool#DEBUG_PROPERTY} system property set.
+ */
+@EnabledIfSystemProperty(named = NodePool.DEBUG_PROPERTY, matches = "true")
+public class NodePoolDebugTest {
+    @Test
+    public void testUseOfReleasedNodes() throws Exception {
+        OMDocument document = OMXMLBuilderFactory.createOMBuilder(
+                        new StringReader("<root attr='value'><a>text</a><b/></root>"))
+                .getDocument();
+        OMElement root = document.getOMDocumentElement();
+        OMAttribute attr = root.getAttribute(new QName("attr"));
+        OMElement a = root.getFirstElement();
+        OMText text = (OMText) a.getFirstOMChild();
+        document.release();
+        assertThat(document.getFirstOMChild()).isNull();
+        assertThatThrownBy(a::getParent).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(a::getFirstOMChild).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(a::getNextOMSibling).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(text::getText).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> root.getAttribute(new QName("attr"))).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(attr::getAttributeValue).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> a.setText("modified")).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -18,7 +18,24 @@
  */
 package org.apache.axiom.core;
 
+import java.lang.ref.WeakReference;
+import java.util.List;
+
 public final class Content {
     public CoreChildNode firstChild;
     public CoreChildNode lastChild;
+
+    /**
+     * The serialized form of the children in the original input document, or <code>null</code> if
+     * it is not known.
+     */
+    public SourceRange source;
+
+    /**
+     * The builders of lazy clones that are still reading the children of the node, or <code>null
+     * </code> if there are none. They must be completed before the node or one of its descendants
+     * is modified. The builders are weakly referenced so that the source node doesn't keep clones
+     * that are no longer used reachable; cleared references are purged lazily.
+     */
+    public List<WeakReference<Builder>> lazyClones;
 }
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core;
+
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+
+/**
+ * Generates the content of elements on behalf of the tree walker, e.g. to serialize it on other
+ * threads.
+ */
+public interface ContentSerializer {
+    /**
+     * Attempt to process the content of the given element. This method is called after {@link
+     * XmlHandler#attributesCompleted()} has been invoked for the element and only if its content
+     * hasn't been copied from the original input document.
+     *
+     * @param element the element
+     * @param handler the handler the events for the element are sent to
+     * @return {@code true} if the content has been processed (in which case the next event is the
+     *     end of the element), {@code false} if the tree walker needs to generate the events for
+     *     the children
+     * @throws CoreModelException if an error occurs when accessing the object model
+     * @throws StreamException if the handler throws an exception
+     */
+    boolean serializeContent(CoreElement element, XmlHandler handler) throws CoreModelException, StreamException;
+}
@@ -19,6 +19,8 @@
 package org.apache.axiom.core;
 
 import java.util.Iterator;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
 
 public interface CoreElement extends CoreChildNode, CoreMixedContentContainer, CoreNamedNode {
     /**
@@ -140,6 +142,28 @@ public interface CoreElement extends CoreChildNode, CoreMixedContentContainer, C
 
     void internalSetFirstAttribute(CoreAttribute firstAttribute);
 
+    /**
+     * Called by the builder when the element is complete and the builder keeps the original input
+     * document. This marks the element as {@link org.apache.axiom.core.impl.Flags#PRISTINE
+     * pristine}, unless it has been modified while it was being built.
+     *
+     * @param source the location of the content in the original input document, or <code>null
+     *     </code> if it is not known
+     */
+    void internalSetPristine(SourceRange source);
+
+    /**
+     * Serialize the content of the element by copying it from the original input document, if the
+     * element is pristine and the handler supports {@link XmlHandler#processRawContent(byte[], int,
+     * int, String, String[])}.
+     *
+     * @param handler the handler to send the content to
+     * @return <code>true</code> if the content has been serialized, <code>false</code> if the caller
+     *     needs to generate the events for the children
+     * @throws StreamException if the handler throws an exception
+     */
+    boolean internalSerializeSource(XmlHandler handler) throws StreamException;
+
     String getImplicitNamespaceURI(String prefix);
 
     String getImplicitPrefix(String namespaceURI);
@@ -71,6 +71,15 @@ public interface CoreNode {
 
     void internalSetFlags(int mask, int flags);
 
+    /**
+     * Record that this node has been modified, so that neither the node nor its ancestors are
+     * considered {@link org.apache.axiom.core.impl.Flags#PRISTINE pristine} anymore. This must be
+     * called by all methods that change the serialized form of a node, except when they are used by
+     * the builder. It must be called before the node is changed because it also completes lazy
+     * clones that still read from the node (see {@link org.apache.axiom.core.impl.LazyCloneInput}).
+     */
+    void internalMarkModified();
+
     <T> void initAncillaryData(ClonePolicy<T> policy, T options, CoreNode other);
 
     <T> CoreNode internalClone(ClonePolicy<T> policy, T options, CoreParentNode targetParent) throws CoreModelException;
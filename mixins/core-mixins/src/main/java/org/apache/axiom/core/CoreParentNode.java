@@ -91,6 +91,19 @@ public interface CoreParentNode extends CoreNode {
 
     XmlReader coreGetReader(XmlHandler handler, boolean cache, boolean incremental);
 
+    /**
+     * Serialize this node, delegating the generation of element content to the given {@link
+     * ContentSerializer} where it accepts to do so.
+     *
+     * @param handler the handler to send the events to
+     * @param cache whether the tree should be built while it is serialized
+     * @param contentSerializer the content serializer
+     * @throws CoreModelException if an error occurs when accessing the object model
+     * @throws StreamException if the handler throws an exception
+     */
+    void internalSerialize(XmlHandler handler, boolean cache, ContentSerializer contentSerializer)
+            throws CoreModelException, StreamException;
+
     <T extends CoreNode, S> NodeIterator<S> coreGetNodes(
             Axis axis, Class<T> type, Mapper<S, ? super T> mapper, Semantics semantics);
 
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core;
+
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.util.Recording;
+
+/**
+ * Identifies the content of an element (i.e. the part between the start tag and the end tag) in the
+ * UTF-8 encoded document the element was built from.
+ */
+public final class SourceRange {
+    private final Recording recording;
+    private final int start;
+    private final int end;
+    private final String[] namespaceContext;
+
+    /**
+     * Constructor.
+     *
+     * @param recording the recording of the original input document
+     * @param start the offset of the first byte of the content
+     * @param end the offset of the first byte of the end tag
+     * @param namespaceContext the namespace bindings in scope for the content, in the format
+     *     expected by {@link XmlHandler#processRawContent(byte[], int, int, String, String[])}
+     */
+    public SourceRange(Recording recording, int start, int end, String[] namespaceContext) {
+        this.recording = recording;
+        this.start = start;
+        this.end = end;
+        this.namespaceContext = namespaceContext;
+    }
+
+    /**
+     * Pass the content to the given handler.
+     *
+     * @param handler the handler
+     * @return the return value of {@link XmlHandler#processRawContent(byte[], int, int, String,
+     *     String[])}
+     * @throws StreamException if the handler throws an exception
+     */
+    public boolean writeTo(XmlHandler handler) throws StreamException {
+        return handler.processRawContent(recording.getBytes(), start, end - start, "UTF-8", namespaceContext);
+    }
+}
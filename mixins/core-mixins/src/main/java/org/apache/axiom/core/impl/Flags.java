@@ -20,6 +20,8 @@ package org.apache.axiom.core.impl;
 
 import org.apache.axiom.core.CoreCharacterDataNode;
 import org.apache.axiom.core.CoreChildNode;
+import org.apache.axiom.core.CoreDocument;
+import org.apache.axiom.core.CoreElement;
 import org.apache.axiom.core.CoreParentNode;
 
 public final class Flags {
@@ -44,4 +46,23 @@ public final class Flags {
      * Used to store the information returned by {@link CoreCharacterDataNode#coreIsIgnorable()}.
      */
     public static final int IGNORABLE = 32;
+
+    /**
+     * Used by {@link CoreElement} instances created by a builder that keeps the original input
+     * document, to indicate that neither the element nor its descendants have been modified since
+     * they were built.
+     */
+    public static final int PRISTINE = 64;
+
+    /**
+     * Used by {@link CoreElement} instances to indicate that a descendant has been modified while
+     * the element was still being built, so that the element never becomes {@link #PRISTINE}.
+     */
+    public static final int MODIFIED = 128;
+
+    /**
+     * Used to mark nodes that have been released by {@link NodePool#release(CoreDocument)} when
+     * detection of the use of released nodes is enabled.
+     */
+    public static final int RELEASED = 256;
 }
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.impl;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.axiom.core.Builder;
+import org.apache.axiom.core.Content;
+import org.apache.axiom.core.CoreAttribute;
+import org.apache.axiom.core.CoreChildNode;
+import org.apache.axiom.core.CoreNode;
+import org.apache.axiom.core.CoreParentNode;
+import org.apache.axiom.core.DeferredBuildingException;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.XmlInput;
+import org.apache.axiom.core.stream.XmlReader;
+
+/**
+ * {@link XmlInput} that reads a subtree of the object model to build a lazy clone of it. The clone
+ * is built on demand from the original nodes, which remain shared until they are modified. Before a
+ * modification of the source node or one of its descendants, {@link CoreNode#internalMarkModified()}
+ * completes all lazy clones of the source, so that clones never observe changes made to the
+ * original.
+ *
+ * <p>The source node must be complete when the clone is created, so that reading it never
+ * interferes with the builder of the original tree.
+ */
+public final class LazyCloneInput implements XmlInput {
+    /**
+     * The number of lazy clones that are not complete yet. As long as this is zero, modifications
+     * don't need to look for sources of lazy clones among the ancestors of the modified node.
+     */
+    private static final AtomicInteger pendingCount = new AtomicInteger();
+
+    private static final class CleanerHolder {
+        static final Cleaner CLEANER = Cleaner.create();
+    }
+
+    /**
+     * Keeps track of whether a lazy clone is counted in {@link #pendingCount}. Lazy clones that are
+     * never completed are released when the clone becomes unreachable. This works because the
+     * source only keeps a weak reference to the builder of the clone.
+     */
+    private static final class Registration implements Runnable {
+        private final AtomicBoolean active = new AtomicBoolean(true);
+
+        Registration() {
+            pendingCount.incrementAndGet();
+        }
+
+        @Override
+        public void run() {
+            if (active.compareAndSet(true, false)) {
+                pendingCount.decrementAndGet();
+            }
+        }
+    }
+
+    private final CoreParentNode source;
+    private Builder builder;
+    private Registration registration;
+
+    public LazyCloneInput(CoreParentNode source) {
+        if (source.getState() != CoreParentNode.COMPLETE) {
+            throw new IllegalArgumentException("The source node must be complete");
+        }
+        this.source = source;
+    }
+
+    @Override
+    public XmlReader createReader(XmlHandler handler) {
+        XmlReader walker = source.coreGetReader(handler, true, false);
+        return new XmlReader() {
+            @Override
+            public boolean proceed() throws StreamException {
+                if (walker.proceed()) {
+                    unregister();
+                    return true;
+                } else {
+                    return false;
+                }
+            }
+
+            @Override
+            public void dispose() {
+                unregister();
+                walker.dispose();
+            }
+        };
+    }
+
+    /**
+     * Get the number of lazy clones that are not complete yet and that are still reachable (or
+     * that have become unreachable but have not been processed by the garbage collector yet).
+     *
+     * @return the number of pending lazy clones
+     */
+    public static int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Register the builder of the lazy clone with the source node. This must be called once the
+     * builder has been created.
+     *
+     * @param builder the builder that reads from this input
+     */
+    public void register(Builder builder) {
+        this.builder = builder;
+        Content content = source.internalGetContent(true);
+        if (content.lazyClones == null) {
+            content.lazyClones = new ArrayList<>(2);
+        } else {
+            remove(content, null);
+        }
+        content.lazyClones.add(new WeakReference<>(builder));
+        registration = new Registration();
+        CleanerHolder.CLEANER.register(this, registration);
+    }
+
+    /**
+     * Remove the given builder, as well as all cleared references, from the lazy clones registered
+     * in the given content.
+     *
+     * @param content the content of the source node
+     * @param builder the builder to remove, or {@code null} to only remove cleared references
+     */
+    private static void remove(Content content, Builder builder) {
+        List<WeakReference<Builder>> lazyClones = content.lazyClones;
+        lazyClones.removeIf(ref -> {
+            Builder b = ref.get();
+            return b == null || b == builder;
+        });
+        if (lazyClones.isEmpty()) {
+            content.lazyClones = null;
+        }
+    }
+
+    /**
+     * Get the references to the builders of the lazy clones registered with the given source node.
+     * This allows tests to simulate the garbage collection of a clone by clearing a reference.
+     *
+     * @param source the source node
+     * @return the references, in registration order
+     */
+    static List<WeakReference<Builder>> getLazyClones(CoreParentNode source) {
+        if (source.internalGetContent() instanceof Content content && content.lazyClones != null) {
+            return content.lazyClones;
+        } else {
+            return List.of();
+        }
+    }
+
+    private static boolean contains(List<WeakReference<Builder>> lazyClones, Builder builder) {
+        for (WeakReference<Builder> ref : lazyClones) {
+            if (ref.get() == builder) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void unregister() {
+        if (builder == null) {
+            return;
+        }
+        if (source.internalGetContent() instanceof Content content && content.lazyClones != null) {
+            remove(content, builder);
+        }
+        builder = null;
+        registration.run();
+    }
+
+    /**
+     * Complete all lazy clones of the given node and its ancestors. This must be called before the
+     * node is modified.
+     *
+     * @param node the node about to be modified
+     */
+    public static void completeLazyClones(CoreNode node) {
+        if (pendingCount.get() == 0) {
+            return;
+        }
+        while (node != null) {
+            if (node instanceof CoreParentNode parent
+                    && parent.internalGetContent() instanceof Content content) {
+                List<WeakReference<Builder>> lazyClones;
+                while ((lazyClones = content.lazyClones) != null) {
+                    Builder builder = lazyClones.get(0).get();
+                    if (builder == null) {
+                        // The clone has been garbage collected
+                        remove(content, null);
+                        continue;
+                    }
+                    try {
+                        while (!builder.isCompleted()) {
+                            builder.next();
+                        }
+                    } catch (DeferredBuildingException ex) {
+                        throw new IllegalStateException("Failed to complete lazy clone", ex);
+                    } finally {
+                        // Normally the builder has already been unregistered by the reader; this
+                        // ensures that we don't loop forever if completion failed.
+                        if (content.lazyClones != null && contains(content.lazyClones, builder)) {
+                            builder.close();
+                        }
+                    }
+                }
+            }
+            if (node instanceof CoreAttribute attribute) {
+                node = attribute.coreGetOwnerElement();
+            } else if (node instanceof CoreChildNode child) {
+                node = child.coreGetParent();
+            } else {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.impl;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.axiom.core.Builder;
+import org.apache.axiom.core.Content;
+import org.apache.axiom.core.CoreAttribute;
+import org.apache.axiom.core.CoreChildNode;
+import org.apache.axiom.core.CoreDocument;
+import org.apache.axiom.core.CoreElement;
+import org.apache.axiom.core.CoreNode;
+import org.apache.axiom.core.CoreParentNode;
+import org.apache.axiom.core.NodeFactory;
+import org.apache.axiom.core.NodeType;
+
+/**
+ * Free lists of node instances that have been released and that may be reused by builders. There
+ * is one pool per thread and node factory, with a free list per node type; the pool only keeps
+ * nodes of the classes created by the node factory for each node type, so that model specific
+ * nodes (e.g. SOAP elements) are never handed out in place of plain nodes.
+ *
+ * <p>Nodes are only added to the pools by {@link #release(CoreDocument)}, which is opt-in, and pools
+ * are only created by that method; builders merely look up the pool of the current thread. A pool
+ * references its node factory and a bounded number of nodes per node type, so threads
+ * that are returned to a pool they don't own should call {@link #clear(NodeFactory)} first.
+ * Released nodes are reset to the state of a newly created instance of their class. If the {@value
+ * #DEBUG_PROPERTY} system property is set to {@code true}, released nodes are never reused;
+ * instead they are marked as released, and navigating from them, reading their value or modifying
+ * them triggers an {@link IllegalStateException}.
+ */
+public final class NodePool {
+    /** The name of the system property that enables detection of the use of released nodes. */
+    public static final String DEBUG_PROPERTY = "org.apache.axiom.core.NodePool.debug";
+
+    private static final boolean DEBUG = Boolean.getBoolean(DEBUG_PROPERTY);
+
+    /** The maximum number of nodes kept in each free list. */
+    private static final int MAX_FREE_NODES = 4096;
+
+    private static final NodeType[] NODE_TYPES = NodeType.values();
+
+    private static final ThreadLocal<Map<NodeFactory, NodePool>> pools = new ThreadLocal<>();
+
+    private static final ClassValue<Resetter> resetters = new ClassValue<>() {
+        @Override
+        protected Resetter computeValue(Class<?> type) {
+            return Resetter.create(type);
+        }
+    };
+
+    /**
+     * Restores the fields of a node to the values they have in a newly created instance. Classes
+     * with final instance fields can't be reset and are never recycled.
+     */
+    private static final class Resetter {
+        private final Field[] fields;
+        private final Object[] defaultValues;
+
+        private Resetter(Field[] fields, Object[] defaultValues) {
+            this.fields = fields;
+            this.defaultValues = defaultValues;
+        }
+
+        static Resetter create(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> clazz = type; clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers)) {
+                        continue;
+                    }
+                    if (Modifier.isFinal(modifiers)) {
+                        return null;
+                    }
+                    fields.add(field);
+                }
+            }
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                Object prototype = constructor.newInstance();
+                Object[] defaultValues = new Object[fields.size()];
+                for (int i = 0; i < defaultValues.length; i++) {
+                    Field field = fields.get(i);
+                    field.setAccessible(true);
+                    defaultValues[i] = field.get(prototype);
+                }
+                return new Resetter(fields.toArray(new Field[0]), defaultValues);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                return null;
+            }
+        }
+
+        boolean reset(Object node) {
+            try {
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i].set(node, defaultValues[i]);
+                }
+                return true;
+            } catch (IllegalAccessException ex) {
+                return false;
+            }
+        }
+    }
+
+    private final NodeFactory nodeFactory;
+    private final Class<?>[] nodeClasses = new Class<?>[NODE_TYPES.length];
+
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<CoreNode>[] freeLists = new ArrayDeque[NODE_TYPES.length];
+
+    private NodePool(NodeFactory nodeFactory) {
+        this.nodeFactory = nodeFactory;
+    }
+
+    /**
+     * Get the pool for the given node factory and the current thread, if one exists. This method
+     * never creates a pool.
+     *
+     * @param nodeFactory the node factory
+     * @return the pool, or {@code null} if no document created by the node factory has been
+     *     released on the current thread (since the last call to {@link #clear(NodeFactory)})
+     */
+    public static NodePool find(NodeFactory nodeFactory) {
+        Map<NodeFactory, NodePool> pools = NodePool.pools.get();
+        return pools == null ? null : pools.get(nodeFactory);
+    }
+
+    /**
+     * Discard the pool for the given node factory and the current thread, so that the released
+     * nodes and the node factory are no longer referenced by the thread.
+     *
+     * @param nodeFactory the node factory
+     */
+    public static void clear(NodeFactory nodeFactory) {
+        Map<NodeFactory, NodePool> pools = NodePool.pools.get();
+        if (pools != null) {
+            pools.remove(nodeFactory);
+            if (pools.isEmpty()) {
+                NodePool.pools.remove();
+            }
+        }
+    }
+
+    /**
+     * Create a node of the given type, reusing a released node if one is available. This method
+     * must only be called by the thread that owns the pool, i.e. the thread that looked it up.
+     *
+     * @param type the node type
+     * @param iface the interface of the node
+     * @return the node
+     */
+    public <T extends CoreNode> T create(NodeType type, Class<T> iface) {
+        int index = type.ordinal();
+        ArrayDeque<CoreNode> freeList = freeLists[index];
+        if (freeList != null) {
+            CoreNode node = freeList.pollLast();
+            if (node != null) {
+                return iface.cast(node);
+            }
+        }
+        CoreNode node = type.newInstance(nodeFactory);
+        nodeClasses[index] = node.getClass();
+        return iface.cast(node);
+    }
+
+    private void recycle(CoreNode node) {
+        int index = node.coreGetNodeType().ordinal();
+        Class<?> nodeClass = node.getClass();
+        if (nodeClasses[index] == null) {
+            nodeClasses[index] = NODE_TYPES[index].newInstance(nodeFactory).getClass();
+        }
+        if (nodeClasses[index] != nodeClass) {
+            return;
+        }
+        ArrayDeque<CoreNode> freeList = freeLists[index];
+        if (freeList == null) {
+            freeList = new ArrayDeque<>();
+            freeLists[index] = freeList;
+        } else if (freeList.size() >= MAX_FREE_NODES) {
+            return;
+        }
+        Resetter resetter = resetters.get(nodeClass);
+        if (resetter != null && resetter.reset(node)) {
+            freeList.addLast(node);
+        }
+    }
+
+    /**
+     * Release the descendants of a document. Builders that are still attached to the tree are
+     * closed and lazy clones of nodes in the tree are completed. Afterwards, the document is empty
+     * (and may be used again), and the nodes that belonged to it may be reused by builders created
+     * afterwards on the current thread. The caller must ensure that no node that belonged to the document is
+     * used after this method returns. In debug mode, the document is emptied in the same way, but
+     * the nodes are marked as released instead of being reused.
+     *
+     * @param document the document to release
+     */
+    public static void release(CoreDocument document) {
+        // Collect all nodes first; they can only be reset once nothing reads from the tree anymore.
+        List<CoreNode> nodes = new ArrayList<>();
+        ArrayDeque<CoreNode> stack = new ArrayDeque<>();
+        stack.push(document);
+        CoreNode node;
+        while ((node = stack.poll()) != null) {
+            nodes.add(node);
+            if (node instanceof CoreElement element) {
+                for (CoreAttribute attr = element.coreGetFirstAttribute();
+                        attr != null;
+                        attr = attr.coreGetNextAttribute()) {
+                    stack.push(attr);
+                }
+            }
+            if (node instanceof CoreParentNode parent) {
+                LazyCloneInput.completeLazyClones(parent);
+                if (parent.coreGetInputContext() != null) {
+                    Builder builder = parent.coreGetBuilder();
+                    builder.close();
+                }
+                if (parent.internalGetContent() instanceof Content content) {
+                    for (CoreChildNode child = content.firstChild;
+                            child != null;
+                            child = child.coreGetNextSiblingIfAvailable()) {
+                        stack.push(child);
+                    }
+                }
+            }
+        }
+        document.internalSetContent(null);
+        if (document.coreGetInputContext() != null) {
+            document.coreSetInputContext(null);
+        }
+        document.coreSetState(CoreParentNode.COMPLETE);
+        // The document itself (at index 0) remains usable and is never recycled
+        if (DEBUG) {
+            for (int i = 1; i < nodes.size(); i++) {
+                nodes.get(i).internalSetFlag(Flags.RELEASED, true);
+            }
+            return;
+        }
+        Map<NodeFactory, NodePool> pools = NodePool.pools.get();
+        if (pools == null) {
+            pools = new IdentityHashMap<>();
+            NodePool.pools.set(pools);
+        }
+        for (int i = 1; i < nodes.size(); i++) {
+            node = nodes.get(i);
+            pools.computeIfAbsent(node.coreGetNodeFactory(), NodePool::new).recycle(node);
+        }
+    }
+
+    /**
+     * Check that a node has not been released. This is a no-op unless the {@value
+     * #DEBUG_PROPERTY} system property is set. The check is performed by the methods that navigate
+     * from a node (parent, children, siblings and attributes), that return its value, and that
+     * modify it.
+     *
+     * @param node the node
+     * @throws IllegalStateException if the node has been released
+     */
+    public static void checkNotReleased(CoreNode node) {
+        if (DEBUG && node.internalGetFlag(Flags.RELEASED)) {
+            throw new IllegalStateException("The node has been released");
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.apache.axiom.core.impl;
 
 import org.apache.axiom.checker.union.Union;
+import org.apache.axiom.core.ContentSerializer;
 import org.apache.axiom.core.CoreAttribute;
 import org.apache.axiom.core.CoreChildNode;
 import org.apache.axiom.core.CoreDocument;
@@ -79,7 +80,8 @@ public final class TreeWalkerImpl implements XmlReader {
 
     /**
      * Indicates that the current node is a compact parent node and that the event for its content
-     * has been generated.
+     * has been generated, or that the current node is an element the content of which has been
+     * copied from the original input document.
      */
     private static final int STATE_CONTENT_VISITED = 9;
 
@@ -87,6 +89,7 @@ public final class TreeWalkerImpl implements XmlReader {
     private final CoreParentNode root;
     private final boolean preserve;
     private final boolean incremental;
+    private final ContentSerializer contentSerializer;
     private CoreNode node;
 
     /**
@@ -98,10 +101,20 @@ public final class TreeWalkerImpl implements XmlReader {
     private int state = STATE_NONE;
 
     public TreeWalkerImpl(XmlHandler handler, CoreParentNode root, boolean preserve, boolean incremental) {
+        this(handler, root, preserve, incremental, null);
+    }
+
+    public TreeWalkerImpl(
+            XmlHandler handler,
+            CoreParentNode root,
+            boolean preserve,
+            boolean incremental,
+            ContentSerializer contentSerializer) {
         this.handler = handler;
         this.root = root;
         this.preserve = preserve;
         this.incremental = incremental;
+        this.contentSerializer = contentSerializer;
     }
 
     @Override
@@ -238,7 +251,16 @@ public final class TreeWalkerImpl implements XmlReader {
                 case STATE_LEAF -> ((CoreLeafNode) nextNode).internalSerialize(handler, preserve);
                 case STATE_ATTRIBUTE -> ((CoreAttribute) nextNode).internalSerialize(handler, preserve);
                 case STATE_NOT_VISITED -> ((CoreParentNode) nextNode).serializeStartEvent(handler);
-                case STATE_ATTRIBUTES_VISITED -> handler.attributesCompleted();
+                case STATE_ATTRIBUTES_VISITED -> {
+                    handler.attributesCompleted();
+                    CoreElement element = (CoreElement) nextNode;
+                    if (element.internalSerializeSource(handler)
+                            || (contentSerializer != null && contentSerializer.serializeContent(element, handler))) {
+                        // The content has been copied from the original input document or
+                        // generated by the content serializer; skip directly to the end event
+                        state = STATE_CONTENT_VISITED;
+                    }
+                }
                 case STATE_VISITED -> {
                     if (nextNode == null) {
                         handler.completed();
@@ -37,9 +37,11 @@ import org.apache.axiom.core.CoreNamespaceDeclaration;
 import org.apache.axiom.core.CoreParentNode;
 import org.apache.axiom.core.CoreProcessingInstruction;
 import org.apache.axiom.core.InputContext;
+import org.apache.axiom.core.NodeType;
 import org.apache.axiom.core.stream.CharacterData;
 import org.apache.axiom.core.stream.NullXmlHandler;
 import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.UTF8CharacterData;
 import org.apache.axiom.core.stream.XmlHandler;
 
 final class BuildableContext extends Context implements InputContext {
@@ -77,6 +79,8 @@ final class BuildableContext extends Context implements InputContext {
         if (this.passThroughHandler != null) {
             throw new IllegalStateException("A pass-through handler has already been set for this context");
         }
+        // The content will not be available; this must be done before the state changes
+        target.internalMarkModified();
         target.coreSetState(CoreParentNode.DISCARDING);
         this.passThroughHandler = passThroughHandler;
         if (passThroughHandler == NullXmlHandler.INSTANCE) {
@@ -91,6 +95,7 @@ final class BuildableContext extends Context implements InputContext {
 
     @Override
     public void discard() {
+        target.internalMarkModified();
         target.coreSetState(CoreParentNode.DISCARDING);
         passThroughHandler = NullXmlHandler.INSTANCE;
         builderHandler.decrementActiveContextCount();
@@ -99,13 +104,17 @@ final class BuildableContext extends Context implements InputContext {
     private Context endContext() throws StreamException {
         target.coreSetInputContext(null);
         if (pendingCharacterData != null) {
-            try {
-                target.coreSetCharacterData(pendingCharacterData, null);
-            } catch (CoreModelException ex) {
-                throw new CoreModelStreamException(ex);
+            // The target has no children; don't use coreSetCharacterData because that would be
+            // considered as a modification of the tree
+            if (pendingCharacterData instanceof CharacterData || ((String) pendingCharacterData).length() > 0) {
+                target.internalSetContent(pendingCharacterData);
+                target.coreSetState(CoreParentNode.COMPACT);
             }
             pendingCharacterData = null;
         }
+        if (target instanceof CoreElement element) {
+            builderHandler.elementCompleted(element);
+        }
         target = null;
         builderHandler.decrementActiveContextCount();
         return parentContext;
@@ -128,7 +137,8 @@ final class BuildableContext extends Context implements InputContext {
 
     private void addChild(CoreChildNode node) {
         if (pendingCharacterData != null) {
-            CoreCharacterDataNode cdataNode = builderHandler.nodeFactory.createCharacterDataNode();
+            CoreCharacterDataNode cdataNode =
+                    builderHandler.createNode(NodeType.CHARACTER_DATA, CoreCharacterDataNode.class);
             cdataNode.coreSetCharacterData(pendingCharacterData);
             target.internalAppendChildWithoutBuild(cdataNode);
             pendingCharacterData = null;
@@ -165,7 +175,8 @@ final class BuildableContext extends Context implements InputContext {
         if (passThroughHandler != null) {
             passThroughHandler.processDocumentTypeDeclaration(rootName, publicId, systemId, internalSubset);
         } else {
-            CoreDocumentTypeDeclaration node = builderHandler.nodeFactory.createDocumentTypeDeclaration();
+            CoreDocumentTypeDeclaration node =
+                    builderHandler.createNode(NodeType.DOCUMENT_TYPE_DECLARATION, CoreDocumentTypeDeclaration.class);
             node.coreSetRootName(rootName);
             node.coreSetPublicId(publicId);
             node.coreSetSystemId(systemId);
@@ -183,7 +194,7 @@ final class BuildableContext extends Context implements InputContext {
         } else {
             CoreNSAwareElement element = builderHandler.model.createElement(target, depth + 1, namespaceURI, localName);
             if (element == null) {
-                element = builderHandler.nodeFactory.createNSAwareElement();
+                element = builderHandler.createNode(NodeType.NS_AWARE_ELEMENT, CoreNSAwareElement.class);
             }
             element.coreSetState(CoreParentNode.ATTRIBUTES_PENDING);
             element.initName(namespaceURI, localName, prefix, builderHandler.namespaceHelper);
@@ -202,6 +213,10 @@ final class BuildableContext extends Context implements InputContext {
         }
     }
 
+    private @Union(types = {String.class, CharacterData.class}) Object toAttributeValue(String value) {
+        return builderHandler.compactCharacterData ? UTF8CharacterData.create(value) : value;
+    }
+
     @Override
     void processAttribute(
             String namespaceURI, String localName, String prefix, String value, String type, boolean specified)
@@ -209,10 +224,11 @@ final class BuildableContext extends Context implements InputContext {
         if (passThroughHandler != null) {
             passThroughHandler.processAttribute(namespaceURI, localName, prefix, value, type, specified);
         } else {
-            CoreNSAwareAttribute attr = builderHandler.nodeFactory.createNSAwareAttribute();
+            CoreNSAwareAttribute attr =
+                    builderHandler.createNode(NodeType.NS_AWARE_ATTRIBUTE, CoreNSAwareAttribute.class);
             attr.initName(namespaceURI, localName, prefix, builderHandler.namespaceHelper);
             try {
-                attr.coreSetCharacterData(value, null);
+                attr.coreSetCharacterData(toAttributeValue(value), null);
             } catch (CoreModelException ex) {
                 throw new CoreModelStreamException(ex);
             }
@@ -227,10 +243,11 @@ final class BuildableContext extends Context implements InputContext {
         if (passThroughHandler != null) {
             passThroughHandler.processAttribute(name, value, type, specified);
         } else {
-            CoreNSUnawareAttribute attr = builderHandler.nodeFactory.createNSUnawareAttribute();
+            CoreNSUnawareAttribute attr =
+                    builderHandler.createNode(NodeType.NS_UNAWARE_ATTRIBUTE, CoreNSUnawareAttribute.class);
             attr.coreSetName(name);
             try {
-                attr.coreSetCharacterData(value, null);
+                attr.coreSetCharacterData(toAttributeValue(value), null);
             } catch (CoreModelException ex) {
                 throw new CoreModelStreamException(ex);
             }
@@ -245,7 +262,8 @@ final class BuildableContext extends Context implements InputContext {
         if (passThroughHandler != null) {
             passThroughHandler.processNamespaceDeclaration(prefix, namespaceURI);
         } else {
-            CoreNamespaceDeclaration decl = builderHandler.nodeFactory.createNamespaceDeclaration();
+            CoreNamespaceDeclaration decl =
+                    builderHandler.createNode(NodeType.NAMESPACE_DECLARATION, CoreNamespaceDeclaration.class);
             decl.init(prefix, namespaceURI, builderHandler.namespaceHelper);
             ((CoreElement) target).coreAppendAttribute(decl);
         }
@@ -265,10 +283,16 @@ final class BuildableContext extends Context implements InputContext {
             throws StreamException {
         if (passThroughHandler != null) {
             passThroughHandler.processCharacterData(data, ignorable);
-        } else if (!ignorable && pendingCharacterData == null && target.coreGetFirstChildIfAvailable() == null) {
+            return;
+        }
+        if (builderHandler.compactCharacterData && data instanceof String s) {
+            data = UTF8CharacterData.create(s);
+        }
+        if (!ignorable && pendingCharacterData == null && target.coreGetFirstChildIfAvailable() == null) {
             pendingCharacterData = data instanceof CharacterData cd ? cd.retain() : data;
         } else {
-            CoreCharacterDataNode node = builderHandler.nodeFactory.createCharacterDataNode();
+            CoreCharacterDataNode node =
+                    builderHandler.createNode(NodeType.CHARACTER_DATA, CoreCharacterDataNode.class);
             node.coreSetCharacterData(data instanceof CharacterData cd ? cd.retain() : data);
             node.coreSetIgnorable(ignorable);
             addChild(node);
@@ -282,7 +306,8 @@ final class BuildableContext extends Context implements InputContext {
             passThroughHandler.startProcessingInstruction(piTarget);
             return this;
         } else {
-            CoreProcessingInstruction node = builderHandler.nodeFactory.createProcessingInstruction();
+            CoreProcessingInstruction node =
+                    builderHandler.createNode(NodeType.PROCESSING_INSTRUCTION, CoreProcessingInstruction.class);
             node.coreSetTarget(piTarget);
             addChild(node);
             return newContext(node);
@@ -306,7 +331,7 @@ final class BuildableContext extends Context implements InputContext {
             passThroughHandler.startComment();
             return this;
         } else {
-            CoreComment node = builderHandler.nodeFactory.createComment();
+            CoreComment node = builderHandler.createNode(NodeType.COMMENT, CoreComment.class);
             addChild(node);
             return newContext(node);
         }
@@ -329,7 +354,7 @@ final class BuildableContext extends Context implements InputContext {
             passThroughHandler.startCDATASection();
             return this;
         } else {
-            CoreCDATASection node = builderHandler.nodeFactory.createCDATASection();
+            CoreCDATASection node = builderHandler.createNode(NodeType.CDATA_SECTION, CoreCDATASection.class);
             addChild(node);
             return newContext(node);
         }
@@ -350,7 +375,7 @@ final class BuildableContext extends Context implements InputContext {
         if (passThroughHandler != null) {
             passThroughHandler.processEntityReference(name, replacementText);
         } else {
-            CoreEntityReference node = builderHandler.nodeFactory.createEntityReference();
+            CoreEntityReference node = builderHandler.createNode(NodeType.ENTITY_REFERENCE, CoreEntityReference.class);
             node.coreSetName(name);
             node.coreSetReplacementText(replacementText);
             addChild(node);
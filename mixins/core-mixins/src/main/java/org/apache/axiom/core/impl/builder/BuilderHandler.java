@@ -24,19 +24,32 @@ import java.util.Queue;
 import org.apache.axiom.checker.union.Union;
 import org.apache.axiom.core.Builder;
 import org.apache.axiom.core.CoreDocument;
+import org.apache.axiom.core.CoreElement;
 import org.apache.axiom.core.CoreNSAwareElement;
 import org.apache.axiom.core.CoreNode;
 import org.apache.axiom.core.DeferredParsingException;
 import org.apache.axiom.core.NodeFactory;
+import org.apache.axiom.core.NodeType;
+import org.apache.axiom.core.SourceRange;
+import org.apache.axiom.core.impl.NodePool;
 import org.apache.axiom.core.stream.CharacterData;
 import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.UTF8CharacterData;
 import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.util.Recording;
 
 final class BuilderHandler implements XmlHandler {
     final NodeFactory nodeFactory;
     final Model model;
     final Builder builder;
     final Object namespaceHelper;
+    /**
+     * The node pool for {@link #nodePoolThread}, or <code>null</code> if no document has been
+     * released on that thread.
+     */
+    private NodePool nodePool;
+
+    private Thread nodePoolThread;
     private final Context rootContext;
     private Context context;
     private int activeContextCount;
@@ -54,16 +67,54 @@ final class BuilderHandler implements XmlHandler {
     private ArrayList<BuilderListener> listeners;
     private Queue<DeferredAction> deferredActions;
 
-    BuilderHandler(NodeFactory nodeFactory, Model model, CoreNSAwareElement root, Builder builder) {
+    /**
+     * Locates element content in the original input document, or <code>null</code> if the input
+     * document is not recorded.
+     */
+    private final SourceTracker sourceTracker;
+
+    /**
+     * The location of the content of the element for which an end element event is being
+     * processed.
+     */
+    private SourceRange pendingSourceRange;
+
+    /**
+     * Indicates whether character data and attribute values received as {@link String} objects
+     * should be stored as {@link UTF8CharacterData}.
+     */
+    boolean compactCharacterData;
+
+    BuilderHandler(
+            NodeFactory nodeFactory, Model model, CoreNSAwareElement root, Builder builder, Recording recording) {
         this.nodeFactory = nodeFactory;
         this.model = model;
         this.builder = builder;
+        sourceTracker = recording == null ? null : new SourceTracker(recording);
         namespaceHelper = nodeFactory.createNamespaceHelper();
         rootContext = root == null ? new BuildableContext(this, null, 0) : new UnwrappingContext(this, root);
         context = rootContext;
         activeContextCount = 1;
     }
 
+    /**
+     * Create a node of the given type, reusing a released node if possible.
+     *
+     * @param type the node type
+     * @param iface the interface of the node
+     * @return the node
+     */
+    <T extends CoreNode> T createNode(NodeType type, Class<T> iface) {
+        Thread thread = Thread.currentThread();
+        if (thread != nodePoolThread) {
+            // The builder may be used by different threads over its lifetime. Only look up the
+            // pool; pools are created when a document is released.
+            nodePool = NodePool.find(nodeFactory);
+            nodePoolThread = thread;
+        }
+        return nodePool == null ? iface.cast(type.newInstance(nodeFactory)) : nodePool.create(type, iface);
+    }
+
     void addListener(BuilderListener listener) {
         if (listeners == null) {
             listeners = new ArrayList<>();
@@ -115,6 +166,17 @@ final class BuilderHandler implements XmlHandler {
         }
     }
 
+    /**
+     * Notify the handler that an element has been completely built.
+     *
+     * @param element the element
+     */
+    void elementCompleted(CoreElement element) {
+        if (sourceTracker != null && sourceTracker.isEnabled()) {
+            element.internalSetPristine(pendingSourceRange);
+        }
+    }
+
     boolean isCompleted() {
         return done;
     }
@@ -129,6 +191,9 @@ final class BuilderHandler implements XmlHandler {
 
     @Override
     public void startDocument(String inputEncoding, String xmlVersion, String xmlEncoding, Boolean standalone) {
+        if (sourceTracker != null) {
+            sourceTracker.startDocument(inputEncoding, xmlVersion);
+        }
         context.startDocument(inputEncoding, xmlVersion, xmlEncoding, standalone);
     }
 
@@ -140,18 +205,29 @@ final class BuilderHandler implements XmlHandler {
     @Override
     public void processDocumentTypeDeclaration(String rootName, String publicId, String systemId, String internalSubset)
             throws StreamException {
+        if (sourceTracker != null) {
+            // The internal subset may declare entities and default attributes
+            sourceTracker.disable();
+        }
         context.processDocumentTypeDeclaration(rootName, publicId, systemId, internalSubset);
     }
 
     @Override
     public void startElement(String namespaceURI, String localName, String prefix) throws StreamException {
         depth++;
+        if (sourceTracker != null) {
+            sourceTracker.startElement(prefix, localName);
+        }
         context = context.startElement(namespaceURI, localName, prefix);
     }
 
     @Override
     public void endElement() throws StreamException {
+        if (sourceTracker != null) {
+            pendingSourceRange = sourceTracker.endElement();
+        }
         context = context.endElement();
+        pendingSourceRange = null;
         depth--;
     }
 
@@ -169,11 +245,17 @@ final class BuilderHandler implements XmlHandler {
 
     @Override
     public void processNamespaceDeclaration(String prefix, String namespaceURI) throws StreamException {
+        if (sourceTracker != null) {
+            sourceTracker.processNamespaceDeclaration(prefix, namespaceURI);
+        }
         context.processNamespaceDeclaration(prefix, namespaceURI);
     }
 
     @Override
     public void attributesCompleted() throws StreamException {
+        if (sourceTracker != null) {
+            sourceTracker.attributesCompleted();
+        }
         context.attributesCompleted();
     }
 
@@ -215,6 +297,9 @@ final class BuilderHandler implements XmlHandler {
 
     @Override
     public void processEntityReference(String name, String replacementText) throws StreamException {
+        if (sourceTracker != null) {
+            sourceTracker.disable();
+        }
         context.processEntityReference(name, replacementText);
     }
 
@@ -226,6 +311,11 @@ final class BuilderHandler implements XmlHandler {
         context.completed();
         context = null;
         done = true;
+        if (listeners != null) {
+            for (int i = 0, size = listeners.size(); i < size; i++) {
+                listeners.get(i).completed();
+            }
+        }
     }
 
     @Override
@@ -24,8 +24,10 @@ import org.apache.axiom.core.CoreNSAwareElement;
 import org.apache.axiom.core.DeferredParsingException;
 import org.apache.axiom.core.NodeFactory;
 import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.UTF8CharacterData;
 import org.apache.axiom.core.stream.XmlInput;
 import org.apache.axiom.core.stream.XmlReader;
+import org.apache.axiom.core.stream.util.Recording;
 
 public final class BuilderImpl implements Builder {
     private final XmlReader reader;
@@ -33,7 +35,23 @@ public final class BuilderImpl implements Builder {
     private Object facade;
 
     public BuilderImpl(XmlInput input, NodeFactory nodeFactory, Model model, CoreNSAwareElement root) {
-        builderHandler = new BuilderHandler(nodeFactory, model, root, this);
+        this(input, nodeFactory, model, root, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param input the input
+     * @param nodeFactory the node factory
+     * @param model the model
+     * @param root the root element to unwrap, or <code>null</code> to build a document
+     * @param recording the recording of the (UTF-8 encoded) byte stream from which {@code input}
+     *     reads, or <code>null</code>; if specified, the content of elements that are not modified
+     *     after being built will be copied verbatim from the recording when they are serialized
+     */
+    public BuilderImpl(
+            XmlInput input, NodeFactory nodeFactory, Model model, CoreNSAwareElement root, Recording recording) {
+        builderHandler = new BuilderHandler(nodeFactory, model, root, this, recording);
         reader = input.createReader(builderHandler);
     }
 
@@ -41,6 +59,17 @@ public final class BuilderImpl implements Builder {
         builderHandler.addListener(listener);
     }
 
+    /**
+     * Specify whether the builder should store character data and attribute values as UTF-8 encoded
+     * byte arrays (see {@link UTF8CharacterData}) instead of {@link String} objects. This must be
+     * called before the first event is processed.
+     *
+     * @param compactCharacterData <code>true</code> to store character data as UTF-8
+     */
+    public void setCompactCharacterData(boolean compactCharacterData) {
+        builderHandler.compactCharacterData = compactCharacterData;
+    }
+
     public Object getFacade() {
         return facade;
     }
@@ -40,4 +40,11 @@ public interface BuilderListener {
     // TODO: an ancestor of the node may have been detached or moved; specify what this means for
     // the depth
     DeferredAction nodeAdded(CoreNode node, int depth);
+
+    /**
+     * Inform the listener that the builder has reached the end of the document. The same
+     * restrictions as for {@link #nodeAdded(CoreNode, int)} apply, i.e. implementations must not
+     * access the object model.
+     */
+    default void completed() {}
 }
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.core.impl.builder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.axiom.core.SourceRange;
+import org.apache.axiom.core.stream.util.MarkupScanner;
+import org.apache.axiom.core.stream.util.Recording;
+
+/**
+ * Locates the content of elements in the recording of the input document, so that unmodified
+ * content can later be copied verbatim. StAX doesn't give access to byte offsets, so this is done
+ * by scanning the recorded bytes for the tags corresponding to the start and end element events
+ * received from the parser. Tracking is disabled as soon as anything unexpected is encountered
+ * (non UTF-8 encoding, document type declarations, entity references, or tags that don't match
+ * the events).
+ */
+final class SourceTracker {
+    private static final String[] EMPTY = new String[0];
+
+    private final Recording recording;
+    private boolean enabled = true;
+
+    /** The offset in the recording where the next scan starts. */
+    private int position;
+
+    private int depth;
+    private int[] contentStart = new int[16];
+    private int[] nameStart = new int[16];
+    private int[] nameLength = new int[16];
+    private String[][] namespaceContexts = new String[16][];
+
+    private String[] pendingDeclarations = new String[8];
+    private int pendingDeclarationCount;
+
+    SourceTracker(Recording recording) {
+        this.recording = recording;
+        namespaceContexts[0] = EMPTY;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void disable() {
+        if (enabled) {
+            enabled = false;
+            recording.stop();
+            namespaceContexts = null;
+        }
+    }
+
+    void startDocument(String inputEncoding, String xmlVersion) {
+        boolean utf8 = inputEncoding == null
+                || inputEncoding.equalsIgnoreCase("UTF-8")
+                || inputEncoding.equalsIgnoreCase("UTF8");
+        // XML 1.1 has additional line separators (NEL and LSEP) that are normalized by the parser
+        if (!utf8 || "1.1".equals(xmlVersion)) {
+            disable();
+        }
+    }
+
+    private static boolean matches(byte[] b, int pos, int len, String prefix, String localName) {
+        int prefixLength = prefix.length();
+        int localNameLength = localName.length();
+        if (len == (prefixLength == 0 ? 0 : prefixLength + 1) + localNameLength) {
+            boolean ascii = true;
+            int i = pos;
+            if (prefixLength != 0) {
+                for (int j = 0; j < prefixLength; j++) {
+                    char c = prefix.charAt(j);
+                    if (c >= 0x80) {
+                        ascii = false;
+                        break;
+                    }
+                    if (b[i++] != c) {
+                        return false;
+                    }
+                }
+                if (ascii && b[i++] != ':') {
+                    return false;
+                }
+            }
+            if (ascii) {
+                for (int j = 0; j < localNameLength; j++) {
+                    char c = localName.charAt(j);
+                    if (c >= 0x80) {
+                        ascii = false;
+                        break;
+                    }
+                    if (b[i++] != c) {
+                        return false;
+                    }
+                }
+            }
+            if (ascii) {
+                return true;
+            }
+        }
+        // The length in bytes and the length in characters differ for non ASCII names
+        String name = prefix.isEmpty() ? localName : prefix + ":" + localName;
+        return name.equals(new String(b, pos, len, StandardCharsets.UTF_8));
+    }
+
+    void startElement(String prefix, String localName) {
+        if (!enabled) {
+            return;
+        }
+        byte[] b = recording.getBytes();
+        int limit = recording.size();
+        int tagStart = MarkupScanner.findTag(b, position, limit);
+        if (tagStart < 0 || b[tagStart + 1] == '/') {
+            disable();
+            return;
+        }
+        int nameEnd = MarkupScanner.skipName(b, tagStart + 1, limit);
+        if (nameEnd == MarkupScanner.NOT_FOUND
+                || !matches(b, tagStart + 1, nameEnd - tagStart - 1, prefix, localName)) {
+            disable();
+            return;
+        }
+        int tagEnd = MarkupScanner.findTagEnd(b, nameEnd, limit);
+        if (tagEnd == MarkupScanner.NOT_FOUND) {
+            disable();
+            return;
+        }
+        if (++depth == contentStart.length) {
+            int newLength = depth * 2;
+            contentStart = Arrays.copyOf(contentStart, newLength);
+            nameStart = Arrays.copyOf(nameStart, newLength);
+            nameLength = Arrays.copyOf(nameLength, newLength);
+            namespaceContexts = Arrays.copyOf(namespaceContexts, newLength);
+        }
+        // An empty element tag has no content; use -1 to mark this case
+        contentStart[depth] = b[tagEnd - 2] == '/' ? -1 : tagEnd;
+        nameStart[depth] = tagStart + 1;
+        nameLength[depth] = nameEnd - tagStart - 1;
+        position = tagEnd;
+    }
+
+    void processNamespaceDeclaration(String prefix, String namespaceURI) {
+        if (!enabled || prefix.equals("xml")) {
+            return;
+        }
+        if (pendingDeclarationCount * 2 == pendingDeclarations.length) {
+            pendingDeclarations = Arrays.copyOf(pendingDeclarations, pendingDeclarations.length * 2);
+        }
+        pendingDeclarations[pendingDeclarationCount * 2] = prefix;
+        pendingDeclarations[pendingDeclarationCount * 2 + 1] = namespaceURI;
+        pendingDeclarationCount++;
+    }
+
+    void attributesCompleted() {
+        if (!enabled) {
+            return;
+        }
+        String[] parentContext = namespaceContexts[depth - 1];
+        if (pendingDeclarationCount == 0) {
+            namespaceContexts[depth] = parentContext;
+        } else {
+            String[] context = Arrays.copyOf(parentContext, parentContext.length + pendingDeclarationCount * 2);
+            int length = parentContext.length;
+            outer:
+            for (int i = 0; i < pendingDeclarationCount; i++) {
+                String prefix = pendingDeclarations[i * 2];
+                String namespaceURI = pendingDeclarations[i * 2 + 1];
+                for (int j = 0; j < parentContext.length; j += 2) {
+                    if (context[j].equals(prefix)) {
+                        context[j + 1] = namespaceURI;
+                        continue outer;
+                    }
+                }
+                context[length++] = prefix;
+                context[length++] = namespaceURI;
+            }
+            namespaceContexts[depth] = length == context.length ? context : Arrays.copyOf(context, length);
+            Arrays.fill(pendingDeclarations, 0, pendingDeclarationCount * 2, null);
+            pendingDeclarationCount = 0;
+        }
+    }
+
+    /**
+     * Process an end element event.
+     *
+     * @return the location of the content of the element, or <code>null</code> if the element has
+     *     no content or tracking is disabled
+     */
+    SourceRange endElement() {
+        if (!enabled) {
+            return null;
+        }
+        int start = contentStart[depth];
+        String[] namespaceContext = namespaceContexts[depth];
+        namespaceContexts[depth] = null;
+        depth--;
+        if (start == -1) {
+            return null;
+        }
+        byte[] b = recording.getBytes();
+        int limit = recording.size();
+        int tagStart = MarkupScanner.findTag(b, position, limit);
+        int nameOffset = nameStart[depth + 1];
+        int length = nameLength[depth + 1];
+        if (tagStart < 0 || b[tagStart + 1] != '/' || tagStart + 2 + length > limit) {
+            disable();
+            return null;
+        }
+        for (int i = 0; i < length; i++) {
+            if (b[tagStart + 2 + i] != b[nameOffset + i]) {
+                disable();
+                return null;
+            }
+        }
+        int tagEnd = MarkupScanner.findTagEnd(b, tagStart + 2 + length, limit);
+        if (tagEnd == MarkupScanner.NOT_FOUND
+                || MarkupScanner.skipName(b, tagStart + 2, limit) != tagStart + 2 + length) {
+            disable();
+            return null;
+        }
+        position = tagEnd;
+        if (recording.isStopped()) {
+            // The recording is incomplete (e.g. because part of the stream was skipped)
+            disable();
+            return null;
+        }
+        return new SourceRange(recording, start, tagStart, namespaceContext);
+    }
+}
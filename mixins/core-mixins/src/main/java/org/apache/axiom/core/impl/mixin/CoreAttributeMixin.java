@@ -25,6 +25,7 @@ import org.apache.axiom.core.CoreNode;
 import org.apache.axiom.core.CoreParentNode;
 import org.apache.axiom.core.Semantics;
 import org.apache.axiom.core.impl.Flags;
+import org.apache.axiom.core.impl.NodePool;
 import org.apache.axiom.weaver.annotation.Mixin;
 
 @Mixin
@@ -39,6 +40,7 @@ public abstract class CoreAttributeMixin implements CoreAttribute {
 
     @Override
     public final CoreElement coreGetOwnerElement() {
+        NodePool.checkNotReleased(this);
         return owner instanceof CoreElement ? (CoreElement) owner : null;
     }
 
@@ -80,6 +82,7 @@ public abstract class CoreAttributeMixin implements CoreAttribute {
 
     @Override
     public final CoreAttribute coreGetNextAttribute() {
+        NodePool.checkNotReleased(this);
         return nextAttribute;
     }
 
@@ -109,6 +112,7 @@ public abstract class CoreAttributeMixin implements CoreAttribute {
     @Override
     public final void internalInsertAttributeAfter(CoreAttribute attr) {
         // TODO: throw exception if attribute already has an owner
+        internalMarkModified();
         attr.internalSetOwnerElement(coreGetOwnerElement());
         if (nextAttribute != null) {
             attr.internalSetNextAttribute(nextAttribute);
@@ -125,6 +129,7 @@ public abstract class CoreAttributeMixin implements CoreAttribute {
     public final boolean internalRemove(Semantics semantics, CoreElement newOwner) {
         if (owner instanceof CoreElement) {
             CoreElement ownerElement = (CoreElement) owner;
+            ownerElement.internalMarkModified();
             CoreAttribute previousAttr = coreGetPreviousAttribute();
             owner = newOwner != null ? newOwner : semantics.getDetachPolicy().getNewOwnerDocument(ownerElement);
             if (previousAttr == null) {
@@ -26,6 +26,7 @@ import org.apache.axiom.core.CoreNode;
 import org.apache.axiom.core.NodeType;
 import org.apache.axiom.core.Semantics;
 import org.apache.axiom.core.impl.Flags;
+import org.apache.axiom.core.impl.NodePool;
 import org.apache.axiom.core.stream.CharacterData;
 import org.apache.axiom.core.stream.StreamException;
 import org.apache.axiom.core.stream.XmlHandler;
@@ -53,17 +54,20 @@ public abstract class CoreCharacterDataNodeMixin implements CoreCharacterDataNod
 
     @Override
     public final @Union(types = {String.class, CharacterData.class}) Object coreGetCharacterData() {
+        NodePool.checkNotReleased(this);
         return data == null ? "" : data;
     }
 
     @Override
     public final void coreSetCharacterData(@Union(types = {String.class, CharacterData.class}) Object data) {
+        internalMarkModified();
         this.data = data;
     }
 
     @Override
     public final void coreSetCharacterData(
             @Union(types = {String.class, CharacterData.class}) Object data, Semantics semantics) {
+        internalMarkModified();
         this.data = data;
     }
 
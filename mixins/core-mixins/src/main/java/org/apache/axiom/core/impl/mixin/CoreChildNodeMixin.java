@@ -34,6 +34,7 @@ import org.apache.axiom.core.NodeFilter;
 import org.apache.axiom.core.SelfRelationshipException;
 import org.apache.axiom.core.Semantics;
 import org.apache.axiom.core.impl.Flags;
+import org.apache.axiom.core.impl.NodePool;
 import org.apache.axiom.weaver.annotation.Mixin;
 
 @Mixin
@@ -49,6 +50,7 @@ public abstract class CoreChildNodeMixin implements CoreChildNode {
 
     @Override
     public final CoreParentNode coreGetParent() {
+        NodePool.checkNotReleased(this);
         return internalGetFlag(Flags.HAS_PARENT) ? owner : null;
     }
 
@@ -101,6 +103,7 @@ public abstract class CoreChildNodeMixin implements CoreChildNode {
 
     @Override
     public final CoreChildNode coreGetPreviousSibling() {
+        NodePool.checkNotReleased(this);
         return previousSibling;
     }
 
@@ -120,6 +123,7 @@ public abstract class CoreChildNodeMixin implements CoreChildNode {
 
     @Override
     public final CoreChildNode coreGetNextSibling() throws CoreModelException {
+        NodePool.checkNotReleased(this);
         CoreChildNode nextSibling = coreGetNextSiblingIfAvailable();
         if (nextSibling == null) {
             CoreParentNode parent = coreGetParent();
@@ -158,6 +162,7 @@ public abstract class CoreChildNodeMixin implements CoreChildNode {
             throw new SelfRelationshipException("Inserting self as the sibling is not allowed");
         }
         parent.internalCheckNewChild(sibling, null);
+        parent.internalMarkModified();
         sibling.internalDetach(null, parent);
         CoreChildNode nextSibling = coreGetNextSibling();
         sibling.internalSetPreviousSibling(this);
@@ -179,6 +184,7 @@ public abstract class CoreChildNodeMixin implements CoreChildNode {
             throw new SelfRelationshipException("Inserting self as the sibling is not allowed");
         }
         parent.internalCheckNewChild(sibling, null);
+        parent.internalMarkModified();
         sibling.internalDetach(null, parent);
         sibling.internalSetNextSibling(this);
         if (previousSibling == null) {
@@ -199,6 +205,7 @@ public abstract class CoreChildNodeMixin implements CoreChildNode {
         }
         CoreParentNode parent = coreGetParent();
         // TODO: check parent != null
+        parent.internalMarkModified();
         CoreChildNode child = fragmentContent.firstChild;
         while (child != null) {
             child.internalSetParent(parent);
@@ -231,6 +238,7 @@ public abstract class CoreChildNodeMixin implements CoreChildNode {
     public final void internalDetach(DetachPolicy detachPolicy, CoreParentNode newParent) {
         CoreParentNode parent = coreGetParent();
         if (parent != null) {
+            parent.internalMarkModified();
             if (previousSibling == null) {
                 parent.internalGetContent(true).firstChild = nextSibling;
             } else {
@@ -260,6 +268,7 @@ public abstract class CoreChildNodeMixin implements CoreChildNode {
         CoreParentNode parent = coreGetParent();
         if (parent != null) {
             parent.internalCheckNewChild(newNode, this);
+            parent.internalMarkModified();
             newNode.internalDetach(null, parent);
             if (previousSibling == null) {
                 parent.internalGetContent(true).firstChild = newNode;
@@ -21,6 +21,7 @@ package org.apache.axiom.core.impl.mixin;
 import java.util.Iterator;
 import org.apache.axiom.core.AttributeMatcher;
 import org.apache.axiom.core.ClonePolicy;
+import org.apache.axiom.core.Content;
 import org.apache.axiom.core.CoreAttribute;
 import org.apache.axiom.core.CoreElement;
 import org.apache.axiom.core.CoreModelException;
@@ -28,7 +29,12 @@ import org.apache.axiom.core.CoreNamespaceDeclaration;
 import org.apache.axiom.core.CoreNode;
 import org.apache.axiom.core.Mapper;
 import org.apache.axiom.core.Semantics;
+import org.apache.axiom.core.SourceRange;
 import org.apache.axiom.core.impl.AttributeIterator;
+import org.apache.axiom.core.impl.Flags;
+import org.apache.axiom.core.impl.NodePool;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
 import org.apache.axiom.weaver.annotation.Mixin;
 
 @Mixin
@@ -37,6 +43,7 @@ public abstract class CoreElementMixin implements CoreElement {
 
     @Override
     public final CoreAttribute coreGetFirstAttribute() {
+        NodePool.checkNotReleased(this);
         forceExpand();
         return firstAttribute;
     }
@@ -66,9 +73,33 @@ public abstract class CoreElementMixin implements CoreElement {
         return attr;
     }
 
+    @Override
+    public final void internalSetPristine(SourceRange source) {
+        if (internalGetFlag(Flags.MODIFIED)) {
+            return;
+        }
+        internalSetFlag(Flags.PRISTINE, true);
+        if (source != null && getState() == COMPLETE) {
+            Content content = (Content) internalGetContent();
+            if (content != null) {
+                content.source = source;
+            }
+        }
+    }
+
+    @Override
+    public final boolean internalSerializeSource(XmlHandler handler) throws StreamException {
+        if (!internalGetFlag(Flags.PRISTINE) || getState() != COMPLETE) {
+            return false;
+        }
+        Content content = (Content) internalGetContent();
+        return content != null && content.source != null && content.source.writeTo(handler);
+    }
+
     @Override
     public final void coreAppendAttribute(CoreAttribute attr) {
         // TODO: we should probably check if the attribute is already owned by the element
+        internalMarkModified();
         attr.internalRemove(null, this);
         CoreAttribute lastAttribute = coreGetLastAttribute();
         if (lastAttribute == null) {
@@ -106,6 +137,7 @@ public abstract class CoreElementMixin implements CoreElement {
             // TODO: document this and add assertion
             return attr;
         }
+        internalMarkModified();
         attr.internalRemove(null, this);
         String namespaceURI = matcher.getNamespaceURI(attr);
         String name = matcher.getName(attr);
@@ -22,6 +22,7 @@ import org.apache.axiom.checker.union.Union;
 import org.apache.axiom.core.CoreMixedContentContainer;
 import org.apache.axiom.core.CoreModelException;
 import org.apache.axiom.core.ElementAction;
+import org.apache.axiom.core.impl.NodePool;
 import org.apache.axiom.core.stream.CharacterData;
 import org.apache.axiom.weaver.annotation.Mixin;
 
@@ -30,6 +31,7 @@ public abstract class CoreMixedContentContainerMixin implements CoreMixedContent
     @Override
     public final @Union(types = {String.class, CharacterData.class}) Object coreGetCharacterData(
             ElementAction elementAction) throws CoreModelException {
+        NodePool.checkNotReleased(this);
         return internalGetCharacterData(elementAction);
     }
 }
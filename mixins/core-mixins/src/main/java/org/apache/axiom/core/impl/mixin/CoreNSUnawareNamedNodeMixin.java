@@ -33,6 +33,7 @@ public abstract class CoreNSUnawareNamedNodeMixin implements CoreNSUnawareNamedN
 
     @Override
     public final void coreSetName(String name) {
+        internalMarkModified();
         this.name = name;
     }
 
@@ -19,11 +19,16 @@
 package org.apache.axiom.core.impl.mixin;
 
 import org.apache.axiom.core.ClonePolicy;
+import org.apache.axiom.core.CoreAttribute;
 import org.apache.axiom.core.CoreChildNode;
 import org.apache.axiom.core.CoreDocument;
+import org.apache.axiom.core.CoreElement;
 import org.apache.axiom.core.CoreModelException;
 import org.apache.axiom.core.CoreNode;
 import org.apache.axiom.core.CoreParentNode;
+import org.apache.axiom.core.impl.Flags;
+import org.apache.axiom.core.impl.LazyCloneInput;
+import org.apache.axiom.core.impl.NodePool;
 import org.apache.axiom.weaver.annotation.Mixin;
 
 @Mixin
@@ -73,6 +78,36 @@ public abstract class CoreNodeMixin implements CoreNode {
         flags = (flags & ~mask) | value;
     }
 
+    @Override
+    public final void internalMarkModified() {
+        NodePool.checkNotReleased(this);
+        LazyCloneInput.completeLazyClones(this);
+        CoreNode node = this;
+        while (true) {
+            if (node instanceof CoreElement element) {
+                if (element.internalGetFlag(Flags.PRISTINE)) {
+                    element.internalSetFlag(Flags.PRISTINE, false);
+                } else if (element.getState() == CoreParentNode.INCOMPLETE
+                        && !element.internalGetFlag(Flags.MODIFIED)) {
+                    // The element is still being built; make sure it doesn't become pristine
+                    element.internalSetFlag(Flags.MODIFIED, true);
+                } else {
+                    // The ancestors of an element that is complete and not pristine are not
+                    // pristine either. Elements in state ATTRIBUTES_PENDING are being
+                    // initialized by the builder.
+                    break;
+                }
+                node = element.coreGetParent();
+            } else if (node instanceof CoreAttribute attribute) {
+                node = attribute.coreGetOwnerElement();
+            } else if (node instanceof CoreChildNode child) {
+                node = child.coreGetParent();
+            } else {
+                break;
+            }
+        }
+    }
+
     // TODO: merge this into internalClone once it is no longer referenced elsewhere
     public final <T> CoreNode shallowClone(ClonePolicy<T> policy, T options) throws CoreModelException {
         CoreNode clone = policy.createTargetNode(options, this, coreGetNodeFactory());
@@ -25,6 +25,7 @@ import org.apache.axiom.core.ChildNotAllowedException;
 import org.apache.axiom.core.ClonePolicy;
 import org.apache.axiom.core.CloneableCharacterData;
 import org.apache.axiom.core.Content;
+import org.apache.axiom.core.ContentSerializer;
 import org.apache.axiom.core.CoreCDATASection;
 import org.apache.axiom.core.CoreCharacterDataContainer;
 import org.apache.axiom.core.CoreCharacterDataNode;
@@ -47,6 +48,7 @@ import org.apache.axiom.core.NodeIterator;
 import org.apache.axiom.core.Semantics;
 import org.apache.axiom.core.impl.ElementsIterator;
 import org.apache.axiom.core.impl.Flags;
+import org.apache.axiom.core.impl.NodePool;
 import org.apache.axiom.core.impl.NodesIterator;
 import org.apache.axiom.core.impl.TreeWalkerImpl;
 import org.apache.axiom.core.stream.CharacterData;
@@ -168,6 +170,7 @@ public abstract class CoreParentNodeMixin implements CoreParentNode {
 
     @Override
     public CoreChildNode coreGetFirstChild() throws CoreModelException {
+        NodePool.checkNotReleased(this);
         CoreChildNode firstChild = coreGetFirstChildIfAvailable();
         if (firstChild == null) {
             switch (getState()) {
@@ -234,6 +237,7 @@ public abstract class CoreParentNodeMixin implements CoreParentNode {
         internalCheckNewChild(child, null);
         forceExpand();
         coreBuild();
+        internalMarkModified();
         internalAppendChildWithoutBuild(child);
     }
 
@@ -265,6 +269,7 @@ public abstract class CoreParentNodeMixin implements CoreParentNode {
             return;
         }
         coreBuild();
+        internalMarkModified();
         CoreChildNode child = fragmentContent.firstChild;
         while (child != null) {
             child.internalSetParent(this);
@@ -307,6 +312,7 @@ public abstract class CoreParentNodeMixin implements CoreParentNode {
 
     @Override
     public final void coreRemoveChildren(Semantics semantics) throws CoreModelException {
+        internalMarkModified();
         if (getState() == COMPACT) {
             coreSetState(COMPLETE);
             content = null;
@@ -482,8 +488,14 @@ public abstract class CoreParentNodeMixin implements CoreParentNode {
 
     @Override
     public void internalSerialize(XmlHandler handler, boolean cache) throws CoreModelException, StreamException {
+        internalSerialize(handler, cache, null);
+    }
+
+    @Override
+    public final void internalSerialize(XmlHandler handler, boolean cache, ContentSerializer contentSerializer)
+            throws CoreModelException, StreamException {
         try {
-            XmlReader reader = coreGetReader(handler, cache, false);
+            XmlReader reader = new TreeWalkerImpl(handler, this, cache, false, contentSerializer);
             while (!reader.proceed()) {
                 // Just loop
             }
@@ -509,6 +521,7 @@ public abstract class CoreParentNodeMixin implements CoreParentNode {
 
     @Override
     public final void coreMoveChildrenFrom(CoreParentNode other, Semantics semantics) throws CoreModelException {
+        other.internalMarkModified();
         coreRemoveChildren(semantics);
         context = other.coreGetInputContext();
         content = other.internalGetContent();
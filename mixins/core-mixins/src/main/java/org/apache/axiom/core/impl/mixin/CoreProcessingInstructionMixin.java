@@ -43,6 +43,7 @@ public abstract class CoreProcessingInstructionMixin implements CoreProcessingIn
 
     @Override
     public final void coreSetTarget(String target) {
+        internalMarkModified();
         this.target = target;
     }
 
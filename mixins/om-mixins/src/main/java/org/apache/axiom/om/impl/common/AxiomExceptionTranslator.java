@@ -22,6 +22,7 @@ import javax.xml.stream.XMLStreamException;
 import org.apache.axiom.core.CoreModelException;
 import org.apache.axiom.core.DeferredParsingException;
 import org.apache.axiom.core.NodeConsumedException;
+import org.apache.axiom.core.stream.ResourceLimitExceededException;
 import org.apache.axiom.core.stream.StreamException;
 import org.apache.axiom.om.NodeUnavailableException;
 import org.apache.axiom.om.OMException;
@@ -33,7 +34,11 @@ public class AxiomExceptionTranslator {
         if (ex instanceof NodeConsumedException) {
             return new NodeUnavailableException();
         } else if (ex instanceof DeferredParsingException deferredParsingException) {
-            throw new org.apache.axiom.om.DeferredParsingException(deferredParsingException.getStreamException());
+            StreamException streamException = deferredParsingException.getStreamException();
+            if (streamException instanceof ResourceLimitExceededException) {
+                throw new org.apache.axiom.om.ResourceLimitExceededException(streamException);
+            }
+            throw new org.apache.axiom.om.DeferredParsingException(streamException);
         } else {
             return new OMException(ex);
         }
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.impl.common.builder;
+
+import org.apache.axiom.core.CoreNode;
+import org.apache.axiom.core.impl.builder.BuilderListener;
+import org.apache.axiom.core.impl.builder.DeferredAction;
+import org.apache.axiom.monitoring.Monitoring;
+import org.apache.axiom.monitoring.Operation;
+
+/** Counts the nodes created by a builder and reports them when the document is complete. */
+final class BuildMetricsListener implements BuilderListener {
+    private final Operation operation = Monitoring.beginBuild();
+    private long nodeCount;
+
+    @Override
+    public DeferredAction nodeAdded(CoreNode node, int depth) {
+        nodeCount++;
+        return null;
+    }
+
+    @Override
+    public void completed() {
+        Monitoring.reportBuildCompleted(nodeCount, operation);
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.axiom.om.impl.common.builder;
 
 import org.apache.axiom.core.CoreModelException;
 import org.apache.axiom.core.impl.builder.BuilderImpl;
+import org.apache.axiom.monitoring.Monitoring;
 import org.apache.axiom.om.OMDocument;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMException;
@@ -40,6 +41,9 @@ public class OMXMLParserWrapperImpl implements OMXMLParserWrapper, CustomBuilder
         this.detachable = detachable;
         builder.setFacade(this);
         builder.addListener(customBuilderManager);
+        if (Monitoring.isEnabled()) {
+            builder.addListener(new BuildMetricsListener());
+        }
     }
 
     @Override
@@ -16,36 +16,31 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-package org.apache.axiom.core.stream.sax.output;
+package org.apache.axiom.om.impl.common.factory;
 
-import java.io.IOException;
-import java.io.Writer;
-import org.xml.sax.ContentHandler;
-import org.xml.sax.SAXException;
+import org.apache.axiom.monitoring.CacheStatistics;
+import org.apache.axiom.util.xml.QNameCache;
 
-/**
- * {@link Writer} that writes character data as {@link ContentHandler#characters(char[], int, int)}
- * to a {@link ContentHandler}.
- */
-final class ContentHandlerWriter extends Writer {
-    private final ContentHandler contentHandler;
+/** Exposes the statistics of a {@link QNameCache} through the public {@link CacheStatistics} API. */
+public final class QNameCacheStatistics implements CacheStatistics {
+    private final QNameCache cache;
 
-    public ContentHandlerWriter(ContentHandler contentHandler) {
-        this.contentHandler = contentHandler;
+    public QNameCacheStatistics(QNameCache cache) {
+        this.cache = cache;
     }
 
     @Override
-    public void write(char[] cbuf, int off, int len) throws IOException {
-        try {
-            contentHandler.characters(cbuf, off, len);
-        } catch (SAXException ex) {
-            throw new IOException(ex);
-        }
+    public int getCapacity() {
+        return cache.getCapacity();
     }
 
     @Override
-    public void close() throws IOException {}
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
 
     @Override
-    public void flush() throws IOException {}
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
 }
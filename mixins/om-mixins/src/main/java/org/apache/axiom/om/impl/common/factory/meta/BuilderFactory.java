@@ -24,6 +24,7 @@ import org.apache.axiom.core.impl.builder.BuilderListener;
 import org.apache.axiom.core.impl.builder.DeferredAction;
 import org.apache.axiom.core.impl.builder.PlainXMLModel;
 import org.apache.axiom.core.stream.FilteredXmlInput;
+import org.apache.axiom.core.stream.SymbolInterningFilter;
 import org.apache.axiom.om.OMXMLParserWrapper;
 import org.apache.axiom.om.impl.common.builder.OMXMLParserWrapperImpl;
 import org.apache.axiom.om.impl.intf.factory.AxiomNodeFactory;
@@ -39,8 +40,14 @@ public abstract class BuilderFactory<T extends OMXMLParserWrapper> {
     public static final BuilderFactory<OMXMLParserWrapper> OM = new BuilderFactory<OMXMLParserWrapper>() {
         @Override
         public OMXMLParserWrapper createBuilder(AxiomNodeFactory nodeFactory, BuilderSpec spec) {
-            return new OMXMLParserWrapperImpl(
-                    new BuilderImpl(spec.getInput(), nodeFactory, PlainXMLModel.INSTANCE, null), spec.getDetachable());
+            BuilderImpl builder = new BuilderImpl(
+                    new FilteredXmlInput(spec.getInput(), SymbolInterningFilter.DEFAULT),
+                    nodeFactory,
+                    PlainXMLModel.INSTANCE,
+                    null,
+                    spec.getRecording());
+            builder.setCompactCharacterData(spec.isCompactCharacterData());
+            return new OMXMLParserWrapperImpl(builder, spec.getDetachable());
         }
     };
 
@@ -48,10 +55,13 @@ public abstract class BuilderFactory<T extends OMXMLParserWrapper> {
         @Override
         public SOAPModelBuilder createBuilder(AxiomNodeFactory nodeFactory, BuilderSpec spec) {
             BuilderImpl builder = new BuilderImpl(
-                    new FilteredXmlInput(spec.getInput(), SOAPFilter.INSTANCE),
+                    new FilteredXmlInput(
+                            new FilteredXmlInput(spec.getInput(), SymbolInterningFilter.DEFAULT), SOAPFilter.INSTANCE),
                     nodeFactory,
                     new SOAPModel(nodeFactory),
-                    null);
+                    null,
+                    spec.getRecording());
+            builder.setCompactCharacterData(spec.isCompactCharacterData());
             // The SOAPFactory instance linked to the SOAPMessage is unknown until we reach
             // the
             // SOAPEnvelope. Register a post-processor that does the necessary updates on
@@ -33,13 +33,17 @@ import javax.xml.transform.stream.StreamSource;
 import org.apache.axiom.blob.Blob;
 import org.apache.axiom.core.stream.FilteredXmlInput;
 import org.apache.axiom.core.stream.NamespaceRepairingFilter;
+import org.apache.axiom.core.stream.ResourceLimitingFilter;
 import org.apache.axiom.core.stream.XmlInput;
 import org.apache.axiom.core.stream.dom.input.DOMInput;
 import org.apache.axiom.core.stream.sax.input.SAXInput;
 import org.apache.axiom.core.stream.stax.pull.input.StAXPullInput;
+import org.apache.axiom.core.stream.util.Recording;
+import org.apache.axiom.core.stream.util.RecordingInputStream;
 import org.apache.axiom.mime.MultipartBody;
 import org.apache.axiom.mime.Part;
 import org.apache.axiom.om.OMAttachmentAccessor;
+import org.apache.axiom.om.OMBuilderLimits;
 import org.apache.axiom.om.OMException;
 import org.apache.axiom.om.impl.common.builder.Detachable;
 import org.apache.axiom.om.impl.stream.stax.pull.AxiomXMLStreamReaderHelperFactory;
@@ -54,16 +58,51 @@ import org.xml.sax.InputSource;
 public final class BuilderSpec {
     private final XmlInput input;
     private final Detachable detachable;
+    private final Recording recording;
+    private final boolean compactCharacterData;
 
     private BuilderSpec(XmlInput input, Detachable detachable) {
+        this(input, detachable, null, false);
+    }
+
+    private BuilderSpec(XmlInput input, Detachable detachable, Recording recording, boolean compactCharacterData) {
         this.input = input;
         this.detachable = detachable;
+        this.recording = recording;
+        this.compactCharacterData = compactCharacterData;
+    }
+
+    private static AxiomXMLStreamReaderHelperFactory getHelperFactory(StAXParserConfiguration configuration) {
+        return configuration.isCompactCharacterData()
+                ? AxiomXMLStreamReaderHelperFactory.COMPACT_CHARACTER_DATA
+                : AxiomXMLStreamReaderHelperFactory.INSTANCE;
+    }
+
+    /**
+     * Enforce the builder limits specified by the given configuration (if any) on the events
+     * produced by an input.
+     */
+    private static XmlInput applyBuilderLimits(XmlInput input, StAXParserConfiguration configuration) {
+        OMBuilderLimits limits = configuration.getBuilderLimits();
+        if (limits == null) {
+            return input;
+        }
+        return new FilteredXmlInput(
+                input,
+                new ResourceLimitingFilter(
+                        limits.getMaxDepth(),
+                        limits.getMaxAttributesPerElement(),
+                        limits.getMaxNamespaceDeclarationsPerElement(),
+                        limits.getMaxTextLength(),
+                        limits.getMaxNodeCount(),
+                        limits.getMaxCharacterCount()));
     }
 
     private static BuilderSpec create(StAXParserConfiguration configuration, InputSource is, boolean makeDetachable) {
         XMLStreamReader reader;
         Detachable detachable;
         Closeable closeable;
+        Recording recording = null;
         try {
             if (is.getByteStream() != null) {
                 String systemId = is.getSystemId();
@@ -76,6 +115,14 @@ public final class BuilderSpec {
                 } else {
                     detachable = null;
                 }
+                if (configuration.isPreserveSource()
+                        && (encoding == null
+                                || encoding.equalsIgnoreCase("UTF-8")
+                                || encoding.equalsIgnoreCase("UTF8"))) {
+                    RecordingInputStream recordingInputStream = new RecordingInputStream(in);
+                    in = recordingInputStream;
+                    recording = recordingInputStream.getRecording();
+                }
                 if (systemId != null) {
                     if (encoding == null) {
                         reader = StAXUtils.createXMLStreamReader(configuration, systemId, in);
@@ -119,8 +166,11 @@ public final class BuilderSpec {
         } catch (IOException ex) {
             throw new OMException(ex);
         }
-        return new BuilderSpec(
-                new StAXPullInput(reader, AxiomXMLStreamReaderHelperFactory.INSTANCE, true, closeable), detachable);
+        // Apply the limits directly to the parser events so that they are enforced before the
+        // events reach any other filter.
+        XmlInput input = applyBuilderLimits(
+                new StAXPullInput(reader, getHelperFactory(configuration), true, closeable), configuration);
+        return new BuilderSpec(input, detachable, recording, configuration.isCompactCharacterData());
     }
 
     public static BuilderSpec from(XMLStreamReader reader) {
@@ -148,9 +198,9 @@ public final class BuilderSpec {
 
     public static BuilderSpec from(StAXParserConfiguration configuration, Source source) {
         if (source instanceof SAXSource saxSource) {
-            return from(saxSource, true);
+            return from(saxSource, true).withConfiguration(configuration);
         } else if (source instanceof DOMSource domSource) {
-            return from(domSource.getNode(), true);
+            return from(domSource.getNode(), true).withConfiguration(configuration);
         } else if (source instanceof StreamSource streamSource) {
             InputSource is = new InputSource();
             is.setByteStream(streamSource.getInputStream());
@@ -159,18 +209,19 @@ public final class BuilderSpec {
             is.setSystemId(streamSource.getSystemId());
             return from(configuration, is);
         } else if (source instanceof StAXSource staxSource) {
-            return from(staxSource.getXMLStreamReader());
+            return from(staxSource.getXMLStreamReader()).withConfiguration(configuration);
         } else {
             try {
                 return new BuilderSpec(
-                        new FilteredXmlInput(
-                                new StAXPullInput(
-                                        StAXUtils.getXMLInputFactory().createXMLStreamReader(source),
-                                        AxiomXMLStreamReaderHelperFactory.INSTANCE,
-                                        true,
-                                        null),
-                                NamespaceRepairingFilter.DEFAULT),
-                        null);
+                                new FilteredXmlInput(
+                                        new StAXPullInput(
+                                                StAXUtils.getXMLInputFactory().createXMLStreamReader(source),
+                                                getHelperFactory(configuration),
+                                                true,
+                                                null),
+                                        NamespaceRepairingFilter.DEFAULT),
+                                null)
+                        .withConfiguration(configuration);
             } catch (XMLStreamException ex) {
                 throw new OMException(ex);
             }
@@ -209,14 +260,33 @@ public final class BuilderSpec {
                     public void detach() {
                         message.detach();
                     }
-                });
+                },
+                null,
+                spec.isCompactCharacterData());
     }
 
     public static BuilderSpec from(
             StAXParserConfiguration configuration, Source source, OMAttachmentAccessor attachmentAccessor) {
         BuilderSpec spec = from(configuration, source);
         return new BuilderSpec(
-                new FilteredXmlInput(spec.getInput(), new XOPDecodingFilter(attachmentAccessor)), spec.getDetachable());
+                new FilteredXmlInput(spec.getInput(), new XOPDecodingFilter(attachmentAccessor)),
+                spec.getDetachable(),
+                null,
+                spec.isCompactCharacterData());
+    }
+
+    /**
+     * Apply the builder options specified by the given configuration to a spec created from a
+     * source that is not parsed using that configuration. This includes the builder limits, which
+     * would otherwise only be enforced by {@link #create(StAXParserConfiguration, InputSource,
+     * boolean)}.
+     */
+    private BuilderSpec withConfiguration(StAXParserConfiguration configuration) {
+        return new BuilderSpec(
+                applyBuilderLimits(input, configuration),
+                detachable,
+                recording,
+                configuration.isCompactCharacterData());
     }
 
     XmlInput getInput() {
@@ -226,4 +296,12 @@ public final class BuilderSpec {
     Detachable getDetachable() {
         return detachable;
     }
+
+    Recording getRecording() {
+        return recording;
+    }
+
+    boolean isCompactCharacterData() {
+        return compactCharacterData;
+    }
 }
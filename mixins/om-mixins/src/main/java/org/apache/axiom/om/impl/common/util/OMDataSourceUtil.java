@@ -18,6 +18,7 @@
  */
 package org.apache.axiom.om.impl.common.util;
 
+import java.util.concurrent.Executor;
 import org.apache.axiom.om.OMDataSource;
 import org.apache.axiom.om.OMDataSourceExt;
 import org.apache.axiom.om.ds.AbstractPullOMDataSource;
@@ -38,6 +39,23 @@ public final class OMDataSourceUtil {
                         .equals("org.apache.axis2.jaxws.message.databinding.impl.JAXBBlockImpl");
     }
 
+    /**
+     * Get the executor to use for incremental expansion of a push data source.
+     *
+     * @param dataSource the data source
+     * @return the value of the {@link AbstractPushOMDataSource#EXPANSION_EXECUTOR} property, or
+     *     {@code null} if incremental expansion is not enabled
+     */
+    public static Executor getExpansionExecutor(OMDataSource dataSource) {
+        if (dataSource instanceof OMDataSourceExt dataSourceExt
+                && dataSourceExt.getProperty(AbstractPushOMDataSource.EXPANSION_EXECUTOR)
+                        instanceof Executor executor) {
+            return executor;
+        } else {
+            return null;
+        }
+    }
+
     public static boolean isDestructiveWrite(OMDataSource dataSource) {
         if (dataSource instanceof OMDataSourceExt dataSourceExt) {
             return dataSourceExt.isDestructiveWrite();
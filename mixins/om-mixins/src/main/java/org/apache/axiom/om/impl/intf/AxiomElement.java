@@ -19,6 +19,7 @@
 package org.apache.axiom.om.impl.intf;
 
 import javax.xml.namespace.QName;
+import org.apache.axiom.core.CoreModelException;
 import org.apache.axiom.core.CoreNSAwareElement;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMNamespace;
@@ -34,4 +35,13 @@ public interface AxiomElement
     OMNamespace handleNamespace(String namespaceURI, String prefix);
 
     void initName(String localName, OMNamespace ns, boolean generateNSDecl);
+
+    /**
+     * Create a lazy clone of this element.
+     *
+     * @return the clone, or <code>null</code> if the element can't be cloned lazily (in which case
+     *     it should be cloned eagerly)
+     * @throws CoreModelException
+     */
+    AxiomElement lazyClone() throws CoreModelException;
 }
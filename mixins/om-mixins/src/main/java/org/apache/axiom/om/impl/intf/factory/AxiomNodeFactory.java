@@ -54,11 +54,24 @@ import org.apache.axiom.soap.impl.intf.soap12.AxiomSOAP12FaultText;
 import org.apache.axiom.soap.impl.intf.soap12.AxiomSOAP12FaultValue;
 import org.apache.axiom.soap.impl.intf.soap12.AxiomSOAP12Header;
 import org.apache.axiom.soap.impl.intf.soap12.AxiomSOAP12HeaderBlock;
+import org.apache.axiom.util.xml.QNameCache;
 import org.apache.axiom.weaver.annotation.FactoryMethod;
 import org.apache.axiom.weaver.annotation.Singleton;
 
 @Singleton
 public interface AxiomNodeFactory extends NodeFactory, OMMetaFactorySPI {
+    /**
+     * Get the {@link QNameCache} used by nodes created by this factory. Each node factory has its
+     * own instance so that different Axiom implementations don't evict each other's entries. Note
+     * that node factories are singletons: the cache is shared by all {@link
+     * org.apache.axiom.om.OMFactory} and {@link org.apache.axiom.soap.SOAPFactory} instances of the
+     * implementation, and therefore by all applications that load the implementation from the same
+     * class loader. It doesn't provide isolation between factories or between applications.
+     *
+     * @return the cache instance
+     */
+    QNameCache getQNameCache();
+
     @FactoryMethod
     @Override
     AxiomDocument createDocument();
@@ -21,7 +21,13 @@ package org.apache.axiom.om.impl.mixin;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
@@ -31,6 +37,7 @@ import javax.xml.transform.sax.SAXSource;
 import org.apache.axiom.blob.Blob;
 import org.apache.axiom.core.Axis;
 import org.apache.axiom.core.Builder;
+import org.apache.axiom.core.ContentSerializer;
 import org.apache.axiom.core.CoreChildNode;
 import org.apache.axiom.core.CoreElement;
 import org.apache.axiom.core.CoreModelException;
@@ -38,15 +45,22 @@ import org.apache.axiom.core.ElementMatcher;
 import org.apache.axiom.core.Mappers;
 import org.apache.axiom.core.impl.builder.BuilderImpl;
 import org.apache.axiom.core.stream.NamespaceContextProvider;
+import org.apache.axiom.core.stream.NamespaceRepairingBatchFilter;
 import org.apache.axiom.core.stream.NamespaceRepairingFilterHandler;
 import org.apache.axiom.core.stream.NamespaceURIInterningFilterHandler;
 import org.apache.axiom.core.stream.StreamException;
 import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.batch.BatchingXmlHandler;
+import org.apache.axiom.core.stream.batch.XmlEventBatchFilter;
+import org.apache.axiom.core.stream.c14n.CanonicalizationMethod;
+import org.apache.axiom.core.stream.c14n.CanonicalizingXmlHandler;
 import org.apache.axiom.core.stream.sax.input.XmlHandlerContentHandler;
 import org.apache.axiom.core.stream.serializer.Serializer;
 import org.apache.axiom.core.stream.stax.pull.output.StAXPivot;
 import org.apache.axiom.core.stream.stax.push.input.XMLStreamWriterNamespaceContextProvider;
 import org.apache.axiom.mime.PartBlob;
+import org.apache.axiom.monitoring.Monitoring;
+import org.apache.axiom.monitoring.Operation;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMException;
 import org.apache.axiom.om.OMNamespace;
@@ -64,8 +78,13 @@ import org.apache.axiom.om.impl.intf.AxiomChildNode;
 import org.apache.axiom.om.impl.intf.AxiomContainer;
 import org.apache.axiom.om.impl.intf.AxiomElement;
 import org.apache.axiom.om.impl.stream.NamespaceContextPreservationFilterHandler;
+import org.apache.axiom.om.impl.stream.ParallelContentSerializer;
+import org.apache.axiom.om.impl.stream.XmlAttributeInheritanceFilterHandler;
+import org.apache.axiom.om.impl.stream.XmlDeclarationRewriter;
 import org.apache.axiom.om.impl.stream.XmlDeclarationRewriterHandler;
+import org.apache.axiom.om.impl.stream.XsiTypeFilter;
 import org.apache.axiom.om.impl.stream.XsiTypeFilterHandler;
+import org.apache.axiom.om.impl.stream.flow.SerializationPublisher;
 import org.apache.axiom.om.impl.stream.sax.XMLReaderImpl;
 import org.apache.axiom.om.impl.stream.stax.pull.AxiomXMLStreamReaderExtensionFactory;
 import org.apache.axiom.om.impl.stream.stax.push.XMLStreamWriterHandler;
@@ -82,6 +101,9 @@ public abstract class AxiomContainerMixin implements AxiomContainer {
     private static final OMXMLStreamReaderConfiguration defaultReaderConfiguration =
             new OMXMLStreamReaderConfiguration();
 
+    /** The number of events accumulated before they are processed if batching is enabled. */
+    private static final int EVENT_BATCH_SIZE = 256;
+
     @Override
     public final OMXMLParserWrapper getBuilder() {
         BuilderImpl builder = (BuilderImpl) coreGetBuilder();
@@ -274,26 +296,51 @@ public abstract class AxiomContainerMixin implements AxiomContainer {
     }
 
     private void serialize(
-            XmlHandler handler, NamespaceContextProvider namespaceContextProvider, OMOutputFormat format, boolean cache)
+            XmlHandler handler,
+            NamespaceContextProvider namespaceContextProvider,
+            OMOutputFormat format,
+            boolean cache,
+            ContentSerializer contentSerializer)
             throws StreamException {
-        handler = new XmlDeclarationRewriterHandler(handler, format);
         CoreElement contextElement = getContextElement();
-        if (contextElement != null) {
-            handler = new XsiTypeFilterHandler(handler, contextElement);
+        if (Boolean.TRUE.equals(format.getProperty(OMOutputFormat.BATCH_EVENTS))) {
+            XmlEventBatchFilter namespaceRepairer = new NamespaceRepairingBatchFilter(namespaceContextProvider, true);
+            XmlEventBatchFilter xmlDeclarationRewriter = new XmlDeclarationRewriter(format);
+            XmlEventBatchFilter[] filters;
+            if (contextElement == null) {
+                filters = new XmlEventBatchFilter[] {namespaceRepairer, xmlDeclarationRewriter};
+            } else {
+                XmlEventBatchFilter xsiTypeFilter = new XsiTypeFilter(contextElement);
+                filters = new XmlEventBatchFilter[] {namespaceRepairer, xsiTypeFilter, xmlDeclarationRewriter};
+            }
+            handler = new BatchingXmlHandler(handler, EVENT_BATCH_SIZE, filters);
+        } else {
+            handler = new XmlDeclarationRewriterHandler(handler, format);
+            if (contextElement != null) {
+                handler = new XsiTypeFilterHandler(handler, contextElement);
+            }
+            handler = new NamespaceRepairingFilterHandler(handler, namespaceContextProvider, true);
         }
-        handler = new NamespaceRepairingFilterHandler(handler, namespaceContextProvider, true);
+        Operation operation = Monitoring.isEnabled() ? Monitoring.beginSerialization() : null;
         try {
-            internalSerialize(handler, cache);
+            internalSerialize(handler, cache, contentSerializer);
         } catch (CoreModelException ex) {
             throw AxiomExceptionTranslator.translate(ex);
         }
+        if (operation != null) {
+            Monitoring.reportSerializationCompleted(cache, operation);
+        }
     }
 
     private void serializeAndSurfaceIOException(
-            XmlHandler handler, NamespaceContextProvider namespaceContextProvider, OMOutputFormat format, boolean cache)
+            XmlHandler handler,
+            NamespaceContextProvider namespaceContextProvider,
+            OMOutputFormat format,
+            boolean cache,
+            ContentSerializer contentSerializer)
             throws IOException {
         try {
-            serialize(handler, namespaceContextProvider, format, cache);
+            serialize(handler, namespaceContextProvider, format, cache, contentSerializer);
         } catch (StreamException ex) {
             Throwable cause = ex.getCause();
             if (cause instanceof IOException ioException) {
@@ -311,7 +358,8 @@ public abstract class AxiomContainerMixin implements AxiomContainer {
                     new XMLStreamWriterHandler(writer),
                     new XMLStreamWriterNamespaceContextProvider(writer),
                     new OMOutputFormat(),
-                    cache);
+                    cache,
+                    null);
         } catch (StreamException ex) {
             throw AxiomExceptionTranslator.toXMLStreamException(ex);
         }
@@ -348,15 +396,21 @@ public abstract class AxiomContainerMixin implements AxiomContainer {
 
         XmlHandler handler;
         XOPEncodingFilterHandler encoder;
+        ContentSerializer contentSerializer = null;
         if (format.isOptimized()) {
             handler = encoder = new XOPEncodingFilterHandler(
                     serializer, new ContentIDGeneratorImpl(format), new OptimizationPolicyImpl(format));
         } else {
             handler = serializer;
             encoder = null;
+            // Parallel serialization relies on raw content, which is only supported for UTF-8
+            if (format.getProperty(OMOutputFormat.PARALLEL_SERIALIZATION_THRESHOLD) instanceof Integer threshold
+                    && Charset.forName(encoding).equals(StandardCharsets.UTF_8)) {
+                contentSerializer = new ParallelContentSerializer(threshold, getContextElement(), cache);
+            }
         }
 
-        serializeAndSurfaceIOException(handler, null, format, cache);
+        serializeAndSurfaceIOException(handler, null, format, cache, contentSerializer);
 
         if (encoder != null) {
             rootPartOutputStream.close();
@@ -374,7 +428,67 @@ public abstract class AxiomContainerMixin implements AxiomContainer {
 
     @Override
     public final void serialize(Writer writer, OMOutputFormat format, boolean cache) throws IOException {
-        serializeAndSurfaceIOException(new Serializer(writer), null, format, cache);
+        serializeAndSurfaceIOException(new Serializer(writer), null, format, cache, null);
+    }
+
+    @Override
+    public final Flow.Publisher<ByteBuffer> getPublisher(OMOutputFormat format, boolean cache, Executor executor) {
+        return new SerializationPublisher(this, format, cache, executor);
+    }
+
+    private static CanonicalizationMethod getCanonicalizationMethod(String uri) {
+        CanonicalizationMethod method = CanonicalizationMethod.fromURI(uri);
+        if (method == null) {
+            throw new IllegalArgumentException("Unsupported canonicalization method " + uri);
+        }
+        return method;
+    }
+
+    private void canonicalize(XmlHandler handler, CanonicalizationMethod method, boolean cache) throws StreamException {
+        CoreElement contextElement = getContextElement();
+        try {
+            if (contextElement != null) {
+                handler = new NamespaceContextPreservationFilterHandler(handler, contextElement);
+                if (!method.isExclusive()) {
+                    handler = new XmlAttributeInheritanceFilterHandler(handler, contextElement);
+                }
+            }
+            internalSerialize(handler, cache);
+        } catch (CoreModelException ex) {
+            throw AxiomExceptionTranslator.translate(ex);
+        }
+    }
+
+    @Override
+    public final void writeCanonicalForm(
+            OutputStream out, String canonicalizationMethod, String inclusiveNamespaces, boolean cache)
+            throws IOException {
+        CanonicalizationMethod method = getCanonicalizationMethod(canonicalizationMethod);
+        CanonicalizingXmlHandler handler = new CanonicalizingXmlHandler(
+                out, method, CanonicalizingXmlHandler.parseInclusivePrefixList(inclusiveNamespaces));
+        try {
+            canonicalize(handler, method, cache);
+        } catch (StreamException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else {
+                throw new OMException(ex);
+            }
+        }
+    }
+
+    @Override
+    public final void updateDigest(
+            MessageDigest digest, String canonicalizationMethod, String inclusiveNamespaces, boolean cache) {
+        CanonicalizationMethod method = getCanonicalizationMethod(canonicalizationMethod);
+        CanonicalizingXmlHandler handler = new CanonicalizingXmlHandler(
+                digest, method, CanonicalizingXmlHandler.parseInclusivePrefixList(inclusiveNamespaces));
+        try {
+            canonicalize(handler, method, cache);
+        } catch (StreamException ex) {
+            throw new OMException(ex);
+        }
     }
 
     @Override
@@ -23,6 +23,7 @@ import org.apache.axiom.core.Axis;
 import org.apache.axiom.core.CoreElement;
 import org.apache.axiom.core.CoreModelException;
 import org.apache.axiom.core.Mappers;
+import org.apache.axiom.core.impl.NodePool;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMException;
 import org.apache.axiom.om.OMNode;
@@ -134,4 +135,9 @@ public abstract class AxiomDocumentMixin implements AxiomDocument {
                 Mappers.<OMSerializable>identity(),
                 AxiomSemantics.INSTANCE);
     }
+
+    @Override
+    public final void release() {
+        NodePool.release(this);
+    }
 }
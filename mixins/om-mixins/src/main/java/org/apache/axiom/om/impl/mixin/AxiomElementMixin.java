@@ -35,6 +35,7 @@ import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import org.apache.axiom.core.Axis;
+import org.apache.axiom.core.Content;
 import org.apache.axiom.core.CoreAttribute;
 import org.apache.axiom.core.CoreElement;
 import org.apache.axiom.core.CoreModelException;
@@ -42,6 +43,11 @@ import org.apache.axiom.core.CoreParentNode;
 import org.apache.axiom.core.ElementAction;
 import org.apache.axiom.core.ElementMatcher;
 import org.apache.axiom.core.Mappers;
+import org.apache.axiom.core.impl.LazyCloneInput;
+import org.apache.axiom.core.impl.builder.BuilderImpl;
+import org.apache.axiom.core.impl.builder.PlainXMLModel;
+import org.apache.axiom.core.stream.FilteredXmlInput;
+import org.apache.axiom.core.stream.NamespaceRepairingFilter;
 import org.apache.axiom.om.OMAttribute;
 import org.apache.axiom.om.OMContainer;
 import org.apache.axiom.om.OMElement;
@@ -65,7 +71,6 @@ import org.apache.axiom.om.impl.intf.Sequence;
 import org.apache.axiom.util.namespace.MapBasedNamespaceContext;
 import org.apache.axiom.util.stax.XMLStreamIOException;
 import org.apache.axiom.util.stax.XMLStreamReaderUtils;
-import org.apache.axiom.util.xml.QNameCache;
 import org.apache.axiom.weaver.annotation.Mixin;
 
 /**
@@ -151,11 +156,13 @@ public abstract class AxiomElementMixin implements AxiomElement {
         int idx = qname.indexOf(':');
         if (idx == -1) {
             OMNamespace ns = getDefaultNamespace();
-            return QNameCache.getQName(ns == null ? "" : ns.getNamespaceURI(), qname);
+            return getNodeFactory().getQNameCache().get(ns == null ? "" : ns.getNamespaceURI(), qname);
         } else {
             String prefix = qname.substring(0, idx);
             OMNamespace ns = findNamespace(null, prefix);
-            return ns == null ? null : QNameCache.getQName(ns.getNamespaceURI(), qname.substring(idx + 1), prefix);
+            return ns == null
+                    ? null
+                    : getNodeFactory().getQNameCache().get(ns.getNamespaceURI(), qname.substring(idx + 1), prefix);
         }
     }
 
@@ -572,6 +579,33 @@ public abstract class AxiomElementMixin implements AxiomElement {
         return (OMElement) clone(null);
     }
 
+    @Override
+    public final AxiomElement lazyClone() throws CoreModelException {
+        if (!isExpanded()) {
+            return null;
+        }
+        coreBuild();
+        if (getState() != COMPLETE
+                || !(internalGetContent() instanceof Content content)
+                || content.firstChild == null) {
+            // There is nothing to share
+            return null;
+        }
+        AxiomElement clone = (AxiomElement) coreGetNodeType().newInstance(coreGetNodeFactory());
+        LazyCloneInput input = new LazyCloneInput(this);
+        BuilderImpl builder = new BuilderImpl(
+                new FilteredXmlInput(input, NamespaceRepairingFilter.DEFAULT),
+                coreGetNodeFactory(),
+                PlainXMLModel.INSTANCE,
+                clone);
+        input.register(builder);
+        clone.coreSetState(ATTRIBUTES_PENDING);
+        do {
+            builder.next();
+        } while (clone.getState() == ATTRIBUTES_PENDING);
+        return clone;
+    }
+
     @Override
     public final void buildWithAttachments() {
         if (getState() == INCOMPLETE) {
@@ -24,6 +24,7 @@ import org.apache.axiom.om.OMFactory;
 import org.apache.axiom.om.OMInformationItem;
 import org.apache.axiom.om.impl.common.AxiomExceptionTranslator;
 import org.apache.axiom.om.impl.common.AxiomSemantics;
+import org.apache.axiom.om.impl.intf.AxiomElement;
 import org.apache.axiom.om.impl.intf.AxiomInformationItem;
 import org.apache.axiom.weaver.annotation.Mixin;
 
@@ -37,6 +38,17 @@ public abstract class AxiomInformationItemMixin implements AxiomInformationItem
     @Override
     public final OMInformationItem clone(OMCloneOptions options) {
         try {
+            if (options != null
+                    && options.isLazy()
+                    && !options.isPreserveModel()
+                    && !options.isFetchBlobs()
+                    && !options.isCopyOMDataSources()
+                    && this instanceof AxiomElement element) {
+                AxiomElement clone = element.lazyClone();
+                if (clone != null) {
+                    return clone;
+                }
+            }
             return (OMInformationItem) coreClone(AxiomSemantics.CLONE_POLICY, options);
         } catch (CoreModelException ex) {
             throw AxiomExceptionTranslator.translate(ex);
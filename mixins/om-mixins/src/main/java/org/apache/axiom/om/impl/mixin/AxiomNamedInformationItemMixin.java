@@ -27,7 +27,6 @@ import org.apache.axiom.om.impl.common.builder.OMNamespaceCache;
 import org.apache.axiom.om.impl.intf.AxiomElement;
 import org.apache.axiom.om.impl.intf.AxiomNamedInformationItem;
 import org.apache.axiom.om.impl.intf.AxiomSourcedElement;
-import org.apache.axiom.util.xml.QNameCache;
 import org.apache.axiom.weaver.annotation.Mixin;
 
 @Mixin
@@ -64,6 +63,7 @@ public abstract class AxiomNamedInformationItemMixin implements AxiomNamedInform
      */
     @Override
     public final void internalSetNamespace(OMNamespace namespace) {
+        internalMarkModified();
         this.namespace = namespace;
     }
 
@@ -74,6 +74,7 @@ public abstract class AxiomNamedInformationItemMixin implements AxiomNamedInform
 
     @Override
     public final void internalSetLocalName(String localName) {
+        internalMarkModified();
         this.localName = localName;
     }
 
@@ -107,6 +108,7 @@ public abstract class AxiomNamedInformationItemMixin implements AxiomNamedInform
     @Override
     public final void setLocalName(String localName) {
         beforeSetLocalName();
+        internalMarkModified();
         this.localName = localName;
     }
 
@@ -117,10 +119,12 @@ public abstract class AxiomNamedInformationItemMixin implements AxiomNamedInform
 
     @Override
     public final QName defaultGetQName() {
-        return QNameCache.getQName(
-                namespace == null ? "" : namespace.getNamespaceURI(),
-                localName,
-                namespace == null ? "" : namespace.getPrefix());
+        return getNodeFactory()
+                .getQNameCache()
+                .get(
+                        namespace == null ? "" : namespace.getNamespaceURI(),
+                        localName,
+                        namespace == null ? "" : namespace.getPrefix());
     }
 
     @Override
@@ -148,6 +152,7 @@ public abstract class AxiomNamedInformationItemMixin implements AxiomNamedInform
 
     @Override
     public final void coreSetName(String namespaceURI, String localName, String prefix) {
+        internalMarkModified();
         this.localName = localName;
         namespace =
                 namespaceURI.length() == 0 && prefix.length() == 0 ? null : new OMNamespaceImpl(namespaceURI, prefix);
@@ -24,11 +24,14 @@ import static org.apache.axiom.om.impl.common.factory.meta.BuilderFactory.SOAP;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Source;
 import javax.xml.transform.sax.SAXSource;
+import org.apache.axiom.core.impl.NodePool;
 import org.apache.axiom.mime.MultipartBody;
+import org.apache.axiom.monitoring.CacheStatistics;
 import org.apache.axiom.om.OMAttachmentAccessor;
 import org.apache.axiom.om.OMFactory;
 import org.apache.axiom.om.OMXMLParserWrapper;
 import org.apache.axiom.om.impl.common.factory.OMFactoryImpl;
+import org.apache.axiom.om.impl.common.factory.QNameCacheStatistics;
 import org.apache.axiom.om.impl.common.factory.meta.BuilderSpec;
 import org.apache.axiom.om.impl.intf.factory.AxiomNodeFactory;
 import org.apache.axiom.om.util.StAXParserConfiguration;
@@ -36,6 +39,7 @@ import org.apache.axiom.soap.SOAPFactory;
 import org.apache.axiom.soap.SOAPModelBuilder;
 import org.apache.axiom.soap.impl.factory.SOAP11Factory;
 import org.apache.axiom.soap.impl.factory.SOAP12Factory;
+import org.apache.axiom.util.xml.QNameCache;
 import org.apache.axiom.weaver.annotation.Mixin;
 import org.w3c.dom.Node;
 import org.xml.sax.InputSource;
@@ -45,6 +49,8 @@ public abstract class AxiomNodeFactoryMixin implements AxiomNodeFactory {
     private final OMFactory omFactory;
     private final SOAPFactory soap11Factory;
     private final SOAPFactory soap12Factory;
+    private final QNameCache qnameCache = new QNameCache(QNameCache.getConfiguredCapacity());
+    private final CacheStatistics qnameCacheStatistics = new QNameCacheStatistics(qnameCache);
 
     public AxiomNodeFactoryMixin() {
         omFactory = new OMFactoryImpl(this);
@@ -67,6 +73,21 @@ public abstract class AxiomNodeFactoryMixin implements AxiomNodeFactory {
         return soap12Factory;
     }
 
+    @Override
+    public final QNameCache getQNameCache() {
+        return qnameCache;
+    }
+
+    @Override
+    public final CacheStatistics getQNameCacheStatistics() {
+        return qnameCacheStatistics;
+    }
+
+    @Override
+    public final void clearNodePools() {
+        NodePool.clear(this);
+    }
+
     @Override
     public final OMXMLParserWrapper createStAXOMBuilder(XMLStreamReader parser) {
         return OM.createBuilder(this, BuilderSpec.from(parser));
@@ -112,6 +133,11 @@ public abstract class AxiomNodeFactoryMixin implements AxiomNodeFactory {
         return SOAP.createBuilder(this, BuilderSpec.from(StAXParserConfiguration.SOAP, is));
     }
 
+    @Override
+    public final SOAPModelBuilder createSOAPModelBuilder(StAXParserConfiguration configuration, InputSource is) {
+        return SOAP.createBuilder(this, BuilderSpec.from(configuration, is));
+    }
+
     @Override
     public final SOAPModelBuilder createSOAPModelBuilder(Source source) {
         return SOAP.createBuilder(this, BuilderSpec.from(StAXParserConfiguration.SOAP, source));
@@ -33,6 +33,8 @@ import org.apache.axiom.core.stream.NamespaceRepairingFilter;
 import org.apache.axiom.core.stream.StreamException;
 import org.apache.axiom.core.stream.XmlInput;
 import org.apache.axiom.core.stream.stax.pull.input.StAXPullInput;
+import org.apache.axiom.monitoring.Monitoring;
+import org.apache.axiom.monitoring.Operation;
 import org.apache.axiom.om.OMCloneOptions;
 import org.apache.axiom.om.OMDataSource;
 import org.apache.axiom.om.OMDataSourceExt;
@@ -47,6 +49,7 @@ import org.apache.axiom.om.impl.common.OMNamespaceImpl;
 import org.apache.axiom.om.impl.common.util.OMDataSourceUtil;
 import org.apache.axiom.om.impl.intf.AxiomSourcedElement;
 import org.apache.axiom.om.impl.stream.ds.PushOMDataSourceInput;
+import org.apache.axiom.om.impl.stream.ds.RawOMDataSourceInput;
 import org.apache.axiom.om.impl.stream.stax.pull.AxiomXMLStreamReaderHelperFactory;
 import org.apache.axiom.weaver.annotation.Mixin;
 import org.apache.commons.logging.Log;
@@ -206,13 +209,15 @@ public abstract class AxiomSourcedElementMixin implements AxiomSourcedElement {
                 }
             }
 
+            Operation operation = Monitoring.isEnabled() ? Monitoring.beginSourcedElementExpansion() : null;
             Builder builder;
             if (OMDataSourceUtil.isPushDataSource(dataSource)) {
                 // Disable namespace repairing because the OMDataSource is required to produce well
                 // formed
                 // XML with respect to namespaces.
                 builder = new BuilderImpl(
-                        new PushOMDataSourceInput(this, dataSource),
+                        new PushOMDataSourceInput(
+                                this, dataSource, OMDataSourceUtil.getExpansionExecutor(dataSource)),
                         coreGetNodeFactory(),
                         PlainXMLModel.INSTANCE,
                         this);
@@ -242,6 +247,9 @@ public abstract class AxiomSourcedElementMixin implements AxiomSourcedElement {
             } catch (DeferredParsingException ex) {
                 throw AxiomExceptionTranslator.translate(ex);
             }
+            if (operation != null) {
+                Monitoring.reportSourcedElementExpanded(getPrintableName(), dataSource.getClass(), operation);
+            }
         }
     }
 
@@ -443,14 +451,10 @@ public abstract class AxiomSourcedElementMixin implements AxiomSourcedElement {
                         || !pull && OMDataSourceUtil.isDestructiveWrite(dataSource))) {
             return null;
         }
-        if (pull) {
-            try {
-                return new StAXPullInput(dataSource.getReader(), AxiomXMLStreamReaderHelperFactory.INSTANCE);
-            } catch (XMLStreamException ex) {
-                throw new StreamException(ex);
-            }
+        if (!incremental && dataSource instanceof OMDataSourceExt ext && (!cache || !ext.isDestructiveWrite())) {
+            return new RawOMDataSourceInput(this, ext, pull);
         } else {
-            return new PushOMDataSourceInput(this, dataSource);
+            return RawOMDataSourceInput.createEventInput(this, dataSource, pull);
         }
     }
 
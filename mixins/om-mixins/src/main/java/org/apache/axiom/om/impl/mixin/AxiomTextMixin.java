@@ -40,7 +40,7 @@ public abstract class AxiomTextMixin implements AxiomText {
             if (content instanceof TextContent textContent) {
                 return textContent;
             } else if (force) {
-                TextContent textContent = new TextContent((String) content);
+                TextContent textContent = new TextContent(content.toString());
                 coreSetCharacterData(textContent, AxiomSemantics.INSTANCE);
                 return textContent;
             } else {
@@ -95,7 +95,7 @@ public abstract class AxiomTextMixin implements AxiomText {
             if (content instanceof TextContent textContent) {
                 return textContent.toCharArray();
             } else {
-                return ((String) content).toCharArray();
+                return content.toString().toCharArray();
             }
         } catch (CoreModelException ex) {
             throw AxiomExceptionTranslator.translate(ex);
@@ -25,6 +25,7 @@ import org.apache.axiom.core.CoreElement;
 import org.apache.axiom.core.CoreModelException;
 import org.apache.axiom.core.CoreNamespaceDeclaration;
 import org.apache.axiom.core.CoreParentNode;
+import org.apache.axiom.core.stream.RawElement;
 import org.apache.axiom.core.stream.StreamException;
 import org.apache.axiom.core.stream.XmlHandler;
 import org.apache.axiom.core.stream.XmlHandlerWrapper;
@@ -91,4 +92,10 @@ public final class NamespaceContextPreservationFilterHandler extends XmlHandlerW
         }
         super.attributesCompleted();
     }
+
+    @Override
+    public boolean processRawElement(RawElement element, String[] namespaceContext) throws StreamException {
+        // We need to add namespace declarations to the first element
+        return done && super.processRawElement(element, namespaceContext);
+    }
 }
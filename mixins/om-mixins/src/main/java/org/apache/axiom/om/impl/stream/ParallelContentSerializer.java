@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.impl.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import org.apache.axiom.core.ContentSerializer;
+import org.apache.axiom.core.CoreChildNode;
+import org.apache.axiom.core.CoreElement;
+import org.apache.axiom.core.CoreModelException;
+import org.apache.axiom.core.CoreParentNode;
+import org.apache.axiom.core.stream.NamespaceContextProvider;
+import org.apache.axiom.core.stream.NamespaceRepairingFilterHandler;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.serializer.Serializer;
+import org.apache.axiom.om.impl.intf.AxiomSourcedElement;
+
+/**
+ * {@link ContentSerializer} that splits the children of wide elements into ranges and serializes
+ * them concurrently using the common {@link ForkJoinPool}. Each range is serialized to a separate
+ * UTF-8 buffer, and the buffers are then passed in order to the handler as raw content (one call
+ * to {@link XmlHandler#processRawContent(byte[], int, int, String, String[])} per range).
+ *
+ * <p>Serializing a node on a pool thread must not have side effects on the tree. Elements are
+ * therefore only serialized in parallel if all their descendants are complete and there are no
+ * unexpanded {@link org.apache.axiom.om.OMSourcedElement}s in the subtree; otherwise the serial
+ * path is used. The context class loader of the calling thread is used while serializing the
+ * ranges.
+ *
+ * <p>The handler must be the {@link NamespaceRepairingFilterHandler} of the serialization pipeline.
+ * Its bindings don't change while the ranges are serialized, so they are used as the parent
+ * namespace context of each range. This means that the serialized content only relies on bindings
+ * that are in scope and that it can be passed to the handler without a namespace context.
+ */
+public final class ParallelContentSerializer implements ContentSerializer {
+    private final int threshold;
+    private final CoreElement contextElement;
+    private final boolean cache;
+
+    /**
+     * Constructor.
+     *
+     * @param threshold the minimum number of children an element must have to be serialized in
+     *     parallel
+     * @param contextElement the context element used to add the namespace declarations required by
+     *     <code>xsi:type</code> attributes, or <code>null</code> if the serialized node is a
+     *     document or a root element
+     * @param cache whether the tree should be built while it is serialized
+     */
+    public ParallelContentSerializer(int threshold, CoreElement contextElement, boolean cache) {
+        this.threshold = Math.max(threshold, 2);
+        this.contextElement = contextElement;
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean serializeContent(CoreElement element, XmlHandler handler)
+            throws CoreModelException, StreamException {
+        if (!(handler instanceof NamespaceContextProvider namespaceContext)
+                || element.getState() != CoreParentNode.COMPLETE) {
+            return false;
+        }
+        // Check the width first to keep the overhead for narrow elements low
+        int count = 0;
+        for (CoreChildNode child = element.coreGetFirstChildIfAvailable();
+                child != null && count < threshold;
+                child = child.coreGetNextSiblingIfAvailable()) {
+            count++;
+        }
+        if (count < threshold || !isSafeToSerializeConcurrently(element)) {
+            return false;
+        }
+        List<CoreChildNode> children = new ArrayList<>();
+        for (CoreChildNode child = element.coreGetFirstChildIfAvailable();
+                child != null;
+                child = child.coreGetNextSiblingIfAvailable()) {
+            children.add(child);
+        }
+        List<Range> ranges = split(children, namespaceContext);
+        if (ranges.size() < 2) {
+            return false;
+        }
+        ForkJoinTask.invokeAll(ranges);
+        for (Range range : ranges) {
+            range.rethrowException();
+        }
+        // All the namespace bindings the content relies on have been looked up in the handler
+        // itself, so there is no need to check them again. The buffers are passed one by one
+        // instead of being concatenated, so that the content isn't copied.
+        for (int i = 0; i < ranges.size(); i++) {
+            Range range = ranges.get(i);
+            if (!handler.processRawContent(range.out.getBuffer(), 0, range.out.size(), "UTF-8", null)) {
+                if (i == 0) {
+                    return false;
+                }
+                throw new StreamException("Handler rejected part of the content of an element");
+            }
+            range.out = null;
+        }
+        return true;
+    }
+
+    /**
+     * Check that all descendants of the element are complete and that there are no unexpanded
+     * sourced elements. This walks the subtree once, which is cheap compared to serializing it.
+     */
+    private static boolean isSafeToSerializeConcurrently(CoreElement element) {
+        CoreChildNode node = element.coreGetFirstChildIfAvailable();
+        while (node != null) {
+            if (node instanceof AxiomSourcedElement sourcedElement && !sourcedElement.isExpanded()) {
+                return false;
+            }
+            if (node instanceof CoreParentNode parent) {
+                if (parent.getState() != CoreParentNode.COMPLETE) {
+                    return false;
+                }
+                CoreChildNode firstChild = parent.coreGetFirstChildIfAvailable();
+                if (firstChild != null) {
+                    node = firstChild;
+                    continue;
+                }
+            }
+            CoreChildNode next;
+            while ((next = node.coreGetNextSiblingIfAvailable()) == null) {
+                CoreParentNode parent = node.coreGetParent();
+                if (parent == element) {
+                    return true;
+                }
+                node = (CoreChildNode) parent;
+            }
+            node = next;
+        }
+        return true;
+    }
+
+    /**
+     * Split the children into ranges of roughly equal size. Ranges always start with an element so
+     * that the serializer never needs to know about the character data that precedes a range (which
+     * is relevant for the escaping of <code>]]&gt;</code>).
+     */
+    private List<Range> split(List<CoreChildNode> children, NamespaceContextProvider namespaceContext) {
+        int size = children.size();
+        int rangeCount = Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, size / 2);
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        List<Range> ranges = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= rangeCount && start < size; i++) {
+            int end = i == rangeCount ? size : Math.max((int) ((long) size * i / rangeCount), start + 1);
+            while (end < size && !(children.get(end) instanceof CoreElement)) {
+                end++;
+            }
+            ranges.add(new Range(children.subList(start, end), namespaceContext, contextClassLoader));
+            start = end;
+        }
+        return ranges;
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream {
+        byte[] getBuffer() {
+            return buf;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class Range extends RecursiveAction {
+        private final List<CoreChildNode> children;
+        private final NamespaceContextProvider namespaceContext;
+        private final ClassLoader contextClassLoader;
+        Buffer out = new Buffer();
+        private Exception exception;
+
+        Range(List<CoreChildNode> children, NamespaceContextProvider namespaceContext, ClassLoader contextClassLoader) {
+            this.children = children;
+            this.namespaceContext = namespaceContext;
+            this.contextClassLoader = contextClassLoader;
+        }
+
+        @Override
+        protected void compute() {
+            XmlHandler handler = new Serializer(out, "UTF-8");
+            if (contextElement != null) {
+                handler = new XsiTypeFilterHandler(handler, contextElement);
+            }
+            handler = new NamespaceRepairingFilterHandler(handler, namespaceContext, true);
+            Thread thread = Thread.currentThread();
+            ClassLoader savedContextClassLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(contextClassLoader);
+            try {
+                for (CoreChildNode child : children) {
+                    child.internalSerialize(handler, cache);
+                }
+                handler.completed();
+            } catch (CoreModelException | StreamException ex) {
+                exception = ex;
+            } finally {
+                thread.setContextClassLoader(savedContextClassLoader);
+            }
+        }
+
+        void rethrowException() throws CoreModelException, StreamException {
+            if (exception instanceof CoreModelException coreModelException) {
+                throw coreModelException;
+            } else if (exception instanceof StreamException streamException) {
+                throw streamException;
+            }
+        }
+    }
+}
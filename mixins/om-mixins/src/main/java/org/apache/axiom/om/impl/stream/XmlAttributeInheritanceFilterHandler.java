@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.impl.stream;
+
+import javax.xml.XMLConstants;
+import org.apache.axiom.core.CoreAttribute;
+import org.apache.axiom.core.CoreElement;
+import org.apache.axiom.core.CoreModelException;
+import org.apache.axiom.core.CoreNSAwareAttribute;
+import org.apache.axiom.core.CoreParentNode;
+import org.apache.axiom.core.stream.RawElement;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.XmlHandlerWrapper;
+
+/**
+ * Adds the <code>xml:lang</code> and <code>xml:space</code> attributes inherited from the
+ * ancestors of the serialized element to the root element, as required by <a
+ * href="https://www.w3.org/TR/xml-c14n11/#DocSubsets">Canonical XML 1.1</a> for document subsets.
+ * Attributes the root element specifies itself take precedence, and <code>xml:id</code> is not
+ * inherited. The xml:base fixup defined by the specification is not supported; the constructor
+ * rejects elements that have an ancestor with an <code>xml:base</code> attribute.
+ */
+public final class XmlAttributeInheritanceFilterHandler extends XmlHandlerWrapper {
+    private String lang;
+    private String space;
+    private boolean done;
+
+    /**
+     * Constructor.
+     *
+     * @param parent the parent handler
+     * @param contextElement the parent of the serialized element
+     * @throws CoreModelException if an error occurs when accessing the attributes of the ancestors
+     * @throws IllegalArgumentException if one of the ancestors has an <code>xml:base</code>
+     *     attribute
+     */
+    public XmlAttributeInheritanceFilterHandler(XmlHandler parent, CoreElement contextElement)
+            throws CoreModelException {
+        super(parent);
+        CoreElement current = contextElement;
+        while (true) {
+            CoreAttribute attr = current.coreGetFirstAttribute();
+            while (attr != null) {
+                if (attr instanceof CoreNSAwareAttribute nsAwareAttr
+                        && nsAwareAttr.coreGetNamespaceURI().equals(XMLConstants.XML_NS_URI)) {
+                    switch (nsAwareAttr.coreGetLocalName()) {
+                        case "lang" -> {
+                            if (lang == null) {
+                                lang = attr.coreGetCharacterData().toString();
+                            }
+                        }
+                        case "space" -> {
+                            if (space == null) {
+                                space = attr.coreGetCharacterData().toString();
+                            }
+                        }
+                        case "base" -> throw new IllegalArgumentException(
+                                "xml:base fixup is not supported; an ancestor of the element has an xml:base"
+                                        + " attribute");
+                        default -> {}
+                    }
+                }
+                attr = attr.coreGetNextAttribute();
+            }
+            CoreParentNode parentNode = current.coreGetParent();
+            if (parentNode instanceof CoreElement element) {
+                current = element;
+            } else {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void processAttribute(
+            String namespaceURI, String localName, String prefix, String value, String type, boolean specified)
+            throws StreamException {
+        super.processAttribute(namespaceURI, localName, prefix, value, type, specified);
+        if (!done && namespaceURI.equals(XMLConstants.XML_NS_URI)) {
+            // The root element specifies the attribute itself
+            if (localName.equals("lang")) {
+                lang = null;
+            } else if (localName.equals("space")) {
+                space = null;
+            }
+        }
+    }
+
+    @Override
+    public void attributesCompleted() throws StreamException {
+        if (!done) {
+            if (lang != null) {
+                super.processAttribute(
+                        XMLConstants.XML_NS_URI, "lang", XMLConstants.XML_NS_PREFIX, lang, "CDATA", true);
+            }
+            if (space != null) {
+                super.processAttribute(
+                        XMLConstants.XML_NS_URI, "space", XMLConstants.XML_NS_PREFIX, space, "CDATA", true);
+            }
+            done = true;
+        }
+        super.attributesCompleted();
+    }
+
+    @Override
+    public boolean processRawElement(RawElement element, String[] namespaceContext) throws StreamException {
+        // We need to add attributes to the first element
+        return done && super.processRawElement(element, namespaceContext);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.impl.stream;
+
+import static org.apache.axiom.core.stream.batch.XmlEventBuffer.START_DOCUMENT;
+import static org.apache.axiom.core.stream.batch.XmlEventBuffer.mask;
+
+import org.apache.axiom.core.stream.batch.XmlEventBatchFilter;
+import org.apache.axiom.core.stream.batch.XmlEventBuffer;
+import org.apache.axiom.om.OMOutputFormat;
+
+/** Batch version of {@link XmlDeclarationRewriterHandler}. */
+public final class XmlDeclarationRewriter implements XmlEventBatchFilter {
+    private final OMOutputFormat format;
+
+    public XmlDeclarationRewriter(OMOutputFormat format) {
+        this.format = format;
+    }
+
+    @Override
+    public int getEventMask() {
+        return mask(START_DOCUMENT);
+    }
+
+    @Override
+    public void processEvent(XmlEventBuffer in, int index, XmlEventBuffer out) {
+        if (format.isIgnoreXMLDeclaration()) {
+            out.startFragment();
+        } else {
+            String xmlEncoding = format.getCharSetEncoding();
+            out.startDocument(
+                    in.getStringArgument(index, 0),
+                    in.getStringArgument(index, 1),
+                    xmlEncoding == null ? in.getStringArgument(index, 2) : xmlEncoding,
+                    (Boolean) in.getArgument(index, 3));
+        }
+    }
+}
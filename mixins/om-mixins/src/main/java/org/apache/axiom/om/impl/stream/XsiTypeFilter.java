@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.impl.stream;
+
+import static org.apache.axiom.core.stream.batch.XmlEventBuffer.ATTRIBUTES_COMPLETED;
+import static org.apache.axiom.core.stream.batch.XmlEventBuffer.END_ELEMENT;
+import static org.apache.axiom.core.stream.batch.XmlEventBuffer.NAMESPACE_DECLARATION;
+import static org.apache.axiom.core.stream.batch.XmlEventBuffer.NS_AWARE_ATTRIBUTE;
+import static org.apache.axiom.core.stream.batch.XmlEventBuffer.START_ELEMENT;
+import static org.apache.axiom.core.stream.batch.XmlEventBuffer.mask;
+
+import org.apache.axiom.core.CoreElement;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.batch.XmlEventBatchFilter;
+import org.apache.axiom.core.stream.batch.XmlEventBuffer;
+
+/** Batch version of {@link XsiTypeFilterHandler}. */
+public final class XsiTypeFilter implements XmlEventBatchFilter {
+    private final XsiTypeTracker tracker;
+
+    public XsiTypeFilter(CoreElement contextElement) {
+        tracker = new XsiTypeTracker(contextElement);
+    }
+
+    @Override
+    public int getEventMask() {
+        return mask(START_ELEMENT)
+                | mask(END_ELEMENT)
+                | mask(NAMESPACE_DECLARATION)
+                | mask(NS_AWARE_ATTRIBUTE)
+                | mask(ATTRIBUTES_COMPLETED);
+    }
+
+    @Override
+    public void processEvent(XmlEventBuffer in, int index, XmlEventBuffer out) throws StreamException {
+        switch (in.getOpcode(index)) {
+            case START_ELEMENT -> tracker.startElement();
+            case END_ELEMENT -> tracker.endElement();
+            case NAMESPACE_DECLARATION -> tracker.namespaceDeclaration(in.getStringArgument(index, 0));
+            case NS_AWARE_ATTRIBUTE -> tracker.attribute(
+                    in.getStringArgument(index, 0), in.getStringArgument(index, 1), in.getStringArgument(index, 3));
+            case ATTRIBUTES_COMPLETED -> tracker.attributesCompleted(out);
+            default -> throw new IllegalStateException();
+        }
+        out.append(in, index, index + 1);
+    }
+}
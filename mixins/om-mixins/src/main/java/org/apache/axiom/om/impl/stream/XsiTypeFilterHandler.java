@@ -19,51 +19,34 @@
 package org.apache.axiom.om.impl.stream;
 
 import org.apache.axiom.core.CoreElement;
-import org.apache.axiom.core.CoreModelException;
 import org.apache.axiom.core.stream.StreamException;
 import org.apache.axiom.core.stream.XmlHandler;
 import org.apache.axiom.core.stream.XmlHandlerWrapper;
-import org.apache.axiom.om.impl.common.AxiomSemantics;
 
 public class XsiTypeFilterHandler extends XmlHandlerWrapper {
-    private final CoreElement contextElement;
-    private String[] prefixes = new String[16];
-    private int prefixCount;
-    private int[] scopeStack = new int[8];
-    private int scopes;
-    private String xsiType;
+    private final XsiTypeTracker tracker;
 
     public XsiTypeFilterHandler(XmlHandler parent, CoreElement contextElement) {
         super(parent);
-        this.contextElement = contextElement;
+        tracker = new XsiTypeTracker(contextElement);
     }
 
     @Override
     public void startElement(String namespaceURI, String localName, String prefix) throws StreamException {
         super.startElement(namespaceURI, localName, prefix);
-        if (scopes == scopeStack.length) {
-            int[] newScopeStack = new int[scopeStack.length * 2];
-            System.arraycopy(scopeStack, 0, newScopeStack, 0, scopeStack.length);
-            scopeStack = newScopeStack;
-        }
-        scopeStack[scopes++] = prefixCount;
+        tracker.startElement();
     }
 
     @Override
     public void endElement() throws StreamException {
-        prefixCount = scopeStack[--scopes];
+        tracker.endElement();
         super.endElement();
     }
 
     @Override
     public void processNamespaceDeclaration(String prefix, String namespaceURI) throws StreamException {
         super.processNamespaceDeclaration(prefix, namespaceURI);
-        if (prefixes.length == prefixCount) {
-            String[] newPrefixes = new String[prefixes.length * 2];
-            System.arraycopy(prefixes, 0, newPrefixes, 0, prefixes.length);
-            prefixes = newPrefixes;
-        }
-        prefixes[prefixCount++] = prefix;
+        tracker.namespaceDeclaration(prefix);
     }
 
     @Override
@@ -71,35 +54,12 @@ public class XsiTypeFilterHandler extends XmlHandlerWrapper {
             String namespaceURI, String localName, String prefix, String value, String type, boolean specified)
             throws StreamException {
         super.processAttribute(namespaceURI, localName, prefix, value, type, specified);
-        if (namespaceURI.equals("http://www.w3.org/2001/XMLSchema-instance") && localName.equals("type")) {
-            xsiType = value.trim();
-        }
+        tracker.attribute(namespaceURI, localName, value);
     }
 
     @Override
     public void attributesCompleted() throws StreamException {
-        try {
-            if (xsiType != null) {
-                int idx = xsiType.indexOf(':');
-                String prefix = idx == -1 ? "" : xsiType.substring(0, idx);
-                boolean bound = false;
-                for (int i = 0; i < prefixCount; i++) {
-                    if (prefixes[i] == prefix) {
-                        bound = true;
-                        break;
-                    }
-                }
-                if (!bound) {
-                    String namespaceURI = contextElement.coreLookupNamespaceURI(prefix, AxiomSemantics.INSTANCE);
-                    if (namespaceURI != null && !namespaceURI.isEmpty()) {
-                        processNamespaceDeclaration(prefix, namespaceURI);
-                    }
-                }
-            }
-        } catch (CoreModelException ex) {
-            throw new StreamException(ex);
-        }
+        tracker.attributesCompleted(getParent());
         super.attributesCompleted();
-        xsiType = null;
     }
 }
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.impl.stream;
+
+import org.apache.axiom.core.CoreElement;
+import org.apache.axiom.core.CoreModelException;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.om.impl.common.AxiomSemantics;
+
+/**
+ * Tracks the namespace declarations and <code>xsi:type</code> attributes in a stream of events in
+ * order to add the namespace declarations needed by <code>xsi:type</code> attributes that refer to
+ * prefixes bound outside of the serialized subtree. Shared by {@link XsiTypeFilterHandler} and
+ * {@link XsiTypeFilter}.
+ */
+final class XsiTypeTracker {
+    private final CoreElement contextElement;
+    private String[] prefixes = new String[16];
+    private int prefixCount;
+    private int[] scopeStack = new int[8];
+    private int scopes;
+    private String xsiType;
+
+    XsiTypeTracker(CoreElement contextElement) {
+        this.contextElement = contextElement;
+    }
+
+    void startElement() {
+        if (scopes == scopeStack.length) {
+            int[] newScopeStack = new int[scopeStack.length * 2];
+            System.arraycopy(scopeStack, 0, newScopeStack, 0, scopeStack.length);
+            scopeStack = newScopeStack;
+        }
+        scopeStack[scopes++] = prefixCount;
+    }
+
+    void endElement() {
+        prefixCount = scopeStack[--scopes];
+    }
+
+    void namespaceDeclaration(String prefix) {
+        if (prefixes.length == prefixCount) {
+            String[] newPrefixes = new String[prefixes.length * 2];
+            System.arraycopy(prefixes, 0, newPrefixes, 0, prefixes.length);
+            prefixes = newPrefixes;
+        }
+        prefixes[prefixCount++] = prefix;
+    }
+
+    void attribute(String namespaceURI, String localName, String value) {
+        if (namespaceURI.equals("http://www.w3.org/2001/XMLSchema-instance") && localName.equals("type")) {
+            xsiType = value.trim();
+        }
+    }
+
+    /**
+     * Add the namespace declaration required by the <code>xsi:type</code> attribute of the current
+     * element, if any.
+     *
+     * @param handler the handler to send the namespace declaration to
+     * @throws StreamException if an error occurs
+     */
+    void attributesCompleted(XmlHandler handler) throws StreamException {
+        try {
+            if (xsiType != null) {
+                int idx = xsiType.indexOf(':');
+                String prefix = idx == -1 ? "" : xsiType.substring(0, idx);
+                boolean bound = false;
+                for (int i = 0; i < prefixCount; i++) {
+                    if (prefixes[i] == prefix) {
+                        bound = true;
+                        break;
+                    }
+                }
+                if (!bound) {
+                    String namespaceURI = contextElement.coreLookupNamespaceURI(prefix, AxiomSemantics.INSTANCE);
+                    if (namespaceURI != null && !namespaceURI.isEmpty()) {
+                        handler.processNamespaceDeclaration(prefix, namespaceURI);
+                        namespaceDeclaration(prefix);
+                    }
+                }
+            }
+        } catch (CoreModelException ex) {
+            throw new StreamException(ex);
+        }
+        xsiType = null;
+    }
+}
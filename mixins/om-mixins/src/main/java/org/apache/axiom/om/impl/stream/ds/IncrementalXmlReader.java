@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.impl.stream.ds;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import org.apache.axiom.checker.union.Union;
+import org.apache.axiom.core.stream.CharacterData;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.XmlHandlerWrapper;
+import org.apache.axiom.core.stream.XmlReader;
+
+/**
+ * {@link XmlReader} that executes a reader producing all its events at once (such as {@link
+ * PushOMDataSourceReader}) as a task on an {@link Executor} and hands over the events one node at
+ * a time. The task and the caller of {@link #proceed()} never run at the same time: the task is
+ * suspended after each node and resumed by the next invocation of {@link #proceed()}. This means
+ * that the {@link XmlHandler} doesn't need to be thread safe.
+ *
+ * <p>As in {@code SerializationPublisher}, a {@link ReentrantLock} is used so that the task
+ * doesn't pin the carrier thread if it is executed by a virtual thread.
+ *
+ * <p>If the executor runs the task on the thread that calls {@link #proceed()} (e.g. a same-thread
+ * executor or a thread pool with a caller-runs rejection policy), the task can't be suspended
+ * without deadlocking. In that case, the task doesn't yield, so all events are produced during the
+ * first invocation of {@link #proceed()}, as without an executor.
+ *
+ * <p>If the executor rejects the task, {@link #proceed()} throws a {@link StreamException} and the
+ * reader reverts to its initial state.
+ */
+final class IncrementalXmlReader implements XmlReader {
+    private final class YieldingHandler extends XmlHandlerWrapper {
+        YieldingHandler(XmlHandler parent) {
+            super(parent);
+        }
+
+        @Override
+        public void processDocumentTypeDeclaration(
+                String rootName, String publicId, String systemId, String internalSubset) throws StreamException {
+            checkCancelled();
+            super.processDocumentTypeDeclaration(rootName, publicId, systemId, internalSubset);
+            yieldTurn();
+        }
+
+        @Override
+        public void attributesCompleted() throws StreamException {
+            checkCancelled();
+            super.attributesCompleted();
+            yieldTurn();
+        }
+
+        @Override
+        public void endElement() throws StreamException {
+            checkCancelled();
+            super.endElement();
+            yieldTurn();
+        }
+
+        @Override
+        public void processCharacterData(
+                @Union(types = {String.class, CharacterData.class}) Object data, boolean ignorable)
+                throws StreamException {
+            checkCancelled();
+            super.processCharacterData(data, ignorable);
+            yieldTurn();
+        }
+
+        @Override
+        public void endProcessingInstruction() throws StreamException {
+            checkCancelled();
+            super.endProcessingInstruction();
+            yieldTurn();
+        }
+
+        @Override
+        public void endComment() throws StreamException {
+            checkCancelled();
+            super.endComment();
+            yieldTurn();
+        }
+
+        @Override
+        public void endCDATASection() throws StreamException {
+            checkCancelled();
+            super.endCDATASection();
+            yieldTurn();
+        }
+
+        @Override
+        public void processEntityReference(String name, String replacementText) throws StreamException {
+            checkCancelled();
+            super.processEntityReference(name, replacementText);
+            yieldTurn();
+        }
+    }
+
+    private final XmlReader delegate;
+    private final Executor executor;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition turnChanged = lock.newCondition();
+
+    /**
+     * Indicates whether the task is allowed to run. If this is {@code false}, the task is either
+     * suspended or completed, and the caller of {@link #proceed()} may access the handler.
+     */
+    private boolean taskTurn;
+
+    private boolean started;
+
+    /**
+     * Indicates that the task is executed by the thread that started it and must therefore never
+     * be suspended. Only accessed by the task.
+     */
+    private boolean inline;
+
+    private boolean completed;
+    private boolean disposed;
+    private volatile boolean cancelled;
+    private Throwable failure;
+
+    IncrementalXmlReader(XmlHandler handler, Function<XmlHandler, XmlReader> readerFactory, Executor executor) {
+        delegate = readerFactory.apply(new YieldingHandler(handler));
+        this.executor = executor;
+    }
+
+    private void checkCancelled() throws StreamException {
+        if (cancelled) {
+            throw new StreamException("Expansion has been cancelled");
+        }
+    }
+
+    /** Suspend the task until {@link #proceed()} is called again. Called by the task. */
+    private void yieldTurn() throws StreamException {
+        if (inline) {
+            return;
+        }
+        lock.lock();
+        try {
+            taskTurn = false;
+            turnChanged.signalAll();
+            while (!taskTurn && !cancelled) {
+                try {
+                    turnChanged.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    cancelled = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        checkCancelled();
+    }
+
+    private void run(ClassLoader contextClassLoader, Thread caller) {
+        Thread thread = Thread.currentThread();
+        inline = thread == caller;
+        ClassLoader savedContextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(contextClassLoader);
+        Throwable failure = null;
+        try {
+            while (!delegate.proceed()) {
+                // Just loop
+            }
+        } catch (Throwable ex) {
+            failure = ex;
+        } finally {
+            thread.setContextClassLoader(savedContextClassLoader);
+            delegate.dispose();
+            lock.lock();
+            try {
+                this.failure = failure;
+                completed = true;
+                taskTurn = false;
+                turnChanged.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean proceed() throws StreamException {
+        boolean start;
+        lock.lock();
+        try {
+            if (disposed) {
+                throw new IllegalStateException("The reader has been disposed");
+            }
+            start = !started;
+            started = true;
+            if (!completed) {
+                taskTurn = true;
+                turnChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (start) {
+            // Data sources (e.g. JAXB based ones) may rely on the context class loader
+            Thread caller = Thread.currentThread();
+            ClassLoader contextClassLoader = caller.getContextClassLoader();
+            try {
+                executor.execute(() -> run(contextClassLoader, caller));
+            } catch (RejectedExecutionException ex) {
+                // Revert to the initial state so that the call may be retried and dispose() still
+                // disposes the delegate
+                lock.lock();
+                try {
+                    started = false;
+                    taskTurn = false;
+                    turnChanged.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                throw new StreamException("The expansion executor rejected the task", ex);
+            }
+        }
+        Throwable failure;
+        lock.lock();
+        try {
+            // The task may be cancelled, but it is not interrupted while it's accessing the
+            // handler; never return before the task has suspended itself.
+            while (taskTurn) {
+                turnChanged.awaitUninterruptibly();
+            }
+            failure = this.failure;
+            this.failure = null;
+            if (failure == null) {
+                return completed;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (failure instanceof StreamException streamException) {
+            throw streamException;
+        } else if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else if (failure instanceof Error error) {
+            throw error;
+        } else {
+            throw new StreamException(failure);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        boolean disposeDelegate;
+        lock.lock();
+        try {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            disposeDelegate = !started;
+            if (started && !completed) {
+                // The task disposes the delegate when it terminates
+                cancelled = true;
+                turnChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (disposeDelegate) {
+            delegate.dispose();
+        }
+    }
+}
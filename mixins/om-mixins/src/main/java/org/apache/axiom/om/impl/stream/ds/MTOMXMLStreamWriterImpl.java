@@ -29,6 +29,7 @@ import org.apache.axiom.core.stream.NamespaceRepairingFilterHandler;
 import org.apache.axiom.core.stream.StreamException;
 import org.apache.axiom.core.stream.XmlHandler;
 import org.apache.axiom.core.stream.XmlHandlerWrapper;
+import org.apache.axiom.core.stream.batch.BatchingXmlHandler;
 import org.apache.axiom.core.stream.serializer.Serializer;
 import org.apache.axiom.core.stream.stax.push.input.XmlHandlerStreamWriter;
 import org.apache.axiom.om.OMOutputFormat;
@@ -279,7 +280,16 @@ final class MTOMXMLStreamWriterImpl extends MTOMXMLStreamWriter {
                 || handler instanceof NamespaceRepairingFilterHandler
                 || handler instanceof XsiTypeFilterHandler
                 || handler instanceof XmlDeclarationRewriterHandler
-                || handler instanceof XOPEncodingFilterHandler) {
+                || handler instanceof XOPEncodingFilterHandler
+                || handler instanceof BatchingXmlHandler) {
+            if (handler instanceof BatchingXmlHandler batchingHandler) {
+                // Events still in the buffer must be written before the caller writes to the stream
+                try {
+                    batchingHandler.flush();
+                } catch (StreamException ex) {
+                    throw new XMLStreamException(ex);
+                }
+            }
             handler = ((XmlHandlerWrapper) handler).getParent();
         }
         if (handler instanceof Serializer) {
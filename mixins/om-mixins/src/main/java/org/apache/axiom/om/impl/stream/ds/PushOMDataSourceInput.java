@@ -18,6 +18,7 @@
  */
 package org.apache.axiom.om.impl.stream.ds;
 
+import java.util.concurrent.Executor;
 import javax.xml.stream.XMLStreamWriter;
 import org.apache.axiom.core.stream.XmlHandler;
 import org.apache.axiom.core.stream.XmlHandlerWrapper;
@@ -31,10 +32,25 @@ import org.apache.axiom.om.impl.stream.stax.push.XMLStreamWriterHandler;
 public final class PushOMDataSourceInput implements XmlInput {
     private final AxiomSourcedElement root;
     private final OMDataSource dataSource;
+    private final Executor expansionExecutor;
 
     public PushOMDataSourceInput(AxiomSourcedElement root, OMDataSource dataSource) {
+        this(root, dataSource, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param root the sourced element
+     * @param dataSource the data source of the element
+     * @param expansionExecutor the executor to run {@link OMDataSource#serialize(XMLStreamWriter)}
+     *     on so that events are produced incrementally (see {@link IncrementalXmlReader}), or
+     *     {@code null} to produce all events in a single step
+     */
+    public PushOMDataSourceInput(AxiomSourcedElement root, OMDataSource dataSource, Executor expansionExecutor) {
         this.root = root;
         this.dataSource = dataSource;
+        this.expansionExecutor = expansionExecutor;
     }
 
     @Override
@@ -54,6 +70,10 @@ public final class PushOMDataSourceInput implements XmlInput {
                 return new DirectPushOMDataSourceReader(writer, dataSource);
             }
         }
+        if (expansionExecutor != null) {
+            return new IncrementalXmlReader(
+                    handler, h -> new PushOMDataSourceReader(h, root, dataSource), expansionExecutor);
+        }
         return new PushOMDataSourceReader(handler, root, dataSource);
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.impl.stream.ds;
+
+import java.io.OutputStream;
+import javax.xml.stream.XMLStreamException;
+import org.apache.axiom.core.stream.RawElement;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlHandler;
+import org.apache.axiom.core.stream.XmlInput;
+import org.apache.axiom.core.stream.XmlReader;
+import org.apache.axiom.core.stream.stax.pull.input.StAXPullInput;
+import org.apache.axiom.om.OMDataSource;
+import org.apache.axiom.om.OMDataSourceExt;
+import org.apache.axiom.om.impl.intf.AxiomSourcedElement;
+import org.apache.axiom.om.impl.stream.stax.pull.AxiomXMLStreamReaderHelperFactory;
+
+/**
+ * {@link XmlInput} for an {@link OMDataSourceExt} that first attempts to copy the element in
+ * serialized form using {@link OMDataSourceExt#writeTo(OutputStream, String)} and falls back to
+ * event based input if either the data source or the handler doesn't support that.
+ */
+public final class RawOMDataSourceInput implements XmlInput {
+    /**
+     * The namespace context of the serialized element: the element must not rely on any namespace
+     * bindings, and the default namespace must be unbound.
+     */
+    private static final String[] NAMESPACE_CONTEXT = new String[0];
+
+    private final AxiomSourcedElement root;
+    private final OMDataSourceExt dataSource;
+    private final boolean pull;
+
+    public RawOMDataSourceInput(AxiomSourcedElement root, OMDataSourceExt dataSource, boolean pull) {
+        this.root = root;
+        this.dataSource = dataSource;
+        this.pull = pull;
+    }
+
+    /**
+     * Create an event based {@link XmlInput} for the given data source.
+     *
+     * @param root the sourced element
+     * @param dataSource the data source of the element
+     * @param pull specifies whether to use {@link OMDataSource#getReader()} or {@link
+     *     OMDataSource#serialize(javax.xml.stream.XMLStreamWriter)}
+     * @return the input
+     * @throws StreamException if the data source failed to create a reader
+     */
+    public static XmlInput createEventInput(AxiomSourcedElement root, OMDataSource dataSource, boolean pull)
+            throws StreamException {
+        if (pull) {
+            try {
+                return new StAXPullInput(dataSource.getReader(), AxiomXMLStreamReaderHelperFactory.INSTANCE);
+            } catch (XMLStreamException ex) {
+                throw new StreamException(ex);
+            }
+        } else {
+            return new PushOMDataSourceInput(root, dataSource);
+        }
+    }
+
+    @Override
+    public XmlReader createReader(XmlHandler handler) {
+        return new Reader(handler);
+    }
+
+    private final class Reader implements XmlReader, RawElement {
+        private final XmlHandler handler;
+        private XmlReader delegate;
+
+        Reader(XmlHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public boolean writeTo(OutputStream out, String encoding) throws StreamException {
+            try {
+                return dataSource.writeTo(out, encoding);
+            } catch (XMLStreamException ex) {
+                throw new StreamException(ex);
+            }
+        }
+
+        @Override
+        public boolean proceed() throws StreamException {
+            if (delegate == null) {
+                if (handler.processRawElement(this, NAMESPACE_CONTEXT)) {
+                    return true;
+                }
+                delegate = createEventInput(root, dataSource, pull).createReader(handler);
+            }
+            return delegate.proceed();
+        }
+
+        @Override
+        public void dispose() {
+            if (delegate != null) {
+                delegate.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.impl.stream.flow;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.axiom.om.OMContainer;
+import org.apache.axiom.om.OMOutputFormat;
+
+/**
+ * {@link Flow.Publisher} implementation that serializes an {@link OMContainer} on demand. The
+ * serialization runs on a task submitted to an {@link Executor} and writes to an {@link
+ * OutputStream} that blocks until the subscriber requests the next buffer. This means that the
+ * existing serialization logic (including XOP/MTOM encoding and deferred building) is reused as is.
+ *
+ * <p>A {@link ReentrantLock} (rather than {@code synchronized}) is used so that the serialization
+ * task doesn't pin the carrier thread if it is executed by a virtual thread.
+ */
+public final class SerializationPublisher implements Flow.Publisher<ByteBuffer> {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OMContainer container;
+    private final OMOutputFormat format;
+    private final boolean cache;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public SerializationPublisher(OMContainer container, OMOutputFormat format, boolean cache, Executor executor) {
+        this.container = container;
+        this.format = format;
+        this.cache = cache;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new SubscriptionImpl(subscriber));
+        } else {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException("The publisher only supports a single subscription"));
+        }
+    }
+
+    private final class SubscriptionImpl extends OutputStream implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition demandAvailable = lock.newCondition();
+        private long demand;
+        private boolean started;
+        private boolean cancelled;
+        private Throwable error;
+        private byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+
+        SubscriptionImpl(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            boolean start;
+            lock.lock();
+            try {
+                if (cancelled) {
+                    return;
+                }
+                if (n <= 0) {
+                    // Rule 3.9 of the Reactive Streams specification
+                    error = new IllegalArgumentException("Non-positive request: " + n);
+                    cancelled = true;
+                } else {
+                    demand += n;
+                    if (demand < 0) {
+                        demand = Long.MAX_VALUE;
+                    }
+                }
+                start = !started;
+                started = true;
+                demandAvailable.signal();
+            } finally {
+                lock.unlock();
+            }
+            if (start) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                demandAvailable.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                checkCancelled();
+                container.serialize(this, format, cache);
+                emit();
+            } catch (Throwable ex) {
+                Throwable error;
+                lock.lock();
+                try {
+                    error = cancelled ? this.error : ex;
+                } finally {
+                    lock.unlock();
+                }
+                if (error != null) {
+                    subscriber.onError(error);
+                }
+                return;
+            }
+            subscriber.onComplete();
+        }
+
+        private void checkCancelled() throws IOException {
+            lock.lock();
+            try {
+                if (cancelled) {
+                    throw new IOException("Subscription cancelled");
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Wait for demand and pass the current buffer (if it is not empty) to the subscriber. */
+        private void emit() throws IOException {
+            if (position == 0) {
+                return;
+            }
+            lock.lock();
+            try {
+                while (demand == 0 && !cancelled) {
+                    try {
+                        demandAvailable.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+                if (cancelled) {
+                    throw new IOException("Subscription cancelled");
+                }
+                demand--;
+            } finally {
+                lock.unlock();
+            }
+            ByteBuffer bb = ByteBuffer.wrap(buffer, 0, position);
+            buffer = new byte[BUFFER_SIZE];
+            position = 0;
+            subscriber.onNext(bb);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (position == buffer.length) {
+                emit();
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (position == buffer.length) {
+                    emit();
+                }
+                int c = Math.min(len, buffer.length - position);
+                System.arraycopy(b, off, buffer, position, c);
+                position += c;
+                off += c;
+                len -= c;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            emit();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import org.apache.axiom.core.stream.CharacterData;
 import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.UTF8CharacterData;
 import org.apache.axiom.core.stream.stax.pull.input.DTDInfo;
 import org.apache.axiom.core.stream.stax.pull.input.XMLStreamReaderHelper;
 import org.apache.axiom.ext.stax.BlobReader;
@@ -38,9 +39,12 @@ final class AxiomXMLStreamReaderHelper extends XMLStreamReaderHelper {
      */
     private final BlobReader blobReader;
 
-    AxiomXMLStreamReaderHelper(XMLStreamReader reader) {
+    private final boolean compactCharacterData;
+
+    AxiomXMLStreamReaderHelper(XMLStreamReader reader, boolean compactCharacterData) {
         this.reader = reader;
         blobReader = XMLStreamReaderUtils.getBlobReader(reader);
+        this.compactCharacterData = compactCharacterData;
     }
 
     @Override
@@ -71,6 +75,8 @@ final class AxiomXMLStreamReaderHelper extends XMLStreamReaderHelper {
                     throw new StreamException(ex);
                 }
             }
+        } else if (compactCharacterData) {
+            return UTF8CharacterData.create(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
         } else {
             return null;
         }
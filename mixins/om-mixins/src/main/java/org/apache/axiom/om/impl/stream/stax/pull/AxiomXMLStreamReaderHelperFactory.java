@@ -19,16 +19,29 @@
 package org.apache.axiom.om.impl.stream.stax.pull;
 
 import javax.xml.stream.XMLStreamReader;
+import org.apache.axiom.core.stream.UTF8CharacterData;
 import org.apache.axiom.core.stream.stax.pull.input.XMLStreamReaderHelper;
 import org.apache.axiom.core.stream.stax.pull.input.XMLStreamReaderHelperFactory;
 
 public final class AxiomXMLStreamReaderHelperFactory implements XMLStreamReaderHelperFactory {
-    public static final AxiomXMLStreamReaderHelperFactory INSTANCE = new AxiomXMLStreamReaderHelperFactory();
+    public static final AxiomXMLStreamReaderHelperFactory INSTANCE = new AxiomXMLStreamReaderHelperFactory(false);
 
-    private AxiomXMLStreamReaderHelperFactory() {}
+    /**
+     * Variant of {@link #INSTANCE} that returns character data as {@link UTF8CharacterData}, encoded
+     * directly from the parser's character buffer, so that no {@link String} objects are created
+     * for text nodes.
+     */
+    public static final AxiomXMLStreamReaderHelperFactory COMPACT_CHARACTER_DATA =
+            new AxiomXMLStreamReaderHelperFactory(true);
+
+    private final boolean compactCharacterData;
+
+    private AxiomXMLStreamReaderHelperFactory(boolean compactCharacterData) {
+        this.compactCharacterData = compactCharacterData;
+    }
 
     @Override
     public XMLStreamReaderHelper createHelper(XMLStreamReader reader) {
-        return new AxiomXMLStreamReaderHelper(reader);
+        return new AxiomXMLStreamReaderHelper(reader, compactCharacterData);
     }
 }
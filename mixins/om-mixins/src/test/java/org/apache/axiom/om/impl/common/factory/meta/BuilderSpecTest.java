@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.om.impl.common.factory.meta;
+
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamSource;
+import org.apache.axiom.core.stream.NullXmlHandler;
+import org.apache.axiom.core.stream.ResourceLimitExceededException;
+import org.apache.axiom.core.stream.StreamException;
+import org.apache.axiom.core.stream.XmlReader;
+import org.apache.axiom.om.OMBuilderLimits;
+import org.apache.axiom.om.util.StAXParserConfiguration;
+import org.codehaus.stax2.io.Stax2StringSource;
+import org.junit.Test;
+import org.xml.sax.InputSource;
+
+/**
+ * Tests that {@link BuilderSpec#from(StAXParserConfiguration, Source)} enforces the builder limits
+ * of the configuration for every kind of source.
+ */
+public class BuilderSpecTest {
+    private static final String XML = "<a><b><c/></b></a>";
+
+    private static StAXParserConfiguration createConfiguration(int maxDepth) {
+        OMBuilderLimits limits = new OMBuilderLimits();
+        limits.setMaxDepth(maxDepth);
+        return StAXParserConfiguration.withBuilderLimits(StAXParserConfiguration.DEFAULT, limits);
+    }
+
+    private static void build(StAXParserConfiguration configuration, Source source) throws StreamException {
+        XmlReader reader = BuilderSpec.from(configuration, source)
+                .getInput()
+                .createReader(NullXmlHandler.INSTANCE);
+        try {
+            while (!reader.proceed()) {
+                // Just loop
+            }
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private interface SourceFactory {
+        Source createSource() throws Exception;
+    }
+
+    private static void testLimits(SourceFactory sourceFactory) throws Exception {
+        build(createConfiguration(3), sourceFactory.createSource());
+        Source source = sourceFactory.createSource();
+        assertThrows(ResourceLimitExceededException.class, () -> build(createConfiguration(2), source));
+    }
+
+    @Test
+    public void testStreamSource() throws Exception {
+        testLimits(() -> new StreamSource(new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testSAXSource() throws Exception {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        testLimits(() -> new SAXSource(
+                factory.newSAXParser().getXMLReader(), new InputSource(new StringReader(XML))));
+    }
+
+    @Test
+    public void testDOMSource() throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        testLimits(() -> new DOMSource(factory.newDocumentBuilder().parse(new InputSource(new StringReader(XML)))));
+    }
+
+    @Test
+    public void testStAXSource() throws Exception {
+        testLimits(() -> new StAXSource(XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(XML))));
+    }
+
+    @Test
+    public void testGenericSource() throws Exception {
+        // Handled by the StAX implementation (Woodstox)
+        testLimits(() -> new Stax2StringSource(XML));
+    }
+}
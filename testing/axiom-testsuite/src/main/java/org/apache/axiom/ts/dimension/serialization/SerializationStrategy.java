@@ -66,6 +66,8 @@ public abstract class SerializationStrategy extends Multiton implements Dimensio
         return new SerializationStrategy[] {
             new SerializeToOutputStream(true),
             new SerializeToOutputStream(false),
+            new SerializeToPublisher(true),
+            new SerializeToPublisher(false),
             new SerializeToWriter(true),
             new SerializeToWriter(false),
             new SerializeToXMLStreamWriter(true),
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.dimension.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import org.apache.axiom.om.OMContainer;
+import org.apache.axiom.om.OMOutputFormat;
+import org.apache.axiom.testutils.suite.LabelTarget;
+
+/**
+ * Serializes an {@link OMContainer} by subscribing to the publisher returned by {@link
+ * OMContainer#getPublisher(OMOutputFormat, boolean, java.util.concurrent.Executor)}. The subscriber
+ * requests one buffer at a time so that the backpressure logic is exercised.
+ */
+public class SerializeToPublisher extends SerializationStrategy {
+    private final boolean cache;
+
+    SerializeToPublisher(boolean cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void addLabels(LabelTarget testCase) {
+        testCase.addLabel("serializationStrategy", "Publisher");
+        testCase.addLabel("cache", cache);
+    }
+
+    @Override
+    public XML serialize(OMContainer container) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(baos);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        container
+                .getPublisher(new OMOutputFormat(), cache, task -> new Thread(task).start())
+                .subscribe(new Flow.Subscriber<ByteBuffer>() {
+                    private Flow.Subscription subscription;
+
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        this.subscription = subscription;
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(ByteBuffer item) {
+                        try {
+                            channel.write(item);
+                        } catch (Exception ex) {
+                            subscription.cancel();
+                            done.completeExceptionally(ex);
+                            return;
+                        }
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        done.completeExceptionally(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        done.complete(null);
+                    }
+                });
+        done.get();
+        return new XMLAsByteArray(baos.toByteArray());
+    }
+
+    @Override
+    public boolean isPush() {
+        return true;
+    }
+
+    @Override
+    public boolean isCaching() {
+        return cache;
+    }
+
+    @Override
+    public boolean supportsInternalSubset() {
+        return true;
+    }
+}
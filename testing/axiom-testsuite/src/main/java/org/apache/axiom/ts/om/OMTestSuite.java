@@ -112,6 +112,7 @@ public class OMTestSuite {
                                 new MatrixTest(org.apache.axiom.ts.om.builder.TestCloseWithStream.class)),
                         new MatrixTest(org.apache.axiom.ts.om.builder.TestCloseWithSystemId.class),
                         new MatrixTest(org.apache.axiom.ts.om.builder.TestCloseWithXMLStreamReader.class),
+                        new MatrixTest(org.apache.axiom.ts.om.builder.TestCompactCharacterDataConfiguration.class),
                         new FanOutNode<>(
                                 getInstances(XMLSample.class),
                                 Binding.singleton(Key.get(XMLSample.class)),
@@ -179,6 +180,9 @@ public class OMTestSuite {
                                         Binding.singleton(Key.get(Boolean.class, Names.named("build"))),
                                         LabelBinding.simpleBoolean("build"),
                                         new MatrixTest(org.apache.axiom.ts.om.builder.TestCreateOMBuilderXOP.class))),
+                        new MatrixTest(org.apache.axiom.ts.om.builder.TestCreateParallelOMBuilder.class),
+                        new MatrixTest(
+                                org.apache.axiom.ts.om.builder.TestCreateParallelOMBuilderWithExecutor.class),
                         new MatrixTest(org.apache.axiom.ts.om.builder.TestCreateStAXOMBuilderFromFragment.class),
                         new MatrixTest(
                                 org.apache.axiom.ts.om.builder.TestCreateStAXOMBuilderFromXmlBeansPullParser.class),
@@ -218,9 +222,12 @@ public class OMTestSuite {
                         new MatrixTest(
                                 org.apache.axiom.ts.om.builder.TestGetDocumentElementWithIllFormedDocument.class),
                         new MatrixTest(org.apache.axiom.ts.om.builder.TestInvalidXML.class),
+                        new MatrixTest(org.apache.axiom.ts.om.builder.TestIterateElements.class),
                         new MatrixTest(org.apache.axiom.ts.om.builder.TestIOExceptionInGetText.class),
                         new MatrixTest(org.apache.axiom.ts.om.builder.TestMalformedDocument.class),
+                        new MatrixTest(org.apache.axiom.ts.om.builder.TestPreserveSourceConfiguration.class),
                         new MatrixTest(org.apache.axiom.ts.om.builder.TestReadAttachmentBeforeRootPartComplete.class),
+                        new MatrixTest(org.apache.axiom.ts.om.builder.TestResourceLimitsConfiguration.class),
                         new MatrixTest(org.apache.axiom.ts.om.builder.TestRootPartStreaming.class),
                         new MatrixTest(org.apache.axiom.ts.om.builder.TestStandaloneConfiguration.class),
                         // ── comment package ──
@@ -386,6 +393,11 @@ public class OMTestSuite {
                                 Binding.singleton(Key.get(Boolean.class, Names.named("accessDocumentElement"))),
                                 LabelBinding.simpleBoolean("accessDocumentElement"),
                                 new MatrixTest(org.apache.axiom.ts.om.document.TestRemoveChildren.class))),
+                new FanOutNode<>(
+                        getInstances(XMLSample.class),
+                        Binding.singleton(Key.get(XMLSample.class)),
+                        LabelBinding.simpleString("file", XMLSample::getName),
+                        new MatrixTest(org.apache.axiom.ts.om.document.TestRelease.class)),
                 new MatrixTest(org.apache.axiom.ts.om.document.TestSerializeAndConsume.class),
                 new MatrixTest(org.apache.axiom.ts.om.document.TestSerializeAndConsumeWithIncompleteDescendant.class),
                 new MatrixTest(org.apache.axiom.ts.om.document.TestSerializeUTF16.class),
@@ -475,6 +487,14 @@ public class OMTestSuite {
                         Binding.singleton(Key.get(XMLSample.class)),
                         LabelBinding.simpleString("file", XMLSample::getName),
                         new MatrixTest(org.apache.axiom.ts.om.element.TestCloneOMElement2.class)),
+                new FanOutNode<>(
+                        injector -> getInstances(XMLSample.class).stream()
+                                .filter(f -> !f.hasEntityReferences())
+                                .collect(ImmutableList.toImmutableList()),
+                        Binding.singleton(Key.get(XMLSample.class)),
+                        LabelBinding.simpleString("file", XMLSample::getName),
+                        new MatrixTest(org.apache.axiom.ts.om.element.TestCloneOMElementLazy.class)),
+                new MatrixTest(org.apache.axiom.ts.om.element.TestCloneOMElementLazyIndependence.class),
                 new MatrixTest(org.apache.axiom.ts.om.element.TestCloneOMElementNamespaceRepairing.class),
                 new MatrixTest(org.apache.axiom.ts.om.element.TestClose.class),
                 new MatrixTest(org.apache.axiom.ts.om.element.TestDeclareDefaultNamespace1.class),
@@ -659,6 +679,7 @@ public class OMTestSuite {
                 new MatrixTest(org.apache.axiom.ts.om.element.TestSerializeAndConsumeConsumed.class),
                 new MatrixTest(org.apache.axiom.ts.om.element.TestSerializeAndConsumePartiallyBuilt.class),
                 new MatrixTest(org.apache.axiom.ts.om.element.TestSerializeAndConsumeWithIncompleteDescendant.class),
+                new MatrixTest(org.apache.axiom.ts.om.element.TestSerializeParallel.class),
                 new FanOutNode<>(
                         org.apache.axiom.ts.om.element.TestSetNamespace.PARAMS,
                         Binding.singleton(Key.get(org.apache.axiom.ts.om.element.TestSetNamespace.Params.class)),
@@ -681,6 +702,9 @@ public class OMTestSuite {
                 new MatrixTest(org.apache.axiom.ts.om.element.TestSetTextQNameWithExistingChildren.class),
                 new MatrixTest(org.apache.axiom.ts.om.element.TestSetTextQNameWithoutNamespace.class),
                 new MatrixTest(org.apache.axiom.ts.om.element.TestUndeclarePrefix.class),
+                new MatrixTest(org.apache.axiom.ts.om.element.TestWriteCanonicalForm.class),
+                new MatrixTest(
+                        org.apache.axiom.ts.om.element.TestWriteCanonicalFormXmlAttributeInheritance.class),
                 new MatrixTest(org.apache.axiom.ts.om.element.TestWriteTextTo.class),
                 new MatrixTest(org.apache.axiom.ts.om.element.TestWriteTextToWithNonTextNodes.class),
                 // ── element/sr package ──
@@ -872,6 +896,7 @@ public class OMTestSuite {
                 new MatrixTest(org.apache.axiom.ts.om.sourcedelement.TestCloneUnknownName.class),
                 new MatrixTest(org.apache.axiom.ts.om.sourcedelement.TestCloseOnComplete.class),
                 new MatrixTest(org.apache.axiom.ts.om.sourcedelement.TestComplete.class),
+                new MatrixTest(org.apache.axiom.ts.om.sourcedelement.TestDOMOMDataSource.class),
                 new MatrixTest(org.apache.axiom.ts.om.sourcedelement.TestDeclareNamespace.class),
                 new FanOutNode<>(
                         getInstances(ExpansionStrategy.class),
@@ -924,6 +949,13 @@ public class OMTestSuite {
                         Binding.singleton(Key.get(PushOMDataSourceScenario.class)),
                         LabelBinding.DIMENSION,
                         new MatrixTest(org.apache.axiom.ts.om.sourcedelement.TestPushOMDataSourceExpansion.class)),
+                new MatrixTest(org.apache.axiom.ts.om.sourcedelement.TestPushOMDataSourceIncrementalExpansion.class),
+                new MatrixTest(
+                        org.apache.axiom.ts.om.sourcedelement.TestPushOMDataSourceIncrementalExpansionWithSameThreadExecutor
+                                .class),
+                new MatrixTest(
+                        org.apache.axiom.ts.om.sourcedelement.TestPushOMDataSourceIncrementalExpansionWithRejectingExecutor
+                                .class),
                 new MatrixTest(org.apache.axiom.ts.om.sourcedelement.TestRemoveChildrenUnexpanded.class),
                 sourcedElementSerializeTests(),
                 new MatrixTest(
@@ -940,6 +972,20 @@ public class OMTestSuite {
                                 new MatrixTest(
                                         org.apache.axiom.ts.om.sourcedelement
                                                 .TestSerializeOMDataSourceWritingToOutputStream.class))),
+                new FanOutNode<>(
+                        getInstances(SerializationStrategy.class),
+                        Binding.singleton(Key.get(SerializationStrategy.class)),
+                        LabelBinding.DIMENSION,
+                        new FanOutNode<>(
+                                ImmutableList.of(false, true),
+                                Binding.singleton(Key.get(Boolean.class, Names.named("serializeParent"))),
+                                LabelBinding.simpleBoolean("serializeParent"),
+                                new MatrixTest(
+                                        org.apache.axiom.ts.om.sourcedelement
+                                                .TestSerializeOMDataSourceWritingRawBytes.class))),
+                new MatrixTest(
+                        org.apache.axiom.ts.om.sourcedelement
+                                .TestSerializeOMDataSourceWritingRawBytesWithDefaultNamespace.class),
                 new MatrixTest(org.apache.axiom.ts.om.sourcedelement.TestSetDataSource.class),
                 new MatrixTest(org.apache.axiom.ts.om.sourcedelement.TestSetDataSourceOnAlreadyExpandedElement.class),
                 new FanOutNode<>(
@@ -1026,6 +1072,7 @@ public class OMTestSuite {
 
     private static MatrixTestNode xopTests() {
         return new ParentNode(
+                new MatrixTest(org.apache.axiom.ts.om.xop.TestGetPublisher.class),
                 new FanOutNode<>(
                         ImmutableList.of(false, true),
                         Binding.singleton(Key.get(Boolean.class, Names.named("base64"))),
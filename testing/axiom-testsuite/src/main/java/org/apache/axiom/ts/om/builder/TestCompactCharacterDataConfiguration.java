@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMText;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.om.util.StAXParserConfiguration;
+import org.apache.axiom.util.stax.dialect.StAXDialect;
+import org.apache.axiom.util.stax.wrapper.WrappingXMLInputFactory;
+import org.apache.axiom.util.stax.wrapper.XMLStreamReaderWrapper;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests the behavior of {@link OMXMLBuilderFactory#createOMBuilder(StAXParserConfiguration,
+ * InputStream)} with {@link StAXParserConfiguration#COMPACT_CHARACTER_DATA}. The parser is wrapped
+ * so that the test fails if the builder requests the content of a text node as a {@link String}.
+ */
+public class TestCompactCharacterDataConfiguration implements Executable {
+    private static final StAXParserConfiguration CONFIGURATION = new StAXParserConfiguration() {
+        @Override
+        public XMLInputFactory configure(XMLInputFactory factory, StAXDialect dialect) {
+            XMLInputFactory parent = StAXParserConfiguration.COMPACT_CHARACTER_DATA.configure(factory, dialect);
+            return new WrappingXMLInputFactory(parent) {
+                @Override
+                protected XMLStreamReader wrap(XMLStreamReader reader) {
+                    return new XMLStreamReaderWrapper(reader) {
+                        @Override
+                        public String getText() {
+                            if (getEventType() == CHARACTERS) {
+                                throw new IllegalStateException("getText() called on a CHARACTERS event");
+                            }
+                            return super.getText();
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public boolean isCompactCharacterData() {
+            return true;
+        }
+    };
+
+    @Inject
+    private OMFactory factory;
+
+    @Override
+    public void execute() throws Throwable {
+        String xml = "<root attr=\"café\">néant <a>世界 😀</a> &amp; R&amp;D</root>";
+        OMElement root = OMXMLBuilderFactory.createOMBuilder(
+                        factory, CONFIGURATION, new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))
+                .getDocumentElement();
+        root.build();
+        assertThat(root.getAttributeValue(new QName("attr"))).isEqualTo("café");
+        assertThat(((OMText) root.getFirstOMChild()).getText()).isEqualTo("néant ");
+        assertThat(root.getFirstElement().getText()).isEqualTo("世界 😀");
+        assertThat(root.getText()).isEqualTo("néant  & R&D");
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        root.serialize(baos);
+        assertThat(new String(baos.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(xml);
+    }
+}
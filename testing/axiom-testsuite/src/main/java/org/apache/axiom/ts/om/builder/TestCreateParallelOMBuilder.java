@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import org.apache.axiom.om.OMDocument;
+import org.apache.axiom.om.OMException;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMMetaFactory;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.om.OMXMLParserWrapper;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests that {@link OMXMLBuilderFactory#createParallelOMBuilder(OMFactory, java.io.InputStream,
+ * int)} produces the same tree as a regular builder, both for documents that can be split and for
+ * documents that require a fallback to a regular builder, and that it reports errors in ill-formed
+ * documents.
+ */
+public class TestCreateParallelOMBuilder implements Executable {
+    @Inject
+    private OMMetaFactory metaFactory;
+
+    private static String serialize(OMDocument document) throws Exception {
+        StringWriter sw = new StringWriter();
+        document.serialize(sw);
+        return sw.toString();
+    }
+
+    private void check(String xml) throws Exception {
+        OMFactory factory = metaFactory.getOMFactory();
+        byte[] content = xml.getBytes(StandardCharsets.UTF_8);
+        OMDocument expected =
+                OMXMLBuilderFactory.createOMBuilder(factory, new ByteArrayInputStream(content)).getDocument();
+        OMXMLParserWrapper builder =
+                OMXMLBuilderFactory.createParallelOMBuilder(factory, new ByteArrayInputStream(content), 64);
+        OMDocument actual = builder.getDocument();
+        assertThat(serialize(actual)).isEqualTo(serialize(expected));
+        assertThat(actual.getOMDocumentElement().getParent()).isSameAs(actual);
+        builder.close();
+    }
+
+    @Override
+    public void execute() throws Throwable {
+        StringBuilder records = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            records.append("\n  <p:record id='").append(i).append("'><value>").append(i).append("</value>");
+            if (i % 7 == 0) {
+                records.append("<![CDATA[</p:record>]]><!-- </p:record> --><?pi </p:record>?>");
+            }
+            records.append("<q:data xmlns:q='urn:q'>&lt;&#x41;</q:data></p:record>");
+        }
+        check("<?xml version='1.0' encoding='UTF-8'?><!--prolog--><p:root xmlns:p='urn:p' xmlns='urn:default'>"
+                + records + "\n</p:root><!--epilog-->");
+        check("<!DOCTYPE root [<!ENTITY e 'x'>]><root><r>&e;</r><r>&e;</r></root>");
+        // Without a DTD, a reference to an undeclared entity makes the document ill-formed; the
+        // error must be reported even though some chunks have already been submitted
+        StringBuilder illFormed = new StringBuilder("<root>");
+        for (int i = 0; i < 100; i++) {
+            illFormed.append("<r>").append(i).append("</r>");
+        }
+        illFormed.append("<r>&e;</r></root>");
+        OMXMLParserWrapper builder = OMXMLBuilderFactory.createParallelOMBuilder(
+                metaFactory.getOMFactory(),
+                new ByteArrayInputStream(illFormed.toString().getBytes(StandardCharsets.UTF_8)),
+                64);
+        assertThatThrownBy(builder::getDocument).isInstanceOf(OMException.class);
+    }
+}
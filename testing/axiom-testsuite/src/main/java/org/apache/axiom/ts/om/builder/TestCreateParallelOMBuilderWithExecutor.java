@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMMetaFactory;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.om.OMXMLParserWrapper;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests that {@link OMXMLBuilderFactory#createParallelOMBuilder(org.apache.axiom.om.OMFactory,
+ * java.io.InputStream, int, java.util.concurrent.Executor, int)} uses the supplied executor and
+ * never has more than the requested number of chunks waiting to be parsed.
+ */
+public class TestCreateParallelOMBuilderWithExecutor implements Executable {
+    @Inject
+    private OMMetaFactory metaFactory;
+
+    @Override
+    public void execute() throws Throwable {
+        StringBuilder xml = new StringBuilder("<root>");
+        for (int i = 0; i < 1000; i++) {
+            xml.append("<record>").append(i).append("</record>");
+        }
+        xml.append("</root>");
+        int parallelism = 2;
+        List<Future<?>> tasks = new ArrayList<>();
+        int[] maxPending = new int[1];
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            OMXMLParserWrapper builder = OMXMLBuilderFactory.createParallelOMBuilder(
+                    metaFactory.getOMFactory(),
+                    new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8)),
+                    64,
+                    command -> {
+                        synchronized (tasks) {
+                            tasks.add((Future<?>) command);
+                            int pending = 0;
+                            for (Future<?> task : tasks) {
+                                if (!task.isDone()) {
+                                    pending++;
+                                }
+                            }
+                            maxPending[0] = Math.max(maxPending[0], pending);
+                        }
+                        executor.execute(command);
+                    },
+                    parallelism);
+            OMElement root = builder.getDocumentElement();
+            int count = 0;
+            for (OMElement record = root.getFirstElement();
+                    record != null;
+                    record = (OMElement) record.getNextOMSibling()) {
+                assertThat(record.getText()).isEqualTo(String.valueOf(count++));
+            }
+            assertThat(count).isEqualTo(1000);
+            builder.close();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(tasks.size()).isGreaterThan(parallelism);
+        assertThat(maxPending[0]).isLessThanOrEqualTo(parallelism);
+    }
+}
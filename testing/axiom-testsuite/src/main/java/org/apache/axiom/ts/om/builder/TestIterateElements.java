@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Inject;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import javax.xml.namespace.QName;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMMetaFactory;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.om.OMXMLParserWrapper;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests {@link OMXMLParserWrapper#iterateElements(QName)}: matching elements are returned in
+ * document order, including those nested in non-matching elements, and each element is discarded
+ * once the iterator moves on.
+ */
+public class TestIterateElements implements Executable {
+    @Inject
+    private OMMetaFactory metaFactory;
+
+    @Override
+    public void execute() throws Throwable {
+        OMXMLParserWrapper builder = OMXMLBuilderFactory.createOMBuilder(
+                metaFactory.getOMFactory(),
+                new StringReader("<!--c--><root xmlns:p='urn:p'><header><p:r id='1'/></header><body>"
+                        + "<p:r id='2'><p:r id='nested'/></p:r>text<!--c--><r id='other'/>"
+                        + "<p:r id='3'><value>3</value></p:r></body><p:r id='4'/></root>"));
+        Iterator<OMElement> it = builder.iterateElements(new QName("urn:p", "r"));
+        List<String> ids = new ArrayList<>();
+        OMElement previous = null;
+        while (it.hasNext()) {
+            if (previous != null) {
+                assertThat(previous.getParent()).isNull();
+            }
+            OMElement element = it.next();
+            assertThat(element.getParent()).isNotNull();
+            assertThat(element.getPreviousOMSibling()).isNull();
+            ids.add(element.getAttributeValue(new QName("id")));
+            previous = element;
+        }
+        assertThat(ids).containsExactly("1", "2", "3", "4");
+        assertThat(builder.getDocument().getFirstOMChild()).isNull();
+        builder.close();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import org.apache.axiom.om.OMComment;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMNode;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.om.util.StAXParserConfiguration;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests the behavior of {@link OMXMLBuilderFactory#createOMBuilder(StAXParserConfiguration,
+ * InputStream)} with {@link StAXParserConfiguration#PRESERVE_SOURCE}. The content of elements that
+ * have not been modified must be copied verbatim from the input document, while modified elements
+ * must be serialized from the object model.
+ */
+public class TestPreserveSourceConfiguration implements Executable {
+    @Inject
+    private OMFactory factory;
+
+    private static String serialize(OMElement element) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        element.serialize(baos);
+        return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void execute() throws Throwable {
+        String xml = "<root xmlns:p=\"urn:p\"><p:a attr=\"1\">  téxt &amp; more<!--c--><b  x='1'>y</b>"
+                + "<![CDATA[<x>]]></p:a><c>t</c></root>";
+        OMElement root = OMXMLBuilderFactory.createOMBuilder(
+                        factory,
+                        StAXParserConfiguration.PRESERVE_SOURCE,
+                        new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))
+                .getDocumentElement();
+        root.build();
+        OMElement a = root.getFirstElement();
+        OMElement c = (OMElement) a.getNextOMSibling();
+        c.setText("u");
+        assertThat(serialize(root))
+                .isEqualTo("<root xmlns:p=\"urn:p\"><p:a attr=\"1\">  téxt &amp; more<!--c--><b  x='1'>y</b>"
+                        + "<![CDATA[<x>]]></p:a><c>u</c></root>");
+        for (Iterator<OMNode> it = a.getChildren(); it.hasNext(); ) {
+            if (it.next() instanceof OMComment) {
+                it.remove();
+            }
+        }
+        assertThat(serialize(a)).isEqualTo("<p:a xmlns:p=\"urn:p\" attr=\"1\">  téxt &amp; more<b x=\"1\">y</b>"
+                + "<![CDATA[<x>]]></p:a>");
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.apache.axiom.om.OMBuilderLimits;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.om.ResourceLimitExceededException;
+import org.apache.axiom.om.util.StAXParserConfiguration;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests that a builder created with {@link
+ * StAXParserConfiguration#withBuilderLimits(StAXParserConfiguration, OMBuilderLimits)} throws
+ * {@link ResourceLimitExceededException} when the input exceeds one of the limits, and only then.
+ */
+public class TestResourceLimitsConfiguration implements Executable {
+    private static final String XML = "<a><b x='1' y='2'><c><d>text</d></c></b></a>";
+
+    @Inject
+    private OMFactory factory;
+
+    private OMElement parse(OMBuilderLimits limits) {
+        return OMXMLBuilderFactory.createOMBuilder(
+                        factory,
+                        StAXParserConfiguration.withBuilderLimits(StAXParserConfiguration.DEFAULT, limits),
+                        new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)))
+                .getDocumentElement();
+    }
+
+    @Override
+    public void execute() throws Throwable {
+        OMBuilderLimits limits = new OMBuilderLimits();
+        limits.setMaxDepth(4);
+        limits.setMaxAttributesPerElement(2);
+        limits.setMaxTextLength(4);
+        limits.setMaxNodeCount(5);
+        OMElement root = parse(limits);
+        root.build();
+        assertThat(root.toString()).isEqualTo("<a><b x=\"1\" y=\"2\"><c><d>text</d></c></b></a>");
+
+        limits.setMaxDepth(3);
+        OMElement partial = parse(limits);
+        // The document element is within the limits and can be accessed
+        assertThat(partial.getLocalName()).isEqualTo("a");
+        assertThatThrownBy(partial::build).isInstanceOf(ResourceLimitExceededException.class);
+
+        limits.setMaxDepth(4);
+        limits.setMaxTextLength(3);
+        assertThatThrownBy(() -> parse(limits).build()).isInstanceOf(ResourceLimitExceededException.class);
+
+        limits.setMaxTextLength(4);
+        limits.setMaxAttributesPerElement(1);
+        assertThatThrownBy(() -> parse(limits).build()).isInstanceOf(ResourceLimitExceededException.class);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.document;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static org.apache.axiom.truth.xml.XMLTruth.xml;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Inject;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+import org.apache.axiom.om.OMDocument;
+import org.apache.axiom.om.OMMetaFactory;
+import org.apache.axiom.om.OMSerializable;
+import org.apache.axiom.ts.ConformanceTestCase;
+import org.apache.axiom.ts.om.XMLSampleAdapter;
+import org.apache.axiom.ts.xml.XMLSample;
+
+/**
+ * Tests {@link OMDocument#release()}, both on complete and incomplete documents, and checks that
+ * documents built after the release reuse the released nodes and have the expected content. Also
+ * checks that released nodes are no longer reused after {@link OMMetaFactory#clearNodePools()}.
+ */
+public class TestRelease extends ConformanceTestCase {
+    @Inject
+    private OMMetaFactory metaFactory;
+
+    @Inject
+    public TestRelease(XMLSample file) {
+        super(file);
+    }
+
+    @Override
+    public void execute() throws Throwable {
+        XMLSampleAdapter adapter = file.getAdapter(XMLSampleAdapter.class);
+        OMDocument expected = adapter.getDocument(metaFactory);
+        expected.build();
+        OMDocument complete = adapter.getDocument(metaFactory);
+        complete.build();
+        Set<OMSerializable> released = getDescendants(complete);
+        complete.release();
+        assertThat(complete.getFirstOMChild()).isNull();
+        OMDocument incomplete = adapter.getDocument(metaFactory);
+        incomplete.getOMDocumentElement().getFirstOMChild();
+        incomplete.release();
+        assertThat(incomplete.getFirstOMChild()).isNull();
+        OMDocument document = adapter.getDocument(metaFactory);
+        assertAbout(xml()).that(xml(OMDocument.class, document)).hasSameContentAs(xml(OMDocument.class, expected));
+        Set<OMSerializable> reused = getDescendants(document);
+        reused.retainAll(released);
+        assertThat(reused).isNotEmpty();
+        metaFactory.clearNodePools();
+        Set<OMSerializable> notReused = getDescendants(adapter.getDocument(metaFactory));
+        notReused.retainAll(released);
+        assertThat(notReused).isEmpty();
+    }
+
+    private static Set<OMSerializable> getDescendants(OMDocument document) {
+        Set<OMSerializable> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Iterator<OMSerializable> it = document.getDescendants(false); it.hasNext(); ) {
+            nodes.add(it.next());
+        }
+        return nodes;
+    }
+}
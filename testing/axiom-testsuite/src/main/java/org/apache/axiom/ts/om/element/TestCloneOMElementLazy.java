@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.element;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static org.apache.axiom.truth.xml.XMLTruth.xml;
+
+import com.google.inject.Inject;
+import org.apache.axiom.om.OMCloneOptions;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMMetaFactory;
+import org.apache.axiom.ts.ConformanceTestCase;
+import org.apache.axiom.ts.om.XMLSampleAdapter;
+import org.apache.axiom.ts.xml.XMLSample;
+
+/** Tests that a lazy clone (see {@link OMCloneOptions#setLazy(boolean)}) has the same content. */
+public class TestCloneOMElementLazy extends ConformanceTestCase {
+    @Inject
+    private OMMetaFactory metaFactory;
+
+    @Inject
+    public TestCloneOMElementLazy(XMLSample file) {
+        super(file);
+    }
+
+    @Override
+    public void execute() throws Throwable {
+        OMElement original = file.getAdapter(XMLSampleAdapter.class).getDocumentElement(metaFactory);
+        OMCloneOptions options = new OMCloneOptions();
+        options.setLazy(true);
+        OMElement clone = (OMElement) original.clone(options);
+        assertAbout(xml()).that(xml(OMElement.class, clone)).hasSameContentAs(xml(OMElement.class, original));
+    }
+}
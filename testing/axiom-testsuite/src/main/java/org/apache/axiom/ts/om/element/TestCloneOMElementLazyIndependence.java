@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.element;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Inject;
+import java.io.StringReader;
+import java.io.StringWriter;
+import org.apache.axiom.om.OMCloneOptions;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMMetaFactory;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests that a lazy clone (see {@link OMCloneOptions#setLazy(boolean)}) and the original element
+ * remain independent when either of them is modified.
+ */
+public class TestCloneOMElementLazyIndependence implements Executable {
+    @Inject
+    private OMMetaFactory metaFactory;
+
+    private OMElement parse(String xml) {
+        return OMXMLBuilderFactory.createOMBuilder(metaFactory.getOMFactory(), new StringReader(xml))
+                .getDocumentElement();
+    }
+
+    @Override
+    public void execute() throws Throwable {
+        OMCloneOptions options = new OMCloneOptions();
+        options.setLazy(true);
+
+        OMElement original = parse("<root xmlns:p='urn:p'><a><p:b attr='1'>text</p:b></a><c/></root>");
+        OMElement clone = (OMElement) original.clone(options);
+        assertThat(clone.isComplete()).isFalse();
+
+        // Modify a descendant of the original; the clone must keep the original content
+        OMElement b = original.getFirstElement().getFirstElement();
+        b.setText("changed");
+        b.addAttribute("attr", "2", null);
+        original.getFirstElement().getNextOMSibling().detach();
+        assertThat(clone.toString())
+                .isEqualTo("<root xmlns:p=\"urn:p\"><a><p:b attr=\"1\">text</p:b></a><c/></root>");
+        assertThat(original.toString())
+                .isEqualTo("<root xmlns:p=\"urn:p\"><a><p:b attr=\"2\">changed</p:b></a></root>");
+
+        // Modify the clone; the original must not change
+        clone.getFirstElement().getFirstElement().setText("clone");
+        assertThat(clone.toString())
+                .isEqualTo("<root xmlns:p=\"urn:p\"><a><p:b attr=\"1\">clone</p:b></a><c/></root>");
+        assertThat(original.toString())
+                .isEqualTo("<root xmlns:p=\"urn:p\"><a><p:b attr=\"2\">changed</p:b></a></root>");
+
+        // A lazy clone that is only serialized doesn't need to be built
+        OMElement clone2 = (OMElement) original.clone(options);
+        StringWriter sw = new StringWriter();
+        clone2.serializeAndConsume(sw);
+        assertThat(sw.toString())
+                .isEqualTo("<root xmlns:p=\"urn:p\"><a><p:b attr=\"2\">changed</p:b></a></root>");
+    }
+}
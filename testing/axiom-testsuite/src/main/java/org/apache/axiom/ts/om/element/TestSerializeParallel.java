@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.element;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.axiom.blob.Blob;
+import org.apache.axiom.ext.io.StreamCopyException;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMNamespace;
+import org.apache.axiom.om.OMOutputFormat;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests that {@link OMOutputFormat#PARALLEL_SERIALIZATION_THRESHOLD} produces the same output as
+ * the serial path, including namespace declarations inherited from ancestors that are not
+ * serialized and character data adjacent to range boundaries. The first and last children are
+ * blobs that wait for each other, which is only possible if they are serialized concurrently.
+ */
+public class TestSerializeParallel implements Executable {
+    @Inject
+    private OMFactory factory;
+
+    private static final class Rendezvous {
+        boolean armed;
+        final CountDownLatch latch = new CountDownLatch(1);
+        boolean met;
+        ClassLoader contextClassLoader;
+    }
+
+    /** Blob that either waits for the other blob or releases it when the rendezvous is armed. */
+    private static final class RendezvousBlob implements Blob {
+        private static final byte[] CONTENT = "blob".getBytes(StandardCharsets.US_ASCII);
+
+        private final Rendezvous rendezvous;
+        private final boolean wait;
+
+        RendezvousBlob(Rendezvous rendezvous, boolean wait) {
+            this.rendezvous = rendezvous;
+            this.wait = wait;
+        }
+
+        private void meet() {
+            if (!rendezvous.armed) {
+                return;
+            }
+            if (wait) {
+                try {
+                    rendezvous.met = rendezvous.latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                rendezvous.contextClassLoader = Thread.currentThread().getContextClassLoader();
+                rendezvous.latch.countDown();
+            }
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            meet();
+            return new ByteArrayInputStream(CONTENT);
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws StreamCopyException {
+            meet();
+            try {
+                out.write(CONTENT);
+            } catch (IOException ex) {
+                throw new StreamCopyException(StreamCopyException.WRITE, ex);
+            }
+        }
+
+        @Override
+        public long getSize() {
+            return CONTENT.length;
+        }
+    }
+
+    private static byte[] serialize(OMElement element, Integer threshold) throws Exception {
+        OMOutputFormat format = new OMOutputFormat();
+        if (threshold != null) {
+            format.setProperty(OMOutputFormat.PARALLEL_SERIALIZATION_THRESHOLD, threshold);
+        }
+        format.setIgnoreXMLDeclaration(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        element.serialize(out, format);
+        return out.toByteArray();
+    }
+
+    @Override
+    public void execute() throws Throwable {
+        OMNamespace ns1 = factory.createOMNamespace("urn:ns1", "p");
+        OMNamespace ns2 = factory.createOMNamespace("urn:ns2", "q");
+        OMElement root = factory.createOMElement("root", ns1);
+        root.declareNamespace(ns2);
+        OMElement wide = factory.createOMElement("records", ns1, root);
+        factory.createOMElement("first", null, wide);
+        for (int i = 0; i < 1000; i++) {
+            OMElement record = factory.createOMElement("record", i % 2 == 0 ? ns1 : ns2, wide);
+            record.addAttribute("id", String.valueOf(i), null);
+            factory.createOMElement("value", null, record).setText("value " + i + " é");
+            if (i % 3 == 0) {
+                factory.createOMText(wide, "]]");
+            }
+            factory.createOMText(wide, ">");
+        }
+        OMElement first = wide.getFirstElement();
+        OMElement last = factory.createOMElement("last", null, wide);
+        ClassLoader contextClassLoader = new ClassLoader() {};
+        for (OMElement element : new OMElement[] {root, wide}) {
+            Rendezvous rendezvous = new Rendezvous();
+            first.removeChildren();
+            first.addChild(factory.createOMText(new RendezvousBlob(rendezvous, true), false));
+            last.removeChildren();
+            last.addChild(factory.createOMText(new RendezvousBlob(rendezvous, false), false));
+            byte[] expected = serialize(element, null);
+            rendezvous.armed = true;
+            Thread thread = Thread.currentThread();
+            ClassLoader savedContextClassLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(contextClassLoader);
+            byte[] actual;
+            try {
+                actual = serialize(element, 10);
+            } finally {
+                thread.setContextClassLoader(savedContextClassLoader);
+            }
+            assertThat(new String(actual, StandardCharsets.UTF_8))
+                    .isEqualTo(new String(expected, StandardCharsets.UTF_8));
+            // The children have been serialized concurrently, with the caller's context class loader
+            assertThat(rendezvous.met).isTrue();
+            assertThat(rendezvous.contextClassLoader).isSameAs(contextClassLoader);
+        }
+    }
+}
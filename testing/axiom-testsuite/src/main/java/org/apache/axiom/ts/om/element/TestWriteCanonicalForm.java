@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.element;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.apache.axiom.om.OMContainer;
+import org.apache.axiom.om.OMDocument;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests {@link OMContainer#writeCanonicalForm(java.io.OutputStream, String, String, boolean)} and
+ * {@link OMContainer#updateDigest(MessageDigest, String, String, boolean)}, in particular the
+ * handling of namespace declarations inherited from ancestors of the node.
+ */
+public class TestWriteCanonicalForm implements Executable {
+    private static final String XML = "<a:root xmlns:a='urn:a' xmlns:b='urn:b' xmlns:c='urn:c'>"
+            + "<a:child attr='x' b:attr='y'><!--comment--><b:c/></a:child></a:root>";
+
+    @Inject
+    private OMFactory factory;
+
+    private static String canonicalize(OMElement element, String method) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        element.writeCanonicalForm(out, method, null, true);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void execute() throws Throwable {
+        OMElement child = OMXMLBuilderFactory.createOMBuilder(factory, new StringReader(XML))
+                .getDocumentElement()
+                .getFirstElement();
+        assertThat(canonicalize(child, "http://www.w3.org/2001/10/xml-exc-c14n#"))
+                .isEqualTo("<a:child xmlns:a=\"urn:a\" xmlns:b=\"urn:b\" attr=\"x\" b:attr=\"y\">"
+                        + "<b:c></b:c></a:child>");
+        assertThat(canonicalize(child, "http://www.w3.org/2006/12/xml-c14n11#WithComments"))
+                .isEqualTo("<a:child xmlns:a=\"urn:a\" xmlns:b=\"urn:b\" xmlns:c=\"urn:c\" attr=\"x\" b:attr=\"y\">"
+                        + "<!--comment--><b:c></b:c></a:child>");
+
+        OMDocument document = OMXMLBuilderFactory.createOMBuilder(factory, new StringReader(XML))
+                .getDocument();
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        document.updateDigest(digest, "http://www.w3.org/2001/10/xml-exc-c14n#", "c", false);
+        assertThat(digest.digest())
+                .isEqualTo(MessageDigest.getInstance("SHA-256")
+                        .digest(("<a:root xmlns:a=\"urn:a\" xmlns:c=\"urn:c\">"
+                                        + "<a:child xmlns:b=\"urn:b\" attr=\"x\" b:attr=\"y\"><b:c></b:c></a:child>"
+                                        + "</a:root>")
+                                .getBytes(StandardCharsets.UTF_8)));
+    }
+}
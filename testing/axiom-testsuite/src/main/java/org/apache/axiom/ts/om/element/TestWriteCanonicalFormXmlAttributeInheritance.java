@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.element;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import org.apache.axiom.om.OMContainer;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests that {@link OMContainer#writeCanonicalForm(java.io.OutputStream, String, String, boolean)}
+ * adds the <code>xml:lang</code> and <code>xml:space</code> attributes inherited from ancestors
+ * when using Canonical XML 1.1, and that it rejects elements that would require xml:base fixup.
+ */
+public class TestWriteCanonicalFormXmlAttributeInheritance implements Executable {
+    private static final String C14N_11 = "http://www.w3.org/2006/12/xml-c14n11";
+    private static final String EXC_C14N = "http://www.w3.org/2001/10/xml-exc-c14n#";
+
+    @Inject
+    private OMFactory factory;
+
+    private OMElement getInnermostElement(String xml) {
+        OMElement element = OMXMLBuilderFactory.createOMBuilder(factory, new StringReader(xml))
+                .getDocumentElement();
+        while (element.getFirstElement() != null) {
+            element = element.getFirstElement();
+        }
+        return element;
+    }
+
+    private static String canonicalize(OMElement element, String method) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        element.writeCanonicalForm(out, method, null, true);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void execute() throws Throwable {
+        OMElement child = getInnermostElement("<root xml:lang='en' xml:space='preserve' xml:id='r'>"
+                + "<mid xml:lang='fr'><child xml:space='default'>text</child></mid></root>");
+        assertThat(canonicalize(child, C14N_11))
+                .isEqualTo("<child xml:lang=\"fr\" xml:space=\"default\">text</child>");
+        // Exclusive canonicalization doesn't inherit attributes in the xml namespace
+        assertThat(canonicalize(child, EXC_C14N)).isEqualTo("<child xml:space=\"default\">text</child>");
+
+        OMElement childWithBase =
+                getInnermostElement("<root xml:base='http://example.org/a/'><child>text</child></root>");
+        assertThatThrownBy(() -> canonicalize(childWithBase, C14N_11)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(canonicalize(childWithBase, EXC_C14N)).isEqualTo("<child>text</child>");
+    }
+}
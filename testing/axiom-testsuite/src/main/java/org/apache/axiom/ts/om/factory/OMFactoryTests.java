@@ -24,6 +24,7 @@ import static org.assertj.core.api.Assertions.tuple;
 
 import com.google.inject.Inject;
 import javax.xml.namespace.QName;
+import org.apache.axiom.monitoring.CacheStatistics;
 import org.apache.axiom.om.OMAttribute;
 import org.apache.axiom.om.OMComment;
 import org.apache.axiom.om.OMContainer;
@@ -266,4 +267,19 @@ public class OMFactoryTests {
     public void getMetaFactory() throws Throwable {
         assertThat(metaFactory.getOMFactory().getMetaFactory()).isSameAs(metaFactory);
     }
+
+    /**
+     * Tests that {@link OMMetaFactory#getQNameCacheStatistics()} reflects the lookups performed by
+     * {@link OMElement#getQName()}.
+     */
+    @Test
+    public void getQNameCacheStatistics() throws Throwable {
+        CacheStatistics statistics = metaFactory.getQNameCacheStatistics();
+        assertThat(statistics).isNotNull();
+        assertThat(statistics.getCapacity()).isGreaterThan(0);
+        OMElement element = factory.createOMElement("getQNameCacheStatistics", "urn:test", "p");
+        long lookups = statistics.getHitCount() + statistics.getMissCount();
+        element.getQName();
+        assertThat(statistics.getHitCount() + statistics.getMissCount()).isGreaterThan(lookups);
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.sourcedelement;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static org.apache.axiom.truth.xml.XMLTruth.xml;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Inject;
+import java.io.StringReader;
+import java.io.StringWriter;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMSourcedElement;
+import org.apache.axiom.om.ds.DOMOMDataSource;
+import org.apache.axiom.ts.jaxp.dom.DOMImplementation;
+import org.junit.jupiter.api.function.Executable;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+/**
+ * Tests that an {@link OMSourcedElement} backed by a {@link DOMOMDataSource} can be read and
+ * serialized without expansion, and that modifications don't affect the DOM tree.
+ */
+public class TestDOMOMDataSource implements Executable {
+    @Inject
+    private OMFactory factory;
+
+    @Override
+    public void execute() throws Throwable {
+        String xml = "<p:root xmlns:p=\"urn:test\" attr=\"value\"><p:child>text</p:child><other/></p:root>";
+        Element domElement = DOMImplementation.XERCES
+                .parse(new InputSource(new StringReader(xml)))
+                .getDocumentElement();
+        OMSourcedElement element = factory.createOMElement(new DOMOMDataSource(domElement));
+
+        assertThat(element.getLocalName()).isEqualTo("root");
+        assertThat(element.getNamespaceURI()).isEqualTo("urn:test");
+        assertThat(element.getPrefix()).isEqualTo("p");
+        assertThat(element.isExpanded()).isFalse();
+
+        XMLStreamReader reader = element.getXMLStreamReader(false);
+        while (reader.hasNext()) {
+            reader.next();
+        }
+        assertThat(element.isExpanded()).isFalse();
+
+        StringWriter out = new StringWriter();
+        element.serialize(out);
+        assertThat(element.isExpanded()).isFalse();
+        assertAbout(xml()).that(out.toString()).hasSameContentAs(xml);
+
+        assertThat(element.getAttributeValue(new QName("attr"))).isEqualTo("value");
+        assertThat(element.isExpanded()).isTrue();
+        OMElement child = element.getFirstElement();
+        assertThat(child.getText()).isEqualTo("text");
+        child.setText("changed");
+        assertThat(domElement.getFirstChild().getTextContent()).isEqualTo("text");
+        assertAbout(xml())
+                .that(xml(OMElement.class, element))
+                .hasSameContentAs(xml.replace(">text<", ">changed<"));
+    }
+}
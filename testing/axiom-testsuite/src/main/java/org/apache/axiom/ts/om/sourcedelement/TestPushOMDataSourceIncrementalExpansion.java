@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.sourcedelement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Inject;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMSourcedElement;
+import org.apache.axiom.om.ds.AbstractPushOMDataSource;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests that an {@link OMSourcedElement} backed by an {@link AbstractPushOMDataSource} is built
+ * incrementally if the {@link AbstractPushOMDataSource#EXPANSION_EXECUTOR} property is set.
+ */
+public class TestPushOMDataSourceIncrementalExpansion implements Executable {
+    static final int CHILD_COUNT = 5;
+
+    @Inject
+    private OMFactory factory;
+
+    static class PushOMDataSource extends AbstractPushOMDataSource {
+        private volatile int childrenWritten;
+
+        @Override
+        public void serialize(XMLStreamWriter writer) throws XMLStreamException {
+            writer.writeStartElement("", "root", "");
+            for (int i = 0; i < CHILD_COUNT; i++) {
+                writer.writeStartElement("", "child", "");
+                writer.writeCharacters(String.valueOf(i));
+                writer.writeEndElement();
+                childrenWritten++;
+            }
+            writer.writeEndElement();
+        }
+
+        @Override
+        public boolean isDestructiveWrite() {
+            return false;
+        }
+
+        int getChildrenWritten() {
+            return childrenWritten;
+        }
+    }
+
+    @Override
+    public void execute() throws Throwable {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            PushOMDataSource ds = new PushOMDataSource();
+            ds.setProperty(AbstractPushOMDataSource.EXPANSION_EXECUTOR, executor);
+            OMSourcedElement element = factory.createOMElement(ds);
+            OMElement child = element.getFirstElement();
+            assertThat(child.getText()).isEqualTo("0");
+            assertThat(ds.getChildrenWritten()).isLessThan(CHILD_COUNT);
+            assertThat(element.isComplete()).isFalse();
+            int count = 0;
+            for (Iterator<OMElement> it = element.getChildElements(); it.hasNext(); ) {
+                assertThat(it.next().getText()).isEqualTo(String.valueOf(count++));
+            }
+            assertThat(count).isEqualTo(CHILD_COUNT);
+            assertThat(ds.getChildrenWritten()).isEqualTo(CHILD_COUNT);
+            assertThat(element.isComplete()).isTrue();
+
+            // Closing a partially built element must release the task
+            PushOMDataSource ds2 = new PushOMDataSource();
+            ds2.setProperty(AbstractPushOMDataSource.EXPANSION_EXECUTOR, executor);
+            OMSourcedElement element2 = factory.createOMElement(ds2);
+            element2.getFirstElement();
+            element2.close(false);
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+}
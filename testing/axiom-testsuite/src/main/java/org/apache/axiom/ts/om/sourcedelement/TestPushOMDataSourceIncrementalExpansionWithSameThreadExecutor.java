@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.sourcedelement;
+
+import static org.apache.axiom.ts.om.sourcedelement.TestPushOMDataSourceIncrementalExpansion.CHILD_COUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Inject;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMSourcedElement;
+import org.apache.axiom.om.ds.AbstractPushOMDataSource;
+import org.apache.axiom.ts.om.sourcedelement.TestPushOMDataSourceIncrementalExpansion.PushOMDataSource;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests that setting {@link AbstractPushOMDataSource#EXPANSION_EXECUTOR} to an executor that runs
+ * tasks on the calling thread doesn't cause a deadlock, but falls back to complete expansion.
+ */
+public class TestPushOMDataSourceIncrementalExpansionWithSameThreadExecutor implements Executable {
+    @Inject
+    private OMFactory factory;
+
+    @Override
+    public void execute() throws Throwable {
+        // Run the expansion in a separate thread, so that a deadlock doesn't block the test run
+        ExecutorService testExecutor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> future = testExecutor.submit(() -> {
+                Executor sameThreadExecutor = Runnable::run;
+                PushOMDataSource ds = new PushOMDataSource();
+                ds.setProperty(AbstractPushOMDataSource.EXPANSION_EXECUTOR, sameThreadExecutor);
+                OMSourcedElement element = factory.createOMElement(ds);
+                OMElement child = element.getFirstElement();
+                assertThat(child.getText()).isEqualTo("0");
+                assertThat(ds.getChildrenWritten()).isEqualTo(CHILD_COUNT);
+                assertThat(element.isComplete()).isTrue();
+                return null;
+            });
+            future.get(10, TimeUnit.SECONDS);
+        } finally {
+            testExecutor.shutdownNow();
+        }
+    }
+}
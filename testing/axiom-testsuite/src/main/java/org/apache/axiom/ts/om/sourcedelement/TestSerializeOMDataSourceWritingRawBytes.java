@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.sourcedelement;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.common.truth.Truth.assertThat;
+import static org.apache.axiom.truth.xml.XMLTruth.xml;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.apache.axiom.om.OMDataSourceExt;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMSourcedElement;
+import org.apache.axiom.om.ds.AbstractPushOMDataSource;
+import org.apache.axiom.ts.dimension.serialization.SerializationStrategy;
+import org.apache.axiom.ts.dimension.serialization.SerializeToOutputStream;
+import org.apache.axiom.ts.dimension.serialization.SerializeToPublisher;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests serialization with an {@link OMDataSourceExt} that supports {@link
+ * OMDataSourceExt#writeTo(OutputStream, String)}. The method should be used if the element is
+ * serialized to a byte stream, and the result should be the same as with event based
+ * serialization.
+ */
+public class TestSerializeOMDataSourceWritingRawBytes implements Executable {
+    @Inject
+    private OMFactory factory;
+
+    static final class OMDataSourceImpl extends AbstractPushOMDataSource {
+        private final String namespaceURI;
+        private boolean writeToUsed;
+
+        OMDataSourceImpl(String namespaceURI) {
+            this.namespaceURI = namespaceURI;
+        }
+
+        @Override
+        public void serialize(XMLStreamWriter writer) throws XMLStreamException {
+            writer.writeStartElement("", "test", namespaceURI);
+            writer.writeDefaultNamespace(namespaceURI);
+            writer.writeCharacters("content");
+            writer.writeEndElement();
+        }
+
+        @Override
+        public boolean writeTo(OutputStream out, String encoding) throws XMLStreamException {
+            String xmlns = namespaceURI.isEmpty() ? "" : " xmlns=\"" + namespaceURI + "\"";
+            try {
+                out.write(("<test" + xmlns + ">content</test>").getBytes(encoding));
+            } catch (IOException ex) {
+                throw new XMLStreamException(ex);
+            }
+            writeToUsed = true;
+            return true;
+        }
+
+        @Override
+        public boolean isDestructiveWrite() {
+            return false;
+        }
+
+        boolean isWriteToUsed() {
+            return writeToUsed;
+        }
+    }
+
+    @Inject
+    private SerializationStrategy serializationStrategy;
+
+    @Inject
+    @Named("serializeParent")
+    private boolean serializeParent;
+
+    @Override
+    public void execute() throws Throwable {
+        OMDataSourceImpl ds = new OMDataSourceImpl("urn:test");
+        OMSourcedElement element = factory.createOMElement(ds);
+        OMElement elementToSerialize;
+        if (serializeParent) {
+            OMElement parent = factory.createOMElement("root", null);
+            parent.addChild(element);
+            factory.createOMText(parent, "text");
+            elementToSerialize = parent;
+        } else {
+            elementToSerialize = element;
+        }
+        assertAbout(xml())
+                .that(serializationStrategy.serialize(elementToSerialize).getInputSource())
+                .hasSameContentAs(
+                        serializeParent
+                                ? "<root><test xmlns='urn:test'>content</test>text</root>"
+                                : "<test xmlns='urn:test'>content</test>");
+        assertThat(ds.isWriteToUsed())
+                .isEqualTo(serializationStrategy instanceof SerializeToOutputStream
+                        || serializationStrategy instanceof SerializeToPublisher);
+    }
+}
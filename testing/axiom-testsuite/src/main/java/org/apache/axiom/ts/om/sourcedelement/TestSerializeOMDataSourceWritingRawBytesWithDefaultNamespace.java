@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.sourcedelement;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.common.truth.Truth.assertThat;
+import static org.apache.axiom.truth.xml.XMLTruth.xml;
+
+import com.google.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.apache.axiom.om.OMDataSourceExt;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.ts.om.sourcedelement.TestSerializeOMDataSourceWritingRawBytes.OMDataSourceImpl;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests that {@link OMDataSourceExt#writeTo(OutputStream, String)} is not used if the default
+ * namespace is bound at the location of the element in the output document. In that case, the
+ * serialized element may need an {@code xmlns=""} declaration that the data source doesn't
+ * generate.
+ */
+public class TestSerializeOMDataSourceWritingRawBytesWithDefaultNamespace implements Executable {
+    @Inject
+    private OMFactory factory;
+
+    @Override
+    public void execute() throws Throwable {
+        OMDataSourceImpl ds = new OMDataSourceImpl("");
+        OMElement parent = factory.createOMElement("root", factory.createOMNamespace("urn:parent", ""));
+        parent.addChild(factory.createOMElement(ds));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        parent.serialize(out);
+        assertAbout(xml())
+                .that(out.toString(StandardCharsets.UTF_8))
+                .hasSameContentAs("<root xmlns='urn:parent'><test xmlns=''>content</test></root>");
+        assertThat(ds.isWriteToUsed()).isFalse();
+    }
+}
@@ -36,6 +36,7 @@ import org.apache.axiom.om.ds.AbstractPushOMDataSource;
 import org.apache.axiom.om.impl.MTOMXMLStreamWriter;
 import org.apache.axiom.ts.dimension.serialization.SerializationStrategy;
 import org.apache.axiom.ts.dimension.serialization.SerializeToOutputStream;
+import org.apache.axiom.ts.dimension.serialization.SerializeToPublisher;
 import org.junit.jupiter.api.function.Executable;
 
 /**
@@ -107,6 +108,8 @@ public class TestSerializeOMDataSourceWritingToOutputStream implements Executabl
                 .that(serializationStrategy.serialize(elementToSerialize).getInputSource())
                 .hasSameContentAs(
                         serializeParent ? "<root><test xmlns='urn:test'/></root>" : "<test xmlns='urn:test'/>");
-        assertThat(ds.isOutputStreamUsed()).isEqualTo(serializationStrategy instanceof SerializeToOutputStream);
+        assertThat(ds.isOutputStreamUsed())
+                .isEqualTo(serializationStrategy instanceof SerializeToOutputStream
+                        || serializationStrategy instanceof SerializeToPublisher);
     }
 }
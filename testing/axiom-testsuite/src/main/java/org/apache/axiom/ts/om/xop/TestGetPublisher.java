@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axiom.ts.om.xop;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import javax.xml.namespace.QName;
+import org.apache.axiom.blob.Blobs;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMOutputFormat;
+import org.apache.axiom.om.OMText;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Tests that {@link OMElement#getPublisher(OMOutputFormat, boolean, java.util.concurrent.Executor)}
+ * produces the same MIME message as {@link OMElement#serialize(java.io.OutputStream, OMOutputFormat)}
+ * if XOP/MTOM is enabled.
+ */
+public class TestGetPublisher implements Executable {
+    @Inject
+    private OMFactory factory;
+
+    @Override
+    public void execute() throws Throwable {
+        byte[] data = new byte[20000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        OMElement element = factory.createOMElement(new QName("urn:test", "test"));
+        OMText text = factory.createOMText(Blobs.createBlob(data), true);
+        element.addChild(text);
+
+        OMOutputFormat format = new OMOutputFormat();
+        format.setDoOptimize(true);
+        format.setMimeBoundary("MIMEBoundary_test");
+        format.setRootContentId("root@test");
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        element.serialize(expected, format);
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        element.getPublisher(format, true, task -> new Thread(task).start())
+                .subscribe(new Flow.Subscriber<ByteBuffer>() {
+                    private Flow.Subscription subscription;
+
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        this.subscription = subscription;
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(ByteBuffer item) {
+                        actual.write(item.array(), item.arrayOffset() + item.position(), item.remaining());
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        done.completeExceptionally(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        done.complete(null);
+                    }
+                });
+        done.get();
+
+        assertThat(new String(actual.toByteArray(), StandardCharsets.ISO_8859_1))
+                .contains("--MIMEBoundary_test")
+                .contains("<" + text.getContentID() + ">");
+        assertThat(actual.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+}